@@ -4,9 +4,11 @@ import com.stayease.security.JwtProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableConfigurationProperties(JwtProperties.class)
+@EnableScheduling
 public class StayeaseApplication {
 
 	public static void main(String[] args) {
@@ -40,6 +40,7 @@ import com.stayease.domain.user.entity.UserAuthority;
 import com.stayease.domain.user.repository.AuthorityRepository;
 import com.stayease.domain.user.repository.UserAuthorityRepository;
 import com.stayease.domain.user.repository.UserRepository;
+import com.stayease.shared.util.DayMaskUtil;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -808,7 +809,7 @@ public class DataSeeder implements CommandLineRunner {
                     .country(country)
                     .isActive(true)
                     .isInstantBooking(true)
-                    .availableDays(Arrays.asList("MONDAY", "TUESDAY", "WEDNESDAY", "THURSDAY", "FRIDAY", "SATURDAY", "SUNDAY"))
+                    .availableDaysMask(DayMaskUtil.ALL_DAYS)
                     .build();
 
             // Add service images based on category
@@ -0,0 +1,44 @@
+package com.stayease.config;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * GIN indexes for the jsonb containment filters on service offerings. JPA
+ * cannot declare them and V19 skips itself when Flyway runs before Hibernate
+ * has created {@code service_offerings}, so they are ensured here, after the
+ * schema is up and before the data seeder runs.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+@Slf4j
+public class JsonbIndexInitializer implements ApplicationRunner {
+
+    private static final String CREATE_INDEXES = """
+            DO $$
+            BEGIN
+                IF to_regclass('service_offerings') IS NOT NULL THEN
+                    CREATE INDEX IF NOT EXISTS idx_service_languages
+                        ON service_offerings USING GIN (languages jsonb_path_ops);
+                    CREATE INDEX IF NOT EXISTS idx_service_amenities
+                        ON service_offerings USING GIN (amenities jsonb_path_ops);
+                END IF;
+            END
+            $$""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        jdbcTemplate.execute(CREATE_INDEXES);
+        log.debug("Ensured jsonb GIN indexes on service_offerings");
+    }
+}
@@ -0,0 +1,22 @@
+package com.stayease.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * PostgreSQL functions for criteria queries that need operators Hibernate has
+ * no function for. Registered through META-INF/services.
+ */
+public class PostgresFunctionContributor implements FunctionContributor {
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        // jsonb array containment with @>, which a GIN index on the column can serve
+        functionContributions.getFunctionRegistry().registerPattern(
+                "jsonb_array_contains",
+                "(?1 @> jsonb_build_array(cast(?2 as text)))",
+                functionContributions.getTypeConfiguration().getBasicTypeRegistry()
+                        .resolve(StandardBasicTypes.BOOLEAN));
+    }
+}
@@ -16,10 +16,14 @@ import com.stayease.domain.admin.dto.ListingManagementDTO;
 import com.stayease.domain.admin.dto.UserManagementDTO;
 import com.stayease.domain.admin.entity.AdminAction;
 import com.stayease.domain.admin.repository.AdminActionRepository;
+import com.stayease.domain.analytics.service.BookingSnapshot;
+import com.stayease.domain.analytics.service.ListingAnalyticsService;
 import com.stayease.domain.booking.entity.Booking;
 import com.stayease.domain.booking.repository.BookingRepository;
 import com.stayease.domain.listing.entity.Listing;
 import com.stayease.domain.listing.repository.ListingRepository;
+import com.stayease.domain.search.service.SearchIndexService;
+import com.stayease.domain.serviceoffering.service.NearbyServicesService;
 import com.stayease.domain.user.entity.User;
 import com.stayease.domain.user.repository.UserRepository;
 import com.stayease.exception.NotFoundException;
@@ -38,6 +42,9 @@ public class AdminService {
     private final ListingRepository listingRepository;
     private final BookingRepository bookingRepository;
     private final AuditService auditService;
+    private final SearchIndexService searchIndexService;
+    private final NearbyServicesService nearbyServicesService;
+    private final ListingAnalyticsService listingAnalyticsService;
 
     /**
      * Approve a listing
@@ -49,7 +56,9 @@ public class AdminService {
                 .orElseThrow(() -> new NotFoundException("Listing not found"));
 
         listing.setStatus(Listing.ListingStatus.ACTIVE);
-        listingRepository.save(listing);
+        Listing saved = listingRepository.save(listing);
+        searchIndexService.indexListing(saved);
+        nearbyServicesService.refreshListing(saved);
 
         // Record admin action
         recordAdminAction(adminPublicId, "APPROVE_LISTING", "Listing", listingPublicId.toString(), reason);
@@ -70,7 +79,9 @@ public class AdminService {
                 .orElseThrow(() -> new NotFoundException("Listing not found"));
 
         listing.setStatus(Listing.ListingStatus.SUSPENDED);
-        listingRepository.save(listing);
+        Listing saved = listingRepository.save(listing);
+        searchIndexService.indexListing(saved);
+        nearbyServicesService.refreshListing(saved);
 
         recordAdminAction(adminPublicId, "REJECT_LISTING", "Listing", listingPublicId.toString(), reason);
         auditService.logAction(adminPublicId, "REJECT_LISTING",
@@ -123,10 +134,12 @@ public class AdminService {
         Booking booking = bookingRepository.findByPublicId(bookingPublicId)
                 .orElseThrow(() -> new NotFoundException("Booking not found"));
 
+        BookingSnapshot before = BookingSnapshot.of(booking);
         booking.setBookingStatus(Booking.BookingStatus.CANCELLED);
         booking.setCancellationReason(reason);
         booking.setCancelledAt(Instant.now());
-        bookingRepository.save(booking);
+        Booking savedBooking = bookingRepository.save(booking);
+        listingAnalyticsService.recordChange(before, savedBooking);
 
         recordAdminAction(adminPublicId, "CANCEL_BOOKING", "Booking", bookingPublicId.toString(), reason);
         auditService.logAction(adminPublicId, "CANCEL_BOOKING",
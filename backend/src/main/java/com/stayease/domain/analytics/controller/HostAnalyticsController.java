@@ -0,0 +1,55 @@
+package com.stayease.domain.analytics.controller;
+
+import com.stayease.domain.analytics.dto.HostAnalyticsDTO;
+import com.stayease.domain.analytics.service.ListingAnalyticsService;
+import com.stayease.security.UserPrincipal;
+import com.stayease.shared.dto.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import java.time.YearMonth;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+@Slf4j
+public class HostAnalyticsController {
+
+    private final ListingAnalyticsService analyticsService;
+
+    @GetMapping("/landlord")
+    @PreAuthorize("hasAnyAuthority('ROLE_LANDLORD', 'ROLE_ADMIN')")
+    public ResponseEntity<ApiResponse<HostAnalyticsDTO>> getLandlordAnalytics(
+            @RequestParam(required = false) YearMonth from,
+            @RequestParam(defaultValue = "12") int months,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+
+        HostAnalyticsDTO analytics = analyticsService.getLandlordAnalytics(currentUser.getId(), from, months);
+
+        return ResponseEntity.ok(ApiResponse.<HostAnalyticsDTO>builder()
+                .success(true)
+                .data(analytics)
+                .build());
+    }
+
+    @GetMapping("/listings/{listingPublicId}")
+    @PreAuthorize("hasAnyAuthority('ROLE_LANDLORD', 'ROLE_ADMIN')")
+    public ResponseEntity<ApiResponse<HostAnalyticsDTO>> getListingAnalytics(
+            @PathVariable UUID listingPublicId,
+            @RequestParam(required = false) YearMonth from,
+            @RequestParam(defaultValue = "12") int months,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+
+        HostAnalyticsDTO analytics = analyticsService.getListingAnalytics(
+                listingPublicId, currentUser.getId(), from, months);
+
+        return ResponseEntity.ok(ApiResponse.<HostAnalyticsDTO>builder()
+                .success(true)
+                .data(analytics)
+                .build());
+    }
+}
@@ -0,0 +1,18 @@
+package com.stayease.domain.analytics.dto;
+
+import lombok.*;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HostAnalyticsDTO {
+    private UUID listingPublicId;
+    private long listingCount;
+    private String fromMonth;
+    private String toMonth;
+    private MonthlyAnalyticsDTO totals;
+    private List<MonthlyAnalyticsDTO> months;
+}
@@ -0,0 +1,21 @@
+package com.stayease.domain.analytics.dto;
+
+import lombok.*;
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MonthlyAnalyticsDTO {
+    private String month;
+    private long availableNights;
+    private long bookedNights;
+    private BigDecimal occupancyRate;
+    private BigDecimal revenue;
+    private BigDecimal averageDailyRate;
+    private BigDecimal revenuePerAvailableNight;
+    private long arrivals;
+    private long cancellations;
+    private BigDecimal averageLeadTimeDays;
+}
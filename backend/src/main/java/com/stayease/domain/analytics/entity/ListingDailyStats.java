@@ -0,0 +1,53 @@
+package com.stayease.domain.analytics.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * One listing-night of pre-aggregated analytics. Rows are only ever changed by
+ * delta upserts in {@code ListingDailyStatsRepository}.
+ */
+@Entity
+@Table(name = "listing_daily_stats")
+@IdClass(ListingDailyStats.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ListingDailyStats {
+
+    @Id
+    @Column(name = "listing_public_id", nullable = false)
+    private UUID listingPublicId;
+
+    @Id
+    @Column(name = "stat_date", nullable = false)
+    private LocalDate statDate;
+
+    @Column(name = "booked_nights", nullable = false)
+    private Integer bookedNights;
+
+    @Column(name = "revenue_cents", nullable = false)
+    private Long revenueCents;
+
+    @Column(name = "arrivals", nullable = false)
+    private Integer arrivals;
+
+    @Column(name = "lead_time_days", nullable = false)
+    private Long leadTimeDays;
+
+    @Column(name = "cancellations", nullable = false)
+    private Integer cancellations;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID listingPublicId;
+        private LocalDate statDate;
+    }
+}
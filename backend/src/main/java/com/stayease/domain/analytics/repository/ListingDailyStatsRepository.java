@@ -0,0 +1,111 @@
+package com.stayease.domain.analytics.repository;
+
+import com.stayease.domain.analytics.entity.ListingDailyStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ListingDailyStatsRepository extends JpaRepository<ListingDailyStats, ListingDailyStats.Key> {
+
+    /**
+     * Add ({@code sign = 1}) or remove ({@code sign = -1}) one stay: a booked
+     * night and an even share of revenue per night, plus the arrival and its
+     * lead time on the check-in night. The revenue remainder goes to the first night.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO listing_daily_stats " +
+            "(listing_public_id, stat_date, booked_nights, revenue_cents, arrivals, lead_time_days, cancellations) " +
+            "SELECT :listingPublicId, CAST(n.night AS date), :sign, " +
+            ":sign * (:totalCents / :nights + CASE WHEN CAST(n.night AS date) = :checkIn " +
+            "THEN :totalCents % :nights ELSE 0 END), " +
+            "CASE WHEN CAST(n.night AS date) = :checkIn THEN :sign ELSE 0 END, " +
+            "CASE WHEN CAST(n.night AS date) = :checkIn THEN :sign * :leadTimeDays ELSE 0 END, " +
+            "0 " +
+            "FROM generate_series(CAST(:checkIn AS date), CAST(:checkOut AS date) - 1, INTERVAL '1 day') AS n(night) " +
+            "ON CONFLICT (listing_public_id, stat_date) DO UPDATE SET " +
+            "booked_nights = listing_daily_stats.booked_nights + EXCLUDED.booked_nights, " +
+            "revenue_cents = listing_daily_stats.revenue_cents + EXCLUDED.revenue_cents, " +
+            "arrivals = listing_daily_stats.arrivals + EXCLUDED.arrivals, " +
+            "lead_time_days = listing_daily_stats.lead_time_days + EXCLUDED.lead_time_days",
+            nativeQuery = true)
+    int addStay(@Param("listingPublicId") UUID listingPublicId,
+                @Param("checkIn") LocalDate checkIn,
+                @Param("checkOut") LocalDate checkOut,
+                @Param("nights") int nights,
+                @Param("totalCents") long totalCents,
+                @Param("leadTimeDays") long leadTimeDays,
+                @Param("sign") int sign);
+
+    @Modifying
+    @Query(value = "INSERT INTO listing_daily_stats " +
+            "(listing_public_id, stat_date, booked_nights, revenue_cents, arrivals, lead_time_days, cancellations) " +
+            "VALUES (:listingPublicId, :checkIn, 0, 0, 0, 0, :delta) " +
+            "ON CONFLICT (listing_public_id, stat_date) DO UPDATE SET " +
+            "cancellations = listing_daily_stats.cancellations + EXCLUDED.cancellations",
+            nativeQuery = true)
+    int addCancellations(@Param("listingPublicId") UUID listingPublicId,
+                         @Param("checkIn") LocalDate checkIn,
+                         @Param("delta") int delta);
+
+    /**
+     * Count a batch of bulk-cancelled bookings in one statement.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO listing_daily_stats " +
+            "(listing_public_id, stat_date, booked_nights, revenue_cents, arrivals, lead_time_days, cancellations) " +
+            "SELECT b.listing_public_id, b.check_in_date, 0, 0, 0, 0, COUNT(*) " +
+            "FROM booking b WHERE b.id IN (:bookingIds) " +
+            "GROUP BY b.listing_public_id, b.check_in_date " +
+            "ON CONFLICT (listing_public_id, stat_date) DO UPDATE SET " +
+            "cancellations = listing_daily_stats.cancellations + EXCLUDED.cancellations",
+            nativeQuery = true)
+    int addCancellationsForBookings(@Param("bookingIds") List<Long> bookingIds);
+
+    @Query(value = "SELECT to_char(s.stat_date, 'YYYY-MM') AS month, " +
+            "CAST(SUM(s.booked_nights) AS BIGINT) AS \"bookedNights\", " +
+            "CAST(SUM(s.revenue_cents) AS BIGINT) AS \"revenueCents\", " +
+            "CAST(SUM(s.arrivals) AS BIGINT) AS arrivals, " +
+            "CAST(SUM(s.lead_time_days) AS BIGINT) AS \"leadTimeDays\", " +
+            "CAST(SUM(s.cancellations) AS BIGINT) AS cancellations " +
+            "FROM listing_daily_stats s " +
+            "WHERE s.listing_public_id = :listingPublicId AND s.stat_date >= :from AND s.stat_date < :to " +
+            "GROUP BY 1 ORDER BY 1",
+            nativeQuery = true)
+    List<MonthlyStatsView> findMonthlyByListing(@Param("listingPublicId") UUID listingPublicId,
+                                                @Param("from") LocalDate from,
+                                                @Param("to") LocalDate to);
+
+    @Query(value = "SELECT to_char(s.stat_date, 'YYYY-MM') AS month, " +
+            "CAST(SUM(s.booked_nights) AS BIGINT) AS \"bookedNights\", " +
+            "CAST(SUM(s.revenue_cents) AS BIGINT) AS \"revenueCents\", " +
+            "CAST(SUM(s.arrivals) AS BIGINT) AS arrivals, " +
+            "CAST(SUM(s.lead_time_days) AS BIGINT) AS \"leadTimeDays\", " +
+            "CAST(SUM(s.cancellations) AS BIGINT) AS cancellations " +
+            "FROM listing_daily_stats s JOIN listing l ON l.public_id = s.listing_public_id " +
+            "WHERE l.landlord_public_id = :landlordPublicId AND s.stat_date >= :from AND s.stat_date < :to " +
+            "GROUP BY 1 ORDER BY 1",
+            nativeQuery = true)
+    List<MonthlyStatsView> findMonthlyByLandlord(@Param("landlordPublicId") UUID landlordPublicId,
+                                                 @Param("from") LocalDate from,
+                                                 @Param("to") LocalDate to);
+
+    interface MonthlyStatsView {
+        String getMonth();
+
+        Long getBookedNights();
+
+        Long getRevenueCents();
+
+        Long getArrivals();
+
+        Long getLeadTimeDays();
+
+        Long getCancellations();
+    }
+}
@@ -0,0 +1,39 @@
+package com.stayease.domain.analytics.service;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import com.stayease.domain.booking.entity.Booking;
+
+/**
+ * The analytics-relevant state of a booking, captured before it is modified
+ * so its old contribution can be subtracted afterwards.
+ */
+public record BookingSnapshot(UUID listingPublicId, LocalDate checkInDate, LocalDate checkOutDate,
+        BigDecimal totalPrice, Booking.BookingStatus status, Instant createdAt) {
+
+    public static BookingSnapshot of(Booking booking) {
+        return new BookingSnapshot(booking.getListingPublicId(), booking.getCheckInDate(),
+                booking.getCheckOutDate(), booking.getTotalPrice(), booking.getBookingStatus(),
+                booking.getCreatedAt());
+    }
+
+    /**
+     * Whether the stay occupies the listing's nights for occupancy and revenue.
+     */
+    public boolean occupies() {
+        return status == Booking.BookingStatus.CONFIRMED
+                || status == Booking.BookingStatus.CHECKED_IN
+                || status == Booking.BookingStatus.CHECKED_OUT;
+    }
+
+    public boolean sameStayAs(BookingSnapshot other) {
+        return other != null
+                && occupies() == other.occupies()
+                && checkInDate.equals(other.checkInDate)
+                && checkOutDate.equals(other.checkOutDate)
+                && totalPrice.compareTo(other.totalPrice) == 0;
+    }
+}
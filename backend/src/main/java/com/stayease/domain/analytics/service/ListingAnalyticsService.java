@@ -0,0 +1,205 @@
+package com.stayease.domain.analytics.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.stayease.domain.analytics.dto.HostAnalyticsDTO;
+import com.stayease.domain.analytics.dto.MonthlyAnalyticsDTO;
+import com.stayease.domain.analytics.repository.ListingDailyStatsRepository;
+import com.stayease.domain.analytics.repository.ListingDailyStatsRepository.MonthlyStatsView;
+import com.stayease.domain.booking.entity.Booking;
+import com.stayease.domain.listing.entity.Listing;
+import com.stayease.domain.listing.repository.ListingRepository;
+import com.stayease.exception.BadRequestException;
+import com.stayease.exception.ForbiddenException;
+import com.stayease.exception.NotFoundException;
+import com.stayease.shared.util.PriceUtil;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Host occupancy and revenue analytics. Booking state changes are folded into
+ * {@code listing_daily_stats} as deltas, so a 12-month view reads at most one
+ * grouped row per month instead of scanning bookings.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ListingAnalyticsService {
+
+    static final int MAX_MONTHS = 24;
+
+    private final ListingDailyStatsRepository statsRepository;
+    private final ListingRepository listingRepository;
+
+    /**
+     * Apply the difference between a booking's previous state ({@code null}
+     * for a new booking) and its current state. Must run in the transaction
+     * that changed the booking.
+     */
+    @Transactional
+    public void recordChange(BookingSnapshot before, Booking after) {
+        BookingSnapshot current = BookingSnapshot.of(after);
+
+        if (!current.sameStayAs(before)) {
+            if (before != null && before.occupies()) {
+                applyStay(before, -1);
+            }
+            if (current.occupies()) {
+                applyStay(current, 1);
+            }
+        }
+
+        boolean newlyCancelled = current.status() == Booking.BookingStatus.CANCELLED
+                && (before == null || before.status() != Booking.BookingStatus.CANCELLED);
+        if (newlyCancelled) {
+            statsRepository.addCancellations(current.listingPublicId(), current.checkInDate(), 1);
+        }
+    }
+
+    /**
+     * Count bookings cancelled in bulk by the lifecycle job. They were still
+     * pending, so they never occupied any nights.
+     */
+    @Transactional
+    public void recordCancellations(List<Long> bookingIds) {
+        if (!bookingIds.isEmpty()) {
+            statsRepository.addCancellationsForBookings(bookingIds);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public HostAnalyticsDTO getListingAnalytics(UUID listingPublicId, UUID landlordPublicId, YearMonth from,
+            int months) {
+        Listing listing = listingRepository.findByPublicId(listingPublicId)
+                .orElseThrow(() -> new NotFoundException("Listing not found"));
+        if (!listing.getLandlordPublicId().equals(landlordPublicId)) {
+            throw new ForbiddenException("You don't have access to this listing's analytics");
+        }
+
+        YearMonth start = startMonth(from, months);
+        YearMonth end = start.plusMonths(months);
+        List<MonthlyStatsView> rows = statsRepository.findMonthlyByListing(
+                listingPublicId, start.atDay(1), end.atDay(1));
+
+        return build(listingPublicId, 1, start, months, rows);
+    }
+
+    @Transactional(readOnly = true)
+    public HostAnalyticsDTO getLandlordAnalytics(UUID landlordPublicId, YearMonth from, int months) {
+        YearMonth start = startMonth(from, months);
+        YearMonth end = start.plusMonths(months);
+        long listings = listingRepository.countByLandlordPublicId(landlordPublicId);
+        List<MonthlyStatsView> rows = statsRepository.findMonthlyByLandlord(
+                landlordPublicId, start.atDay(1), end.atDay(1));
+
+        return build(null, listings, start, months, rows);
+    }
+
+    private void applyStay(BookingSnapshot stay, int sign) {
+        int nights = (int) ChronoUnit.DAYS.between(stay.checkInDate(), stay.checkOutDate());
+        if (nights <= 0) {
+            return;
+        }
+        LocalDate booked = stay.createdAt() != null
+                ? LocalDate.ofInstant(stay.createdAt(), ZoneOffset.UTC)
+                : LocalDate.now();
+        long leadTimeDays = Math.max(0, ChronoUnit.DAYS.between(booked, stay.checkInDate()));
+
+        statsRepository.addStay(stay.listingPublicId(), stay.checkInDate(), stay.checkOutDate(), nights,
+                PriceUtil.toCents(stay.totalPrice()), leadTimeDays, sign);
+    }
+
+    private YearMonth startMonth(YearMonth from, int months) {
+        if (months < 1 || months > MAX_MONTHS) {
+            throw new BadRequestException("Months must be between 1 and " + MAX_MONTHS);
+        }
+        return from != null ? from : YearMonth.now().minusMonths(months - 1L);
+    }
+
+    private HostAnalyticsDTO build(UUID listingPublicId, long listings, YearMonth start, int months,
+            List<MonthlyStatsView> rows) {
+        Map<String, MonthlyStatsView> byMonth = rows.stream()
+                .collect(Collectors.toMap(MonthlyStatsView::getMonth, Function.identity()));
+
+        List<MonthlyAnalyticsDTO> result = new ArrayList<>(months);
+        long available = 0;
+        long booked = 0;
+        long revenue = 0;
+        long arrivals = 0;
+        long leadTime = 0;
+        long cancellations = 0;
+
+        for (int i = 0; i < months; i++) {
+            YearMonth month = start.plusMonths(i);
+            MonthlyStatsView row = byMonth.get(month.toString());
+            long monthAvailable = listings * month.lengthOfMonth();
+            long monthBooked = row != null ? row.getBookedNights() : 0;
+            long monthRevenue = row != null ? row.getRevenueCents() : 0;
+            long monthArrivals = row != null ? row.getArrivals() : 0;
+            long monthLeadTime = row != null ? row.getLeadTimeDays() : 0;
+            long monthCancellations = row != null ? row.getCancellations() : 0;
+
+            result.add(toDTO(month.toString(), monthAvailable, monthBooked, monthRevenue, monthArrivals,
+                    monthLeadTime, monthCancellations));
+
+            available += monthAvailable;
+            booked += monthBooked;
+            revenue += monthRevenue;
+            arrivals += monthArrivals;
+            leadTime += monthLeadTime;
+            cancellations += monthCancellations;
+        }
+
+        YearMonth last = start.plusMonths(months - 1L);
+        return HostAnalyticsDTO.builder()
+                .listingPublicId(listingPublicId)
+                .listingCount(listings)
+                .fromMonth(start.toString())
+                .toMonth(last.toString())
+                .totals(toDTO(start + ".." + last, available, booked, revenue, arrivals, leadTime, cancellations))
+                .months(result)
+                .build();
+    }
+
+    private MonthlyAnalyticsDTO toDTO(String month, long available, long booked, long revenueCents,
+            long arrivals, long leadTimeDays, long cancellations) {
+        return MonthlyAnalyticsDTO.builder()
+                .month(month)
+                .availableNights(available)
+                .bookedNights(booked)
+                .occupancyRate(ratio(booked * 100, available))
+                .revenue(PriceUtil.fromCents(revenueCents))
+                .averageDailyRate(PriceUtil.fromCents(divide(revenueCents, booked)))
+                .revenuePerAvailableNight(PriceUtil.fromCents(divide(revenueCents, available)))
+                .arrivals(arrivals)
+                .cancellations(cancellations)
+                .averageLeadTimeDays(ratio(leadTimeDays, arrivals))
+                .build();
+    }
+
+    private static long divide(long numerator, long denominator) {
+        return denominator == 0 ? 0 : Math.round((double) numerator / denominator);
+    }
+
+    private static BigDecimal ratio(long numerator, long denominator) {
+        if (denominator == 0) {
+            return BigDecimal.ZERO;
+        }
+        return BigDecimal.valueOf(numerator).divide(BigDecimal.valueOf(denominator), 2, RoundingMode.HALF_UP);
+    }
+}
@@ -2,21 +2,26 @@ package com.stayease.domain.booking.controller;
 
 import com.stayease.domain.booking.dto.*;
 import com.stayease.domain.booking.entity.Booking;
+import com.stayease.domain.booking.service.BookingIntakeService;
 import com.stayease.domain.booking.service.BookingService;
 import com.stayease.exception.BadRequestException;
 import com.stayease.exception.ForbiddenException;
 import com.stayease.exception.NotFoundException;
 import com.stayease.security.UserPrincipal;
 import com.stayease.shared.dto.ApiResponse;
+import com.stayease.shared.dto.CursorPageDTO;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
@@ -28,6 +33,7 @@ import java.util.UUID;
 public class BookingController {
 
         private final BookingService bookingService;
+        private final BookingIntakeService bookingIntakeService;
 
         @PostMapping
         @PreAuthorize("isAuthenticated()")
@@ -59,6 +65,64 @@ public class BookingController {
                                                 .build());
         }
 
+        /**
+         * Flash-demand intake: returns a ticket right away; the outcome is polled
+         * or streamed from the ticket endpoints.
+         */
+        @PostMapping("/intake")
+        @PreAuthorize("isAuthenticated()")
+        public ResponseEntity<ApiResponse<BookingIntakeTicketDTO>> submitBookingRequest(
+                        @Valid @RequestBody CreateBookingDTO dto,
+                        @AuthenticationPrincipal UserPrincipal currentUser) {
+
+                BookingIntakeTicketDTO ticket = bookingIntakeService.submit(dto, currentUser.getId());
+
+                return ResponseEntity
+                                .status(HttpStatus.ACCEPTED)
+                                .body(ApiResponse.<BookingIntakeTicketDTO>builder()
+                                                .success(true)
+                                                .message("Booking request received")
+                                                .data(ticket)
+                                                .build());
+        }
+
+        @GetMapping("/intake/{ticketId}")
+        @PreAuthorize("isAuthenticated()")
+        public ResponseEntity<ApiResponse<BookingIntakeTicketDTO>> getBookingTicket(
+                        @PathVariable UUID ticketId,
+                        @AuthenticationPrincipal UserPrincipal currentUser) {
+
+                BookingIntakeTicketDTO ticket = bookingIntakeService.getTicket(ticketId, currentUser.getId());
+
+                return ResponseEntity.ok(ApiResponse.<BookingIntakeTicketDTO>builder()
+                                .success(true)
+                                .data(ticket)
+                                .build());
+        }
+
+        @GetMapping("/intake/{ticketId}/stream")
+        @PreAuthorize("isAuthenticated()")
+        public SseEmitter streamBookingTicket(
+                        @PathVariable UUID ticketId,
+                        @AuthenticationPrincipal UserPrincipal currentUser) {
+
+                SseEmitter emitter = new SseEmitter(60_000L);
+                bookingIntakeService.awaitTicket(ticketId, currentUser.getId())
+                                .whenComplete((ticket, error) -> {
+                                        try {
+                                                if (error != null) {
+                                                        emitter.completeWithError(error);
+                                                        return;
+                                                }
+                                                emitter.send(SseEmitter.event().name("outcome").data(ticket));
+                                                emitter.complete();
+                                        } catch (IOException e) {
+                                                emitter.completeWithError(e);
+                                        }
+                                });
+                return emitter;
+        }
+
         @GetMapping("/{publicId}")
         @PreAuthorize("isAuthenticated()")
         public ResponseEntity<ApiResponse<BookingDTO>> getBookingById(
@@ -110,6 +174,26 @@ public class BookingController {
                                 .build());
         }
 
+        @GetMapping("/landlord")
+        @PreAuthorize("hasAnyAuthority('ROLE_LANDLORD', 'ROLE_ADMIN')")
+        public ResponseEntity<ApiResponse<CursorPageDTO<BookingDTO>>> getLandlordBookings(
+                        @RequestParam(required = false) Booking.BookingStatus status,
+                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                        @RequestParam(required = false) String search,
+                        @RequestParam(required = false) String cursor,
+                        @RequestParam(defaultValue = "20") int size,
+                        @AuthenticationPrincipal UserPrincipal currentUser) {
+
+                CursorPageDTO<BookingDTO> bookings = bookingService.getLandlordBookings(
+                                currentUser.getId(), status, from, to, search, cursor, size);
+
+                return ResponseEntity.ok(ApiResponse.<CursorPageDTO<BookingDTO>>builder()
+                                .success(true)
+                                .data(bookings)
+                                .build());
+        }
+
         @PatchMapping("/{publicId}/status")
         @PreAuthorize("hasAnyAuthority('ROLE_LANDLORD', 'ROLE_ADMIN')")
         public ResponseEntity<ApiResponse<BookingDTO>> updateBookingStatus(
@@ -194,4 +278,35 @@ public class BookingController {
                                 .data(booking)
                                 .build());
         }
-}
\ No newline at end of file
+
+        @PostMapping("/holds")
+        @PreAuthorize("isAuthenticated()")
+        public ResponseEntity<ApiResponse<BookingHoldDTO>> placeHold(
+                        @Valid @RequestBody CreateBookingHoldDTO dto,
+                        @AuthenticationPrincipal UserPrincipal currentUser) {
+
+                BookingHoldDTO hold = bookingService.placeHold(dto, currentUser.getId());
+
+                return ResponseEntity
+                                .status(HttpStatus.CREATED)
+                                .body(ApiResponse.<BookingHoldDTO>builder()
+                                                .success(true)
+                                                .message("Dates held for checkout")
+                                                .data(hold)
+                                                .build());
+        }
+
+        @DeleteMapping("/holds/{listingPublicId}")
+        @PreAuthorize("isAuthenticated()")
+        public ResponseEntity<ApiResponse<Void>> releaseHold(
+                        @PathVariable UUID listingPublicId,
+                        @AuthenticationPrincipal UserPrincipal currentUser) {
+
+                bookingService.releaseHold(listingPublicId, currentUser.getId());
+
+                return ResponseEntity.ok(ApiResponse.<Void>builder()
+                                .success(true)
+                                .message("Hold released")
+                                .build());
+        }
+}
@@ -0,0 +1,18 @@
+package com.stayease.domain.booking.dto;
+
+import lombok.*;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingHoldDTO {
+    private UUID holdId;
+    private UUID listingPublicId;
+    private LocalDate checkInDate;
+    private LocalDate checkOutDate;
+    private Instant expiresAt;
+}
@@ -0,0 +1,25 @@
+package com.stayease.domain.booking.dto;
+
+import lombok.*;
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingIntakeTicketDTO {
+    private UUID ticketId;
+    private UUID listingPublicId;
+    private TicketStatus status;
+    private String message;
+    private BookingDTO booking;
+    private Instant createdAt;
+    private Instant decidedAt;
+
+    public enum TicketStatus {
+        QUEUED,
+        ACCEPTED,
+        REJECTED
+    }
+}
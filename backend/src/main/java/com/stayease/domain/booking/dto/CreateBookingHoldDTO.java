@@ -0,0 +1,24 @@
+package com.stayease.domain.booking.dto;
+
+import jakarta.validation.constraints.*;
+import lombok.*;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CreateBookingHoldDTO {
+
+    @NotNull(message = "Listing ID is required")
+    private UUID listingPublicId;
+
+    @NotNull(message = "Check-in date is required")
+    @Future(message = "Check-in date must be in the future")
+    private LocalDate checkInDate;
+
+    @NotNull(message = "Check-out date is required")
+    @Future(message = "Check-out date must be in the future")
+    private LocalDate checkOutDate;
+}
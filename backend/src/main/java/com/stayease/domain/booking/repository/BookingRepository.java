@@ -4,16 +4,19 @@ import com.stayease.domain.booking.entity.Booking;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, JpaSpecificationExecutor<Booking> {
     
     Optional<Booking> findByPublicId(UUID publicId);
     
@@ -41,4 +44,62 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     Long countByGuest(@Param("guestPublicId") UUID guestPublicId);
     
     boolean existsByPublicId(UUID publicId);
+
+    // Calendar export
+
+    @Query("SELECT b FROM Booking b WHERE b.listingPublicId = :listingPublicId " +
+           "AND b.bookingStatus NOT IN ('CANCELLED', 'REJECTED') " +
+           "AND b.checkOutDate > :from ORDER BY b.checkInDate")
+    List<Booking> findCalendarBookings(@Param("listingPublicId") UUID listingPublicId,
+                                       @Param("from") LocalDate from);
+
+    long countByListingPublicId(UUID listingPublicId);
+
+    @Query("SELECT MAX(b.updatedAt) FROM Booking b WHERE b.listingPublicId = :listingPublicId")
+    Instant findLastUpdatedAt(@Param("listingPublicId") UUID listingPublicId);
+
+    // Lifecycle job: rows are claimed with SKIP LOCKED so parallel workers never overlap
+
+    @Query(value = "SELECT id FROM booking WHERE booking_status = 'PENDING' " +
+           "AND (created_at < :createdBefore OR check_in_date <= :today) " +
+           "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> claimExpiredPending(@Param("createdBefore") Instant createdBefore,
+                                   @Param("today") LocalDate today,
+                                   @Param("limit") int limit);
+
+    @Query(value = "SELECT id FROM booking WHERE booking_status = 'CONFIRMED' " +
+           "AND check_in_date <= :today AND check_out_date > :today " +
+           "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> claimDueForCheckIn(@Param("today") LocalDate today, @Param("limit") int limit);
+
+    @Query(value = "SELECT id FROM booking WHERE booking_status IN ('CONFIRMED', 'CHECKED_IN') " +
+           "AND check_out_date <= :today " +
+           "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> claimDueForCheckOut(@Param("today") LocalDate today, @Param("limit") int limit);
+
+    @Query("SELECT COUNT(b) FROM Booking b WHERE b.bookingStatus = 'PENDING' " +
+           "AND (b.createdAt < :createdBefore OR b.checkInDate <= :today)")
+    long countExpiredPending(@Param("createdBefore") Instant createdBefore, @Param("today") LocalDate today);
+
+    @Query("SELECT COUNT(b) FROM Booking b WHERE b.bookingStatus = 'CONFIRMED' " +
+           "AND b.checkInDate <= :today AND b.checkOutDate > :today")
+    long countDueForCheckIn(@Param("today") LocalDate today);
+
+    @Query("SELECT COUNT(b) FROM Booking b WHERE b.bookingStatus IN ('CONFIRMED', 'CHECKED_IN') " +
+           "AND b.checkOutDate <= :today")
+    long countDueForCheckOut(@Param("today") LocalDate today);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.bookingStatus = :status, b.updatedAt = :now WHERE b.id IN :ids")
+    int updateStatusByIds(@Param("ids") List<Long> ids,
+                          @Param("status") Booking.BookingStatus status,
+                          @Param("now") Instant now);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.bookingStatus = :status, b.cancellationReason = :reason, " +
+           "b.cancelledAt = :now, b.updatedAt = :now WHERE b.id IN :ids")
+    int cancelByIds(@Param("ids") List<Long> ids,
+                    @Param("status") Booking.BookingStatus status,
+                    @Param("reason") String reason,
+                    @Param("now") Instant now);
 }
\ No newline at end of file
@@ -0,0 +1,297 @@
+package com.stayease.domain.booking.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.stayease.domain.booking.dto.BookingDTO;
+import com.stayease.domain.booking.dto.BookingIntakeTicketDTO;
+import com.stayease.domain.booking.dto.BookingIntakeTicketDTO.TicketStatus;
+import com.stayease.domain.booking.dto.CreateBookingDTO;
+import com.stayease.domain.booking.entity.Booking;
+import com.stayease.domain.booking.repository.BookingRepository;
+import com.stayease.domain.calendar.service.ListingCalendarService;
+import com.stayease.exception.ConflictException;
+import com.stayease.exception.ForbiddenException;
+import com.stayease.exception.NotFoundException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Flash-demand booking intake. Requests are queued per listing and served by
+ * one writer per listing at a time on virtual threads. The writer decides
+ * winners against an in-memory {@link ListingOccupancy} and only runs the full
+ * {@link BookingService#createBooking} path for requests that can still win,
+ * so a burst on one listing costs one insert per accepted stay instead of a
+ * conflict query per attempt.
+ *
+ * <p>When {@code app.booking.intake.enabled} is false, tickets are decided
+ * synchronously on the caller's thread.
+ */
+@Service
+@Slf4j
+public class BookingIntakeService {
+
+    private static final String UNAVAILABLE = "Listing is not available for selected dates";
+
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+    private final ListingCalendarService listingCalendarService;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int maxQueuedPerListing;
+    private final Duration occupancyTtl;
+    private final Duration ticketRetention;
+
+    private final ExecutorService writers = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<UUID, ListingMailbox> mailboxes = new ConcurrentHashMap<>();
+    private final Map<UUID, Ticket> tickets = new ConcurrentHashMap<>();
+
+    public BookingIntakeService(
+            BookingService bookingService,
+            BookingRepository bookingRepository,
+            ListingCalendarService listingCalendarService,
+            MeterRegistry meterRegistry,
+            @Value("${app.booking.intake.enabled:false}") boolean enabled,
+            @Value("${app.booking.intake.max-queued-per-listing:1000}") int maxQueuedPerListing,
+            @Value("${app.booking.intake.occupancy-ttl:PT30S}") Duration occupancyTtl,
+            @Value("${app.booking.intake.ticket-retention:PT15M}") Duration ticketRetention) {
+        this.bookingService = bookingService;
+        this.bookingRepository = bookingRepository;
+        this.listingCalendarService = listingCalendarService;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.maxQueuedPerListing = maxQueuedPerListing;
+        this.occupancyTtl = occupancyTtl;
+        this.ticketRetention = ticketRetention;
+    }
+
+    /**
+     * Queue a booking request and return its ticket immediately.
+     */
+    public BookingIntakeTicketDTO submit(CreateBookingDTO dto, UUID guestPublicId) {
+        Ticket ticket = new Ticket(UUID.randomUUID(), guestPublicId, dto);
+        tickets.put(ticket.id, ticket);
+
+        if (!enabled) {
+            decideDirectly(ticket);
+            return ticket.toDTO();
+        }
+
+        ListingMailbox mailbox = mailboxes.computeIfAbsent(dto.getListingPublicId(), ListingMailbox::new);
+        if (!mailbox.offer(ticket)) {
+            tickets.remove(ticket.id);
+            throw new ConflictException("Too many booking requests for this listing, try again shortly");
+        }
+        return ticket.toDTO();
+    }
+
+    public BookingIntakeTicketDTO getTicket(UUID ticketId, UUID guestPublicId) {
+        return findTicket(ticketId, guestPublicId).toDTO();
+    }
+
+    /**
+     * Completes once the ticket has been decided, for streaming the outcome.
+     */
+    public CompletableFuture<BookingIntakeTicketDTO> awaitTicket(UUID ticketId, UUID guestPublicId) {
+        Ticket ticket = findTicket(ticketId, guestPublicId);
+        return ticket.outcome.thenApply(ignored -> ticket.toDTO());
+    }
+
+    @Scheduled(fixedDelayString = "${app.booking.intake.sweep-interval:PT1M}")
+    public void sweepTickets() {
+        Instant cutoff = Instant.now().minus(ticketRetention);
+        tickets.values().removeIf(ticket -> ticket.decidedAt != null && ticket.decidedAt.isBefore(cutoff));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        writers.shutdown();
+    }
+
+    private Ticket findTicket(UUID ticketId, UUID guestPublicId) {
+        Ticket ticket = tickets.get(ticketId);
+        if (ticket == null) {
+            throw new NotFoundException("Booking ticket not found");
+        }
+        if (!ticket.guestPublicId.equals(guestPublicId)) {
+            throw new ForbiddenException("You don't have access to this booking ticket");
+        }
+        return ticket;
+    }
+
+    private void decideDirectly(Ticket ticket) {
+        try {
+            ticket.accept(bookingService.createBooking(ticket.request, ticket.guestPublicId));
+        } catch (RuntimeException e) {
+            ticket.reject(e.getMessage());
+        }
+        record(ticket);
+    }
+
+    private void record(Ticket ticket) {
+        meterRegistry.counter("stayease.booking.intake", "outcome", ticket.status.name().toLowerCase()).increment();
+    }
+
+    /**
+     * Per-listing actor: tickets are appended from any thread, and at most one
+     * virtual thread drains them at a time.
+     */
+    private final class ListingMailbox {
+
+        private final UUID listingPublicId;
+        private final Queue<Ticket> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        // Only touched by the draining writer
+        private ListingOccupancy occupancy;
+        private Instant occupancyLoadedAt;
+
+        ListingMailbox(UUID listingPublicId) {
+            this.listingPublicId = listingPublicId;
+        }
+
+        boolean offer(Ticket ticket) {
+            if (size.incrementAndGet() > maxQueuedPerListing) {
+                size.decrementAndGet();
+                return false;
+            }
+            queue.add(ticket);
+            schedule();
+            return true;
+        }
+
+        private void schedule() {
+            if (draining.compareAndSet(false, true)) {
+                writers.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Ticket ticket;
+                while ((ticket = queue.poll()) != null) {
+                    size.decrementAndGet();
+                    decide(ticket);
+                    record(ticket);
+                }
+            } finally {
+                draining.set(false);
+                // A ticket may have arrived after the last poll but before the flag was cleared
+                if (!queue.isEmpty()) {
+                    schedule();
+                }
+            }
+        }
+
+        private void decide(Ticket ticket) {
+            CreateBookingDTO request = ticket.request;
+            try {
+                if (request.getCheckInDate() == null || request.getCheckOutDate() == null
+                        || !request.getCheckOutDate().isAfter(request.getCheckInDate())) {
+                    ticket.reject("Check-out date must be after check-in date");
+                    return;
+                }
+
+                ListingOccupancy current = occupancy();
+                if (current.overlaps(request.getCheckInDate(), request.getCheckOutDate())) {
+                    ticket.reject(UNAVAILABLE);
+                    return;
+                }
+
+                BookingDTO booking = bookingService.createBooking(request, ticket.guestPublicId);
+                current.occupy(request.getCheckInDate(), request.getCheckOutDate());
+                ticket.accept(booking);
+            } catch (RuntimeException e) {
+                // Bookings, holds or blocks made outside the intake changed the listing; reload next time
+                if (e instanceof ConflictException || UNAVAILABLE.equals(e.getMessage())) {
+                    occupancy = null;
+                }
+                ticket.reject(e.getMessage());
+            }
+        }
+
+        private ListingOccupancy occupancy() {
+            Instant now = Instant.now();
+            if (occupancy == null || occupancyLoadedAt.isBefore(now.minus(occupancyTtl))) {
+                LocalDate today = LocalDate.now();
+                ListingOccupancy loaded = new ListingOccupancy(today);
+                for (Booking booking : bookingRepository.findCalendarBookings(listingPublicId, today)) {
+                    loaded.occupy(booking.getCheckInDate(), booking.getCheckOutDate());
+                }
+                for (LocalDate date : listingCalendarService.blockedDates(listingPublicId)) {
+                    loaded.occupy(date, date.plusDays(1));
+                }
+                occupancy = loaded;
+                occupancyLoadedAt = now;
+            }
+            return occupancy;
+        }
+    }
+
+    private static final class Ticket {
+
+        private final UUID id;
+        private final UUID guestPublicId;
+        private final CreateBookingDTO request;
+        private final Instant createdAt = Instant.now();
+        private final CompletableFuture<Void> outcome = new CompletableFuture<>();
+
+        private volatile TicketStatus status = TicketStatus.QUEUED;
+        private volatile String message;
+        private volatile BookingDTO booking;
+        private volatile Instant decidedAt;
+
+        Ticket(UUID id, UUID guestPublicId, CreateBookingDTO request) {
+            this.id = id;
+            this.guestPublicId = guestPublicId;
+            this.request = request;
+        }
+
+        void accept(BookingDTO booking) {
+            this.booking = booking;
+            this.message = "Booking created";
+            decided(TicketStatus.ACCEPTED);
+        }
+
+        void reject(String message) {
+            this.message = message != null ? message : UNAVAILABLE;
+            decided(TicketStatus.REJECTED);
+        }
+
+        private void decided(TicketStatus status) {
+            this.decidedAt = Instant.now();
+            this.status = status;
+            outcome.complete(null);
+        }
+
+        BookingIntakeTicketDTO toDTO() {
+            return BookingIntakeTicketDTO.builder()
+                    .ticketId(id)
+                    .listingPublicId(request.getListingPublicId())
+                    .status(status)
+                    .message(message)
+                    .booking(booking)
+                    .createdAt(createdAt)
+                    .decidedAt(decidedAt)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.stayease.domain.booking.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.stayease.domain.analytics.service.ListingAnalyticsService;
+import com.stayease.domain.booking.entity.Booking;
+import com.stayease.domain.booking.repository.BookingRepository;
+import com.stayease.shared.job.BatchJobRunner;
+import com.stayease.shared.job.BatchStep;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves stay bookings through their lifecycle: expires stale PENDING requests,
+ * checks guests in on arrival day and out on departure day.
+ */
+@Component
+@Slf4j
+public class BookingLifecycleJob {
+
+    static final String EXPIRED_REASON = "Booking request expired without confirmation";
+
+    private final BookingRepository bookingRepository;
+    private final BatchJobRunner batchJobRunner;
+    private final ListingAnalyticsService listingAnalyticsService;
+    private final Duration pendingTtl;
+
+    public BookingLifecycleJob(
+            BookingRepository bookingRepository,
+            BatchJobRunner batchJobRunner,
+            ListingAnalyticsService listingAnalyticsService,
+            @Value("${app.jobs.booking.pending-ttl:PT24H}") Duration pendingTtl) {
+        this.bookingRepository = bookingRepository;
+        this.batchJobRunner = batchJobRunner;
+        this.listingAnalyticsService = listingAnalyticsService;
+        this.pendingTtl = pendingTtl;
+    }
+
+    @Scheduled(fixedDelayString = "${app.jobs.booking.interval:PT1M}", initialDelayString = "PT30S")
+    public void advanceBookings() {
+        LocalDate today = LocalDate.now();
+        Instant createdBefore = Instant.now().minus(pendingTtl);
+
+        batchJobRunner.run(new BatchStep("booking.expire-pending",
+                limit -> expire(bookingRepository.claimExpiredPending(createdBefore, today, limit)),
+                () -> bookingRepository.countExpiredPending(createdBefore, today)));
+
+        batchJobRunner.run(new BatchStep("booking.check-in",
+                limit -> advance(bookingRepository.claimDueForCheckIn(today, limit), Booking.BookingStatus.CHECKED_IN),
+                () -> bookingRepository.countDueForCheckIn(today)));
+
+        batchJobRunner.run(new BatchStep("booking.check-out",
+                limit -> advance(bookingRepository.claimDueForCheckOut(today, limit), Booking.BookingStatus.CHECKED_OUT),
+                () -> bookingRepository.countDueForCheckOut(today)));
+    }
+
+    private int expire(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        bookingRepository.cancelByIds(ids, Booking.BookingStatus.CANCELLED, EXPIRED_REASON, Instant.now());
+        listingAnalyticsService.recordCancellations(ids);
+        return ids.size();
+    }
+
+    private int advance(List<Long> ids, Booking.BookingStatus status) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        bookingRepository.updateStatusByIds(ids, status, Instant.now());
+        return ids.size();
+    }
+}
@@ -1,28 +1,46 @@
 package com.stayease.domain.booking.service;
 
+import com.stayease.domain.analytics.service.BookingSnapshot;
+import com.stayease.domain.analytics.service.ListingAnalyticsService;
 import com.stayease.domain.booking.dto.*;
 import com.stayease.domain.booking.entity.Booking;
 import com.stayease.domain.booking.entity.BookingAddon;
 import com.stayease.domain.booking.repository.BookingRepository;
+import com.stayease.domain.calendar.service.ListingCalendarService;
 import com.stayease.domain.listing.entity.Listing;
 import com.stayease.domain.listing.repository.ListingRepository;
+import com.stayease.domain.listing.service.ListingHoldService;
+import com.stayease.domain.listing.service.ListingPricingService;
+import com.stayease.domain.listing.service.StayPriceEvaluator;
+import com.stayease.domain.user.entity.User;
 import com.stayease.exception.BadRequestException;
+import com.stayease.exception.ConflictException;
 import com.stayease.exception.ForbiddenException;
 import com.stayease.exception.NotFoundException;
+import com.stayease.shared.dto.CursorPageDTO;
 import com.stayease.shared.mapper.BookingMapper;
+import com.stayease.shared.util.CursorUtil;
+import com.stayease.shared.util.LikeUtil;
+import com.stayease.shared.util.PriceUtil;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -33,6 +51,10 @@ public class BookingService {
     private final BookingRepository bookingRepository;
     private final ListingRepository listingRepository;
     private final BookingMapper bookingMapper;
+    private final ListingPricingService listingPricingService;
+    private final ListingHoldService listingHoldService;
+    private final ListingCalendarService listingCalendarService;
+    private final ListingAnalyticsService listingAnalyticsService;
 
     public BookingDTO createBooking(CreateBookingDTO dto, UUID guestPublicId) {
         log.info("Creating booking for listing: {} by guest: {}", dto.getListingPublicId(), guestPublicId);
@@ -77,26 +99,18 @@ public class BookingService {
                     dto.getCheckInDate(),
                     dto.getCheckOutDate());
 
-            if (!conflicts.isEmpty()) {
+            if (!conflicts.isEmpty() || listingCalendarService.isBlocked(
+                    dto.getListingPublicId(), dto.getCheckInDate(), dto.getCheckOutDate())) {
                 throw new BadRequestException("Listing is not available for selected dates");
             }
 
-            // Calculate nights and total price
-            long nights = ChronoUnit.DAYS.between(dto.getCheckInDate(), dto.getCheckOutDate());
-            BigDecimal pricePerNight = listing.getPricePerNight() != null ? listing.getPricePerNight()
-                    : BigDecimal.ZERO;
-            BigDecimal basePrice = pricePerNight.multiply(BigDecimal.valueOf(nights));
-
-            BigDecimal addonsTotal = BigDecimal.ZERO;
-            if (dto.getAddons() != null) {
-                addonsTotal = dto.getAddons().stream()
-                        .filter(addon -> addon != null && addon.getPrice() != null)
-                        .map(addon -> addon.getPrice()
-                                .multiply(BigDecimal.valueOf(addon.getQuantity() != null ? addon.getQuantity() : 1)))
-                        .reduce(BigDecimal.ZERO, BigDecimal::add);
-            }
+            // Take (or refresh) this guest's hold; fails if another guest is checking out these dates
+            listingHoldService.place(dto.getListingPublicId(), guestPublicId, dto.getCheckInDate(),
+                    dto.getCheckOutDate());
 
-            BigDecimal totalPrice = basePrice.add(addonsTotal);
+            // Price the stay with the listing's compiled pricing rules
+            StayPriceEvaluator.Breakdown price = listingPricingService.priceStay(
+                    listing, dto.getCheckInDate(), dto.getCheckOutDate(), addonsTotalCents(dto.getAddons()));
 
             // Create booking
             Booking booking = Booking.builder()
@@ -105,8 +119,8 @@ public class BookingService {
                     .checkInDate(dto.getCheckInDate())
                     .checkOutDate(dto.getCheckOutDate())
                     .numberOfGuests(dto.getNumberOfGuests())
-                    .numberOfNights((int) nights)
-                    .totalPrice(totalPrice)
+                    .numberOfNights(price.nights())
+                    .totalPrice(PriceUtil.fromCents(price.totalCents()))
                     .currency(listing.getCurrency() != null ? listing.getCurrency() : "USD")
                     .bookingStatus(
                             Boolean.TRUE.equals(listing.getInstantBook()) ? Booking.BookingStatus.CONFIRMED
@@ -131,10 +145,11 @@ public class BookingService {
             }
 
             Booking savedBooking = bookingRepository.save(booking);
+            listingAnalyticsService.recordChange(null, savedBooking);
             log.info("Booking created: {}", savedBooking.getPublicId());
 
             return bookingMapper.toDTO(savedBooking, listing);
-        } catch (BadRequestException | NotFoundException | ForbiddenException e) {
+        } catch (BadRequestException | NotFoundException | ForbiddenException | ConflictException e) {
             log.error("Business logic error creating booking: {}", e.getMessage());
             throw e;
         } catch (Exception e) {
@@ -204,6 +219,40 @@ public class BookingService {
                 .toList();
     }
 
+    /**
+     * Bookings across all of a landlord's listings, newest first, paged by an
+     * opaque {@code (createdAt, id)} cursor instead of an offset.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<BookingDTO> getLandlordBookings(UUID landlordPublicId, Booking.BookingStatus status,
+            LocalDate from, LocalDate to, String search, String cursor, int size) {
+        int pageSize = Math.clamp(size, 1, 100);
+        CursorUtil.Cursor after = CursorUtil.decode(cursor);
+
+        Specification<Booking> spec = landlordBookingsSpecification(landlordPublicId, status, from, to, search, after);
+        Sort sort = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
+        List<Booking> rows = bookingRepository.findBy(spec, query -> query.sortBy(sort).limit(pageSize + 1).all());
+        boolean hasMore = rows.size() > pageSize;
+        List<Booking> bookings = hasMore ? rows.subList(0, pageSize) : rows;
+
+        Map<UUID, Listing> listings = listingRepository.findByPublicIdIn(
+                bookings.stream().map(Booking::getListingPublicId).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Listing::getPublicId, Function.identity()));
+
+        Booking last = bookings.isEmpty() ? null : bookings.get(bookings.size() - 1);
+
+        return CursorPageDTO.<BookingDTO>builder()
+                .content(bookings.stream()
+                        .map(booking -> bookingMapper.toDTO(booking, listings.get(booking.getListingPublicId())))
+                        .toList())
+                .size(pageSize)
+                .hasMore(hasMore)
+                .nextCursor(hasMore ? CursorUtil.encode(last.getCreatedAt(), last.getId()) : null)
+                .build();
+    }
+
     public BookingDTO updateBookingStatus(UUID publicId, Booking.BookingStatus status, UUID currentUserPublicId) {
         Booking booking = bookingRepository.findByPublicId(publicId)
                 .orElseThrow(() -> new NotFoundException("Booking not found"));
@@ -223,6 +272,7 @@ public class BookingService {
             throw new ForbiddenException("You can only cancel your own bookings");
         }
 
+        BookingSnapshot before = BookingSnapshot.of(booking);
         booking.setBookingStatus(status);
 
         if (status == Booking.BookingStatus.CANCELLED) {
@@ -230,6 +280,7 @@ public class BookingService {
         }
 
         Booking savedBooking = bookingRepository.save(booking);
+        listingAnalyticsService.recordChange(before, savedBooking);
 
         return bookingMapper.toDTO(savedBooking, listing);
     }
@@ -270,7 +321,15 @@ public class BookingService {
             throw new BadRequestException("Number of guests exceeds listing capacity");
         }
 
+        if (listingHoldService.isHeldByOther(booking.getListingPublicId(), currentUserPublicId,
+                dto.getCheckInDate(), dto.getCheckOutDate())
+                || listingCalendarService.isBlocked(booking.getListingPublicId(),
+                        dto.getCheckInDate(), dto.getCheckOutDate())) {
+            throw new BadRequestException("Listing is not available for selected dates");
+        }
+
         // Update booking fields
+        BookingSnapshot before = BookingSnapshot.of(booking);
         booking.setCheckInDate(dto.getCheckInDate());
         booking.setCheckOutDate(dto.getCheckOutDate());
         booking.setNumberOfGuests(dto.getNumberOfGuests());
@@ -279,18 +338,9 @@ public class BookingService {
             booking.setSpecialRequests(dto.getSpecialRequests());
         }
 
-        // Recalculate number of nights
-        long nights = ChronoUnit.DAYS.between(dto.getCheckInDate(), dto.getCheckOutDate());
-        booking.setNumberOfNights((int) nights);
-
-        // Recalculate total price
-        BigDecimal nightlyPrice = listing.getPricePerNight();
-        BigDecimal accommodationTotal = nightlyPrice.multiply(new BigDecimal(nights));
-
         // Handle addons - clear old ones and add new ones
         booking.getAddons().clear(); // Clear existing addons (orphan removal will delete them)
 
-        BigDecimal addonsTotal = BigDecimal.ZERO;
         if (dto.getAddons() != null && !dto.getAddons().isEmpty()) {
             for (BookingAddonDTO addonDTO : dto.getAddons()) {
                 BookingAddon addon = new BookingAddon();
@@ -301,20 +351,18 @@ public class BookingService {
 
                 // Use the helper method to properly set the relationship
                 booking.addAddon(addon);
-
-                // Calculate addon cost
-                addonsTotal = addonsTotal.add(
-                        addon.getPrice().multiply(new BigDecimal(addon.getQuantity())));
             }
         }
 
-        BigDecimal subtotal = accommodationTotal.add(addonsTotal);
-        BigDecimal serviceFee = subtotal.multiply(new BigDecimal("0.10")); // 10% service fee
-        BigDecimal totalPrice = subtotal.add(serviceFee);
+        // Recalculate nights and total price with the same rules used at creation
+        StayPriceEvaluator.Breakdown price = listingPricingService.priceStay(
+                listing, dto.getCheckInDate(), dto.getCheckOutDate(), addonsTotalCents(dto.getAddons()));
 
-        booking.setTotalPrice(totalPrice);
+        booking.setNumberOfNights(price.nights());
+        booking.setTotalPrice(PriceUtil.fromCents(price.totalCents()));
 
         Booking savedBooking = bookingRepository.save(booking);
+        listingAnalyticsService.recordChange(before, savedBooking);
         log.info("Booking updated successfully: {}", publicId);
 
         return bookingMapper.toDTO(savedBooking, listing);
@@ -336,11 +384,14 @@ public class BookingService {
             throw new BadRequestException("Cannot cancel past bookings");
         }
 
+        BookingSnapshot before = BookingSnapshot.of(booking);
         booking.setBookingStatus(Booking.BookingStatus.CANCELLED);
         booking.setCancellationReason(reason);
         booking.setCancelledAt(java.time.Instant.now());
 
         Booking savedBooking = bookingRepository.save(booking);
+        listingAnalyticsService.recordChange(before, savedBooking);
+        listingHoldService.release(booking.getListingPublicId(), currentUserPublicId);
 
         Listing listing = listingRepository.findByPublicId(booking.getListingPublicId()).orElse(null);
 
@@ -356,12 +407,14 @@ public class BookingService {
             }
 
             List<Booking> bookings = bookingRepository.findByListingPublicId(listingPublicId);
+            List<LocalDate> heldDates = listingHoldService.heldDates(listingPublicId);
+            List<LocalDate> blockedDates = listingCalendarService.blockedDates(listingPublicId);
 
-            if (bookings == null || bookings.isEmpty()) {
+            if ((bookings == null || bookings.isEmpty()) && heldDates.isEmpty() && blockedDates.isEmpty()) {
                 return List.of();
             }
 
-            return bookings.stream()
+            java.util.stream.Stream<LocalDate> bookedDates = (bookings == null ? List.<Booking>of() : bookings).stream()
                     .filter(b -> b != null &&
                             b.getBookingStatus() != null &&
                             b.getBookingStatus() != Booking.BookingStatus.CANCELLED &&
@@ -375,8 +428,13 @@ public class BookingService {
                             log.error("Error generating dates for booking: {}", b.getPublicId(), e);
                             return java.util.stream.Stream.empty();
                         }
-                    })
+                    });
+
+            // Dates held by guests in checkout or blocked by synced calendars are unavailable too
+            return java.util.stream.Stream.of(bookedDates, heldDates.stream(), blockedDates.stream())
+                    .flatMap(Function.identity())
                     .distinct()
+                    .sorted()
                     .toList();
         } catch (Exception e) {
             log.error("Error fetching unavailable dates for listing: {}", listingPublicId, e);
@@ -410,10 +468,13 @@ public class BookingService {
             }
 
             // Update payment and booking status
+            BookingSnapshot before = BookingSnapshot.of(booking);
             booking.setPaymentStatus(Booking.PaymentStatus.PAID);
             booking.setBookingStatus(Booking.BookingStatus.CONFIRMED);
 
             Booking savedBooking = bookingRepository.save(booking);
+            listingAnalyticsService.recordChange(before, savedBooking);
+            listingHoldService.release(booking.getListingPublicId(), guestPublicId);
             log.info("Payment confirmed successfully for booking: {}", bookingPublicId);
 
             Listing listing = listingRepository.findByPublicId(booking.getListingPublicId()).orElse(null);
@@ -427,4 +488,105 @@ public class BookingService {
             throw new RuntimeException("Failed to confirm payment: " + e.getMessage(), e);
         }
     }
+
+    /**
+     * Hold the dates for a guest while they go through checkout.
+     */
+    public BookingHoldDTO placeHold(CreateBookingHoldDTO dto, UUID guestPublicId) {
+        if (!dto.getCheckOutDate().isAfter(dto.getCheckInDate())) {
+            throw new BadRequestException("Check-out date must be after check-in date");
+        }
+
+        Listing listing = listingRepository.findByPublicId(dto.getListingPublicId())
+                .orElseThrow(() -> new NotFoundException("Listing not found"));
+
+        if (listing.getLandlordPublicId() != null && listing.getLandlordPublicId().equals(guestPublicId)) {
+            throw new BadRequestException("You cannot book your own listing");
+        }
+
+        if (!bookingRepository.findConflictingBookings(
+                dto.getListingPublicId(), dto.getCheckInDate(), dto.getCheckOutDate()).isEmpty()
+                || listingCalendarService.isBlocked(
+                        dto.getListingPublicId(), dto.getCheckInDate(), dto.getCheckOutDate())) {
+            throw new BadRequestException("Listing is not available for selected dates");
+        }
+
+        ListingHoldService.Hold hold = listingHoldService.place(
+                dto.getListingPublicId(), guestPublicId, dto.getCheckInDate(), dto.getCheckOutDate());
+
+        return BookingHoldDTO.builder()
+                .holdId(hold.holdId())
+                .listingPublicId(hold.listingPublicId())
+                .checkInDate(hold.checkInDate())
+                .checkOutDate(hold.checkOutDate())
+                .expiresAt(hold.expiresAt())
+                .build();
+    }
+
+    public void releaseHold(UUID listingPublicId, UUID guestPublicId) {
+        listingHoldService.release(listingPublicId, guestPublicId);
+    }
+
+    private Specification<Booking> landlordBookingsSpecification(UUID landlordPublicId, Booking.BookingStatus status,
+            LocalDate from, LocalDate to, String search, CursorUtil.Cursor after) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            // Join on the landlord's listings in the same statement
+            Root<Listing> listing = query.from(Listing.class);
+            predicates.add(cb.equal(listing.get("publicId"), root.get("listingPublicId")));
+            predicates.add(cb.equal(listing.get("landlordPublicId"), landlordPublicId));
+
+            if (status != null) {
+                predicates.add(cb.equal(root.get("bookingStatus"), status));
+            }
+
+            // Stays overlapping the requested window
+            if (from != null) {
+                predicates.add(cb.greaterThan(root.get("checkOutDate"), from));
+            }
+            if (to != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("checkInDate"), to));
+            }
+
+            // Free text over listing title and guest name / email
+            if (search != null && !search.isBlank()) {
+                String pattern = LikeUtil.contains(search.trim().toLowerCase());
+                Subquery<UUID> guests = query.subquery(UUID.class);
+                Root<User> user = guests.from(User.class);
+                guests.select(user.get("publicId")).where(cb.or(
+                        cb.like(cb.lower(cb.concat(cb.concat(user.get("firstName"), " "), user.get("lastName"))),
+                                pattern, LikeUtil.ESCAPE),
+                        cb.like(cb.lower(user.get("email")), pattern, LikeUtil.ESCAPE)));
+                predicates.add(cb.or(
+                        cb.like(cb.lower(listing.get("title")), pattern, LikeUtil.ESCAPE),
+                        root.get("guestPublicId").in(guests)));
+            }
+
+            // Keyset: strictly after the last row of the previous page
+            if (after != null) {
+                predicates.add(cb.or(
+                        cb.lessThan(root.get("createdAt"), after.createdAt()),
+                        cb.and(
+                                cb.equal(root.get("createdAt"), after.createdAt()),
+                                cb.lessThan(root.get("id"), after.id()))));
+            }
+
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    private long addonsTotalCents(List<BookingAddonDTO> addons) {
+        if (addons == null) {
+            return 0L;
+        }
+
+        long total = 0L;
+        for (BookingAddonDTO addon : addons) {
+            if (addon != null && addon.getPrice() != null) {
+                total += PriceUtil.toCents(addon.getPrice()) * (addon.getQuantity() != null ? addon.getQuantity() : 1);
+            }
+        }
+        return total;
+    }
 }
\ No newline at end of file
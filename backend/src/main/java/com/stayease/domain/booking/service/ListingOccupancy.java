@@ -0,0 +1,41 @@
+package com.stayease.domain.booking.service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+
+/**
+ * Nights already taken on one listing, as a bit per night from {@code base}.
+ * Owned by a single intake writer, so it is deliberately not thread-safe.
+ */
+final class ListingOccupancy {
+
+    private final LocalDate base;
+    private final BitSet nights = new BitSet();
+
+    ListingOccupancy(LocalDate base) {
+        this.base = base;
+    }
+
+    boolean overlaps(LocalDate checkIn, LocalDate checkOut) {
+        int from = index(checkIn);
+        int to = index(checkOut);
+        if (to <= from) {
+            return false;
+        }
+        int next = nights.nextSetBit(from);
+        return next >= 0 && next < to;
+    }
+
+    void occupy(LocalDate checkIn, LocalDate checkOut) {
+        int from = index(checkIn);
+        int to = index(checkOut);
+        if (to > from) {
+            nights.set(from, to);
+        }
+    }
+
+    private int index(LocalDate date) {
+        return (int) Math.max(0, ChronoUnit.DAYS.between(base, date));
+    }
+}
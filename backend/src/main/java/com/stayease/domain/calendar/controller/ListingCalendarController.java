@@ -0,0 +1,103 @@
+package com.stayease.domain.calendar.controller;
+
+import com.stayease.domain.calendar.dto.CalendarFeedDTO;
+import com.stayease.domain.calendar.dto.CreateCalendarFeedDTO;
+import com.stayease.domain.calendar.service.ListingCalendarService;
+import com.stayease.security.UserPrincipal;
+import com.stayease.shared.dto.ApiResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/listings/{listingPublicId}")
+@RequiredArgsConstructor
+@Slf4j
+public class ListingCalendarController {
+
+    private static final MediaType TEXT_CALENDAR = new MediaType("text", "calendar", StandardCharsets.UTF_8);
+
+    private final ListingCalendarService calendarService;
+
+    /**
+     * Public iCal feed for other platforms. Pollers that send If-None-Match get
+     * a 304 without any bookings being loaded.
+     */
+    @GetMapping("/calendar.ics")
+    public ResponseEntity<String> exportCalendar(
+            @PathVariable UUID listingPublicId,
+            WebRequest request) {
+
+        String etag = calendarService.exportETag(listingPublicId);
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .contentType(TEXT_CALENDAR)
+                .body(calendarService.exportCalendar(listingPublicId));
+    }
+
+    @GetMapping("/calendar/feeds")
+    @PreAuthorize("hasAnyAuthority('ROLE_LANDLORD', 'ROLE_ADMIN')")
+    public ResponseEntity<ApiResponse<List<CalendarFeedDTO>>> getFeeds(
+            @PathVariable UUID listingPublicId,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+
+        List<CalendarFeedDTO> feeds = calendarService.getFeeds(listingPublicId, currentUser.getId());
+
+        return ResponseEntity.ok(ApiResponse.<List<CalendarFeedDTO>>builder()
+                .success(true)
+                .data(feeds)
+                .build());
+    }
+
+    @PostMapping("/calendar/feeds")
+    @PreAuthorize("hasAnyAuthority('ROLE_LANDLORD', 'ROLE_ADMIN')")
+    public ResponseEntity<ApiResponse<CalendarFeedDTO>> addFeed(
+            @PathVariable UUID listingPublicId,
+            @Valid @RequestBody CreateCalendarFeedDTO dto,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+
+        CalendarFeedDTO feed = calendarService.addFeed(listingPublicId, dto, currentUser.getId());
+
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(ApiResponse.<CalendarFeedDTO>builder()
+                        .success(true)
+                        .message("Calendar feed added; it will be imported shortly")
+                        .data(feed)
+                        .build());
+    }
+
+    @DeleteMapping("/calendar/feeds/{feedPublicId}")
+    @PreAuthorize("hasAnyAuthority('ROLE_LANDLORD', 'ROLE_ADMIN')")
+    public ResponseEntity<ApiResponse<Void>> deleteFeed(
+            @PathVariable UUID listingPublicId,
+            @PathVariable UUID feedPublicId,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+
+        calendarService.deleteFeed(listingPublicId, feedPublicId, currentUser.getId());
+
+        return ResponseEntity.ok(ApiResponse.<Void>builder()
+                .success(true)
+                .message("Calendar feed removed")
+                .build());
+    }
+}
@@ -0,0 +1,19 @@
+package com.stayease.domain.calendar.dto;
+
+import lombok.*;
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CalendarFeedDTO {
+    private UUID publicId;
+    private UUID listingPublicId;
+    private String name;
+    private String url;
+    private Instant lastSyncedAt;
+    private String lastError;
+    private Instant createdAt;
+}
@@ -0,0 +1,19 @@
+package com.stayease.domain.calendar.dto;
+
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CreateCalendarFeedDTO {
+
+    @Size(max = 100, message = "Name cannot exceed 100 characters")
+    private String name;
+
+    @NotBlank(message = "Calendar URL is required")
+    @Size(max = 2000, message = "Calendar URL cannot exceed 2000 characters")
+    @Pattern(regexp = "^(https?|webcal)://.+", message = "Calendar URL must be an http(s) or webcal link")
+    private String url;
+}
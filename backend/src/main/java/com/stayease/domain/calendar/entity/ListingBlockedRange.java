@@ -0,0 +1,52 @@
+package com.stayease.domain.calendar.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Dates a listing is unavailable because of an imported external calendar.
+ * {@code endDate} is exclusive, like a booking's check-out date.
+ */
+@Entity
+@Table(name = "listing_blocked_range")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ListingBlockedRange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "listing_blocked_range_seq")
+    @SequenceGenerator(name = "listing_blocked_range_seq", sequenceName = "listing_blocked_range_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "listing_public_id", nullable = false)
+    private UUID listingPublicId;
+
+    @Column(name = "feed_id", nullable = false)
+    private Long feedId;
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @Column(name = "end_date", nullable = false)
+    private LocalDate endDate;
+
+    @Column(name = "external_uid", length = 500)
+    private String externalUid;
+
+    @Column(name = "summary")
+    private String summary;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = Instant.now();
+    }
+}
@@ -0,0 +1,30 @@
+package com.stayease.domain.calendar.repository;
+
+import com.stayease.domain.calendar.entity.ListingBlockedRange;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ListingBlockedRangeRepository extends JpaRepository<ListingBlockedRange, Long> {
+
+    @Query("SELECT r FROM ListingBlockedRange r WHERE r.listingPublicId = :listingPublicId " +
+           "AND r.endDate > :from ORDER BY r.startDate")
+    List<ListingBlockedRange> findUpcoming(@Param("listingPublicId") UUID listingPublicId,
+                                           @Param("from") LocalDate from);
+
+    @Query("SELECT COUNT(r) > 0 FROM ListingBlockedRange r WHERE r.listingPublicId = :listingPublicId " +
+           "AND r.startDate < :checkOut AND r.endDate > :checkIn")
+    boolean existsOverlapping(@Param("listingPublicId") UUID listingPublicId,
+                              @Param("checkIn") LocalDate checkIn,
+                              @Param("checkOut") LocalDate checkOut);
+
+    @Modifying
+    @Query("DELETE FROM ListingBlockedRange r WHERE r.feedId = :feedId")
+    int deleteByFeedId(@Param("feedId") Long feedId);
+}
@@ -0,0 +1,35 @@
+package com.stayease.domain.calendar.repository;
+
+import com.stayease.domain.calendar.entity.ListingCalendarFeed;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ListingCalendarFeedRepository extends JpaRepository<ListingCalendarFeed, Long> {
+
+    Optional<ListingCalendarFeed> findByPublicId(UUID publicId);
+
+    List<ListingCalendarFeed> findByListingPublicIdOrderByCreatedAtAsc(UUID listingPublicId);
+
+    @Query("SELECT f FROM ListingCalendarFeed f WHERE f.lastSyncedAt IS NULL OR f.lastSyncedAt < :syncedBefore " +
+           "ORDER BY f.lastSyncedAt ASC NULLS FIRST")
+    List<ListingCalendarFeed> findDueForSync(@Param("syncedBefore") Instant syncedBefore, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE ListingCalendarFeed f SET f.etag = :etag, f.lastSyncedAt = :now, f.lastError = NULL, " +
+           "f.updatedAt = :now WHERE f.id = :id")
+    int markSynced(@Param("id") Long id, @Param("etag") String etag, @Param("now") Instant now);
+
+    @Modifying
+    @Query("UPDATE ListingCalendarFeed f SET f.lastSyncedAt = :now, f.lastError = :error, " +
+           "f.updatedAt = :now WHERE f.id = :id")
+    int markFailed(@Param("id") Long id, @Param("error") String error, @Param("now") Instant now);
+}
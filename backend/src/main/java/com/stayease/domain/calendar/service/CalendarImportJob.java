@@ -0,0 +1,52 @@
+package com.stayease.domain.calendar.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.stayease.domain.calendar.entity.ListingCalendarFeed;
+import com.stayease.domain.calendar.repository.ListingCalendarFeedRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Periodically pulls external iCal feeds whose last sync is older than
+ * {@code app.calendar.sync-every}, stalest first.
+ */
+@Component
+@Slf4j
+public class CalendarImportJob {
+
+    private final ListingCalendarFeedRepository feedRepository;
+    private final ListingCalendarService calendarService;
+    private final Duration syncEvery;
+    private final int maxFeedsPerRun;
+
+    public CalendarImportJob(
+            ListingCalendarFeedRepository feedRepository,
+            ListingCalendarService calendarService,
+            @Value("${app.calendar.sync-every:PT30M}") Duration syncEvery,
+            @Value("${app.calendar.max-feeds-per-run:100}") int maxFeedsPerRun) {
+        this.feedRepository = feedRepository;
+        this.calendarService = calendarService;
+        this.syncEvery = syncEvery;
+        this.maxFeedsPerRun = maxFeedsPerRun;
+    }
+
+    @Scheduled(fixedDelayString = "${app.calendar.import-interval:PT5M}", initialDelayString = "PT1M")
+    public void importFeeds() {
+        List<ListingCalendarFeed> due = feedRepository.findDueForSync(
+                Instant.now().minus(syncEvery), PageRequest.of(0, maxFeedsPerRun));
+        if (due.isEmpty()) {
+            return;
+        }
+
+        log.debug("Syncing {} calendar feeds", due.size());
+        due.forEach(calendarService::syncFeed);
+    }
+}
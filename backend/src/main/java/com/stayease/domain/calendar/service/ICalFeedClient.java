@@ -0,0 +1,160 @@
+package com.stayease.domain.calendar.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fetches external iCal feeds with conditional requests and streams the body
+ * through {@link ICalParser}.
+ *
+ * <p>Feed URLs are supplied by hosts, so every request, including each redirect
+ * hop, must be http(s) to a host whose addresses are all public: loopback,
+ * link-local, private, carrier-grade NAT, unique-local and multicast addresses
+ * are refused. Redirects are followed here rather than by the HTTP client so
+ * each hop can be checked.
+ */
+@Component
+public class ICalFeedClient {
+
+    private static final int MAX_REDIRECTS = 5;
+
+    private final HttpClient httpClient;
+    private final Duration timeout;
+    private final boolean allowPrivateAddresses;
+
+    public ICalFeedClient(
+            @Value("${app.calendar.request-timeout:PT20S}") Duration timeout,
+            @Value("${app.calendar.allow-private-addresses:false}") boolean allowPrivateAddresses) {
+        this.timeout = timeout;
+        this.allowPrivateAddresses = allowPrivateAddresses;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+    }
+
+    /**
+     * Outcome of a fetch: either not modified since {@code etag}, or the number
+     * of events streamed to the consumer and the feed's new ETag.
+     */
+    public record Result(boolean notModified, int events, String etag) {
+    }
+
+    public Result fetch(String url, String etag, Consumer<ICalParser.Event> consumer)
+            throws IOException, InterruptedException {
+        URI uri = URI.create(url);
+        for (int hop = 0; ; hop++) {
+            checkAllowed(uri);
+            HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                    .timeout(timeout)
+                    .header("Accept", "text/calendar")
+                    .GET();
+            if (etag != null && !etag.isBlank()) {
+                request.header("If-None-Match", etag);
+            }
+
+            HttpResponse<InputStream> response = httpClient.send(request.build(),
+                    HttpResponse.BodyHandlers.ofInputStream());
+            try (InputStream body = response.body()) {
+                int status = response.statusCode();
+                if (isRedirect(status)) {
+                    if (hop >= MAX_REDIRECTS) {
+                        throw new IOException("Calendar feed redirected more than " + MAX_REDIRECTS + " times");
+                    }
+                    uri = uri.resolve(response.headers().firstValue("Location")
+                            .orElseThrow(() -> new IOException("Calendar feed redirect has no Location")));
+                    continue;
+                }
+                if (status == 304) {
+                    return new Result(true, 0, etag);
+                }
+                if (status / 100 != 2) {
+                    throw new IOException("Calendar feed returned HTTP " + status);
+                }
+
+                int events = ICalParser.parse(new InputStreamReader(body, StandardCharsets.UTF_8), consumer);
+                return new Result(false, events, response.headers().firstValue("ETag").orElse(null));
+            }
+        }
+    }
+
+    /**
+     * Reject a URL that is not http(s) or whose host resolves to an address
+     * outside the public internet.
+     */
+    public void checkAllowed(URI uri) throws IOException {
+        String scheme = uri.getScheme() != null ? uri.getScheme().toLowerCase(Locale.ROOT) : "";
+        if (!scheme.equals("http") && !scheme.equals("https")) {
+            throw new IOException("Calendar feed must be an http(s) URL");
+        }
+        if (uri.getHost() == null) {
+            throw new IOException("Calendar feed URL has no host");
+        }
+        if (allowPrivateAddresses) {
+            return;
+        }
+        InetAddress[] addresses;
+        try {
+            addresses = InetAddress.getAllByName(uri.getHost());
+        } catch (UnknownHostException e) {
+            throw new IOException("Calendar feed host not found: " + uri.getHost(), e);
+        }
+        for (InetAddress address : addresses) {
+            if (!isPublic(address)) {
+                throw new IOException("Calendar feed host is not a public address: " + uri.getHost());
+            }
+        }
+    }
+
+    private static boolean isRedirect(int status) {
+        return status == 301 || status == 302 || status == 303 || status == 307 || status == 308;
+    }
+
+    private static boolean isPublic(InetAddress address) {
+        if (address.isAnyLocalAddress() || address.isLoopbackAddress() || address.isLinkLocalAddress()
+                || address.isSiteLocalAddress() || address.isMulticastAddress()) {
+            return false;
+        }
+        byte[] bytes = address.getAddress();
+        if (address instanceof Inet6Address) {
+            if (isMappedIPv4(bytes)) {
+                byte[] ipv4 = {bytes[12], bytes[13], bytes[14], bytes[15]};
+                try {
+                    return isPublic(InetAddress.getByAddress(ipv4));
+                } catch (UnknownHostException e) {
+                    return false;
+                }
+            }
+            // fc00::/7 unique local
+            return (bytes[0] & 0xfe) != 0xfc;
+        }
+        int first = bytes[0] & 0xff;
+        int second = bytes[1] & 0xff;
+        // 0.0.0.0/8 and 100.64.0.0/10 carrier-grade NAT
+        return first != 0 && !(first == 100 && (second & 0xc0) == 64);
+    }
+
+    private static boolean isMappedIPv4(byte[] bytes) {
+        for (int i = 0; i < 10; i++) {
+            if (bytes[i] != 0) {
+                return false;
+            }
+        }
+        return (bytes[10] & 0xff) == 0xff && (bytes[11] & 0xff) == 0xff;
+    }
+}
@@ -0,0 +1,158 @@
+package com.stayease.domain.calendar.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.function.Consumer;
+
+/**
+ * Streaming reader for the subset of RFC 5545 that channel calendars use:
+ * VEVENT blocks with UID, DTSTART, DTEND, SUMMARY and STATUS. Events are
+ * handed to the consumer as soon as their END:VEVENT is read, so a feed is
+ * never held in memory as a whole.
+ */
+public final class ICalParser {
+
+    private ICalParser() {
+        // Utility class
+    }
+
+    /**
+     * An all-day blocked range; {@code end} is exclusive.
+     */
+    public record Event(String uid, LocalDate start, LocalDate end, String summary) {
+    }
+
+    /**
+     * Parse events from the reader and return how many were emitted.
+     */
+    public static int parse(Reader source, Consumer<Event> consumer) throws IOException {
+        BufferedReader reader = source instanceof BufferedReader buffered ? buffered : new BufferedReader(source);
+        EventBuilder event = new EventBuilder();
+        StringBuilder pending = null;
+        int emitted = 0;
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            // Folded lines continue the previous content line after a single space or tab
+            if (pending != null && !line.isEmpty() && (line.charAt(0) == ' ' || line.charAt(0) == '\t')) {
+                pending.append(line, 1, line.length());
+                continue;
+            }
+            if (pending != null && event.accept(pending.toString())) {
+                emitted += event.emit(consumer);
+            }
+            pending = new StringBuilder(line);
+        }
+        if (pending != null && event.accept(pending.toString())) {
+            emitted += event.emit(consumer);
+        }
+        return emitted;
+    }
+
+    /**
+     * Date part of a DATE or DATE-TIME value. A timed DTEND is an exclusive end
+     * on its own date, like a check-out: the night before it is the last one blocked.
+     */
+    static LocalDate parseDate(String value) {
+        if (value == null || value.length() < 8) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value.substring(0, 8), DateTimeFormatter.BASIC_ISO_DATE);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static final class EventBuilder {
+
+        private boolean inEvent;
+        private int nestedDepth;
+        private String uid;
+        private String start;
+        private String end;
+        private String summary;
+        private boolean cancelled;
+
+        /**
+         * Consume one unfolded content line; returns true when an event just ended.
+         */
+        boolean accept(String line) {
+            int colon = line.indexOf(':');
+            if (colon < 0) {
+                return false;
+            }
+            String nameAndParams = line.substring(0, colon);
+            int semicolon = nameAndParams.indexOf(';');
+            String name = (semicolon < 0 ? nameAndParams : nameAndParams.substring(0, semicolon)).toUpperCase();
+            String value = line.substring(colon + 1).trim();
+
+            if (name.equals("BEGIN")) {
+                if (!inEvent && value.equalsIgnoreCase("VEVENT")) {
+                    reset();
+                    inEvent = true;
+                } else if (inEvent) {
+                    nestedDepth++;
+                }
+                return false;
+            }
+            if (name.equals("END")) {
+                if (inEvent && nestedDepth > 0) {
+                    nestedDepth--;
+                    return false;
+                }
+                if (inEvent && value.equalsIgnoreCase("VEVENT")) {
+                    inEvent = false;
+                    return true;
+                }
+                return false;
+            }
+            if (!inEvent || nestedDepth > 0) {
+                return false;
+            }
+
+            switch (name) {
+                case "UID" -> uid = value;
+                case "DTSTART" -> start = value;
+                case "DTEND" -> end = value;
+                case "SUMMARY" -> summary = unescape(value);
+                case "STATUS" -> cancelled = value.equalsIgnoreCase("CANCELLED");
+                default -> {
+                    // Other properties are not needed for availability
+                }
+            }
+            return false;
+        }
+
+        int emit(Consumer<Event> consumer) {
+            LocalDate startDate = parseDate(start);
+            if (cancelled || startDate == null) {
+                return 0;
+            }
+            LocalDate endDate = parseDate(end);
+            if (endDate == null || !endDate.isAfter(startDate)) {
+                endDate = startDate.plusDays(1);
+            }
+            consumer.accept(new Event(uid, startDate, endDate, summary));
+            return 1;
+        }
+
+        private void reset() {
+            nestedDepth = 0;
+            uid = null;
+            start = null;
+            end = null;
+            summary = null;
+            cancelled = false;
+        }
+
+        private static String unescape(String value) {
+            return value.replace("\\n", " ").replace("\\N", " ").replace("\\,", ",").replace("\\;", ";")
+                    .replace("\\\\", "\\");
+        }
+    }
+}
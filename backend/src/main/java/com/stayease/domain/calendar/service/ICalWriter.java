@@ -0,0 +1,56 @@
+package com.stayease.domain.calendar.service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Renders blocked date ranges as an RFC 5545 calendar of all-day events.
+ */
+public final class ICalWriter {
+
+    private static final String CRLF = "\r\n";
+    private static final DateTimeFormatter STAMP = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'")
+            .withZone(ZoneOffset.UTC);
+
+    private ICalWriter() {
+        // Utility class
+    }
+
+    public static String write(String calendarName, List<ICalParser.Event> events, Instant stamp) {
+        String dtStamp = STAMP.format(stamp);
+        StringBuilder out = new StringBuilder(256 + events.size() * 160);
+        out.append("BEGIN:VCALENDAR").append(CRLF)
+                .append("VERSION:2.0").append(CRLF)
+                .append("PRODID:-//StayEase//Listing Calendar//EN").append(CRLF)
+                .append("CALSCALE:GREGORIAN").append(CRLF)
+                .append("METHOD:PUBLISH").append(CRLF)
+                .append("X-WR-CALNAME:").append(escape(calendarName)).append(CRLF);
+
+        for (ICalParser.Event event : events) {
+            out.append("BEGIN:VEVENT").append(CRLF)
+                    .append("UID:").append(event.uid()).append(CRLF)
+                    .append("DTSTAMP:").append(dtStamp).append(CRLF)
+                    .append("DTSTART;VALUE=DATE:").append(date(event.start())).append(CRLF)
+                    .append("DTEND;VALUE=DATE:").append(date(event.end())).append(CRLF)
+                    .append("SUMMARY:").append(escape(event.summary())).append(CRLF)
+                    .append("END:VEVENT").append(CRLF);
+        }
+
+        out.append("END:VCALENDAR").append(CRLF);
+        return out.toString();
+    }
+
+    private static String date(LocalDate date) {
+        return date.format(DateTimeFormatter.BASIC_ISO_DATE);
+    }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.replace("\\", "\\\\").replace(";", "\\;").replace(",", "\\,").replace("\n", "\\n");
+    }
+}
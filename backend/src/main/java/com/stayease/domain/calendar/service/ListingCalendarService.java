@@ -0,0 +1,300 @@
+package com.stayease.domain.calendar.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.stayease.domain.booking.entity.Booking;
+import com.stayease.domain.booking.repository.BookingRepository;
+import com.stayease.domain.calendar.dto.CalendarFeedDTO;
+import com.stayease.domain.calendar.dto.CreateCalendarFeedDTO;
+import com.stayease.domain.calendar.entity.ListingBlockedRange;
+import com.stayease.domain.calendar.entity.ListingCalendarFeed;
+import com.stayease.domain.calendar.repository.ListingBlockedRangeRepository;
+import com.stayease.domain.calendar.repository.ListingCalendarFeedRepository;
+import com.stayease.domain.listing.entity.Listing;
+import com.stayease.domain.listing.repository.ListingRepository;
+import com.stayease.exception.BadRequestException;
+import com.stayease.exception.ForbiddenException;
+import com.stayease.exception.NotFoundException;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Channel sync for listing calendars: exports our bookings as an iCal feed and
+ * imports other platforms' feeds as blocked date ranges.
+ */
+@Service
+@Slf4j
+public class ListingCalendarService {
+
+    private final ListingRepository listingRepository;
+    private final BookingRepository bookingRepository;
+    private final ListingCalendarFeedRepository feedRepository;
+    private final ListingBlockedRangeRepository blockedRangeRepository;
+    private final ICalFeedClient feedClient;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxEvents;
+
+    public ListingCalendarService(
+            ListingRepository listingRepository,
+            BookingRepository bookingRepository,
+            ListingCalendarFeedRepository feedRepository,
+            ListingBlockedRangeRepository blockedRangeRepository,
+            ICalFeedClient feedClient,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.calendar.batch-size:500}") int batchSize,
+            @Value("${app.calendar.max-events:10000}") int maxEvents) {
+        this.listingRepository = listingRepository;
+        this.bookingRepository = bookingRepository;
+        this.feedRepository = feedRepository;
+        this.blockedRangeRepository = blockedRangeRepository;
+        this.feedClient = feedClient;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxEvents = maxEvents;
+    }
+
+    /**
+     * Cheap version tag for the export feed, computed without loading any
+     * bookings. Changes whenever a booking is added or modified, and daily as
+     * past stays drop out of the feed.
+     */
+    @Transactional(readOnly = true)
+    public String exportETag(UUID listingPublicId) {
+        if (!listingRepository.existsByPublicId(listingPublicId)) {
+            throw new NotFoundException("Listing not found");
+        }
+        long bookings = bookingRepository.countByListingPublicId(listingPublicId);
+        Instant lastUpdated = bookingRepository.findLastUpdatedAt(listingPublicId);
+        return "\"" + LocalDate.now() + "-" + bookings + "-"
+                + (lastUpdated != null ? lastUpdated.toEpochMilli() : 0) + "\"";
+    }
+
+    /**
+     * Current and upcoming reservations as an iCal document. Imported blocks are
+     * left out so two platforms syncing with each other do not echo blocks back.
+     */
+    @Transactional(readOnly = true)
+    public String exportCalendar(UUID listingPublicId) {
+        Listing listing = listingRepository.findByPublicId(listingPublicId)
+                .orElseThrow(() -> new NotFoundException("Listing not found"));
+
+        List<Booking> bookings = bookingRepository.findCalendarBookings(listingPublicId, LocalDate.now());
+        List<ICalParser.Event> events = bookings.stream()
+                .map(booking -> new ICalParser.Event(
+                        booking.getPublicId() + "@stayease",
+                        booking.getCheckInDate(),
+                        booking.getCheckOutDate(),
+                        "Reserved"))
+                .toList();
+
+        Instant stamp = bookingRepository.findLastUpdatedAt(listingPublicId);
+        return ICalWriter.write(listing.getTitle(), events, stamp != null ? stamp : listing.getCreatedAt());
+    }
+
+    @Transactional(readOnly = true)
+    public List<CalendarFeedDTO> getFeeds(UUID listingPublicId, UUID currentUserPublicId) {
+        requireOwnedListing(listingPublicId, currentUserPublicId);
+        return feedRepository.findByListingPublicIdOrderByCreatedAtAsc(listingPublicId).stream()
+                .map(this::toDTO)
+                .toList();
+    }
+
+    @Transactional
+    public CalendarFeedDTO addFeed(UUID listingPublicId, CreateCalendarFeedDTO dto, UUID currentUserPublicId) {
+        requireOwnedListing(listingPublicId, currentUserPublicId);
+
+        String url = dto.getUrl().trim();
+        try {
+            feedClient.checkAllowed(URI.create(httpUrl(url)));
+        } catch (IOException | IllegalArgumentException e) {
+            throw new BadRequestException("Calendar URL is not allowed: " + e.getMessage());
+        }
+
+        ListingCalendarFeed feed = feedRepository.save(ListingCalendarFeed.builder()
+                .listingPublicId(listingPublicId)
+                .name(dto.getName())
+                .url(url)
+                .build());
+        log.info("Calendar feed {} added to listing {}", feed.getPublicId(), listingPublicId);
+
+        return toDTO(feed);
+    }
+
+    @Transactional
+    public void deleteFeed(UUID listingPublicId, UUID feedPublicId, UUID currentUserPublicId) {
+        requireOwnedListing(listingPublicId, currentUserPublicId);
+
+        ListingCalendarFeed feed = feedRepository.findByPublicId(feedPublicId)
+                .filter(found -> found.getListingPublicId().equals(listingPublicId))
+                .orElseThrow(() -> new NotFoundException("Calendar feed not found"));
+
+        blockedRangeRepository.deleteByFeedId(feed.getId());
+        feedRepository.delete(feed);
+        log.info("Calendar feed {} removed from listing {}", feedPublicId, listingPublicId);
+    }
+
+    /**
+     * Pull one external feed and replace its blocked ranges. The feed is
+     * downloaded and parsed before any transaction is opened, so a slow channel
+     * never holds a database connection. The old ranges are kept when the feed
+     * is unchanged (304) or the download fails.
+     */
+    public void syncFeed(ListingCalendarFeed feed) {
+        try {
+            List<ICalParser.Event> events = new ArrayList<>();
+            ICalFeedClient.Result result = download(feed, events);
+            transactionTemplate.executeWithoutResult(status -> importFeed(feed, result, events));
+            if (!result.notModified()) {
+                log.info("Imported {} events from calendar feed {}", result.events(), feed.getPublicId());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Calendar feed {} failed to sync: {}", feed.getPublicId(), e.getMessage());
+            String error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            transactionTemplate.executeWithoutResult(status -> feedRepository.markFailed(
+                    feed.getId(), error.length() > 500 ? error.substring(0, 500) : error, Instant.now()));
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public boolean isBlocked(UUID listingPublicId, LocalDate checkIn, LocalDate checkOut) {
+        return blockedRangeRepository.existsOverlapping(listingPublicId, checkIn, checkOut);
+    }
+
+    @Transactional(readOnly = true)
+    public List<LocalDate> blockedDates(UUID listingPublicId) {
+        LocalDate today = LocalDate.now();
+        return blockedRangeRepository.findUpcoming(listingPublicId, today).stream()
+                .flatMap(range -> (range.getStartDate().isBefore(today) ? today : range.getStartDate())
+                        .datesUntil(range.getEndDate()))
+                .toList();
+    }
+
+    /**
+     * Fetch a feed, keeping only events that have not ended yet.
+     */
+    private ICalFeedClient.Result download(ListingCalendarFeed feed, List<ICalParser.Event> events) {
+        LocalDate today = LocalDate.now();
+        try {
+            return feedClient.fetch(httpUrl(feed.getUrl()), feed.getEtag(), event -> {
+                if (!event.end().isAfter(today)) {
+                    return;
+                }
+                if (events.size() >= maxEvents) {
+                    throw new IllegalStateException("Calendar feed has more than " + maxEvents + " upcoming events");
+                }
+                events.add(event);
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while fetching calendar feed", e);
+        }
+    }
+
+    private void importFeed(ListingCalendarFeed feed, ICalFeedClient.Result result, List<ICalParser.Event> events) {
+        if (result.notModified()) {
+            feedRepository.markSynced(feed.getId(), feed.getEtag(), Instant.now());
+            return;
+        }
+
+        RangeBatch batch = new RangeBatch(feed);
+        events.forEach(batch::add);
+        batch.finish();
+        feedRepository.markSynced(feed.getId(), result.etag(), Instant.now());
+    }
+
+    private Listing requireOwnedListing(UUID listingPublicId, UUID currentUserPublicId) {
+        Listing listing = listingRepository.findByPublicId(listingPublicId)
+                .orElseThrow(() -> new NotFoundException("Listing not found"));
+        if (!listing.getLandlordPublicId().equals(currentUserPublicId)) {
+            throw new ForbiddenException("You don't have permission to manage this listing's calendar");
+        }
+        return listing;
+    }
+
+    private static String httpUrl(String url) {
+        return url.regionMatches(true, 0, "webcal://", 0, 9) ? "https://" + url.substring(9) : url;
+    }
+
+    private CalendarFeedDTO toDTO(ListingCalendarFeed feed) {
+        return CalendarFeedDTO.builder()
+                .publicId(feed.getPublicId())
+                .listingPublicId(feed.getListingPublicId())
+                .name(feed.getName())
+                .url(feed.getUrl())
+                .lastSyncedAt(feed.getLastSyncedAt())
+                .lastError(feed.getLastError())
+                .createdAt(feed.getCreatedAt())
+                .build();
+    }
+
+    /**
+     * Buffers parsed events and writes them in fixed-size batches, clearing the
+     * feed's previous ranges just before the first write.
+     */
+    private final class RangeBatch {
+
+        private final ListingCalendarFeed feed;
+        private final List<ListingBlockedRange> pending = new ArrayList<>(batchSize);
+        private boolean cleared;
+
+        RangeBatch(ListingCalendarFeed feed) {
+            this.feed = feed;
+        }
+
+        void add(ICalParser.Event event) {
+            pending.add(ListingBlockedRange.builder()
+                    .listingPublicId(feed.getListingPublicId())
+                    .feedId(feed.getId())
+                    .startDate(event.start())
+                    .endDate(event.end())
+                    .externalUid(truncate(event.uid(), 500))
+                    .summary(truncate(event.summary(), 255))
+                    .build());
+            if (pending.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void finish() {
+            flush();
+        }
+
+        private void flush() {
+            if (!cleared) {
+                blockedRangeRepository.deleteByFeedId(feed.getId());
+                cleared = true;
+            }
+            if (pending.isEmpty()) {
+                return;
+            }
+            blockedRangeRepository.saveAll(pending);
+            blockedRangeRepository.flush();
+            entityManager.clear();
+            pending.clear();
+        }
+
+        private static String truncate(String value, int max) {
+            return value != null && value.length() > max ? value.substring(0, max) : value;
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package com.stayease.domain.listing.controller;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -22,9 +24,13 @@ import org.springframework.web.bind.annotation.RestController;
 import com.stayease.domain.listing.dto.CreateListingDTO;
 import com.stayease.domain.listing.dto.ListingDTO;
 import com.stayease.domain.listing.dto.SearchListingDTO;
+import com.stayease.domain.listing.dto.StayQuoteDTO;
 import com.stayease.domain.listing.dto.UpdateListingDTO;
 import com.stayease.domain.listing.entity.Listing;
+import com.stayease.domain.listing.service.ListingPricingService;
 import com.stayease.domain.listing.service.ListingService;
+import com.stayease.domain.serviceoffering.dto.NearbyServiceDTO;
+import com.stayease.domain.serviceoffering.service.NearbyServicesService;
 import com.stayease.security.UserPrincipal;
 import com.stayease.shared.dto.ApiResponse;
 
@@ -39,6 +45,8 @@ import lombok.extern.slf4j.Slf4j;
 public class ListingController {
 
     private final ListingService listingService;
+    private final ListingPricingService listingPricingService;
+    private final NearbyServicesService nearbyServicesService;
 
     @PostMapping
     @PreAuthorize("hasAnyAuthority('ROLE_LANDLORD', 'ROLE_ADMIN')")
@@ -71,6 +79,31 @@ public class ListingController {
                 .build());
     }
 
+    @GetMapping("/{publicId}/quote")
+    public ResponseEntity<ApiResponse<StayQuoteDTO>> getQuote(
+            @PathVariable UUID publicId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkIn,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOut,
+            @RequestParam(required = false) Integer guests) {
+
+        StayQuoteDTO quote = listingPricingService.quote(publicId, checkIn, checkOut, guests);
+
+        return ResponseEntity.ok(ApiResponse.<StayQuoteDTO>builder()
+                .success(true)
+                .data(quote)
+                .build());
+    }
+
+    @GetMapping("/{publicId}/nearby-services")
+    public ResponseEntity<ApiResponse<List<NearbyServiceDTO>>> getNearbyServices(@PathVariable UUID publicId) {
+        List<NearbyServiceDTO> services = nearbyServicesService.getNearbyServices(publicId);
+
+        return ResponseEntity.ok(ApiResponse.<List<NearbyServiceDTO>>builder()
+                .success(true)
+                .data(services)
+                .build());
+    }
+
     @GetMapping
     public ResponseEntity<ApiResponse<Page<ListingDTO>>> getAllListings(
             @RequestParam(defaultValue = "0") int page,
@@ -25,6 +25,9 @@ public class ListingDTO {
     private String address;
     private BigDecimal pricePerNight;
     private String currency;
+    private BigDecimal cleaningFee;
+    private BigDecimal weeklyDiscountPercent;
+    private BigDecimal monthlyDiscountPercent;
     private Integer maxGuests;
     private Integer bedrooms;
     private Integer beds;
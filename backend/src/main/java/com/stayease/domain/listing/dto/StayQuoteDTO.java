@@ -0,0 +1,27 @@
+package com.stayease.domain.listing.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StayQuoteDTO {
+    private UUID listingPublicId;
+    private LocalDate checkInDate;
+    private LocalDate checkOutDate;
+    private Integer numberOfNights;
+    private String currency;
+    private BigDecimal nightlyPrice;
+    private BigDecimal accommodationTotal;
+    private BigDecimal lengthOfStayDiscount;
+    private BigDecimal cleaningFee;
+    private BigDecimal addonsTotal;
+    private BigDecimal serviceFee;
+    private BigDecimal tax;
+    private BigDecimal totalPrice;
+}
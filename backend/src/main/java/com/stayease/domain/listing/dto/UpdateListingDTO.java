@@ -32,6 +32,17 @@ public class UpdateListingDTO {
 
     private String currency;
 
+    @DecimalMin(value = "0.0", message = "Cleaning fee cannot be negative")
+    private BigDecimal cleaningFee;
+
+    @DecimalMin(value = "0.0", message = "Weekly discount cannot be negative")
+    @DecimalMax(value = "100.0", message = "Weekly discount cannot exceed 100%")
+    private BigDecimal weeklyDiscountPercent;
+
+    @DecimalMin(value = "0.0", message = "Monthly discount cannot be negative")
+    @DecimalMax(value = "100.0", message = "Monthly discount cannot exceed 100%")
+    private BigDecimal monthlyDiscountPercent;
+
     @Min(value = 1, message = "At least 1 guest must be allowed")
     @Max(value = 50, message = "Maximum 50 guests allowed")
     private Integer maxGuests;
@@ -62,6 +62,15 @@ public class Listing {
     @Builder.Default
     private String currency = "USD";
 
+    @Column(name = "cleaning_fee", precision = 12, scale = 2)
+    private BigDecimal cleaningFee;
+
+    @Column(name = "weekly_discount_percent", precision = 5, scale = 2)
+    private BigDecimal weeklyDiscountPercent; // Applied to stays of 7+ nights
+
+    @Column(name = "monthly_discount_percent", precision = 5, scale = 2)
+    private BigDecimal monthlyDiscountPercent; // Applied to stays of 28+ nights
+
     @Column(name = "max_guests", nullable = false)
     private Integer maxGuests;
 
@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -19,6 +20,10 @@ public interface ListingRepository extends JpaRepository<Listing, Long>, JpaSpec
     Optional<Listing> findByPublicId(UUID publicId);
     
     List<Listing> findByLandlordPublicId(UUID landlordPublicId);
+
+    List<Listing> findByPublicIdIn(Collection<UUID> publicIds);
+
+    long countByLandlordPublicId(UUID landlordPublicId);
     
     Page<Listing> findByLandlordPublicId(UUID landlordPublicId, Pageable pageable);
     
@@ -45,4 +50,12 @@ public interface ListingRepository extends JpaRepository<Listing, Long>, JpaSpec
                                     Pageable pageable);
     
     boolean existsByPublicId(UUID publicId);
+
+    // Active listings located in a bounding box: publicId, latitude, longitude
+    @Query("SELECT l.publicId, l.latitude, l.longitude FROM Listing l WHERE l.status = 'ACTIVE' AND " +
+           "l.latitude BETWEEN :minLat AND :maxLat AND l.longitude BETWEEN :minLng AND :maxLng")
+    List<Object[]> findActiveLocatedWithin(@Param("minLat") java.math.BigDecimal minLat,
+                                           @Param("maxLat") java.math.BigDecimal maxLat,
+                                           @Param("minLng") java.math.BigDecimal minLng,
+                                           @Param("maxLng") java.math.BigDecimal maxLng);
 }
\ No newline at end of file
@@ -0,0 +1,145 @@
+package com.stayease.domain.listing.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.stayease.exception.ConflictException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Short-lived holds on listing dates, placed when a guest opens checkout so the
+ * dates cannot be taken while they pay. Holds live in memory only and expire
+ * after a few minutes, or are released once the booking is paid or cancelled.
+ */
+@Service
+@Slf4j
+public class ListingHoldService {
+
+    private final Duration ttl;
+
+    private final Map<UUID, List<Hold>> holdsByListing = new ConcurrentHashMap<>();
+
+    public ListingHoldService(@Value("${app.holds.ttl:PT10M}") Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    public record Hold(UUID holdId, UUID listingPublicId, UUID guestPublicId,
+            LocalDate checkInDate, LocalDate checkOutDate, Instant expiresAt) {
+
+        boolean overlaps(LocalDate checkIn, LocalDate checkOut) {
+            return checkInDate.isBefore(checkOut) && checkIn.isBefore(checkOutDate);
+        }
+
+        boolean isLive(Instant now) {
+            return expiresAt.isAfter(now);
+        }
+    }
+
+    /**
+     * Place (or refresh) the guest's hold on a date range. A guest keeps at most
+     * one hold per listing; a new range replaces the previous one.
+     *
+     * @throws ConflictException if another guest holds overlapping dates
+     */
+    public Hold place(UUID listingPublicId, UUID guestPublicId, LocalDate checkIn, LocalDate checkOut) {
+        Instant now = Instant.now();
+        Hold hold = new Hold(UUID.randomUUID(), listingPublicId, guestPublicId, checkIn, checkOut, now.plus(ttl));
+
+        holdsByListing.compute(listingPublicId, (id, current) -> {
+            List<Hold> next = new ArrayList<>();
+            if (current != null) {
+                for (Hold existing : current) {
+                    if (!existing.isLive(now) || existing.guestPublicId().equals(guestPublicId)) {
+                        continue;
+                    }
+                    if (existing.overlaps(checkIn, checkOut)) {
+                        throw new ConflictException("These dates are being booked by another guest, try again shortly");
+                    }
+                    next.add(existing);
+                }
+            }
+            next.add(hold);
+            return List.copyOf(next);
+        });
+
+        log.debug("Placed hold {} on listing {} for {} - {}", hold.holdId(), listingPublicId, checkIn, checkOut);
+        return hold;
+    }
+
+    /**
+     * Whether someone other than {@code guestPublicId} holds any of the dates.
+     * Pass a null guest to check against every hold.
+     */
+    public boolean isHeldByOther(UUID listingPublicId, UUID guestPublicId, LocalDate checkIn, LocalDate checkOut) {
+        Instant now = Instant.now();
+        return liveHolds(listingPublicId, now).stream()
+                .anyMatch(hold -> !hold.guestPublicId().equals(guestPublicId) && hold.overlaps(checkIn, checkOut));
+    }
+
+    /**
+     * All dates currently held on a listing, for the availability calendar.
+     */
+    public List<LocalDate> heldDates(UUID listingPublicId) {
+        return liveHolds(listingPublicId, Instant.now()).stream()
+                .flatMap(hold -> hold.checkInDate().datesUntil(hold.checkOutDate()))
+                .distinct()
+                .toList();
+    }
+
+    /**
+     * Listings with a live hold overlapping the range, used to drop them from
+     * date-filtered search results.
+     */
+    public Set<UUID> heldListings(LocalDate checkIn, LocalDate checkOut) {
+        Instant now = Instant.now();
+        return holdsByListing.values().stream()
+                .flatMap(List::stream)
+                .filter(hold -> hold.isLive(now) && hold.overlaps(checkIn, checkOut))
+                .map(Hold::listingPublicId)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Release the guest's hold on a listing, e.g. once their booking is paid.
+     */
+    public void release(UUID listingPublicId, UUID guestPublicId) {
+        holdsByListing.computeIfPresent(listingPublicId, (id, current) -> {
+            List<Hold> next = current.stream()
+                    .filter(hold -> !hold.guestPublicId().equals(guestPublicId))
+                    .toList();
+            return next.isEmpty() ? null : next;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.holds.sweep-interval:PT1M}")
+    public void sweepExpired() {
+        Instant now = Instant.now();
+        for (UUID listingPublicId : holdsByListing.keySet()) {
+            holdsByListing.computeIfPresent(listingPublicId, (id, current) -> {
+                List<Hold> next = current.stream().filter(hold -> hold.isLive(now)).toList();
+                return next.isEmpty() ? null : next;
+            });
+        }
+    }
+
+    private List<Hold> liveHolds(UUID listingPublicId, Instant now) {
+        List<Hold> holds = holdsByListing.get(listingPublicId);
+        if (holds == null) {
+            return List.of();
+        }
+        return holds.stream().filter(hold -> hold.isLive(now)).toList();
+    }
+}
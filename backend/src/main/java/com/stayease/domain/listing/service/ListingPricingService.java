@@ -0,0 +1,152 @@
+package com.stayease.domain.listing.service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.stayease.domain.listing.dto.StayQuoteDTO;
+import com.stayease.domain.listing.entity.Listing;
+import com.stayease.domain.listing.repository.ListingRepository;
+import com.stayease.exception.BadRequestException;
+import com.stayease.exception.NotFoundException;
+import com.stayease.shared.util.PriceUtil;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Central quote engine for stays. Compiles each listing's pricing rules into a
+ * {@link StayPriceEvaluator} once and keeps it cached, so repeated quotes for
+ * the same listing (calendar hovers, checkout, booking updates) never hit the
+ * database or allocate BigDecimal intermediates.
+ */
+@Service
+@Slf4j
+public class ListingPricingService {
+
+    private final ListingRepository listingRepository;
+    private final int serviceFeeBps;
+    private final int taxBps;
+    private final Duration cacheTtl;
+
+    private final Map<UUID, StayPriceEvaluator> evaluators = new ConcurrentHashMap<>();
+
+    public ListingPricingService(
+            ListingRepository listingRepository,
+            @Value("${app.pricing.service-fee-percent:10}") BigDecimal serviceFeePercent,
+            @Value("${app.pricing.tax-percent:0}") BigDecimal taxPercent,
+            @Value("${app.pricing.cache-ttl:PT10M}") Duration cacheTtl) {
+        this.listingRepository = listingRepository;
+        this.serviceFeeBps = PriceUtil.percentToBasisPoints(serviceFeePercent);
+        this.taxBps = PriceUtil.percentToBasisPoints(taxPercent);
+        this.cacheTtl = cacheTtl;
+    }
+
+    /**
+     * Quote a stay for the calendar / checkout UI.
+     */
+    public StayQuoteDTO quote(UUID listingPublicId, LocalDate checkIn, LocalDate checkOut, Integer guests) {
+        StayPriceEvaluator evaluator = evaluatorFor(listingPublicId);
+        int nights = validateStay(checkIn, checkOut);
+
+        if (guests != null && evaluator.getMaxGuests() != null && guests > evaluator.getMaxGuests()) {
+            throw new BadRequestException("Number of guests exceeds maximum capacity");
+        }
+
+        return toQuoteDTO(evaluator, checkIn, checkOut, evaluator.evaluate(nights, 0L));
+    }
+
+    /**
+     * Price a booking against an already loaded listing. Used by the booking
+     * create and update paths so they charge exactly what the quote showed.
+     */
+    public StayPriceEvaluator.Breakdown priceStay(Listing listing, LocalDate checkIn, LocalDate checkOut,
+            long addonsCents) {
+        int nights = validateStay(checkIn, checkOut);
+        return evaluatorFor(listing).evaluate(nights, addonsCents);
+    }
+
+    public StayPriceEvaluator evaluatorFor(UUID listingPublicId) {
+        StayPriceEvaluator cached = evaluators.get(listingPublicId);
+        if (cached != null && !cached.isOlderThan(Instant.now().minus(cacheTtl))) {
+            return cached;
+        }
+
+        Listing listing = listingRepository.findByPublicId(listingPublicId)
+                .orElseThrow(() -> new NotFoundException("Listing not found"));
+        return compile(listing);
+    }
+
+    public StayPriceEvaluator evaluatorFor(Listing listing) {
+        StayPriceEvaluator cached = evaluators.get(listing.getPublicId());
+        if (cached != null && cached.isCurrentFor(listing)) {
+            return cached;
+        }
+        return compile(listing);
+    }
+
+    /**
+     * Drop the compiled rules for a listing after it changes. Inside a
+     * transaction they are dropped again after commit, so a quote that
+     * compiled the pre-commit rules in between does not keep them cached.
+     */
+    public void evict(UUID listingPublicId) {
+        if (listingPublicId == null) {
+            return;
+        }
+        evaluators.remove(listingPublicId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evaluators.remove(listingPublicId);
+                }
+            });
+        }
+    }
+
+    private StayPriceEvaluator compile(Listing listing) {
+        StayPriceEvaluator evaluator = StayPriceEvaluator.compile(listing, serviceFeeBps, taxBps);
+        evaluators.put(listing.getPublicId(), evaluator);
+        log.debug("Compiled pricing rules for listing: {}", listing.getPublicId());
+        return evaluator;
+    }
+
+    private int validateStay(LocalDate checkIn, LocalDate checkOut) {
+        if (checkIn == null || checkOut == null) {
+            throw new BadRequestException("Check-in and check-out dates are required");
+        }
+        if (!checkOut.isAfter(checkIn)) {
+            throw new BadRequestException("Check-out date must be after check-in date");
+        }
+        return (int) ChronoUnit.DAYS.between(checkIn, checkOut);
+    }
+
+    private StayQuoteDTO toQuoteDTO(StayPriceEvaluator evaluator, LocalDate checkIn, LocalDate checkOut,
+            StayPriceEvaluator.Breakdown breakdown) {
+        return StayQuoteDTO.builder()
+                .listingPublicId(evaluator.getListingPublicId())
+                .checkInDate(checkIn)
+                .checkOutDate(checkOut)
+                .numberOfNights(breakdown.nights())
+                .currency(evaluator.getCurrency())
+                .nightlyPrice(PriceUtil.fromCents(breakdown.nightlyCents()))
+                .accommodationTotal(PriceUtil.fromCents(breakdown.accommodationCents()))
+                .lengthOfStayDiscount(PriceUtil.fromCents(breakdown.discountCents()))
+                .cleaningFee(PriceUtil.fromCents(breakdown.cleaningFeeCents()))
+                .addonsTotal(PriceUtil.fromCents(breakdown.addonsCents()))
+                .serviceFee(PriceUtil.fromCents(breakdown.serviceFeeCents()))
+                .tax(PriceUtil.fromCents(breakdown.taxCents()))
+                .totalPrice(PriceUtil.fromCents(breakdown.totalCents()))
+                .build();
+    }
+}
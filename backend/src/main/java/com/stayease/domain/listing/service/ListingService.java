@@ -2,6 +2,7 @@ package com.stayease.domain.listing.service;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import org.springframework.data.domain.Page;
@@ -12,17 +13,24 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.stayease.domain.booking.entity.Booking;
+import com.stayease.domain.calendar.entity.ListingBlockedRange;
 import com.stayease.domain.listing.dto.CreateListingDTO;
 import com.stayease.domain.listing.dto.ListingDTO;
 import com.stayease.domain.listing.dto.SearchListingDTO;
 import com.stayease.domain.listing.dto.UpdateListingDTO;
 import com.stayease.domain.listing.entity.Listing;
 import com.stayease.domain.listing.repository.ListingRepository;
+import com.stayease.domain.search.entity.SearchDocument.DocumentType;
+import com.stayease.domain.search.service.SearchIndexService;
+import com.stayease.domain.serviceoffering.service.NearbyServicesService;
 import com.stayease.exception.ForbiddenException;
 import com.stayease.exception.NotFoundException;
 import com.stayease.shared.mapper.ListingMapper;
 
 import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -34,6 +42,10 @@ public class ListingService {
 
     private final ListingRepository listingRepository;
     private final ListingMapper listingMapper;
+    private final ListingPricingService listingPricingService;
+    private final ListingHoldService listingHoldService;
+    private final SearchIndexService searchIndexService;
+    private final NearbyServicesService nearbyServicesService;
 
     public ListingDTO createListing(CreateListingDTO dto, UUID landlordPublicId) {
         log.info("Creating new listing for landlord: {}", landlordPublicId);
@@ -42,6 +54,8 @@ public class ListingService {
         listing.setLandlordPublicId(landlordPublicId);
 
         Listing savedListing = listingRepository.save(listing);
+        searchIndexService.indexListing(savedListing);
+        nearbyServicesService.refreshListing(savedListing);
         log.info("Listing created successfully with ID: {}", savedListing.getPublicId());
 
         return listingMapper.toDTO(savedListing);
@@ -87,7 +101,11 @@ public class ListingService {
 
         Pageable pageable = PageRequest.of(page, size, sort);
 
-        Specification<Listing> spec = createSpecification(searchDTO);
+        Set<UUID> heldListings = hasDateRange(searchDTO)
+                ? listingHoldService.heldListings(searchDTO.getCheckIn(), searchDTO.getCheckOut())
+                : Set.of();
+
+        Specification<Listing> spec = createSpecification(searchDTO, heldListings);
 
         Page<Listing> listings = listingRepository.findAll(spec, pageable);
 
@@ -127,6 +145,9 @@ public class ListingService {
         listingMapper.updateEntity(listing, dto);
 
         Listing updatedListing = listingRepository.save(listing);
+        listingPricingService.evict(publicId);
+        searchIndexService.indexListing(updatedListing);
+        nearbyServicesService.refreshListing(updatedListing);
         log.info("Listing updated successfully: {}", publicId);
 
         return listingMapper.toDTO(updatedListing);
@@ -143,6 +164,9 @@ public class ListingService {
         }
 
         listingRepository.delete(listing);
+        listingPricingService.evict(publicId);
+        searchIndexService.remove(DocumentType.STAY, publicId.toString());
+        nearbyServicesService.removeListing(publicId);
         log.info("Listing deleted successfully: {}", publicId);
     }
 
@@ -158,11 +182,18 @@ public class ListingService {
 
         listing.setStatus(status);
         Listing updatedListing = listingRepository.save(listing);
+        searchIndexService.indexListing(updatedListing);
+        nearbyServicesService.refreshListing(updatedListing);
 
         return listingMapper.toDTO(updatedListing);
     }
 
-    private Specification<Listing> createSpecification(SearchListingDTO searchDTO) {
+    private boolean hasDateRange(SearchListingDTO searchDTO) {
+        return searchDTO.getCheckIn() != null && searchDTO.getCheckOut() != null
+                && searchDTO.getCheckOut().isAfter(searchDTO.getCheckIn());
+    }
+
+    private Specification<Listing> createSpecification(SearchListingDTO searchDTO, Set<UUID> heldListings) {
         return (root, query, cb) -> {
             List<Predicate> predicates = new ArrayList<>();
 
@@ -232,6 +263,31 @@ public class ListingService {
                 predicates.add(cb.isTrue(root.get("instantBook")));
             }
 
+            // Dates - skip listings booked, blocked by a synced calendar or held in checkout
+            if (hasDateRange(searchDTO)) {
+                Subquery<Long> booked = query.subquery(Long.class);
+                Root<Booking> booking = booked.from(Booking.class);
+                booked.select(booking.get("id")).where(
+                        cb.equal(booking.get("listingPublicId"), root.get("publicId")),
+                        booking.get("bookingStatus").in(
+                                Booking.BookingStatus.CANCELLED, Booking.BookingStatus.REJECTED).not(),
+                        cb.lessThan(booking.get("checkInDate"), searchDTO.getCheckOut()),
+                        cb.greaterThan(booking.get("checkOutDate"), searchDTO.getCheckIn()));
+                predicates.add(cb.not(cb.exists(booked)));
+
+                Subquery<Long> blocked = query.subquery(Long.class);
+                Root<ListingBlockedRange> range = blocked.from(ListingBlockedRange.class);
+                blocked.select(range.get("id")).where(
+                        cb.equal(range.get("listingPublicId"), root.get("publicId")),
+                        cb.lessThan(range.get("startDate"), searchDTO.getCheckOut()),
+                        cb.greaterThan(range.get("endDate"), searchDTO.getCheckIn()));
+                predicates.add(cb.not(cb.exists(blocked)));
+
+                if (!heldListings.isEmpty()) {
+                    predicates.add(root.get("publicId").in(heldListings).not());
+                }
+            }
+
             // Amenities - check if listing has all requested amenities
             if (searchDTO.getAmenities() != null && !searchDTO.getAmenities().isEmpty()) {
                 for (String amenity : searchDTO.getAmenities()) {
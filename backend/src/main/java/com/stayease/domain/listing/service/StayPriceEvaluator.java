@@ -0,0 +1,107 @@
+package com.stayease.domain.listing.service;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import com.stayease.domain.listing.entity.Listing;
+import com.stayease.shared.util.PriceUtil;
+
+/**
+ * Immutable, pre-compiled pricing rules for a single listing.
+ * All amounts are held in cents and all rates in basis points so a quote is a
+ * handful of long multiplications with no allocation beyond the result.
+ */
+public final class StayPriceEvaluator {
+
+    static final int WEEKLY_THRESHOLD_NIGHTS = 7;
+    static final int MONTHLY_THRESHOLD_NIGHTS = 28;
+
+    private final UUID listingPublicId;
+    private final Instant listingVersion;
+    private final Instant compiledAt;
+    private final String currency;
+    private final long nightlyCents;
+    private final long cleaningFeeCents;
+    private final int weeklyDiscountBps;
+    private final int monthlyDiscountBps;
+    private final int serviceFeeBps;
+    private final int taxBps;
+    private final Integer maxGuests;
+
+    private StayPriceEvaluator(Listing listing, int serviceFeeBps, int taxBps) {
+        this.listingPublicId = listing.getPublicId();
+        this.listingVersion = listing.getUpdatedAt();
+        this.compiledAt = Instant.now();
+        this.currency = listing.getCurrency() != null ? listing.getCurrency() : "USD";
+        this.nightlyCents = PriceUtil.toCents(listing.getPricePerNight());
+        this.cleaningFeeCents = PriceUtil.toCents(listing.getCleaningFee());
+        this.weeklyDiscountBps = PriceUtil.percentToBasisPoints(listing.getWeeklyDiscountPercent());
+        this.monthlyDiscountBps = PriceUtil.percentToBasisPoints(listing.getMonthlyDiscountPercent());
+        this.serviceFeeBps = serviceFeeBps;
+        this.taxBps = taxBps;
+        this.maxGuests = listing.getMaxGuests();
+    }
+
+    public static StayPriceEvaluator compile(Listing listing, int serviceFeeBps, int taxBps) {
+        return new StayPriceEvaluator(listing, serviceFeeBps, taxBps);
+    }
+
+    /**
+     * Price a stay of the given length. Addons are passed pre-summed in cents.
+     */
+    public Breakdown evaluate(int nights, long addonsCents) {
+        long accommodation = nightlyCents * nights;
+        long discount = PriceUtil.applyBasisPoints(accommodation, discountBasisPoints(nights));
+        long subtotal = accommodation - discount + cleaningFeeCents + addonsCents;
+        long serviceFee = PriceUtil.applyBasisPoints(subtotal, serviceFeeBps);
+        long tax = PriceUtil.applyBasisPoints(subtotal, taxBps);
+
+        return new Breakdown(nights, nightlyCents, accommodation, discount, cleaningFeeCents, addonsCents,
+                serviceFee, tax, subtotal + serviceFee + tax);
+    }
+
+    private int discountBasisPoints(int nights) {
+        if (nights >= MONTHLY_THRESHOLD_NIGHTS && monthlyDiscountBps > 0) {
+            return monthlyDiscountBps;
+        }
+        if (nights >= WEEKLY_THRESHOLD_NIGHTS) {
+            return weeklyDiscountBps;
+        }
+        return 0;
+    }
+
+    public boolean isCurrentFor(Listing listing) {
+        return listingVersion != null && listingVersion.equals(listing.getUpdatedAt());
+    }
+
+    public boolean isOlderThan(Instant cutoff) {
+        return compiledAt.isBefore(cutoff);
+    }
+
+    public UUID getListingPublicId() {
+        return listingPublicId;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public Integer getMaxGuests() {
+        return maxGuests;
+    }
+
+    /**
+     * Result of a single evaluation, in cents.
+     */
+    public record Breakdown(
+            int nights,
+            long nightlyCents,
+            long accommodationCents,
+            long discountCents,
+            long cleaningFeeCents,
+            long addonsCents,
+            long serviceFeeCents,
+            long taxCents,
+            long totalCents) {
+    }
+}
@@ -55,7 +55,7 @@ public class ReviewController {
     }
 
     /**
-     * Get reviews for a listing
+     * Get reviews for a listing; {@code sort=helpful} orders by helpfulness
      */
     @GetMapping("/listing/{listingPublicId}")
     public ResponseEntity<ApiResponse<Page<ReviewDTO>>> getListingReviews(
@@ -0,0 +1,164 @@
+package com.stayease.domain.review.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * Running totals of a listing's published reviews. Changed by
+ * {@code ListingRatingSummaryService} whenever a review enters or leaves the
+ * published state, and recomputed from the reviews by its periodic rebuild.
+ *
+ * <p>Averages are kept as sums and counts so a review can be taken back out
+ * exactly. The recent-activity counts are anchored at {@code recentAsOf}, the
+ * last rebuild: a review counts as last month's when it was created within a
+ * month of that point.
+ */
+@Entity
+@Table(name = "listing_rating_summary")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ListingRatingSummary {
+
+    @Id
+    @Column(name = "listing_public_id", nullable = false)
+    private String listingPublicId;
+
+    @Column(name = "review_count", nullable = false)
+    private long reviewCount;
+
+    @Column(name = "rating_sum", nullable = false)
+    private double ratingSum;
+
+    @Column(name = "cleanliness_sum", nullable = false)
+    private double cleanlinessSum;
+
+    @Column(name = "cleanliness_count", nullable = false)
+    private long cleanlinessCount;
+
+    @Column(name = "accuracy_sum", nullable = false)
+    private double accuracySum;
+
+    @Column(name = "accuracy_count", nullable = false)
+    private long accuracyCount;
+
+    @Column(name = "check_in_sum", nullable = false)
+    private double checkInSum;
+
+    @Column(name = "check_in_count", nullable = false)
+    private long checkInCount;
+
+    @Column(name = "communication_sum", nullable = false)
+    private double communicationSum;
+
+    @Column(name = "communication_count", nullable = false)
+    private long communicationCount;
+
+    @Column(name = "location_sum", nullable = false)
+    private double locationSum;
+
+    @Column(name = "location_count", nullable = false)
+    private long locationCount;
+
+    @Column(name = "value_sum", nullable = false)
+    private double valueSum;
+
+    @Column(name = "value_count", nullable = false)
+    private long valueCount;
+
+    @Column(name = "five_star_count", nullable = false)
+    private long fiveStarCount;
+
+    @Column(name = "four_star_count", nullable = false)
+    private long fourStarCount;
+
+    @Column(name = "three_star_count", nullable = false)
+    private long threeStarCount;
+
+    @Column(name = "two_star_count", nullable = false)
+    private long twoStarCount;
+
+    @Column(name = "one_star_count", nullable = false)
+    private long oneStarCount;
+
+    @Column(name = "recommend_count", nullable = false)
+    private long recommendCount;
+
+    @Column(name = "reviews_last_month", nullable = false)
+    private long reviewsLastMonth;
+
+    @Column(name = "reviews_last_year", nullable = false)
+    private long reviewsLastYear;
+
+    @Column(name = "recent_as_of", nullable = false)
+    private LocalDateTime recentAsOf;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    /**
+     * Add ({@code sign = 1}) or take back ({@code sign = -1}) one published review.
+     */
+    public void add(Review review, int sign) {
+        double rating = review.getOverallRating();
+        reviewCount += sign;
+        ratingSum += sign * rating;
+
+        if (review.getCleanlinessRating() != null) {
+            cleanlinessSum += sign * review.getCleanlinessRating();
+            cleanlinessCount += sign;
+        }
+        if (review.getAccuracyRating() != null) {
+            accuracySum += sign * review.getAccuracyRating();
+            accuracyCount += sign;
+        }
+        if (review.getCheckInRating() != null) {
+            checkInSum += sign * review.getCheckInRating();
+            checkInCount += sign;
+        }
+        if (review.getCommunicationRating() != null) {
+            communicationSum += sign * review.getCommunicationRating();
+            communicationCount += sign;
+        }
+        if (review.getLocationRating() != null) {
+            locationSum += sign * review.getLocationRating();
+            locationCount += sign;
+        }
+        if (review.getValueRating() != null) {
+            valueSum += sign * review.getValueRating();
+            valueCount += sign;
+        }
+
+        // Same star buckets as the rating distribution has always used
+        if (rating >= 4.5) {
+            fiveStarCount += sign;
+        } else if (rating >= 3.5) {
+            fourStarCount += sign;
+        } else if (rating >= 2.5) {
+            threeStarCount += sign;
+        } else if (rating >= 1.5) {
+            twoStarCount += sign;
+        } else {
+            oneStarCount += sign;
+        }
+
+        if (Boolean.TRUE.equals(review.getIsRecommended())) {
+            recommendCount += sign;
+        }
+
+        LocalDateTime createdAt = review.getCreatedAt() != null ? review.getCreatedAt() : LocalDateTime.now();
+        if (!createdAt.isBefore(recentAsOf.minusMonths(1))) {
+            reviewsLastMonth += sign;
+        }
+        if (!createdAt.isBefore(recentAsOf.minusYears(1))) {
+            reviewsLastYear += sign;
+        }
+    }
+
+    public static Double average(double sum, long count) {
+        return count > 0 ? sum / count : null;
+    }
+}
@@ -24,7 +24,8 @@ import java.util.List;
         @Index(name = "idx_review_status", columnList = "status"),
         @Index(name = "idx_review_rating", columnList = "overallRating"),
         @Index(name = "idx_review_created", columnList = "createdAt"),
-        @Index(name = "idx_review_listing_status", columnList = "listingPublicId, status")
+        @Index(name = "idx_review_listing_status", columnList = "listingPublicId, status"),
+        @Index(name = "idx_review_listing_helpful", columnList = "listingPublicId, status, helpfulnessScore")
 })
 @Data
 @Builder
@@ -150,21 +151,29 @@ public class Review {
     private String moderatedBy; // Admin who moderated
     private LocalDateTime moderatedAt;
 
+    @Column(columnDefinition = "TEXT")
+    private String moderationMatches; // Moderation terms the text matched, comma-separated
+
     /**
-     * Helpfulness (like Airbnb's "Was this helpful?")
+     * Helpfulness (like Airbnb's "Was this helpful?"), written by WriteBehindCounters only
      */
-    @Column(nullable = false)
+    @Column(nullable = false, updatable = false)
     @Builder.Default
     private Integer helpfulCount = 0;
 
-    @Column(nullable = false)
+    @Column(nullable = false, updatable = false)
     @Builder.Default
     private Integer notHelpfulCount = 0;
 
-    @Column(nullable = false)
+    @Column(nullable = false, updatable = false)
     @Builder.Default
     private Integer reportCount = 0; // Number of times reported
 
+    // "Most helpful" ordering key, computed in SQL by ReviewRepository.HELPFULNESS_SCORE
+    @Column(nullable = false, updatable = false)
+    @Builder.Default
+    private Double helpfulnessScore = 0.0;
+
     /**
      * Auto-posting (Airbnb publishes reviews automatically after 14 days)
      */
@@ -263,27 +272,6 @@ public class Review {
         this.flaggedAt = LocalDateTime.now();
     }
 
-    /**
-     * Mark as helpful
-     */
-    public void markHelpful() {
-        this.helpfulCount++;
-    }
-
-    /**
-     * Mark as not helpful
-     */
-    public void markNotHelpful() {
-        this.notHelpfulCount++;
-    }
-
-    /**
-     * Report review
-     */
-    public void report() {
-        this.reportCount++;
-    }
-
     /**
      * Add photo
      */
@@ -0,0 +1,50 @@
+package com.stayease.domain.review.repository;
+
+import com.stayease.domain.review.entity.ListingRatingSummary;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ListingRatingSummaryRepository extends JpaRepository<ListingRatingSummary, String> {
+
+    /**
+     * Create an empty summary unless the listing has one. Every counter is
+     * written explicitly: a schema created by Hibernate has no column defaults.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO listing_rating_summary (listing_public_id, review_count, rating_sum, " +
+            "cleanliness_sum, cleanliness_count, accuracy_sum, accuracy_count, check_in_sum, check_in_count, " +
+            "communication_sum, communication_count, location_sum, location_count, value_sum, value_count, " +
+            "five_star_count, four_star_count, three_star_count, two_star_count, one_star_count, " +
+            "recommend_count, reviews_last_month, reviews_last_year, recent_as_of, updated_at) " +
+            "VALUES (:listingPublicId, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, " +
+            "0, 0, 0, 0, 0, 0, 0, 0, :now, :now) " +
+            "ON CONFLICT (listing_public_id) DO NOTHING",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("listingPublicId") String listingPublicId, @Param("now") LocalDateTime now);
+
+    // Row locks so concurrent review changes and refreshes apply one after another; taken in key order
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ListingRatingSummary s WHERE s.listingPublicId = :listingPublicId")
+    Optional<ListingRatingSummary> findForUpdate(@Param("listingPublicId") String listingPublicId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ListingRatingSummary s WHERE s.listingPublicId IN :listingPublicIds " +
+            "ORDER BY s.listingPublicId")
+    List<ListingRatingSummary> findAllForUpdate(@Param("listingPublicIds") Collection<String> listingPublicIds);
+
+    // Rows a rebuild did not touch belong to listings without published reviews
+    @Modifying
+    @Query("DELETE FROM ListingRatingSummary s WHERE s.recentAsOf < :cutoff")
+    int deleteNotRebuiltSince(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -11,12 +11,27 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Long> {
 
+    /**
+     * Helpfulness score of a {@code reviews} row aliased {@code r}: the 95% Wilson
+     * lower bound of its helpful share, so a few votes count for less than many,
+     * plus a bonus for verified stays and a recency term that grows linearly
+     * with creation time (two years newer is worth a full point). Being linear,
+     * the recency term never has to be recomputed as reviews age.
+     */
+    String HELPFULNESS_SCORE = "(CASE WHEN r.helpful_count + r.not_helpful_count <= 0 THEN 0 ELSE " +
+            "(r.helpful_count + 1.9208 - 1.96 * SQRT(1.0 * r.helpful_count * r.not_helpful_count " +
+            "/ (r.helpful_count + r.not_helpful_count) + 0.9604)) " +
+            "/ (r.helpful_count + r.not_helpful_count + 3.8416) END) " +
+            "+ (CASE WHEN r.is_verified_stay THEN 0.1 ELSE 0 END) " +
+            "+ EXTRACT(EPOCH FROM r.created_at) / 63072000.0";
+
     // Find by public ID
     Optional<Review> findByPublicId(String publicId);
 
@@ -33,6 +48,11 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
 
     List<Review> findByListingPublicIdAndStatus(String listingPublicId, ReviewStatus status);
 
+    // "Most helpful" first; served by idx_review_listing_helpful
+    @Query("SELECT r FROM Review r WHERE r.listingPublicId = :listingPublicId AND r.status = 'PUBLISHED' " +
+            "ORDER BY r.helpfulnessScore DESC")
+    Page<Review> findMostHelpfulForListing(@Param("listingPublicId") String listingPublicId, Pageable pageable);
+
     // Find by reviewer
     Page<Review> findByReviewerPublicIdOrderByCreatedAtDesc(String reviewerPublicId, Pageable pageable);
 
@@ -57,10 +77,20 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
             "ORDER BY r.createdAt DESC")
     List<Review> findHighlightedReviewsForListing(@Param("listingPublicId") String listingPublicId);
 
-    // Find reviews pending auto-publish
-    @Query("SELECT r FROM Review r WHERE r.status = 'PENDING' " +
-            "AND r.scheduledPublishAt <= :now")
-    List<Review> findReviewsPendingAutoPublish(@Param("now") LocalDateTime now);
+    // Auto-publish job: due reviews are claimed with SKIP LOCKED so parallel workers never overlap.
+    // Rows: id, listing_public_id, service_public_id, overall_rating
+    @Query(value = "SELECT id, listing_public_id, service_public_id, overall_rating FROM reviews " +
+            "WHERE status = 'PENDING' AND scheduled_publish_at <= :now " +
+            "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Object[]> claimDueForAutoPublish(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Query("SELECT COUNT(r) FROM Review r WHERE r.status = 'PENDING' AND r.scheduledPublishAt <= :now")
+    long countDueForAutoPublish(@Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Review r SET r.status = 'PUBLISHED', r.publishedAt = :now, r.isAutoPublished = true, " +
+            "r.updatedAt = :now WHERE r.id IN :ids AND r.status = 'PENDING'")
+    int autoPublishByIds(@Param("ids") List<Long> ids, @Param("now") LocalDateTime now);
 
     // Check if user can review booking
     @Query("SELECT CASE WHEN COUNT(r) > 0 THEN true ELSE false END FROM Review r " +
@@ -72,71 +102,81 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
             @Param("reviewerPublicId") String reviewerPublicId,
             @Param("reviewType") ReviewType reviewType);
 
-    // Statistics queries
-    @Query("SELECT COUNT(r) FROM Review r WHERE r.listingPublicId = :listingPublicId " +
-            "AND r.status = 'PUBLISHED'")
-    long countPublishedReviewsForListing(@Param("listingPublicId") String listingPublicId);
+    // Totals of published reviews per listing; the rebuild and fallback path of the rating summary
+    @Query("SELECT r.listingPublicId AS listingPublicId, COUNT(r) AS reviewCount, " +
+            "SUM(r.overallRating) AS ratingSum, " +
+            "SUM(r.cleanlinessRating) AS cleanlinessSum, COUNT(r.cleanlinessRating) AS cleanlinessCount, " +
+            "SUM(r.accuracyRating) AS accuracySum, COUNT(r.accuracyRating) AS accuracyCount, " +
+            "SUM(r.checkInRating) AS checkInSum, COUNT(r.checkInRating) AS checkInCount, " +
+            "SUM(r.communicationRating) AS communicationSum, COUNT(r.communicationRating) AS communicationCount, " +
+            "SUM(r.locationRating) AS locationSum, COUNT(r.locationRating) AS locationCount, " +
+            "SUM(r.valueRating) AS valueSum, COUNT(r.valueRating) AS valueCount, " +
+            "SUM(CASE WHEN r.overallRating >= 4.5 THEN 1 ELSE 0 END) AS fiveStarCount, " +
+            "SUM(CASE WHEN r.overallRating >= 3.5 AND r.overallRating < 4.5 THEN 1 ELSE 0 END) AS fourStarCount, " +
+            "SUM(CASE WHEN r.overallRating >= 2.5 AND r.overallRating < 3.5 THEN 1 ELSE 0 END) AS threeStarCount, " +
+            "SUM(CASE WHEN r.overallRating >= 1.5 AND r.overallRating < 2.5 THEN 1 ELSE 0 END) AS twoStarCount, " +
+            "SUM(CASE WHEN r.overallRating < 1.5 THEN 1 ELSE 0 END) AS oneStarCount, " +
+            "SUM(CASE WHEN r.isRecommended = true THEN 1 ELSE 0 END) AS recommendCount, " +
+            "SUM(CASE WHEN r.createdAt >= :monthAgo THEN 1 ELSE 0 END) AS reviewsLastMonth, " +
+            "SUM(CASE WHEN r.createdAt >= :yearAgo THEN 1 ELSE 0 END) AS reviewsLastYear " +
+            "FROM Review r WHERE r.listingPublicId IN :listingPublicIds AND r.status = 'PUBLISHED' " +
+            "GROUP BY r.listingPublicId")
+    List<RatingSummaryView> aggregateRatingSummaries(
+            @Param("listingPublicIds") Collection<String> listingPublicIds,
+            @Param("monthAgo") LocalDateTime monthAgo,
+            @Param("yearAgo") LocalDateTime yearAgo);
+
+    @Query("SELECT DISTINCT r.listingPublicId FROM Review r WHERE r.listingPublicId IS NOT NULL " +
+            "AND r.status = 'PUBLISHED' ORDER BY r.listingPublicId")
+    List<String> findReviewedListingPublicIds(Pageable pageable);
+
+    interface RatingSummaryView {
+        String getListingPublicId();
+
+        Long getReviewCount();
+
+        Double getRatingSum();
 
-    @Query("SELECT AVG(r.overallRating) FROM Review r WHERE r.listingPublicId = :listingPublicId " +
-            "AND r.status = 'PUBLISHED'")
-    Double getAverageRatingForListing(@Param("listingPublicId") String listingPublicId);
+        Double getCleanlinessSum();
 
-    @Query("SELECT AVG(r.cleanlinessRating) FROM Review r WHERE r.listingPublicId = :listingPublicId " +
-            "AND r.status = 'PUBLISHED' AND r.cleanlinessRating IS NOT NULL")
-    Double getAverageCleanlinessForListing(@Param("listingPublicId") String listingPublicId);
+        Long getCleanlinessCount();
 
-    @Query("SELECT AVG(r.accuracyRating) FROM Review r WHERE r.listingPublicId = :listingPublicId " +
-            "AND r.status = 'PUBLISHED' AND r.accuracyRating IS NOT NULL")
-    Double getAverageAccuracyForListing(@Param("listingPublicId") String listingPublicId);
+        Double getAccuracySum();
 
-    @Query("SELECT AVG(r.checkInRating) FROM Review r WHERE r.listingPublicId = :listingPublicId " +
-            "AND r.status = 'PUBLISHED' AND r.checkInRating IS NOT NULL")
-    Double getAverageCheckInForListing(@Param("listingPublicId") String listingPublicId);
+        Long getAccuracyCount();
 
-    @Query("SELECT AVG(r.communicationRating) FROM Review r WHERE r.listingPublicId = :listingPublicId " +
-            "AND r.status = 'PUBLISHED' AND r.communicationRating IS NOT NULL")
-    Double getAverageCommunicationForListing(@Param("listingPublicId") String listingPublicId);
+        Double getCheckInSum();
 
-    @Query("SELECT AVG(r.locationRating) FROM Review r WHERE r.listingPublicId = :listingPublicId " +
-            "AND r.status = 'PUBLISHED' AND r.locationRating IS NOT NULL")
-    Double getAverageLocationForListing(@Param("listingPublicId") String listingPublicId);
+        Long getCheckInCount();
 
-    @Query("SELECT AVG(r.valueRating) FROM Review r WHERE r.listingPublicId = :listingPublicId " +
-            "AND r.status = 'PUBLISHED' AND r.valueRating IS NOT NULL")
-    Double getAverageValueForListing(@Param("listingPublicId") String listingPublicId);
+        Double getCommunicationSum();
 
-    // Rating distribution
-    @Query("SELECT COUNT(r) FROM Review r WHERE r.listingPublicId = :listingPublicId " +
-            "AND r.status = 'PUBLISHED' AND r.overallRating >= 4.5")
-    long countFiveStarReviewsForListing(@Param("listingPublicId") String listingPublicId);
+        Long getCommunicationCount();
 
-    @Query("SELECT COUNT(r) FROM Review r WHERE r.listingPublicId = :listingPublicId " +
-            "AND r.status = 'PUBLISHED' AND r.overallRating >= 3.5 AND r.overallRating < 4.5")
-    long countFourStarReviewsForListing(@Param("listingPublicId") String listingPublicId);
+        Double getLocationSum();
 
-    @Query("SELECT COUNT(r) FROM Review r WHERE r.listingPublicId = :listingPublicId " +
-            "AND r.status = 'PUBLISHED' AND r.overallRating >= 2.5 AND r.overallRating < 3.5")
-    long countThreeStarReviewsForListing(@Param("listingPublicId") String listingPublicId);
+        Long getLocationCount();
 
-    @Query("SELECT COUNT(r) FROM Review r WHERE r.listingPublicId = :listingPublicId " +
-            "AND r.status = 'PUBLISHED' AND r.overallRating >= 1.5 AND r.overallRating < 2.5")
-    long countTwoStarReviewsForListing(@Param("listingPublicId") String listingPublicId);
+        Double getValueSum();
 
-    @Query("SELECT COUNT(r) FROM Review r WHERE r.listingPublicId = :listingPublicId " +
-            "AND r.status = 'PUBLISHED' AND r.overallRating < 1.5")
-    long countOneStarReviewsForListing(@Param("listingPublicId") String listingPublicId);
+        Long getValueCount();
 
-    // Recommendation count
-    @Query("SELECT COUNT(r) FROM Review r WHERE r.listingPublicId = :listingPublicId " +
-            "AND r.status = 'PUBLISHED' AND r.isRecommended = true")
-    long countRecommendedForListing(@Param("listingPublicId") String listingPublicId);
+        Long getFiveStarCount();
 
-    // Recent reviews
-    @Query("SELECT COUNT(r) FROM Review r WHERE r.listingPublicId = :listingPublicId " +
-            "AND r.status = 'PUBLISHED' AND r.createdAt >= :since")
-    long countRecentReviewsForListing(
-            @Param("listingPublicId") String listingPublicId,
-            @Param("since") LocalDateTime since);
+        Long getFourStarCount();
+
+        Long getThreeStarCount();
+
+        Long getTwoStarCount();
+
+        Long getOneStarCount();
+
+        Long getRecommendCount();
+
+        Long getReviewsLastMonth();
+
+        Long getReviewsLastYear();
+    }
 
     // Reviews for host (across all their listings)
     @Query("SELECT r FROM Review r WHERE r.revieweePublicId = :hostPublicId " +
@@ -159,18 +199,23 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
             "ORDER BY r.reportCount DESC, r.flaggedAt DESC")
     Page<Review> findFlaggedReviews(@Param("threshold") int threshold, Pageable pageable);
 
-    // Update helpful count
+    // Counter deltas flushed by WriteBehindCounters
+    @Modifying
+    @Query("UPDATE Review r SET r.helpfulCount = r.helpfulCount + :delta WHERE r.publicId IN :publicIds")
+    int addHelpfulCounts(@Param("publicIds") List<String> publicIds, @Param("delta") int delta);
+
     @Modifying
-    @Query("UPDATE Review r SET r.helpfulCount = r.helpfulCount + 1 WHERE r.publicId = :publicId")
-    int incrementHelpfulCount(@Param("publicId") String publicId);
+    @Query("UPDATE Review r SET r.notHelpfulCount = r.notHelpfulCount + :delta WHERE r.publicId IN :publicIds")
+    int addNotHelpfulCounts(@Param("publicIds") List<String> publicIds, @Param("delta") int delta);
 
     @Modifying
-    @Query("UPDATE Review r SET r.notHelpfulCount = r.notHelpfulCount + 1 WHERE r.publicId = :publicId")
-    int incrementNotHelpfulCount(@Param("publicId") String publicId);
+    @Query("UPDATE Review r SET r.reportCount = r.reportCount + :delta WHERE r.publicId IN :publicIds")
+    int addReportCounts(@Param("publicIds") List<String> publicIds, @Param("delta") int delta);
 
     @Modifying
-    @Query("UPDATE Review r SET r.reportCount = r.reportCount + 1 WHERE r.publicId = :publicId")
-    int incrementReportCount(@Param("publicId") String publicId);
+    @Query(value = "UPDATE reviews r SET helpfulness_score = " + HELPFULNESS_SCORE +
+            " WHERE r.public_id IN (:publicIds)", nativeQuery = true)
+    int refreshHelpfulnessScores(@Param("publicIds") List<String> publicIds);
 
     // Publish review
     @Modifying
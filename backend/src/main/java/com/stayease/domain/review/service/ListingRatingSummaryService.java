@@ -0,0 +1,196 @@
+package com.stayease.domain.review.service;
+
+import com.stayease.domain.review.entity.ListingRatingSummary;
+import com.stayease.domain.review.entity.Review;
+import com.stayease.domain.review.entity.Review.ReviewStatus;
+import com.stayease.domain.review.repository.ListingRatingSummaryRepository;
+import com.stayease.domain.review.repository.ReviewRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps one {@link ListingRatingSummary} row per reviewed listing so review
+ * statistics are a single primary-key read. Reviews entering or leaving the
+ * published state are applied as deltas under a row lock; a periodic rebuild
+ * recomputes every row from one grouped aggregate per page of listings, which
+ * also serves as the fallback for listings without a row.
+ */
+@Service
+@Slf4j
+public class ListingRatingSummaryService {
+
+    private final ListingRatingSummaryRepository listingRatingSummaryRepository;
+    private final ReviewRepository reviewRepository;
+    private final TransactionTemplate rebuildTransaction;
+    private final int rebuildPageSize;
+
+    public ListingRatingSummaryService(
+            ListingRatingSummaryRepository listingRatingSummaryRepository,
+            ReviewRepository reviewRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.review-summary.rebuild-page-size:500}") int rebuildPageSize) {
+        this.listingRatingSummaryRepository = listingRatingSummaryRepository;
+        this.reviewRepository = reviewRepository;
+        this.rebuildTransaction = new TransactionTemplate(transactionManager);
+        this.rebuildPageSize = rebuildPageSize;
+    }
+
+    /**
+     * Summary of a listing's published reviews, or {@code null} when it has none.
+     */
+    @Transactional(readOnly = true)
+    public ListingRatingSummary getSummary(String listingPublicId) {
+        ListingRatingSummary summary = listingRatingSummaryRepository.findById(listingPublicId).orElse(null);
+        if (summary != null) {
+            return summary;
+        }
+        // Not built yet (or no published reviews): answer from the reviews themselves
+        LocalDateTime now = LocalDateTime.now();
+        return aggregate(List.of(listingPublicId), now).get(listingPublicId);
+    }
+
+    /**
+     * Summaries of a batch of listings, for indexing. Listings without
+     * published reviews are absent from the map.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, ListingRatingSummary> getSummaries(Collection<String> listingPublicIds) {
+        if (listingPublicIds.isEmpty()) {
+            return Map.of();
+        }
+        return listingRatingSummaryRepository.findAllById(listingPublicIds).stream()
+                .collect(Collectors.toMap(ListingRatingSummary::getListingPublicId, Function.identity()));
+    }
+
+    /**
+     * Apply a review that entered or left the published state. Runs in the
+     * caller's transaction.
+     */
+    public void apply(Review review, boolean wasPublished) {
+        boolean isPublished = review.getStatus() == ReviewStatus.PUBLISHED;
+        if (review.getListingPublicId() == null || review.getOverallRating() == null || wasPublished == isPublished) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        listingRatingSummaryRepository.insertIfAbsent(review.getListingPublicId(), now);
+        ListingRatingSummary summary = listingRatingSummaryRepository.findForUpdate(review.getListingPublicId())
+                .orElseThrow();
+        summary.add(review, isPublished ? 1 : -1);
+        summary.setUpdatedAt(now);
+        listingRatingSummaryRepository.save(summary);
+    }
+
+    /**
+     * Recompute the summaries of a batch of listings from their reviews, for
+     * changes made in bulk. Runs in the caller's transaction.
+     */
+    public void refresh(Collection<String> listingPublicIds) {
+        refresh(listingPublicIds, LocalDateTime.now());
+    }
+
+    @Scheduled(fixedDelayString = "${app.review-summary.rebuild-interval:PT24H}", initialDelayString = "PT1M")
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        LocalDateTime asOf = LocalDateTime.now();
+        int listings = 0;
+        int page = 0;
+        List<String> batch;
+        do {
+            PageRequest request = PageRequest.of(page++, rebuildPageSize);
+            batch = rebuildTransaction.execute(status -> {
+                List<String> listingPublicIds = reviewRepository.findReviewedListingPublicIds(request);
+                refresh(listingPublicIds, asOf);
+                return listingPublicIds;
+            });
+            listings += batch.size();
+        } while (batch.size() == rebuildPageSize);
+
+        Integer dropped = rebuildTransaction.execute(status ->
+                listingRatingSummaryRepository.deleteNotRebuiltSince(asOf));
+        log.info("Rebuilt rating summaries of {} listings in {} ms, dropped {}",
+                listings, System.currentTimeMillis() - started, dropped);
+    }
+
+    private void refresh(Collection<String> listingPublicIds, LocalDateTime asOf) {
+        if (listingPublicIds.isEmpty()) {
+            return;
+        }
+        List<String> ids = listingPublicIds.stream().distinct().sorted().toList();
+        // Create missing rows the way apply() does, in key order, so there is never a plain insert to race with
+        for (String listingPublicId : ids) {
+            listingRatingSummaryRepository.insertIfAbsent(listingPublicId, asOf);
+        }
+        // Lock first so review changes in flight land on top of the recomputed rows
+        listingRatingSummaryRepository.findAllForUpdate(ids);
+
+        Map<String, ListingRatingSummary> summaries = aggregate(ids, asOf);
+        for (String listingPublicId : ids) {
+            // No published reviews left: reset the row rather than keep stale totals
+            summaries.computeIfAbsent(listingPublicId, key -> ListingRatingSummary.builder()
+                    .listingPublicId(key)
+                    .recentAsOf(asOf)
+                    .updatedAt(asOf)
+                    .build());
+        }
+        // Every row is loaded and locked, so these merges update it in place
+        listingRatingSummaryRepository.saveAll(summaries.values());
+    }
+
+    private Map<String, ListingRatingSummary> aggregate(Collection<String> listingPublicIds, LocalDateTime asOf) {
+        return reviewRepository.aggregateRatingSummaries(listingPublicIds, asOf.minusMonths(1), asOf.minusYears(1))
+                .stream()
+                .collect(Collectors.toMap(ReviewRepository.RatingSummaryView::getListingPublicId,
+                        view -> toSummary(view, asOf)));
+    }
+
+    private static ListingRatingSummary toSummary(ReviewRepository.RatingSummaryView view, LocalDateTime asOf) {
+        return ListingRatingSummary.builder()
+                .listingPublicId(view.getListingPublicId())
+                .reviewCount(count(view.getReviewCount()))
+                .ratingSum(sum(view.getRatingSum()))
+                .cleanlinessSum(sum(view.getCleanlinessSum()))
+                .cleanlinessCount(count(view.getCleanlinessCount()))
+                .accuracySum(sum(view.getAccuracySum()))
+                .accuracyCount(count(view.getAccuracyCount()))
+                .checkInSum(sum(view.getCheckInSum()))
+                .checkInCount(count(view.getCheckInCount()))
+                .communicationSum(sum(view.getCommunicationSum()))
+                .communicationCount(count(view.getCommunicationCount()))
+                .locationSum(sum(view.getLocationSum()))
+                .locationCount(count(view.getLocationCount()))
+                .valueSum(sum(view.getValueSum()))
+                .valueCount(count(view.getValueCount()))
+                .fiveStarCount(count(view.getFiveStarCount()))
+                .fourStarCount(count(view.getFourStarCount()))
+                .threeStarCount(count(view.getThreeStarCount()))
+                .twoStarCount(count(view.getTwoStarCount()))
+                .oneStarCount(count(view.getOneStarCount()))
+                .recommendCount(count(view.getRecommendCount()))
+                .reviewsLastMonth(count(view.getReviewsLastMonth()))
+                .reviewsLastYear(count(view.getReviewsLastYear()))
+                .recentAsOf(asOf)
+                .updatedAt(asOf)
+                .build();
+    }
+
+    private static double sum(Double value) {
+        return value != null ? value : 0.0;
+    }
+
+    private static long count(Long value) {
+        return value != null ? value : 0L;
+    }
+}
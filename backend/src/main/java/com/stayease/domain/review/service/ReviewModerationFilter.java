@@ -0,0 +1,100 @@
+package com.stayease.domain.review.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pre-screens review text against the moderation term list. The terms are
+ * compiled into a {@link TermAutomaton}, so a scan is one pass over the text
+ * however long the list is.
+ *
+ * <p>The list is a text file with one term per line ({@code #} starts a
+ * comment). A scheduled check rebuilds the automaton when the file changes and
+ * swaps it in whole; scans in flight keep the one they started with, so
+ * reviews are never held up by a reload. A list that fails to load leaves the
+ * previous automaton in place.
+ */
+@Component
+@Slf4j
+public class ReviewModerationFilter {
+
+    private final ResourceLoader resourceLoader;
+    private final String termsLocation;
+
+    private volatile TermAutomaton automaton = TermAutomaton.EMPTY;
+    private volatile long loadedVersion = -1;
+
+    public ReviewModerationFilter(
+            ResourceLoader resourceLoader,
+            @Value("${app.review-moderation.terms-location:classpath:moderation/review-terms.txt}") String termsLocation) {
+        this.resourceLoader = resourceLoader;
+        this.termsLocation = termsLocation;
+    }
+
+    /**
+     * Moderation terms found in the text, or an empty set when it is clean.
+     */
+    public Set<String> scan(String text) {
+        return automaton.find(text);
+    }
+
+    @PostConstruct
+    void load() {
+        reload();
+    }
+
+    @Scheduled(fixedDelayString = "${app.review-moderation.reload-interval:PT5M}", initialDelayString = "PT1M")
+    public synchronized void reload() {
+        Resource resource = resourceLoader.getResource(termsLocation);
+        try {
+            long version = version(resource);
+            if (version == loadedVersion) {
+                return;
+            }
+            long started = System.nanoTime();
+            TermAutomaton rebuilt = TermAutomaton.of(readTerms(resource));
+            automaton = rebuilt;
+            loadedVersion = version;
+            log.info("Loaded {} review moderation terms from {} in {} ms",
+                    rebuilt.size(), termsLocation, (System.nanoTime() - started) / 1_000_000);
+        } catch (IOException e) {
+            log.warn("Could not load review moderation terms from {}, keeping {} terms: {}",
+                    termsLocation, automaton.size(), e.getMessage());
+        }
+    }
+
+    private static long version(Resource resource) throws IOException {
+        try {
+            return resource.lastModified();
+        } catch (IOException e) {
+            // Not every resource reports a timestamp; those load once
+            if (!resource.exists()) {
+                throw e;
+            }
+            return 0;
+        }
+    }
+
+    private static List<String> readTerms(Resource resource) throws IOException {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            return reader.lines()
+                    .map(String::strip)
+                    .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                    .toList();
+        }
+    }
+}
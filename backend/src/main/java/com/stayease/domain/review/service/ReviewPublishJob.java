@@ -0,0 +1,81 @@
+package com.stayease.domain.review.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.stayease.domain.review.repository.ReviewRepository;
+import com.stayease.domain.serviceoffering.repository.ServiceOfferingRepository;
+import com.stayease.shared.job.BatchJobRunner;
+import com.stayease.shared.job.BatchStep;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Publishes pending reviews once their {@code scheduledPublishAt} has passed.
+ * Due reviews are claimed in chunks with {@code FOR UPDATE SKIP LOCKED} and
+ * published with one bulk update per chunk; the rating summaries of the
+ * listings and services they belong to are then refreshed once per chunk.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReviewPublishJob {
+
+    private final ReviewRepository reviewRepository;
+    private final ListingRatingSummaryService listingRatingSummaryService;
+    private final ServiceOfferingRepository serviceOfferingRepository;
+    private final BatchJobRunner batchJobRunner;
+
+    private record ServiceRatings(int count, double sum) {
+
+        ServiceRatings plus(ServiceRatings other) {
+            return new ServiceRatings(count + other.count(), sum + other.sum());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.jobs.review.interval:PT5M}", initialDelayString = "PT1M")
+    public void publishDueReviews() {
+        LocalDateTime now = LocalDateTime.now();
+
+        batchJobRunner.run(new BatchStep("review.auto-publish",
+                limit -> publish(reviewRepository.claimDueForAutoPublish(now, limit)),
+                () -> reviewRepository.countDueForAutoPublish(now)));
+    }
+
+    private int publish(List<Object[]> claimed) {
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = new ArrayList<>(claimed.size());
+        Set<String> listings = new LinkedHashSet<>();
+        Map<String, ServiceRatings> services = new HashMap<>();
+        for (Object[] row : claimed) {
+            ids.add(((Number) row[0]).longValue());
+            if (row[1] != null) {
+                listings.add((String) row[1]);
+            }
+            if (row[2] != null && row[3] != null) {
+                services.merge((String) row[2], new ServiceRatings(1, ((Number) row[3]).doubleValue()),
+                        ServiceRatings::plus);
+            }
+        }
+
+        reviewRepository.autoPublishByIds(ids, LocalDateTime.now());
+        listingRatingSummaryService.refresh(listings);
+        services.forEach((servicePublicId, ratings) ->
+                serviceOfferingRepository.addRatings(servicePublicId, ratings.count(), ratings.sum()));
+
+        log.debug("Auto-published {} reviews across {} listings and {} services",
+                ids.size(), listings.size(), services.size());
+        return ids.size();
+    }
+}
@@ -1,23 +1,28 @@
 package com.stayease.domain.review.service;
 
 import com.stayease.domain.review.dto.*;
+import com.stayease.domain.review.entity.ListingRatingSummary;
 import com.stayease.domain.review.entity.Review;
 import com.stayease.domain.review.entity.Review.*;
 import com.stayease.domain.review.repository.ReviewRepository;
+import com.stayease.domain.serviceoffering.repository.ServiceOfferingRepository;
 import com.stayease.exception.BadRequestException;
 import com.stayease.exception.ForbiddenException;
 import com.stayease.exception.NotFoundException;
+import com.stayease.shared.counter.WriteBehindCounters;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -28,9 +33,33 @@ import java.util.stream.Collectors;
 public class ReviewService {
 
     private final ReviewRepository reviewRepository;
+    private final WriteBehindCounters counters;
+    private final ServiceOfferingRepository serviceOfferingRepository;
+    private final ListingRatingSummaryService listingRatingSummaryService;
+    private final ReviewModerationFilter moderationFilter;
     // TODO: Inject NotificationService, UserService, ListingService when available
 
-    private static final int AUTO_PUBLISH_DAYS = 14; // Airbnb-style: reviews auto-publish after 14 days
+    static final int AUTO_PUBLISH_DAYS = 14; // Airbnb-style: reviews auto-publish after 14 days; see ReviewPublishJob
+    private static final int AUTO_FLAG_REPORTS = 5;
+    private static final String TERM_FLAG_REASON = "Auto-flagged: Matched moderation terms";
+
+    static final String HELPFUL_COUNTER = "review.helpful";
+    static final String NOT_HELPFUL_COUNTER = "review.not-helpful";
+    static final String REPORT_COUNTER = "review.reports";
+    static final String HELPFUL_SORT = "helpful";
+
+    @PostConstruct
+    void registerCounters() {
+        counters.register(HELPFUL_COUNTER, (publicIds, delta) -> {
+            reviewRepository.addHelpfulCounts(publicIds, delta);
+            reviewRepository.refreshHelpfulnessScores(publicIds);
+        });
+        counters.register(NOT_HELPFUL_COUNTER, (publicIds, delta) -> {
+            reviewRepository.addNotHelpfulCounts(publicIds, delta);
+            reviewRepository.refreshHelpfulnessScores(publicIds);
+        });
+        counters.register(REPORT_COUNTER, reviewRepository::addReportCounts);
+    }
 
     /**
      * Create a new review
@@ -87,7 +116,10 @@ public class ReviewService {
             review.calculateOverallRating();
         }
 
+        screenText(review);
+
         review = reviewRepository.save(review);
+        reviewRepository.refreshHelpfulnessScores(List.of(review.getPublicId()));
 
         // TODO: Send notification to reviewee
         // notificationService.notifyNewReview(review);
@@ -109,10 +141,16 @@ public class ReviewService {
     }
 
     /**
-     * Get reviews for a listing
+     * Get reviews for a listing, newest first or, with {@code sort=helpful},
+     * most helpful first
      */
     @Transactional(readOnly = true)
     public Page<ReviewDTO> getListingReviews(String listingPublicId, Pageable pageable) {
+        if (pageable.getSort().getOrderFor(HELPFUL_SORT) != null) {
+            return reviewRepository.findMostHelpfulForListing(listingPublicId,
+                    PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()))
+                    .map(this::mapToDTO);
+        }
         Page<Review> reviews = reviewRepository.findByListingPublicIdAndStatusOrderByCreatedAtDesc(
                 listingPublicId, ReviewStatus.PUBLISHED, pageable);
         return reviews.map(this::mapToDTO);
@@ -161,62 +199,45 @@ public class ReviewService {
      */
     @Transactional(readOnly = true)
     public ReviewStatisticsDTO getListingStatistics(String listingPublicId) {
-        long totalReviews = reviewRepository.countPublishedReviewsForListing(listingPublicId);
+        ListingRatingSummary summary = listingRatingSummaryService.getSummary(listingPublicId);
 
-        if (totalReviews == 0) {
+        if (summary == null || summary.getReviewCount() <= 0) {
             return ReviewStatisticsDTO.builder()
                     .totalReviews(0L)
                     .averageRating(0.0)
                     .build();
         }
 
-        Double avgRating = reviewRepository.getAverageRatingForListing(listingPublicId);
-        Double avgCleanliness = reviewRepository.getAverageCleanlinessForListing(listingPublicId);
-        Double avgAccuracy = reviewRepository.getAverageAccuracyForListing(listingPublicId);
-        Double avgCheckIn = reviewRepository.getAverageCheckInForListing(listingPublicId);
-        Double avgCommunication = reviewRepository.getAverageCommunicationForListing(listingPublicId);
-        Double avgLocation = reviewRepository.getAverageLocationForListing(listingPublicId);
-        Double avgValue = reviewRepository.getAverageValueForListing(listingPublicId);
-
-        // Rating distribution
-        long fiveStarCount = reviewRepository.countFiveStarReviewsForListing(listingPublicId);
-        long fourStarCount = reviewRepository.countFourStarReviewsForListing(listingPublicId);
-        long threeStarCount = reviewRepository.countThreeStarReviewsForListing(listingPublicId);
-        long twoStarCount = reviewRepository.countTwoStarReviewsForListing(listingPublicId);
-        long oneStarCount = reviewRepository.countOneStarReviewsForListing(listingPublicId);
-
-        // Recommendation
-        long recommendCount = reviewRepository.countRecommendedForListing(listingPublicId);
-
-        // Recent activity
-        LocalDateTime oneMonthAgo = LocalDateTime.now().minusMonths(1);
-        LocalDateTime oneYearAgo = LocalDateTime.now().minusYears(1);
-        long reviewsLastMonth = reviewRepository.countRecentReviewsForListing(listingPublicId, oneMonthAgo);
-        long reviewsLastYear = reviewRepository.countRecentReviewsForListing(listingPublicId, oneYearAgo);
-
+        long totalReviews = summary.getReviewCount();
         return ReviewStatisticsDTO.builder()
                 .totalReviews(totalReviews)
-                .averageRating(roundToOneDecimal(avgRating))
-                .averageCleanliness(roundToOneDecimal(avgCleanliness))
-                .averageAccuracy(roundToOneDecimal(avgAccuracy))
-                .averageCheckIn(roundToOneDecimal(avgCheckIn))
-                .averageCommunication(roundToOneDecimal(avgCommunication))
-                .averageLocation(roundToOneDecimal(avgLocation))
-                .averageValue(roundToOneDecimal(avgValue))
-                .fiveStarCount(fiveStarCount)
-                .fourStarCount(fourStarCount)
-                .threeStarCount(threeStarCount)
-                .twoStarCount(twoStarCount)
-                .oneStarCount(oneStarCount)
-                .fiveStarPercentage(calculatePercentage(fiveStarCount, totalReviews))
-                .fourStarPercentage(calculatePercentage(fourStarCount, totalReviews))
-                .threeStarPercentage(calculatePercentage(threeStarCount, totalReviews))
-                .twoStarPercentage(calculatePercentage(twoStarCount, totalReviews))
-                .oneStarPercentage(calculatePercentage(oneStarCount, totalReviews))
-                .recommendCount(recommendCount)
-                .recommendPercentage(calculatePercentage(recommendCount, totalReviews))
-                .reviewsLastMonth(reviewsLastMonth)
-                .reviewsLastYear(reviewsLastYear)
+                .averageRating(roundToOneDecimal(ListingRatingSummary.average(summary.getRatingSum(), totalReviews)))
+                .averageCleanliness(roundToOneDecimal(
+                        ListingRatingSummary.average(summary.getCleanlinessSum(), summary.getCleanlinessCount())))
+                .averageAccuracy(roundToOneDecimal(
+                        ListingRatingSummary.average(summary.getAccuracySum(), summary.getAccuracyCount())))
+                .averageCheckIn(roundToOneDecimal(
+                        ListingRatingSummary.average(summary.getCheckInSum(), summary.getCheckInCount())))
+                .averageCommunication(roundToOneDecimal(
+                        ListingRatingSummary.average(summary.getCommunicationSum(), summary.getCommunicationCount())))
+                .averageLocation(roundToOneDecimal(
+                        ListingRatingSummary.average(summary.getLocationSum(), summary.getLocationCount())))
+                .averageValue(roundToOneDecimal(
+                        ListingRatingSummary.average(summary.getValueSum(), summary.getValueCount())))
+                .fiveStarCount(summary.getFiveStarCount())
+                .fourStarCount(summary.getFourStarCount())
+                .threeStarCount(summary.getThreeStarCount())
+                .twoStarCount(summary.getTwoStarCount())
+                .oneStarCount(summary.getOneStarCount())
+                .fiveStarPercentage(calculatePercentage(summary.getFiveStarCount(), totalReviews))
+                .fourStarPercentage(calculatePercentage(summary.getFourStarCount(), totalReviews))
+                .threeStarPercentage(calculatePercentage(summary.getThreeStarCount(), totalReviews))
+                .twoStarPercentage(calculatePercentage(summary.getTwoStarCount(), totalReviews))
+                .oneStarPercentage(calculatePercentage(summary.getOneStarCount(), totalReviews))
+                .recommendCount(summary.getRecommendCount())
+                .recommendPercentage(calculatePercentage(summary.getRecommendCount(), totalReviews))
+                .reviewsLastMonth(summary.getReviewsLastMonth())
+                .reviewsLastYear(summary.getReviewsLastYear())
                 .build();
     }
 
@@ -257,8 +278,10 @@ public class ReviewService {
             review.setFollowRulesRating(dto.getFollowRulesRating());
 
         // Update content
-        if (dto.getReviewText() != null)
+        if (dto.getReviewText() != null) {
             review.setReviewText(dto.getReviewText());
+            screenText(review);
+        }
         if (dto.getPrivateNote() != null)
             review.setPrivateNote(dto.getPrivateNote());
         if (dto.getIsRecommended() != null)
@@ -321,6 +344,7 @@ public class ReviewService {
 
         review.publish();
         review = reviewRepository.save(review);
+        applyRatings(review, false);
 
         // TODO: Notify reviewee and update listing rating
         // notificationService.notifyReviewPublished(review);
@@ -334,7 +358,7 @@ public class ReviewService {
      * Mark review as helpful
      */
     public void markHelpful(String publicId) {
-        reviewRepository.incrementHelpfulCount(publicId);
+        counters.increment(HELPFUL_COUNTER, publicId);
         log.info("Review {} marked as helpful", publicId);
     }
 
@@ -342,7 +366,7 @@ public class ReviewService {
      * Mark review as not helpful
      */
     public void markNotHelpful(String publicId) {
-        reviewRepository.incrementNotHelpfulCount(publicId);
+        counters.increment(NOT_HELPFUL_COUNTER, publicId);
         log.info("Review {} marked as not helpful", publicId);
     }
 
@@ -353,15 +377,18 @@ public class ReviewService {
         Review review = reviewRepository.findByPublicId(publicId)
                 .orElseThrow(() -> new NotFoundException("Review not found with ID: " + publicId));
 
-        review.report();
+        counters.increment(REPORT_COUNTER, publicId);
+        long reports = review.getReportCount() + counters.pending(REPORT_COUNTER, publicId);
 
         // Auto-flag if report count exceeds threshold
-        if (review.getReportCount() >= 5) {
+        if (reports >= AUTO_FLAG_REPORTS) {
+            boolean wasPublished = review.getStatus() == ReviewStatus.PUBLISHED;
             review.flag("Auto-flagged: Multiple reports", "SYSTEM");
+            reviewRepository.save(review);
+            applyRatings(review, wasPublished);
         }
 
-        reviewRepository.save(review);
-        log.info("Review {} reported. Total reports: {}", publicId, review.getReportCount());
+        log.info("Review {} reported. Total reports: {}", publicId, reports);
     }
 
     /**
@@ -371,6 +398,7 @@ public class ReviewService {
         Review review = reviewRepository.findByPublicId(publicId)
                 .orElseThrow(() -> new NotFoundException("Review not found with ID: " + publicId));
 
+        boolean wasPublished = review.getStatus() == ReviewStatus.PUBLISHED;
         review.setStatus(dto.getStatus());
         review.setModerationNotes(dto.getModerationNotes());
         review.setModeratedBy(dto.getModeratedBy());
@@ -381,6 +409,7 @@ public class ReviewService {
         }
 
         review = reviewRepository.save(review);
+        applyRatings(review, wasPublished);
         log.info("Review {} moderated by {} with status {}", publicId, dto.getModeratedBy(), dto.getStatus());
 
         return mapToDTO(review);
@@ -411,8 +440,10 @@ public class ReviewService {
             throw new ForbiddenException("You can only delete your own reviews");
         }
 
+        boolean wasPublished = review.getStatus() == ReviewStatus.PUBLISHED;
         review.softDelete();
         reviewRepository.save(review);
+        applyRatings(review, wasPublished);
 
         log.info("Review {} soft deleted by user {}", publicId, userPublicId);
     }
@@ -427,22 +458,46 @@ public class ReviewService {
     }
 
     /**
-     * Auto-publish pending reviews (scheduled task - runs daily)
+     * Keep the reviewed listing's summary and service's rating aggregates in
+     * step when a review enters or leaves the published state.
      */
-    @Scheduled(cron = "0 0 2 * * *") // Run at 2 AM daily
-    public void autoPublishPendingReviews() {
-        List<Review> pendingReviews = reviewRepository.findReviewsPendingAutoPublish(LocalDateTime.now());
+    private void applyRatings(Review review, boolean wasPublished) {
+        listingRatingSummaryService.apply(review, wasPublished);
 
-        for (Review review : pendingReviews) {
-            review.publish();
-            review.setIsAutoPublished(true);
-            reviewRepository.save(review);
-
-            // TODO: Notify and update ratings
-            log.info("Auto-published review {}", review.getPublicId());
+        boolean isPublished = review.getStatus() == ReviewStatus.PUBLISHED;
+        if (review.getServicePublicId() == null || review.getOverallRating() == null || wasPublished == isPublished) {
+            return;
         }
+        if (isPublished) {
+            serviceOfferingRepository.addRating(review.getServicePublicId(), review.getOverallRating());
+        } else {
+            serviceOfferingRepository.removeRating(review.getServicePublicId(), review.getOverallRating());
+        }
+    }
 
-        log.info("Auto-published {} pending reviews", pendingReviews.size());
+    /**
+     * Hold reviews whose text matches the moderation term list as FLAGGED,
+     * recording the terms for the admin. A review already flagged for another
+     * reason keeps that reason and only gets the terms recorded. A review
+     * flagged only for its terms goes back to PENDING once an edit removes them.
+     */
+    private void screenText(Review review) {
+        Set<String> matches = moderationFilter.scan(review.getReviewText());
+        if (!matches.isEmpty()) {
+            if (review.getStatus() != ReviewStatus.FLAGGED) {
+                review.flag(TERM_FLAG_REASON, "SYSTEM");
+                log.info("Review {} auto-flagged for moderation terms: {}", review.getPublicId(), matches);
+            }
+            review.setModerationMatches(String.join(", ", matches));
+        } else if (review.getModerationMatches() != null) {
+            review.setModerationMatches(null);
+            if (review.getStatus() == ReviewStatus.FLAGGED && TERM_FLAG_REASON.equals(review.getFlagReason())) {
+                review.setStatus(ReviewStatus.PENDING);
+                review.setFlagReason(null);
+                review.setFlaggedBy(null);
+                review.setFlaggedAt(null);
+            }
+        }
     }
 
     /**
@@ -0,0 +1,180 @@
+package com.stayease.domain.review.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Immutable Aho-Corasick automaton over a set of terms. Text is scanned once,
+ * left to right, whatever the number of terms: each node keeps its outgoing
+ * edges as a sorted character array, a failure link to the longest proper
+ * suffix that is also a trie path, and an output link to the nearest suffix
+ * that ends a term.
+ *
+ * <p>Terms and text are compared lower-cased with runs of whitespace collapsed
+ * to one space. A term only matches as a whole word: where it begins or ends
+ * with a letter or digit, the neighbouring text character must not be one.
+ */
+final class TermAutomaton {
+
+    static final TermAutomaton EMPTY = of(List.of());
+
+    private final char[][] edgeChars;
+    private final int[][] edgeTargets;
+    private final int[] fail;
+    private final int[] outputLink;
+    // Index into terms of the term ending at a node, or -1
+    private final int[] termAt;
+    private final String[] terms;
+
+    private TermAutomaton(char[][] edgeChars, int[][] edgeTargets, int[] fail, int[] outputLink,
+            int[] termAt, String[] terms) {
+        this.edgeChars = edgeChars;
+        this.edgeTargets = edgeTargets;
+        this.fail = fail;
+        this.outputLink = outputLink;
+        this.termAt = termAt;
+        this.terms = terms;
+    }
+
+    static TermAutomaton of(Collection<String> rawTerms) {
+        List<String> terms = new ArrayList<>();
+        List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        List<Integer> termAt = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        termAt.add(-1);
+
+        for (String raw : rawTerms) {
+            String term = raw != null ? normalize(raw) : "";
+            if (term.isEmpty()) {
+                continue;
+            }
+            int node = 0;
+            for (int i = 0; i < term.length(); i++) {
+                Integer next = trie.get(node).get(term.charAt(i));
+                if (next == null) {
+                    next = trie.size();
+                    trie.add(new TreeMap<>());
+                    termAt.add(-1);
+                    trie.get(node).put(term.charAt(i), next);
+                }
+                node = next;
+            }
+            if (termAt.get(node) < 0) {
+                termAt.set(node, terms.size());
+                terms.add(term);
+            }
+        }
+
+        int size = trie.size();
+        char[][] edgeChars = new char[size][];
+        int[][] edgeTargets = new int[size][];
+        for (int node = 0; node < size; node++) {
+            TreeMap<Character, Integer> edges = trie.get(node);
+            edgeChars[node] = new char[edges.size()];
+            edgeTargets[node] = new int[edges.size()];
+            int i = 0;
+            for (var edge : edges.entrySet()) {
+                edgeChars[node][i] = edge.getKey();
+                edgeTargets[node][i++] = edge.getValue();
+            }
+        }
+
+        int[] terminal = termAt.stream().mapToInt(Integer::intValue).toArray();
+        int[] fail = new int[size];
+        int[] outputLink = new int[size];
+        Arrays.fill(outputLink, -1);
+
+        // Breadth first, so a node's failure target is finished before the node
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int child : edgeTargets[0]) {
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (int i = 0; i < edgeChars[node].length; i++) {
+                char c = edgeChars[node][i];
+                int child = edgeTargets[node][i];
+                int suffix = fail[node];
+                int target;
+                while ((target = step(edgeChars, edgeTargets, suffix, c)) < 0 && suffix != 0) {
+                    suffix = fail[suffix];
+                }
+                fail[child] = Math.max(target, 0);
+                outputLink[child] = terminal[fail[child]] >= 0 ? fail[child] : outputLink[fail[child]];
+                queue.add(child);
+            }
+        }
+        return new TermAutomaton(edgeChars, edgeTargets, fail, outputLink, terminal, terms.toArray(String[]::new));
+    }
+
+    int size() {
+        return terms.length;
+    }
+
+    /**
+     * Terms occurring in the text as whole words, in order of first match.
+     */
+    Set<String> find(String text) {
+        if (terms.length == 0 || text == null || text.isEmpty()) {
+            return Set.of();
+        }
+        String normalized = normalize(text);
+        Set<String> found = new LinkedHashSet<>();
+        int node = 0;
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            int next;
+            while ((next = step(edgeChars, edgeTargets, node, c)) < 0 && node != 0) {
+                node = fail[node];
+            }
+            node = Math.max(next, 0);
+            for (int match = termAt[node] >= 0 ? node : outputLink[node]; match >= 0; match = outputLink[match]) {
+                String term = terms[termAt[match]];
+                if (isWholeWord(normalized, i - term.length() + 1, i, term)) {
+                    found.add(term);
+                }
+            }
+        }
+        return found;
+    }
+
+    private static int step(char[][] edgeChars, int[][] edgeTargets, int node, char c) {
+        int i = Arrays.binarySearch(edgeChars[node], c);
+        return i >= 0 ? edgeTargets[node][i] : -1;
+    }
+
+    private static boolean isWholeWord(String text, int start, int end, String term) {
+        if (Character.isLetterOrDigit(term.charAt(0)) && start > 0
+                && Character.isLetterOrDigit(text.charAt(start - 1))) {
+            return false;
+        }
+        return !(Character.isLetterOrDigit(term.charAt(term.length() - 1)) && end + 1 < text.length()
+                && Character.isLetterOrDigit(text.charAt(end + 1)));
+    }
+
+    private static String normalize(String text) {
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean space = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = true;
+                continue;
+            }
+            if (space && !normalized.isEmpty()) {
+                normalized.append(' ');
+            }
+            space = false;
+            normalized.append(c);
+        }
+        return normalized.toString().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,70 @@
+package com.stayease.domain.search.controller;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.stayease.domain.search.dto.SearchResponseDTO;
+import com.stayease.domain.search.dto.UnifiedSearchDTO;
+import com.stayease.domain.search.entity.SearchDocument.DocumentType;
+import com.stayease.domain.search.service.UnifiedSearchService;
+import com.stayease.shared.dto.ApiResponse;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * REST Controller for searching stays and services together
+ */
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+@Slf4j
+public class SearchController {
+
+    private final UnifiedSearchService unifiedSearchService;
+
+    /**
+     * Blended, ranked stays and services with per-type counts
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<SearchResponseDTO>> search(
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) Double latitude,
+            @RequestParam(required = false) Double longitude,
+            @RequestParam(required = false) Double radiusKm,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) Double minRating,
+            @RequestParam(required = false) List<DocumentType> types,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+
+        log.debug("Unified search for '{}' near {}", keyword, location);
+
+        SearchResponseDTO response = unifiedSearchService.search(UnifiedSearchDTO.builder()
+                .keyword(keyword)
+                .location(location)
+                .latitude(latitude)
+                .longitude(longitude)
+                .radiusKm(radiusKm)
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .minRating(minRating)
+                .types(types)
+                .page(page)
+                .size(size)
+                .build());
+
+        return ResponseEntity.ok(ApiResponse.<SearchResponseDTO>builder()
+                .success(true)
+                .data(response)
+                .build());
+    }
+}
@@ -0,0 +1,27 @@
+package com.stayease.domain.search.dto;
+
+import com.stayease.domain.search.entity.SearchDocument.DocumentType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO for a page of blended stay and service results with per-type counts
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchResponseDTO {
+
+    private List<SearchResultDTO> results;
+    private Map<DocumentType, Long> facets;
+    private Integer page;
+    private Integer size;
+    private Long totalElements;
+    private Boolean partial; // A type missed the latency budget and is left out
+}
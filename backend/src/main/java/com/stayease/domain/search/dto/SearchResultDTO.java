@@ -0,0 +1,36 @@
+package com.stayease.domain.search.dto;
+
+import com.stayease.domain.search.entity.SearchDocument.DocumentType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for one stay or service in a unified search result
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchResultDTO {
+
+    private DocumentType type;
+    private String publicId;
+    private String title;
+    private String category;
+    private String city;
+    private String country;
+    private Double latitude;
+    private Double longitude;
+    private BigDecimal price;
+    private String priceUnit;
+    private String currency;
+    private Double rating;
+    private Integer reviewCount;
+    private String imageUrl;
+    private Double distanceKm;
+    private Double score;
+}
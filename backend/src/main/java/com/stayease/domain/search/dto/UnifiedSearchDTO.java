@@ -0,0 +1,32 @@
+package com.stayease.domain.search.dto;
+
+import com.stayease.domain.search.entity.SearchDocument.DocumentType;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Criteria shared by stays and services in the unified search
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UnifiedSearchDTO {
+
+    private String keyword;
+    private String location; // City or country
+    private Double latitude;
+    private Double longitude;
+    private Double radiusKm;
+    private BigDecimal minPrice; // Per night for stays, per unit of the pricing type for services
+    private BigDecimal maxPrice;
+    private Double minRating;
+    private List<DocumentType> types; // Empty searches every type
+
+    @Builder.Default
+    private Integer page = 0;
+    @Builder.Default
+    private Integer size = 20;
+}
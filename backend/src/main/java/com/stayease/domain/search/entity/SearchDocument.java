@@ -0,0 +1,91 @@
+package com.stayease.domain.search.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One stay or service in the shared search index. Rows are a denormalized copy
+ * of the listing or service offering, written by {@code SearchIndexService}
+ * whenever the source changes and refreshed by a periodic rebuild.
+ */
+@Entity
+@Table(name = "search_documents", indexes = {
+        @Index(name = "idx_search_doc_city", columnList = "docType, city"),
+        @Index(name = "idx_search_doc_price", columnList = "docType, price"),
+        @Index(name = "idx_search_doc_rating", columnList = "docType, rating"),
+        @Index(name = "idx_search_doc_geo", columnList = "docType, latitude, longitude"),
+        @Index(name = "idx_search_doc_indexed", columnList = "docType, indexedAt")
+})
+@IdClass(SearchDocument.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SearchDocument {
+
+    public enum DocumentType {
+        STAY, // Listing, priced per night
+        SERVICE // Service offering, priced by its pricing type
+    }
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "doc_type", nullable = false, length = 16)
+    private DocumentType docType;
+
+    @Id
+    @Column(name = "public_id", nullable = false, length = 64)
+    private String publicId;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(length = 100)
+    private String category;
+
+    @Column(length = 100)
+    private String city;
+
+    @Column(length = 100)
+    private String country;
+
+    private Double latitude;
+    private Double longitude;
+
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal price;
+
+    @Column(name = "price_unit", nullable = false, length = 20)
+    private String priceUnit; // NIGHT for stays, the pricing type for services
+
+    @Column(length = 10)
+    private String currency;
+
+    @Column(nullable = false)
+    private Double rating;
+
+    @Column(name = "review_count", nullable = false)
+    private Integer reviewCount;
+
+    @Column(name = "image_url", length = 1000)
+    private String imageUrl;
+
+    // Lower-cased title, category, place and description head for keyword matching
+    @Column(name = "search_text", nullable = false, columnDefinition = "TEXT")
+    private String searchText;
+
+    @Column(name = "indexed_at", nullable = false)
+    private LocalDateTime indexedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private DocumentType docType;
+        private String publicId;
+    }
+}
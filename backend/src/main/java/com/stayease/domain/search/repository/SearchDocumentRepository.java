@@ -0,0 +1,24 @@
+package com.stayease.domain.search.repository;
+
+import com.stayease.domain.search.entity.SearchDocument;
+import com.stayease.domain.search.entity.SearchDocument.DocumentType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface SearchDocumentRepository extends JpaRepository<SearchDocument, SearchDocument.Key> {
+
+    @Modifying
+    @Query("DELETE FROM SearchDocument d WHERE d.docType = :docType AND d.publicId = :publicId")
+    int deleteDocument(@Param("docType") DocumentType docType, @Param("publicId") String publicId);
+
+    // Documents a rebuild did not touch belong to sources that are gone or no longer searchable
+    @Modifying
+    @Query("DELETE FROM SearchDocument d WHERE d.docType = :docType AND d.indexedAt < :cutoff")
+    int deleteIndexedBefore(@Param("docType") DocumentType docType, @Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,232 @@
+package com.stayease.domain.search.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.stayease.domain.listing.entity.Listing;
+import com.stayease.domain.listing.entity.ListingImage;
+import com.stayease.domain.listing.repository.ListingRepository;
+import com.stayease.domain.review.entity.ListingRatingSummary;
+import com.stayease.domain.review.service.ListingRatingSummaryService;
+import com.stayease.domain.search.entity.SearchDocument;
+import com.stayease.domain.search.entity.SearchDocument.DocumentType;
+import com.stayease.domain.search.repository.SearchDocumentRepository;
+import com.stayease.domain.serviceoffering.entity.ServiceImage;
+import com.stayease.domain.serviceoffering.entity.ServiceOffering;
+import com.stayease.domain.serviceoffering.repository.ServiceOfferingRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the shared search index in step with listings and service offerings.
+ * Listing and service writes index their source right away; a periodic
+ * rebuild refreshes ratings and drops documents whose source is gone or no
+ * longer searchable.
+ */
+@Service
+@Slf4j
+public class SearchIndexService {
+
+    static final String NIGHT = "NIGHT";
+    private static final int DESCRIPTION_CHARS = 500;
+
+    private final SearchDocumentRepository searchDocumentRepository;
+    private final ListingRepository listingRepository;
+    private final ServiceOfferingRepository serviceOfferingRepository;
+    private final ListingRatingSummaryService listingRatingSummaryService;
+    private final TransactionTemplate rebuildTransaction;
+    private final int rebuildPageSize;
+
+    public SearchIndexService(
+            SearchDocumentRepository searchDocumentRepository,
+            ListingRepository listingRepository,
+            ServiceOfferingRepository serviceOfferingRepository,
+            ListingRatingSummaryService listingRatingSummaryService,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.search.rebuild-page-size:500}") int rebuildPageSize) {
+        this.searchDocumentRepository = searchDocumentRepository;
+        this.listingRepository = listingRepository;
+        this.serviceOfferingRepository = serviceOfferingRepository;
+        this.listingRatingSummaryService = listingRatingSummaryService;
+        this.rebuildTransaction = new TransactionTemplate(transactionManager);
+        this.rebuildPageSize = rebuildPageSize;
+    }
+
+    /**
+     * Index a listing after it is created or changed, or drop it when it is
+     * no longer active.
+     */
+    public void indexListing(Listing listing) {
+        if (listing.getStatus() != Listing.ListingStatus.ACTIVE) {
+            remove(DocumentType.STAY, listing.getPublicId().toString());
+            return;
+        }
+        String publicId = listing.getPublicId().toString();
+        ListingRatingSummary rating = listingRatingSummaryService.getSummaries(List.of(publicId)).get(publicId);
+        searchDocumentRepository.save(toDocument(listing, rating, LocalDateTime.now()));
+    }
+
+    /**
+     * Index a service after it is created or changed, or drop it when it can
+     * no longer be booked.
+     */
+    public void indexService(ServiceOffering service) {
+        if (!service.isBookable()) {
+            remove(DocumentType.SERVICE, service.getPublicId());
+            return;
+        }
+        searchDocumentRepository.save(toDocument(service, LocalDateTime.now()));
+    }
+
+    public void remove(DocumentType type, String publicId) {
+        searchDocumentRepository.deleteDocument(type, publicId);
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.rebuild-interval:PT30M}", initialDelayString = "PT1M")
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        int stays = rebuildListings();
+        int services = rebuildServices();
+        log.info("Rebuilt search index from {} listings and {} services in {} ms",
+                stays, services, System.currentTimeMillis() - started);
+    }
+
+    private int rebuildListings() {
+        LocalDateTime cutoff = LocalDateTime.now();
+        int indexed = 0;
+        int page = 0;
+        Page<Listing> batch;
+        do {
+            PageRequest request = PageRequest.of(page++, rebuildPageSize, Sort.by("id"));
+            batch = rebuildTransaction.execute(status -> {
+                Page<Listing> listings = listingRepository.findAll(request);
+                List<Listing> active = listings.getContent().stream()
+                        .filter(listing -> listing.getStatus() == Listing.ListingStatus.ACTIVE)
+                        .toList();
+                Map<String, ListingRatingSummary> ratings = listingRatingSummaryService.getSummaries(active.stream()
+                        .map(listing -> listing.getPublicId().toString())
+                        .toList());
+                LocalDateTime now = LocalDateTime.now();
+                searchDocumentRepository.saveAll(active.stream()
+                        .map(listing -> toDocument(listing, ratings.get(listing.getPublicId().toString()), now))
+                        .toList());
+                return listings;
+            });
+            indexed += batch.getNumberOfElements();
+        } while (batch.hasNext());
+
+        rebuildTransaction.executeWithoutResult(status ->
+                searchDocumentRepository.deleteIndexedBefore(DocumentType.STAY, cutoff));
+        return indexed;
+    }
+
+    private int rebuildServices() {
+        LocalDateTime cutoff = LocalDateTime.now();
+        int indexed = 0;
+        int page = 0;
+        Page<ServiceOffering> batch;
+        do {
+            PageRequest request = PageRequest.of(page++, rebuildPageSize, Sort.by("id"));
+            batch = rebuildTransaction.execute(status -> {
+                Page<ServiceOffering> services = serviceOfferingRepository.findAll(request);
+                LocalDateTime now = LocalDateTime.now();
+                searchDocumentRepository.saveAll(services.getContent().stream()
+                        .filter(ServiceOffering::isBookable)
+                        .map(service -> toDocument(service, now))
+                        .toList());
+                return services;
+            });
+            indexed += batch.getNumberOfElements();
+        } while (batch.hasNext());
+
+        rebuildTransaction.executeWithoutResult(status ->
+                searchDocumentRepository.deleteIndexedBefore(DocumentType.SERVICE, cutoff));
+        return indexed;
+    }
+
+    private static SearchDocument toDocument(Listing listing, ListingRatingSummary rating, LocalDateTime now) {
+        String image = listing.getImages().stream()
+                .sorted(Comparator.comparing((ListingImage i) -> !Boolean.TRUE.equals(i.getIsCover()))
+                        .thenComparing(i -> i.getSortOrder() != null ? i.getSortOrder() : 0))
+                .map(ListingImage::getUrl)
+                .findFirst()
+                .orElse(null);
+
+        return SearchDocument.builder()
+                .docType(DocumentType.STAY)
+                .publicId(listing.getPublicId().toString())
+                .title(listing.getTitle())
+                .category(listing.getCategory())
+                .city(listing.getCity())
+                .country(listing.getCountry())
+                .latitude(listing.getLatitude() != null ? listing.getLatitude().doubleValue() : null)
+                .longitude(listing.getLongitude() != null ? listing.getLongitude().doubleValue() : null)
+                .price(listing.getPricePerNight() != null ? listing.getPricePerNight() : BigDecimal.ZERO)
+                .priceUnit(NIGHT)
+                .currency(listing.getCurrency())
+                .rating(rating != null && rating.getReviewCount() > 0
+                        ? ListingRatingSummary.average(rating.getRatingSum(), rating.getReviewCount()) : 0.0)
+                .reviewCount(rating != null ? (int) rating.getReviewCount() : 0)
+                .imageUrl(image)
+                .searchText(searchText(listing.getTitle(), listing.getCategory(), listing.getPropertyType(),
+                        listing.getCity(), listing.getCountry(), listing.getDescription()))
+                .indexedAt(now)
+                .build();
+    }
+
+    private static SearchDocument toDocument(ServiceOffering service, LocalDateTime now) {
+        String image = service.getImages().stream()
+                .sorted(Comparator.comparing((ServiceImage i) -> !Boolean.TRUE.equals(i.getIsPrimary()))
+                        .thenComparing(i -> i.getDisplayOrder() != null ? i.getDisplayOrder() : 0))
+                .map(ServiceImage::getImageUrl)
+                .findFirst()
+                .orElse(null);
+        String category = service.getCategory() != null ? service.getCategory().name() : null;
+
+        return SearchDocument.builder()
+                .docType(DocumentType.SERVICE)
+                .publicId(service.getPublicId())
+                .title(service.getTitle())
+                .category(category)
+                .city(service.getCity())
+                .country(service.getCountry())
+                .latitude(service.getLatitude())
+                .longitude(service.getLongitude())
+                .price(service.getBasePrice() != null ? service.getBasePrice() : BigDecimal.ZERO)
+                .priceUnit(service.getPricingType() != null ? service.getPricingType().name() : "PER_SESSION")
+                .rating(service.getAverageRating() != null ? service.getAverageRating() : 0.0)
+                .reviewCount(service.getTotalReviews() != null ? service.getTotalReviews() : 0)
+                .imageUrl(image)
+                .searchText(searchText(service.getTitle(),
+                        category != null ? category.replace('_', ' ') : null,
+                        null, service.getCity(), service.getCountry(), service.getDescription()))
+                .indexedAt(now)
+                .build();
+    }
+
+    private static String searchText(String title, String category, String type, String city, String country,
+            String description) {
+        String head = description != null && description.length() > DESCRIPTION_CHARS
+                ? description.substring(0, DESCRIPTION_CHARS) : description;
+        return Stream.of(title, category, type, city, country, head)
+                .filter(Objects::nonNull)
+                .collect(Collectors.joining(" "))
+                .toLowerCase(Locale.ROOT);
+    }
+}
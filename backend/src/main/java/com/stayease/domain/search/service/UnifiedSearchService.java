@@ -0,0 +1,384 @@
+package com.stayease.domain.search.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.stayease.domain.search.dto.SearchResponseDTO;
+import com.stayease.domain.search.dto.SearchResultDTO;
+import com.stayease.domain.search.dto.UnifiedSearchDTO;
+import com.stayease.domain.search.entity.SearchDocument;
+import com.stayease.domain.search.entity.SearchDocument.DocumentType;
+import com.stayease.exception.BadRequestException;
+import com.stayease.shared.util.GeoUtil;
+import com.stayease.shared.util.LikeUtil;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * One search over stays and services. Each document type is queried from the
+ * shared index on its own virtual thread; the database scores, filters and
+ * orders the documents, and each type returns the top rows for the requested
+ * page along with its exact match count. Whatever answers within the latency
+ * budget is merged into one ranking and paged. A type that misses the budget
+ * is left out and the response is marked partial.
+ *
+ * <p>A type's queries run under a {@code statement_timeout} of whatever is
+ * left of the budget, so a query that misses it is cancelled instead of
+ * holding a pooled connection, and at most {@code max-concurrent} type queries
+ * run at once across all searches.
+ *
+ * <p>Score: keyword match (title hits count double), a Bayesian-smoothed rating
+ * so a handful of five-star reviews does not outrank hundreds of good ones,
+ * and proximity to the search point, each weighted and normalised over the
+ * signals the request actually carries.
+ */
+@Service
+@Slf4j
+public class UnifiedSearchService {
+
+    private static final double TEXT_WEIGHT = 0.5;
+    private static final double QUALITY_WEIGHT = 0.3;
+    private static final double PROXIMITY_WEIGHT = 0.2;
+    private static final double PRIOR_RATING = 3.5;
+    private static final int PRIOR_REVIEWS = 5;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate queryTransaction;
+    private final Semaphore permits;
+    private final Duration budget;
+    private final int maxResults;
+    private final double defaultRadiusKm;
+
+    private final ExecutorService searchers = Executors.newVirtualThreadPerTaskExecutor();
+
+    public UnifiedSearchService(
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.search.budget:PT0.3S}") Duration budget,
+            @Value("${app.search.max-concurrent:8}") int maxConcurrent,
+            @Value("${app.search.max-results:1000}") int maxResults,
+            @Value("${app.search.default-radius-km:25}") double defaultRadiusKm) {
+        this.entityManager = entityManager;
+        this.queryTransaction = new TransactionTemplate(transactionManager);
+        this.queryTransaction.setReadOnly(true);
+        this.permits = new Semaphore(maxConcurrent);
+        this.budget = budget;
+        this.maxResults = maxResults;
+        this.defaultRadiusKm = defaultRadiusKm;
+    }
+
+    private record Slice(DocumentType type, List<Scored> documents, long total, boolean complete) {
+
+        static Slice missed(DocumentType type) {
+            return new Slice(type, List.of(), 0, false);
+        }
+    }
+
+    private record Scored(SearchDocument document, Double distanceKm, double score) {
+    }
+
+    public SearchResponseDTO search(UnifiedSearchDTO criteria) {
+        int page = criteria.getPage() != null ? criteria.getPage() : 0;
+        int size = criteria.getSize() != null ? criteria.getSize() : 20;
+        validate(criteria, page, size);
+
+        int window = (page + 1) * size;
+
+        List<DocumentType> types = criteria.getTypes() == null || criteria.getTypes().isEmpty()
+                ? Arrays.asList(DocumentType.values()) : criteria.getTypes().stream().distinct().toList();
+        List<String> tokens = tokens(criteria.getKeyword());
+        double radiusKm = criteria.getRadiusKm() != null ? criteria.getRadiusKm() : defaultRadiusKm;
+        long deadline = System.nanoTime() + budget.toNanos();
+
+        List<CompletableFuture<Slice>> queries = types.stream()
+                .map(type -> CompletableFuture
+                        .supplyAsync(() -> query(type, criteria, tokens, radiusKm, window, deadline), searchers)
+                        .completeOnTimeout(Slice.missed(type), budget.toMillis(), TimeUnit.MILLISECONDS)
+                        .exceptionally(e -> {
+                            log.warn("Search over {} failed: {}", type, e.getMessage());
+                            return Slice.missed(type);
+                        }))
+                .toList();
+
+        Map<DocumentType, Long> facets = new EnumMap<>(DocumentType.class);
+        List<Scored> ranked = new ArrayList<>();
+        boolean partial = false;
+        for (CompletableFuture<Slice> query : queries) {
+            Slice slice = query.join();
+            if (!slice.complete()) {
+                partial = true;
+                continue;
+            }
+            facets.put(slice.type(), slice.total());
+            ranked.addAll(slice.documents());
+        }
+        if (partial) {
+            log.debug("Unified search answered partially within {} for types {}", budget, types);
+        }
+
+        // Same order as each type's query, so the merged top of the window is exact
+        ranked.sort(Comparator.comparingDouble(Scored::score).reversed()
+                .thenComparing(scored -> scored.document().getReviewCount(), Comparator.reverseOrder())
+                .thenComparing(scored -> scored.document().getPublicId())
+                .thenComparing(scored -> scored.document().getDocType()));
+
+        int from = Math.min(page * size, ranked.size());
+        int to = Math.min(from + size, ranked.size());
+        List<SearchResultDTO> results = ranked.subList(from, to).stream().map(this::toDTO).toList();
+
+        return SearchResponseDTO.builder()
+                .results(results)
+                .facets(facets)
+                .page(page)
+                .size(size)
+                .totalElements(facets.values().stream().mapToLong(Long::longValue).sum())
+                .partial(partial)
+                .build();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        searchers.shutdown();
+    }
+
+    /**
+     * Run one type's queries once a permit is free, in a read-only transaction
+     * whose statements are cancelled when the budget runs out.
+     */
+    private Slice query(DocumentType type, UnifiedSearchDTO criteria, List<String> tokens, double radiusKm,
+            int limit, long deadline) {
+        try {
+            if (!permits.tryAcquire(remainingMillis(deadline), TimeUnit.MILLISECONDS)) {
+                return Slice.missed(type);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Slice.missed(type);
+        }
+        try {
+            long timeoutMillis = remainingMillis(deadline);
+            if (timeoutMillis <= 0) {
+                return Slice.missed(type);
+            }
+            return queryTransaction.execute(status -> {
+                entityManager.createNativeQuery("SELECT set_config('statement_timeout', :timeout, true)")
+                        .setParameter("timeout", timeoutMillis + "ms")
+                        .getSingleResult();
+                return query(type, criteria, tokens, radiusKm, limit);
+            });
+        } finally {
+            permits.release();
+        }
+    }
+
+    private static long remainingMillis(long deadline) {
+        return TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+    }
+
+    /**
+     * Top {@code limit} documents of one type in ranking order, plus the
+     * type's match count for its facet. Both use the same filter, including
+     * the exact distance, so the count is what the pages can reach.
+     */
+    private Slice query(DocumentType type, UnifiedSearchDTO criteria, List<String> tokens, double radiusKm,
+            int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Object[]> select = cb.createQuery(Object[].class);
+        Root<SearchDocument> root = select.from(SearchDocument.class);
+        Expression<Double> distance = distance(cb, root, criteria);
+        Expression<Double> score = score(cb, root, tokens, distance, radiusKm);
+        select.multiselect(root, distance != null ? distance : cb.nullLiteral(Double.class), score)
+                .where(filter(cb, root, type, criteria, tokens, distance, radiusKm))
+                .orderBy(cb.desc(score), cb.desc(root.get("reviewCount")), cb.asc(root.get("publicId")));
+
+        CriteriaQuery<Long> count = cb.createQuery(Long.class);
+        Root<SearchDocument> counted = count.from(SearchDocument.class);
+        count.select(cb.count(counted))
+                .where(filter(cb, counted, type, criteria, tokens, distance(cb, counted, criteria), radiusKm));
+
+        double weights = weights(tokens, distance != null);
+        List<Scored> documents = entityManager.createQuery(select).setMaxResults(limit).getResultList().stream()
+                .map(row -> new Scored((SearchDocument) row[0], (Double) row[1],
+                        ((Number) row[2]).doubleValue() / weights))
+                .toList();
+        return new Slice(type, documents, entityManager.createQuery(count).getSingleResult(), true);
+    }
+
+    private static Predicate filter(CriteriaBuilder cb, Root<SearchDocument> root, DocumentType type,
+            UnifiedSearchDTO criteria, List<String> tokens, Expression<Double> distance, double radiusKm) {
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(root.get("docType"), type));
+
+        for (String token : tokens) {
+            predicates.add(cb.like(root.get("searchText"), LikeUtil.contains(token), LikeUtil.ESCAPE));
+        }
+
+        if (criteria.getLocation() != null && !criteria.getLocation().trim().isEmpty()) {
+            String place = LikeUtil.escape(criteria.getLocation().trim().toLowerCase(Locale.ROOT)) + "%";
+            predicates.add(cb.or(
+                    cb.like(cb.lower(root.get("city")), place, LikeUtil.ESCAPE),
+                    cb.like(cb.lower(root.get("country")), place, LikeUtil.ESCAPE)));
+        }
+
+        if (criteria.getMinPrice() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(root.get("price"), criteria.getMinPrice()));
+        }
+        if (criteria.getMaxPrice() != null) {
+            predicates.add(cb.lessThanOrEqualTo(root.get("price"), criteria.getMaxPrice()));
+        }
+
+        if (criteria.getMinRating() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(root.get("rating"), criteria.getMinRating()));
+        }
+
+        if (distance != null) {
+            // Bounding box for the index, then the exact great-circle distance
+            double lat = criteria.getLatitude();
+            double lng = criteria.getLongitude();
+            double latDelta = radiusKm / GeoUtil.KM_PER_DEGREE_LAT;
+            double lngDelta = GeoUtil.kmToLonDegrees(radiusKm, lat);
+            predicates.add(cb.between(root.get("latitude"), lat - latDelta, lat + latDelta));
+            predicates.add(cb.isNotNull(root.get("longitude")));
+            if (lngDelta < 180.0) {
+                predicates.add(cb.between(root.get("longitude"), lng - lngDelta, lng + lngDelta));
+            }
+            predicates.add(cb.le(distance, radiusKm));
+        }
+
+        return cb.and(predicates.toArray(new Predicate[0]));
+    }
+
+    /**
+     * Haversine distance from the search point in SQL, the same formula as
+     * {@link GeoUtil#distanceKm}, or {@code null} without a search point.
+     */
+    private static Expression<Double> distance(CriteriaBuilder cb, Root<SearchDocument> root,
+            UnifiedSearchDTO criteria) {
+        if (criteria.getLatitude() == null) {
+            return null;
+        }
+        double toRadians = Math.PI / 180.0;
+        Expression<Double> latitude = root.get("latitude");
+        Expression<Double> longitude = root.get("longitude");
+        Expression<Double> halfDLat = cb.function("sin", Double.class,
+                cb.prod(cb.diff(latitude, criteria.getLatitude()), toRadians / 2));
+        Expression<Double> halfDLng = cb.function("sin", Double.class,
+                cb.prod(cb.diff(longitude, criteria.getLongitude()), toRadians / 2));
+        Expression<Double> cosLat = cb.function("cos", Double.class, cb.prod(latitude, toRadians));
+        Expression<Double> a = cb.sum(cb.prod(halfDLat, halfDLat),
+                cb.prod(cb.prod(cosLat, Math.cos(criteria.getLatitude() * toRadians)), cb.prod(halfDLng, halfDLng)));
+        Expression<Double> haversine = cb.function("least", Double.class, cb.literal(1.0), cb.sqrt(a));
+        return cb.prod(cb.function("asin", Double.class, haversine), 2 * GeoUtil.EARTH_RADIUS_KM);
+    }
+
+    /**
+     * Weighted score in SQL, before dividing by {@link #weights}: keyword match
+     * (title hits count double), a Bayesian-smoothed rating and proximity.
+     */
+    private static Expression<Double> score(CriteriaBuilder cb, Root<SearchDocument> root, List<String> tokens,
+            Expression<Double> distance, double radiusKm) {
+        Expression<Double> rating = root.get("rating");
+        Expression<Double> reviews = root.<Integer>get("reviewCount").as(Double.class);
+        Expression<Double> smoothed = cb.quot(
+                cb.sum(cb.prod(rating, reviews), PRIOR_RATING * PRIOR_REVIEWS),
+                cb.sum(reviews, (double) PRIOR_REVIEWS)).as(Double.class);
+        Expression<Double> score = cb.prod(smoothed, QUALITY_WEIGHT / 5.0);
+
+        if (!tokens.isEmpty()) {
+            Expression<String> title = cb.lower(root.get("title"));
+            Expression<Double> text = cb.literal(0.0);
+            for (String token : tokens) {
+                // Every token is in the search text already; a title hit is worth double
+                text = cb.sum(text, cb.<Double>selectCase()
+                        .when(cb.like(title, LikeUtil.contains(token), LikeUtil.ESCAPE), 1.0)
+                        .otherwise(0.5));
+            }
+            score = cb.sum(score, cb.prod(text, TEXT_WEIGHT / tokens.size()));
+        }
+
+        if (distance != null) {
+            score = cb.sum(score, cb.diff(PROXIMITY_WEIGHT, cb.prod(distance, PROXIMITY_WEIGHT / radiusKm)));
+        }
+        return score;
+    }
+
+    private static double weights(List<String> tokens, boolean nearby) {
+        return QUALITY_WEIGHT + (tokens.isEmpty() ? 0 : TEXT_WEIGHT) + (nearby ? PROXIMITY_WEIGHT : 0);
+    }
+
+    private static List<String> tokens(String keyword) {
+        if (keyword == null || keyword.trim().isEmpty()) {
+            return List.of();
+        }
+        return Arrays.stream(keyword.trim().toLowerCase(Locale.ROOT).split("\\s+"))
+                .distinct()
+                .limit(8)
+                .toList();
+    }
+
+    private void validate(UnifiedSearchDTO criteria, int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Page must be 0 or more and size between 1 and " + MAX_PAGE_SIZE);
+        }
+        if ((long) (page + 1) * size > maxResults) {
+            throw new BadRequestException("Search results can be paged up to the first " + maxResults);
+        }
+        if ((criteria.getLatitude() == null) != (criteria.getLongitude() == null)) {
+            throw new BadRequestException("Latitude and longitude must be given together");
+        }
+        if (criteria.getRadiusKm() != null && criteria.getRadiusKm() <= 0) {
+            throw new BadRequestException("Radius must be positive");
+        }
+        if (criteria.getMinPrice() != null && criteria.getMaxPrice() != null
+                && criteria.getMinPrice().compareTo(criteria.getMaxPrice()) > 0) {
+            throw new BadRequestException("Minimum price cannot exceed maximum price");
+        }
+    }
+
+    private SearchResultDTO toDTO(Scored scored) {
+        SearchDocument document = scored.document();
+        return SearchResultDTO.builder()
+                .type(document.getDocType())
+                .publicId(document.getPublicId())
+                .title(document.getTitle())
+                .category(document.getCategory())
+                .city(document.getCity())
+                .country(document.getCountry())
+                .latitude(document.getLatitude())
+                .longitude(document.getLongitude())
+                .price(document.getPrice())
+                .priceUnit(document.getPriceUnit())
+                .currency(document.getCurrency())
+                .rating(document.getRating())
+                .reviewCount(document.getReviewCount())
+                .imageUrl(document.getImageUrl())
+                .distanceKm(scored.distanceKm() != null ? Math.round(scored.distanceKm() * 10) / 10.0 : null)
+                .score(Math.round(scored.score() * 10_000) / 10_000.0)
+                .build();
+    }
+}
@@ -1,8 +1,11 @@
 package com.stayease.domain.serviceoffering.controller;
 
+import java.time.LocalDate;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -12,14 +15,22 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.stayease.domain.serviceoffering.dto.CreateServiceBookingDTO;
+import com.stayease.domain.serviceoffering.dto.CreateServiceBookingSeriesDTO;
+import com.stayease.domain.serviceoffering.dto.MoveServiceBookingSeriesDTO;
+import com.stayease.domain.serviceoffering.dto.ProviderCalendarDayDTO;
 import com.stayease.domain.serviceoffering.dto.ServiceBookingDTO;
+import com.stayease.domain.serviceoffering.dto.ServiceBookingSeriesDTO;
 import com.stayease.domain.serviceoffering.entity.ServiceBooking.BookingStatus;
+import com.stayease.domain.serviceoffering.service.ProviderCalendarService;
+import com.stayease.domain.serviceoffering.service.ServiceBookingSeriesService;
 import com.stayease.domain.serviceoffering.service.ServiceBookingService;
 import com.stayease.security.UserPrincipal;
 import com.stayease.shared.dto.ApiResponse;
@@ -38,6 +49,8 @@ import lombok.extern.slf4j.Slf4j;
 public class ServiceBookingController {
 
     private final ServiceBookingService serviceBookingService;
+    private final ServiceBookingSeriesService serviceBookingSeriesService;
+    private final ProviderCalendarService providerCalendarService;
 
     /**
      * Create a new service booking
@@ -62,6 +75,108 @@ public class ServiceBookingController {
                         .build());
     }
 
+    /**
+     * Create a recurring booking series
+     */
+    @PostMapping("/series")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<ServiceBookingSeriesDTO>> createSeries(
+            @Valid @RequestBody CreateServiceBookingSeriesDTO dto,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+
+        log.info("Creating booking series for user: {}", currentUser.getId());
+
+        String customerPublicId = currentUser.getId().toString();
+        ServiceBookingSeriesDTO series = serviceBookingSeriesService.createSeries(dto, customerPublicId);
+
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(ApiResponse.<ServiceBookingSeriesDTO>builder()
+                        .success(true)
+                        .message("Booking series created successfully")
+                        .data(series)
+                        .build());
+    }
+
+    /**
+     * Get recurring booking series of current customer
+     */
+    @GetMapping("/series/my-series")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<List<ServiceBookingSeriesDTO>>> getMySeries(
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+
+        String customerPublicId = currentUser.getId().toString();
+        List<ServiceBookingSeriesDTO> series = serviceBookingSeriesService.getCustomerSeries(customerPublicId);
+
+        return ResponseEntity.ok(ApiResponse.<List<ServiceBookingSeriesDTO>>builder()
+                .success(true)
+                .data(series)
+                .build());
+    }
+
+    /**
+     * Get recurring booking series by public ID
+     */
+    @GetMapping("/series/{publicId}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<ServiceBookingSeriesDTO>> getSeries(
+            @PathVariable String publicId,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+
+        String userPublicId = currentUser.getId().toString();
+        ServiceBookingSeriesDTO series = serviceBookingSeriesService.getSeries(publicId, userPublicId);
+
+        return ResponseEntity.ok(ApiResponse.<ServiceBookingSeriesDTO>builder()
+                .success(true)
+                .data(series)
+                .build());
+    }
+
+    /**
+     * Cancel a recurring booking series and its future occurrences
+     */
+    @PostMapping("/series/{publicId}/cancel")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<ServiceBookingSeriesDTO>> cancelSeries(
+            @PathVariable String publicId,
+            @RequestParam(required = false) String reason,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+
+        log.info("Customer cancelling booking series: {}", publicId);
+
+        String customerPublicId = currentUser.getId().toString();
+        ServiceBookingSeriesDTO series = serviceBookingSeriesService.cancelSeries(publicId, reason, customerPublicId);
+
+        return ResponseEntity.ok(ApiResponse.<ServiceBookingSeriesDTO>builder()
+                .success(true)
+                .message("Booking series cancelled successfully")
+                .data(series)
+                .build());
+    }
+
+    /**
+     * Move the future occurrences of a recurring booking series
+     */
+    @PutMapping("/series/{publicId}/move")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<ServiceBookingSeriesDTO>> moveSeries(
+            @PathVariable String publicId,
+            @Valid @RequestBody MoveServiceBookingSeriesDTO dto,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+
+        log.info("Customer moving booking series: {}", publicId);
+
+        String customerPublicId = currentUser.getId().toString();
+        ServiceBookingSeriesDTO series = serviceBookingSeriesService.moveSeries(publicId, dto, customerPublicId);
+
+        return ResponseEntity.ok(ApiResponse.<ServiceBookingSeriesDTO>builder()
+                .success(true)
+                .message("Booking series moved successfully")
+                .data(series)
+                .build());
+    }
+
     /**
      * Get booking by public ID
      */
@@ -184,6 +299,40 @@ public class ServiceBookingController {
                 .build());
     }
 
+    /**
+     * Provider calendar: bookings and free slots across all of the provider's
+     * services for a date window, grouped by day. Revalidate with If-None-Match.
+     */
+    @GetMapping("/provider-calendar")
+    @PreAuthorize("hasAnyAuthority('ROLE_SERVICE_PROVIDER', 'ROLE_ADMIN')")
+    public ResponseEntity<ApiResponse<List<ProviderCalendarDayDTO>>> getProviderCalendar(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(defaultValue = "7") int days,
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            WebRequest request) {
+
+        log.debug("Fetching {}-day calendar for provider: {}", days, currentUser.getId());
+
+        String providerPublicId = currentUser.getId().toString();
+        String etag = providerCalendarService.calendarETag(providerPublicId, from, days);
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .build();
+        }
+
+        List<ProviderCalendarDayDTO> calendar = providerCalendarService.getCalendar(providerPublicId, from, days);
+
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(ApiResponse.<List<ProviderCalendarDayDTO>>builder()
+                        .success(true)
+                        .data(calendar)
+                        .build());
+    }
+
     /**
      * Get bookings by status for provider
      */
@@ -1,8 +1,12 @@
 package com.stayease.domain.serviceoffering.controller;
 
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -19,11 +23,15 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.stayease.domain.serviceoffering.dto.CreateServiceOfferingDTO;
+import com.stayease.domain.serviceoffering.dto.ServiceDaySlotsDTO;
 import com.stayease.domain.serviceoffering.dto.ServiceListResponse;
 import com.stayease.domain.serviceoffering.dto.ServiceOfferingDTO;
+import com.stayease.domain.serviceoffering.dto.ServiceQuoteDTO;
 import com.stayease.domain.serviceoffering.entity.ServiceOffering.ServiceCategory;
 import com.stayease.domain.serviceoffering.entity.ServiceOffering.ServiceStatus;
 import com.stayease.domain.serviceoffering.service.ServiceOfferingService;
+import com.stayease.domain.serviceoffering.service.ServicePricingService;
+import com.stayease.domain.serviceoffering.service.ServiceSlotService;
 import com.stayease.security.UserPrincipal;
 import com.stayease.shared.dto.ApiResponse;
 
@@ -41,6 +49,8 @@ import lombok.extern.slf4j.Slf4j;
 public class ServiceOfferingController {
 
     private final ServiceOfferingService serviceOfferingService;
+    private final ServiceSlotService serviceSlotService;
+    private final ServicePricingService servicePricingService;
 
     /**
      * Create a new service offering
@@ -80,6 +90,67 @@ public class ServiceOfferingController {
                 .build());
     }
 
+    /**
+     * Get free time slots of a service, a week by default
+     */
+    @GetMapping("/{publicId}/slots")
+    public ResponseEntity<ApiResponse<List<ServiceDaySlotsDTO>>> getServiceSlots(
+            @PathVariable String publicId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(defaultValue = "7") int days) {
+
+        log.debug("Fetching slots for service: {} from {} for {} days", publicId, from, days);
+
+        List<ServiceDaySlotsDTO> slots = serviceSlotService.getSlots(publicId, from, days);
+
+        return ResponseEntity.ok(ApiResponse.<List<ServiceDaySlotsDTO>>builder()
+                .success(true)
+                .data(slots)
+                .build());
+    }
+
+    /**
+     * Quote one booking of a service
+     */
+    @GetMapping("/{publicId}/quote")
+    public ResponseEntity<ApiResponse<ServiceQuoteDTO>> getServiceQuote(
+            @PathVariable String publicId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime startTime,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime endTime,
+            @RequestParam(required = false) Integer people,
+            @RequestParam(required = false) Integer items) {
+
+        ServiceQuoteDTO quote = servicePricingService.quote(publicId, date, startTime, endTime, people, items);
+
+        return ResponseEntity.ok(ApiResponse.<ServiceQuoteDTO>builder()
+                .success(true)
+                .data(quote)
+                .build());
+    }
+
+    /**
+     * Quote the same booking on each day of a range, for price calendars
+     */
+    @GetMapping("/{publicId}/quotes")
+    public ResponseEntity<ApiResponse<List<ServiceQuoteDTO>>> getServiceQuotes(
+            @PathVariable String publicId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(defaultValue = "31") int days,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime startTime,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime endTime,
+            @RequestParam(required = false) Integer people,
+            @RequestParam(required = false) Integer items) {
+
+        List<ServiceQuoteDTO> quotes = servicePricingService.quotes(publicId, from, days, startTime, endTime,
+                people, items);
+
+        return ResponseEntity.ok(ApiResponse.<List<ServiceQuoteDTO>>builder()
+                .success(true)
+                .data(quotes)
+                .build());
+    }
+
     /**
      * Get all active service offerings with pagination
      */
@@ -119,6 +190,11 @@ public class ServiceOfferingController {
             @RequestParam(required = false) Double minRating,
             @RequestParam(required = false) Boolean mobileServiceOnly,
             @RequestParam(required = false) Boolean instantBookingOnly,
+            @RequestParam(required = false) Double latitude,
+            @RequestParam(required = false) Double longitude,
+            @RequestParam(required = false) DayOfWeek availableOn,
+            @RequestParam(required = false) String language,
+            @RequestParam(required = false) List<String> amenities,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "averageRating") String sortBy,
@@ -128,7 +204,7 @@ public class ServiceOfferingController {
 
         Page<ServiceOfferingDTO> servicesPage = serviceOfferingService.searchServices(
                 category, city, keyword, minRating, mobileServiceOnly, instantBookingOnly,
-                page, size, sortBy, sortDirection);
+                latitude, longitude, availableOn, language, amenities, page, size, sortBy, sortDirection);
 
         ServiceListResponse response = ServiceListResponse.builder()
                 .content(servicesPage.getContent())
@@ -167,10 +243,29 @@ public class ServiceOfferingController {
      * Get featured services
      */
     @GetMapping("/featured")
-    public ResponseEntity<ApiResponse<List<ServiceOfferingDTO>>> getFeaturedServices() {
+    public ResponseEntity<ApiResponse<List<ServiceOfferingDTO>>> getFeaturedServices(
+            @RequestParam(required = false) ServiceCategory category,
+            @RequestParam(required = false) String city) {
         log.debug("Fetching featured services");
 
-        List<ServiceOfferingDTO> services = serviceOfferingService.getFeaturedServices();
+        List<ServiceOfferingDTO> services = serviceOfferingService.getFeaturedServices(category, city);
+
+        return ResponseEntity.ok(ApiResponse.<List<ServiceOfferingDTO>>builder()
+                .success(true)
+                .data(services)
+                .build());
+    }
+
+    /**
+     * Get services with a running discount
+     */
+    @GetMapping("/discounted")
+    public ResponseEntity<ApiResponse<List<ServiceOfferingDTO>>> getDiscountedServices(
+            @RequestParam(required = false) ServiceCategory category,
+            @RequestParam(required = false) String city) {
+        log.debug("Fetching discounted services");
+
+        List<ServiceOfferingDTO> services = serviceOfferingService.getDiscountedServices(category, city);
 
         return ResponseEntity.ok(ApiResponse.<List<ServiceOfferingDTO>>builder()
                 .success(true)
@@ -319,6 +414,38 @@ public class ServiceOfferingController {
                 .build());
     }
 
+    /**
+     * Record that the current user favorited a service (counted once per user per window)
+     */
+    @PostMapping("/{publicId}/favorite")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<Void>> favoriteService(
+            @PathVariable String publicId,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        serviceOfferingService.recordFavorite(publicId, currentUser.getId().toString());
+
+        return ResponseEntity.ok(ApiResponse.<Void>builder()
+                .success(true)
+                .message("Service added to favorites")
+                .build());
+    }
+
+    /**
+     * Record an inquiry about a service (counted once per user per window)
+     */
+    @PostMapping("/{publicId}/inquiry")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<Void>> inquireService(
+            @PathVariable String publicId,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        serviceOfferingService.recordInquiry(publicId, currentUser.getId().toString());
+
+        return ResponseEntity.ok(ApiResponse.<Void>builder()
+                .success(true)
+                .message("Inquiry recorded")
+                .build());
+    }
+
     /**
      * Feature/unfeature service offering (admin only)
      */
@@ -0,0 +1,54 @@
+package com.stayease.domain.serviceoffering.dto;
+
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * DTO for creating a recurring service booking
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateServiceBookingSeriesDTO {
+
+    @NotBlank(message = "Service ID is required")
+    private String servicePublicId;
+
+    // RRULE subset, e.g. FREQ=WEEKLY;BYDAY=MO,WE,FR;COUNT=24
+    @NotBlank(message = "Recurrence rule is required")
+    @Size(max = 255, message = "Recurrence rule must not exceed 255 characters")
+    private String recurrenceRule;
+
+    @NotNull(message = "Start date is required")
+    @FutureOrPresent(message = "Start date must be today or in the future")
+    private LocalDate startDate;
+
+    @NotNull(message = "Start time is required")
+    private LocalTime startTime;
+
+    @NotNull(message = "End time is required")
+    private LocalTime endTime;
+
+    @Min(value = 1, message = "Number of people must be at least 1")
+    private Integer numberOfPeople;
+
+    private String customerAddress;
+
+    @Size(max = 1000, message = "Special requests must not exceed 1000 characters")
+    private String specialRequests;
+
+    @NotBlank(message = "Customer phone is required")
+    @Pattern(regexp = "^\\+?[1-9]\\d{1,14}$", message = "Invalid phone number")
+    private String customerPhone;
+
+    @NotBlank(message = "Customer email is required")
+    @Email(message = "Invalid email address")
+    private String customerEmail;
+}
@@ -62,6 +62,8 @@ public class CreateServiceOfferingDTO {
     @Min(value = 1, message = "Maximum capacity must be at least 1")
     private Integer maxCapacity;
 
+    private Boolean isGroupBooking;
+
     // Duration
     @Min(value = 15, message = "Duration must be at least 15 minutes")
     private Integer durationMinutes;
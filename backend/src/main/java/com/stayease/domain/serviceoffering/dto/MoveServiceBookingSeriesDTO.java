@@ -0,0 +1,34 @@
+package com.stayease.domain.serviceoffering.dto;
+
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * DTO for moving the future occurrences of a recurring booking
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MoveServiceBookingSeriesDTO {
+
+    // Occurrences on or after this date move; defaults to today
+    @FutureOrPresent(message = "Move date must be today or in the future")
+    private LocalDate fromDate;
+
+    @Min(value = -6, message = "Occurrences can move at most 6 days earlier")
+    @Max(value = 6, message = "Occurrences can move at most 6 days later")
+    private Integer dayShift;
+
+    @NotNull(message = "Start time is required")
+    private LocalTime startTime;
+
+    @NotNull(message = "End time is required")
+    private LocalTime endTime;
+}
@@ -0,0 +1,30 @@
+package com.stayease.domain.serviceoffering.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for a service near a listing, as shown on the listing page
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearbyServiceDTO {
+
+    private String servicePublicId;
+    private String title;
+    private String category;
+    private String city;
+    private BigDecimal price;
+    private String priceUnit;
+    private String currency;
+    private Double rating;
+    private Integer reviewCount;
+    private String imageUrl;
+    private Double distanceKm;
+}
@@ -0,0 +1,24 @@
+package com.stayease.domain.serviceoffering.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO for one day of a provider's calendar: the bookings across all their
+ * services and each service's free slots
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProviderCalendarDayDTO {
+
+    private LocalDate date;
+    private List<ServiceBookingDTO> bookings;
+    private List<ProviderServiceSlotsDTO> services;
+}
@@ -0,0 +1,23 @@
+package com.stayease.domain.serviceoffering.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for the free slots of one of a provider's services on a calendar day
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProviderServiceSlotsDTO {
+
+    private String servicePublicId;
+    private String serviceTitle;
+    private Boolean isOpen;
+    private List<ServiceSlotDTO> slots;
+}
@@ -49,6 +49,7 @@ public class ServiceBookingDTO {
     private Integer durationMinutes;
     private Integer numberOfPeople;
     private Integer numberOfItems;
+    private String seriesPublicId; // Recurring series, if any
 
     // Location
     private String serviceLocation;
@@ -72,6 +73,7 @@ public class ServiceBookingDTO {
     private String rejectionReason;
     private LocalDateTime cancelledAt;
     private String cancellationReason;
+    private CancelledBy cancelledBy;
     private LocalDateTime paidAt;
     private LocalDateTime serviceStartedAt;
     private LocalDateTime serviceCompletedAt;
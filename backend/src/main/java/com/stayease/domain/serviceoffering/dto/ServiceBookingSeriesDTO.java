@@ -0,0 +1,43 @@
+package com.stayease.domain.serviceoffering.dto;
+
+import com.stayease.domain.serviceoffering.entity.ServiceBookingSeries.SeriesStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * DTO for recurring service booking responses
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ServiceBookingSeriesDTO {
+
+    private String publicId;
+    private SeriesStatus status;
+    private String servicePublicId;
+    private String customerPublicId;
+    private String providerPublicId;
+
+    private String recurrenceRule;
+    private LocalDate startDate;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private Integer numberOfPeople;
+
+    // Rule dates before this one have been materialized, each moved by dayOffset days
+    private LocalDate generatedUntil;
+    private Integer dayOffset;
+    private Integer occurrencesCreated;
+    private Integer occurrencesSkipped;
+
+    private LocalDateTime cancelledAt;
+    private String cancellationReason;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,23 @@
+package com.stayease.domain.serviceoffering.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO for the free slots of a service on one day
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ServiceDaySlotsDTO {
+
+    private LocalDate date;
+    private Boolean isOpen;
+    private List<ServiceSlotDTO> slots;
+}
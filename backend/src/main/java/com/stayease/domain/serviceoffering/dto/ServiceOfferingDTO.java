@@ -49,6 +49,7 @@ public class ServiceOfferingDTO {
     // Capacity
     private Integer minCapacity;
     private Integer maxCapacity;
+    private Boolean isGroupBooking;
 
     // Duration
     private Integer durationMinutes;
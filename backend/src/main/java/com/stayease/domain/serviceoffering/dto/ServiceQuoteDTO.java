@@ -0,0 +1,34 @@
+package com.stayease.domain.serviceoffering.dto;
+
+import com.stayease.domain.serviceoffering.entity.ServiceOffering.PricingType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DTO for the price of one service booking on a given date
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ServiceQuoteDTO {
+
+    private String servicePublicId;
+    private LocalDate date;
+    private PricingType pricingType;
+    private Integer units;
+    private BigDecimal unitPrice;
+    private BigDecimal basePrice;
+    private BigDecimal extraPersonCharge;
+    private BigDecimal weekendSurcharge;
+    private BigDecimal peakSeasonSurcharge;
+    private BigDecimal discount;
+    private BigDecimal serviceFee;
+    private BigDecimal tax;
+    private BigDecimal totalPrice;
+}
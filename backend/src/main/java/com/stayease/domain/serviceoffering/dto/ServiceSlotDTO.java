@@ -0,0 +1,22 @@
+package com.stayease.domain.serviceoffering.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalTime;
+
+/**
+ * DTO for a bookable time slot
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ServiceSlotDTO {
+
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private Integer seatsLeft; // Group bookings only
+}
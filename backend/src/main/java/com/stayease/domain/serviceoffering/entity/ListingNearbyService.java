@@ -0,0 +1,44 @@
+package com.stayease.domain.serviceoffering.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * A service within reach of a listing. Rows are precomputed by
+ * {@code NearbyServicesService} from the listing's coordinates and the
+ * service's location and coverage radius, so a listing page reads its
+ * nearby services without any geo query.
+ */
+@Entity
+@Table(name = "listing_nearby_services", indexes = {
+        @Index(name = "idx_nearby_service", columnList = "servicePublicId")
+})
+@IdClass(ListingNearbyService.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ListingNearbyService {
+
+    @Id
+    @Column(name = "listing_public_id", nullable = false)
+    private UUID listingPublicId;
+
+    @Id
+    @Column(name = "service_public_id", nullable = false, length = 64)
+    private String servicePublicId;
+
+    @Column(name = "distance_km", nullable = false)
+    private Double distanceKm;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID listingPublicId;
+        private String servicePublicId;
+    }
+}
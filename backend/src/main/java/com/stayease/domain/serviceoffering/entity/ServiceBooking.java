@@ -19,9 +19,14 @@ import java.time.LocalTime;
         @Index(name = "idx_service_booking_service", columnList = "servicePublicId"),
         @Index(name = "idx_service_booking_customer", columnList = "customerPublicId"),
         @Index(name = "idx_service_booking_provider", columnList = "providerPublicId"),
+        @Index(name = "idx_service_booking_provider_status", columnList = "providerPublicId, status"),
+        @Index(name = "idx_service_booking_provider_date", columnList = "providerPublicId, bookingDate"),
         @Index(name = "idx_service_booking_status", columnList = "status"),
         @Index(name = "idx_service_booking_date", columnList = "bookingDate"),
-        @Index(name = "idx_service_booking_created", columnList = "createdAt")
+        @Index(name = "idx_service_booking_created", columnList = "createdAt"),
+        @Index(name = "idx_service_booking_status_date", columnList = "status, bookingDate"),
+        @Index(name = "idx_service_booking_service_date", columnList = "servicePublicId, bookingDate"),
+        @Index(name = "idx_service_booking_series", columnList = "seriesPublicId, bookingDate")
 })
 @Data
 @Builder
@@ -32,7 +37,7 @@ public class ServiceBooking {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "service_booking_seq")
-    @SequenceGenerator(name = "service_booking_seq", sequenceName = "service_booking_sequence", allocationSize = 1)
+    @SequenceGenerator(name = "service_booking_seq", sequenceName = "service_booking_sequence", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true, updatable = false)
@@ -47,12 +52,21 @@ public class ServiceBooking {
         PAID, // Payment completed
         IN_PROGRESS, // Service is being provided
         COMPLETED, // Service completed
-        CANCELLED, // Cancelled by customer
+        CANCELLED, // Cancelled; cancelledBy says by whom
         REJECTED, // Rejected by provider
         REFUNDED, // Payment refunded
         NO_SHOW // Customer didn't show up
     }
 
+    /**
+     * Who cancelled a booking
+     */
+    public enum CancelledBy {
+        CUSTOMER,
+        PROVIDER,
+        SYSTEM // Expired by the lifecycle job
+    }
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     @Builder.Default
@@ -68,6 +82,8 @@ public class ServiceBooking {
     @Column(nullable = false)
     private String providerPublicId;
 
+    private String seriesPublicId; // Set on occurrences of a recurring series
+
     // Booking details
     @Column(nullable = false)
     private LocalDate bookingDate;
@@ -162,6 +178,9 @@ public class ServiceBooking {
     private LocalDateTime cancelledAt;
     private String cancellationReason;
 
+    @Enumerated(EnumType.STRING)
+    private CancelledBy cancelledBy;
+
     @Column(nullable = false)
     @Builder.Default
     private Boolean isRefundable = true;
@@ -217,10 +236,11 @@ public class ServiceBooking {
         this.rejectionReason = reason;
     }
 
-    public void cancel(String reason) {
+    public void cancel(String reason, CancelledBy cancelledBy) {
         this.status = BookingStatus.CANCELLED;
         this.cancelledAt = LocalDateTime.now();
         this.cancellationReason = reason;
+        this.cancelledBy = cancelledBy;
     }
 
     public void markPaid() {
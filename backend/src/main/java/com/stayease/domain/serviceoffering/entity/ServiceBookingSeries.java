@@ -0,0 +1,111 @@
+package com.stayease.domain.serviceoffering.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * A recurring service booking. Occurrences are created as ordinary
+ * {@link ServiceBooking}s, linked by {@code seriesPublicId}, a rolling window
+ * at a time by the series job.
+ */
+@Entity
+@Table(name = "service_booking_series", indexes = {
+        @Index(name = "idx_booking_series_public_id", columnList = "publicId"),
+        @Index(name = "idx_booking_series_customer", columnList = "customerPublicId"),
+        @Index(name = "idx_booking_series_due", columnList = "status, generatedUntil")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = "id")
+public class ServiceBookingSeries {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "service_booking_series_seq")
+    @SequenceGenerator(name = "service_booking_series_seq", sequenceName = "service_booking_series_sequence", allocationSize = 1)
+    private Long id;
+
+    @Column(nullable = false, unique = true, updatable = false)
+    private String publicId;
+
+    public enum SeriesStatus {
+        ACTIVE, // Occurrences are still being created
+        ENDED, // Every occurrence has been created
+        CANCELLED // Cancelled with its future occurrences
+    }
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Builder.Default
+    private SeriesStatus status = SeriesStatus.ACTIVE;
+
+    @Column(nullable = false)
+    private String servicePublicId;
+
+    @Column(nullable = false)
+    private String customerPublicId;
+
+    @Column(nullable = false)
+    private String providerPublicId;
+
+    // RRULE subset, e.g. FREQ=WEEKLY;BYDAY=MO,WE,FR;COUNT=24
+    @Column(nullable = false)
+    private String recurrenceRule;
+
+    @Column(nullable = false)
+    private LocalDate startDate;
+
+    @Column(nullable = false)
+    private LocalTime startTime;
+
+    @Column(nullable = false)
+    private LocalTime endTime;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer numberOfPeople = 1;
+
+    private String customerAddress;
+
+    @Column(columnDefinition = "TEXT")
+    private String specialRequests;
+
+    private String customerPhone;
+    private String customerEmail;
+
+    /**
+     * Materialization progress
+     */
+    @Column(nullable = false)
+    private LocalDate generatedUntil; // Rule dates before this one have been materialized
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer dayOffset = 0; // Days every rule date is moved by
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer occurrencesCreated = 0;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer occurrencesSkipped = 0; // Closed days or slots already taken
+
+    private LocalDateTime cancelledAt;
+    private String cancellationReason;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
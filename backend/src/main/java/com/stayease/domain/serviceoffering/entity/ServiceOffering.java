@@ -7,12 +7,14 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.type.SqlTypes;
+
+import com.stayease.shared.util.DayMaskUtil;
 
 import jakarta.persistence.CascadeType;
-import jakarta.persistence.CollectionTable;
 import jakarta.persistence.Column;
-import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
@@ -20,7 +22,6 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Index;
-import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
@@ -43,7 +44,9 @@ import lombok.NoArgsConstructor;
         @Index(name = "idx_service_location", columnList = "city, country"),
         @Index(name = "idx_service_active", columnList = "isActive, status"),
         @Index(name = "idx_service_featured", columnList = "isFeatured"),
-        @Index(name = "idx_service_rating", columnList = "averageRating")
+        @Index(name = "idx_service_discount_until", columnList = "discountValidUntil"),
+        @Index(name = "idx_service_rating", columnList = "averageRating"),
+        @Index(name = "idx_service_available_days", columnList = "availableDaysMask")
 })
 @Data
 @Builder
@@ -157,6 +160,9 @@ public class ServiceOffering {
     private Integer minCapacity; // Minimum people/items
     private Integer maxCapacity; // Maximum people/items
 
+    @Builder.Default
+    private Boolean isGroupBooking = false; // Bookings share maxCapacity seats per slot (classes, tours)
+
     // Duration
     private Integer durationMinutes; // Service duration in minutes
     private Integer minBookingHours; // Minimum booking duration
@@ -175,11 +181,9 @@ public class ServiceOffering {
     private LocalTime availableFrom; // Start time (e.g., 09:00)
     private LocalTime availableTo; // End time (e.g., 18:00)
 
-    @ElementCollection
-    @CollectionTable(name = "service_available_days", joinColumns = @JoinColumn(name = "service_id"))
-    @Column(name = "day_of_week")
+    @Column(nullable = false)
     @Builder.Default
-    private List<String> availableDays = new ArrayList<>(); // MONDAY, TUESDAY, etc.
+    private Integer availableDaysMask = 0; // Monday = bit 0 ... Sunday = bit 6, 0 = every day
 
     /**
      * Location
@@ -219,18 +223,16 @@ public class ServiceOffering {
     /**
      * Languages
      */
-    @ElementCollection
-    @CollectionTable(name = "service_languages", joinColumns = @JoinColumn(name = "service_id"))
-    @Column(name = "language")
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "jsonb")
     @Builder.Default
     private List<String> languages = new ArrayList<>();
 
     /**
      * Amenities/Equipment provided
      */
-    @ElementCollection
-    @CollectionTable(name = "service_amenities", joinColumns = @JoinColumn(name = "service_id"))
-    @Column(name = "amenity")
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "jsonb")
     @Builder.Default
     private List<String> amenities = new ArrayList<>();
 
@@ -244,17 +246,17 @@ public class ServiceOffering {
     private String videoUrl; // Promotional video URL
 
     /**
-     * Reviews & Rating
+     * Reviews & Rating (maintained by delta UPDATEs in ServiceOfferingRepository)
      */
-    @Column
+    @Column(updatable = false)
     @Builder.Default
     private Double averageRating = 0.0;
 
-    @Column(nullable = false)
+    @Column(nullable = false, updatable = false)
     @Builder.Default
     private Integer totalReviews = 0;
 
-    @Column(nullable = false)
+    @Column(nullable = false, updatable = false)
     @Builder.Default
     private Integer totalBookings = 0;
 
@@ -291,17 +293,17 @@ public class ServiceOffering {
     private LocalDateTime discountValidUntil;
 
     /**
-     * Statistics
+     * Statistics (engagement counters are written by WriteBehindCounters only)
      */
-    @Column(nullable = false)
+    @Column(nullable = false, updatable = false)
     @Builder.Default
     private Integer viewCount = 0;
 
-    @Column(nullable = false)
+    @Column(nullable = false, updatable = false)
     @Builder.Default
     private Integer favoriteCount = 0;
 
-    @Column(nullable = false)
+    @Column(nullable = false, updatable = false)
     @Builder.Default
     private Integer inquiryCount = 0;
 
@@ -323,12 +325,21 @@ public class ServiceOffering {
     @Column(nullable = false)
     private LocalDateTime updatedAt;
 
+    @Column(updatable = false)
     private LocalDateTime lastBookedAt;
 
     /**
      * Helper methods
      */
 
+    public List<String> getAvailableDays() {
+        return DayMaskUtil.toDays(this.availableDaysMask);
+    }
+
+    public void setAvailableDays(List<String> days) {
+        this.availableDaysMask = DayMaskUtil.toMask(days);
+    }
+
     public void addImage(ServiceImage image) {
         images.add(image);
         image.setServiceOffering(this);
@@ -362,30 +373,6 @@ public class ServiceOffering {
         this.isActive = false;
     }
 
-    public void incrementViews() {
-        this.viewCount++;
-    }
-
-    public void incrementFavorites() {
-        this.favoriteCount++;
-    }
-
-    public void incrementInquiries() {
-        this.inquiryCount++;
-    }
-
-    public void updateRating(Double newRating) {
-        if (this.totalReviews == 0) {
-            this.averageRating = newRating;
-            this.totalReviews = 1;
-        } else {
-            double total = (this.averageRating * this.totalReviews) + newRating;
-            this.totalReviews++;
-            this.averageRating = total / this.totalReviews;
-            this.averageRating = Math.round(this.averageRating * 100.0) / 100.0;
-        }
-    }
-
     public BigDecimal calculateFinalPrice() {
         BigDecimal finalPrice = this.basePrice;
 
@@ -403,6 +390,10 @@ public class ServiceOffering {
         return this.isActive && this.status == ServiceStatus.ACTIVE;
     }
 
+    public boolean isSeated() {
+        return Boolean.TRUE.equals(this.isGroupBooking) && this.maxCapacity != null && this.maxCapacity > 0;
+    }
+
     public boolean isFeaturedNow() {
         return this.isFeatured && (this.featuredUntil == null
                 || LocalDateTime.now().isBefore(this.featuredUntil));
@@ -0,0 +1,47 @@
+package com.stayease.domain.serviceoffering.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Seats taken in one slot of a group-booking service. Rows are only ever
+ * changed by the conditional upserts in {@code ServiceSlotSeatsRepository}, so
+ * the seat count can never pass the service's capacity.
+ */
+@Entity
+@Table(name = "service_slot_seats")
+@IdClass(ServiceSlotSeats.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ServiceSlotSeats {
+
+    @Id
+    @Column(name = "service_public_id", nullable = false)
+    private String servicePublicId;
+
+    @Id
+    @Column(name = "slot_date", nullable = false)
+    private LocalDate slotDate;
+
+    @Id
+    @Column(name = "start_time", nullable = false)
+    private LocalTime startTime;
+
+    @Column(name = "reserved_seats", nullable = false)
+    private Integer reservedSeats;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String servicePublicId;
+        private LocalDate slotDate;
+        private LocalTime startTime;
+    }
+}
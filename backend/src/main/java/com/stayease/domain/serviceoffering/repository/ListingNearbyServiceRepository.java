@@ -0,0 +1,57 @@
+package com.stayease.domain.serviceoffering.repository;
+
+import com.stayease.domain.serviceoffering.entity.ListingNearbyService;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ListingNearbyServiceRepository extends JpaRepository<ListingNearbyService, ListingNearbyService.Key> {
+
+    @Query("SELECT n.listingPublicId FROM ListingNearbyService n WHERE n.servicePublicId = :servicePublicId")
+    List<UUID> findListingPublicIds(@Param("servicePublicId") String servicePublicId);
+
+    @Modifying
+    @Query("DELETE FROM ListingNearbyService n WHERE n.listingPublicId = :listingPublicId")
+    int deleteByListing(@Param("listingPublicId") UUID listingPublicId);
+
+    @Modifying
+    @Query("DELETE FROM ListingNearbyService n WHERE n.servicePublicId = :servicePublicId")
+    int deleteByService(@Param("servicePublicId") String servicePublicId);
+
+    /**
+     * Write pairs in one statement, keyed on the primary key so concurrent
+     * refreshes of the same pair settle on the latest distance instead of
+     * failing on a duplicate key.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO listing_nearby_services (listing_public_id, service_public_id, distance_km) " +
+            "SELECT * FROM unnest(CAST(:listingPublicIds AS uuid[]), CAST(:servicePublicIds AS varchar[]), " +
+            "CAST(:distancesKm AS float8[])) " +
+            "ON CONFLICT (listing_public_id, service_public_id) DO UPDATE SET distance_km = EXCLUDED.distance_km",
+            nativeQuery = true)
+    int upsertAll(@Param("listingPublicIds") UUID[] listingPublicIds,
+                  @Param("servicePublicIds") String[] servicePublicIds,
+                  @Param("distancesKm") double[] distancesKm);
+
+    // Nearby services of a listing with their card data from the search index: SearchDocument, distanceKm
+    @Query("SELECT d, n.distanceKm FROM ListingNearbyService n, SearchDocument d " +
+            "WHERE n.listingPublicId = :listingPublicId AND d.docType = 'SERVICE' " +
+            "AND d.publicId = n.servicePublicId " +
+            "ORDER BY n.distanceKm, d.rating DESC")
+    List<Object[]> findNearby(@Param("listingPublicId") UUID listingPublicId, Pageable pageable);
+
+    // Rows whose listing or service is gone or no longer live, e.g. after a missed refresh
+    @Modifying
+    @Query("DELETE FROM ListingNearbyService n WHERE NOT EXISTS (SELECT 1 FROM Listing l " +
+            "WHERE l.publicId = n.listingPublicId AND l.status = 'ACTIVE') " +
+            "OR NOT EXISTS (SELECT 1 FROM ServiceOffering s " +
+            "WHERE s.publicId = n.servicePublicId AND s.isActive = true AND s.status = 'ACTIVE')")
+    int deleteOrphans();
+}
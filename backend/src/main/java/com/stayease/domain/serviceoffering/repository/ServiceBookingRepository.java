@@ -2,9 +2,11 @@ package com.stayease.domain.serviceoffering.repository;
 
 import com.stayease.domain.serviceoffering.entity.ServiceBooking;
 import com.stayease.domain.serviceoffering.entity.ServiceBooking.BookingStatus;
+import com.stayease.domain.serviceoffering.entity.ServiceBooking.CancelledBy;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -69,13 +71,57 @@ public interface ServiceBookingRepository extends JpaRepository<ServiceBooking,
             "WHERE b.servicePublicId = :servicePublicId " +
             "AND b.bookingDate = :date " +
             "AND b.status IN ('CONFIRMED', 'PAID', 'IN_PROGRESS') " +
-            "AND ((b.startTime <= :endTime AND b.endTime > :startTime))")
+            "AND ((b.startTime < :endTime AND b.endTime > :startTime))")
     boolean hasConflictingBooking(
             @Param("servicePublicId") String servicePublicId,
             @Param("date") LocalDate date,
             @Param("startTime") java.time.LocalTime startTime,
             @Param("endTime") java.time.LocalTime endTime);
 
+    // Bookings that block slots, for the slot engine
+    @Query("SELECT b FROM ServiceBooking b " +
+            "WHERE b.servicePublicId = :servicePublicId " +
+            "AND b.bookingDate >= :from AND b.bookingDate < :to " +
+            "AND b.status IN ('CONFIRMED', 'PAID', 'IN_PROGRESS')")
+    List<ServiceBooking> findBlockingBookings(
+            @Param("servicePublicId") String servicePublicId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+
+    // Provider calendar: one range scan on (providerPublicId, bookingDate)
+    @Query("SELECT b FROM ServiceBooking b " +
+            "WHERE b.providerPublicId = :providerPublicId " +
+            "AND b.bookingDate >= :from AND b.bookingDate < :to " +
+            "AND b.status NOT IN ('CANCELLED', 'REJECTED', 'REFUNDED') " +
+            "ORDER BY b.bookingDate, b.startTime")
+    List<ServiceBooking> findProviderCalendar(
+            @Param("providerPublicId") String providerPublicId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+
+    // Cheap version of the provider calendar window, for its ETag
+    @Query("SELECT COUNT(b) AS bookings, MAX(b.updatedAt) AS lastUpdated FROM ServiceBooking b " +
+            "WHERE b.providerPublicId = :providerPublicId " +
+            "AND b.bookingDate >= :from AND b.bookingDate < :to")
+    CalendarVersionView getProviderCalendarVersion(
+            @Param("providerPublicId") String providerPublicId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+
+    interface CalendarVersionView {
+        Long getBookings();
+
+        LocalDateTime getLastUpdated();
+    }
+
+    // Recurring series: future occurrences still open, as (id, bookingDate)
+    @Query("SELECT b.id, b.bookingDate FROM ServiceBooking b " +
+            "WHERE b.seriesPublicId = :seriesPublicId AND b.bookingDate >= :from " +
+            "AND b.status IN ('PENDING', 'CONFIRMED', 'PAID') ORDER BY b.bookingDate")
+    List<Object[]> findOpenSeriesOccurrences(
+            @Param("seriesPublicId") String seriesPublicId,
+            @Param("from") LocalDate from);
+
     // Count bookings
     long countByServicePublicId(String servicePublicId);
 
@@ -86,6 +132,44 @@ public interface ServiceBookingRepository extends JpaRepository<ServiceBooking,
     // Count by status
     long countByServicePublicIdAndStatus(String servicePublicId, BookingStatus status);
 
+    // Provider dashboard: every count and revenue window in one pass over the provider's bookings
+    @Query("SELECT COUNT(b) AS totalBookings, " +
+            "SUM(CASE WHEN b.status = 'PENDING' THEN 1 ELSE 0 END) AS pendingBookings, " +
+            "SUM(CASE WHEN b.status = 'CONFIRMED' THEN 1 ELSE 0 END) AS confirmedBookings, " +
+            "SUM(CASE WHEN b.status = 'COMPLETED' THEN 1 ELSE 0 END) AS completedBookings, " +
+            "SUM(CASE WHEN b.status = 'COMPLETED' AND b.serviceCompletedAt >= :monthStart " +
+            "AND b.serviceCompletedAt < :monthEnd THEN b.totalPrice END) AS monthlyRevenue, " +
+            "SUM(CASE WHEN b.status = 'COMPLETED' AND b.serviceCompletedAt >= :lastMonthStart " +
+            "AND b.serviceCompletedAt < :monthStart THEN b.totalPrice END) AS lastMonthRevenue, " +
+            "SUM(CASE WHEN b.status = 'COMPLETED' AND b.serviceCompletedAt >= :yearStart " +
+            "AND b.serviceCompletedAt < :monthEnd THEN b.totalPrice END) AS yearToDateRevenue, " +
+            "SUM(CASE WHEN b.status = 'COMPLETED' THEN b.totalPrice END) AS totalRevenue " +
+            "FROM ServiceBooking b WHERE b.providerPublicId = :providerPublicId")
+    ProviderStatsView getProviderStats(
+            @Param("providerPublicId") String providerPublicId,
+            @Param("yearStart") LocalDateTime yearStart,
+            @Param("lastMonthStart") LocalDateTime lastMonthStart,
+            @Param("monthStart") LocalDateTime monthStart,
+            @Param("monthEnd") LocalDateTime monthEnd);
+
+    interface ProviderStatsView {
+        Long getTotalBookings();
+
+        Long getPendingBookings();
+
+        Long getConfirmedBookings();
+
+        Long getCompletedBookings();
+
+        java.math.BigDecimal getMonthlyRevenue();
+
+        java.math.BigDecimal getLastMonthRevenue();
+
+        java.math.BigDecimal getYearToDateRevenue();
+
+        java.math.BigDecimal getTotalRevenue();
+    }
+
     // Revenue statistics
     @Query("SELECT SUM(b.totalPrice) FROM ServiceBooking b " +
             "WHERE b.providerPublicId = :providerPublicId " +
@@ -95,4 +179,45 @@ public interface ServiceBookingRepository extends JpaRepository<ServiceBooking,
             @Param("providerPublicId") String providerPublicId,
             @Param("startDate") LocalDateTime startDate,
             @Param("endDate") LocalDateTime endDate);
-}
+
+    // Lifecycle job: rows are claimed with SKIP LOCKED so parallel workers never overlap
+    @Query(value = "SELECT id FROM service_bookings WHERE status = 'PENDING' " +
+            "AND (created_at < :createdBefore OR booking_date < :today) " +
+            "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> claimExpiredPending(
+            @Param("createdBefore") LocalDateTime createdBefore,
+            @Param("today") LocalDate today,
+            @Param("limit") int limit);
+
+    @Query(value = "SELECT id FROM service_bookings WHERE status = 'IN_PROGRESS' " +
+            "AND booking_date < :today " +
+            "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> claimDueForCompletion(@Param("today") LocalDate today, @Param("limit") int limit);
+
+    @Query("SELECT COUNT(b) FROM ServiceBooking b WHERE b.status = 'PENDING' " +
+            "AND (b.createdAt < :createdBefore OR b.bookingDate < :today)")
+    long countExpiredPending(
+            @Param("createdBefore") LocalDateTime createdBefore,
+            @Param("today") LocalDate today);
+
+    @Query("SELECT COUNT(b) FROM ServiceBooking b WHERE b.status = 'IN_PROGRESS' AND b.bookingDate < :today")
+    long countDueForCompletion(@Param("today") LocalDate today);
+
+    @Modifying
+    @Query("UPDATE ServiceBooking b SET b.status = :status, b.cancellationReason = :reason, " +
+            "b.cancelledBy = :cancelledBy, b.cancelledAt = :now, b.updatedAt = :now WHERE b.id IN :ids")
+    int cancelByIds(
+            @Param("ids") List<Long> ids,
+            @Param("status") BookingStatus status,
+            @Param("reason") String reason,
+            @Param("cancelledBy") CancelledBy cancelledBy,
+            @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE ServiceBooking b SET b.status = :status, b.serviceCompletedAt = :now, " +
+            "b.updatedAt = :now WHERE b.id IN :ids")
+    int completeByIds(
+            @Param("ids") List<Long> ids,
+            @Param("status") BookingStatus status,
+            @Param("now") LocalDateTime now);
+}
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.stayease.domain.serviceoffering.repository;
+
+import com.stayease.domain.serviceoffering.entity.ServiceBookingSeries;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ServiceBookingSeriesRepository extends JpaRepository<ServiceBookingSeries, Long> {
+
+    Optional<ServiceBookingSeries> findByPublicId(String publicId);
+
+    List<ServiceBookingSeries> findByCustomerPublicIdOrderByCreatedAtDesc(String customerPublicId);
+
+    // Series job: active series whose occurrences do not reach the horizon yet, claimed with SKIP LOCKED
+    @Query(value = "SELECT id FROM service_booking_series WHERE status = 'ACTIVE' " +
+            "AND generated_until + day_offset < :horizon " +
+            "ORDER BY generated_until, id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> claimDueForMaterialization(@Param("horizon") LocalDate horizon, @Param("limit") int limit);
+
+    @Query(value = "SELECT COUNT(*) FROM service_booking_series WHERE status = 'ACTIVE' " +
+            "AND generated_until + day_offset < :horizon", nativeQuery = true)
+    long countDueForMaterialization(@Param("horizon") LocalDate horizon);
+}
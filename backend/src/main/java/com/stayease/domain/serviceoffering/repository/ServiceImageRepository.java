@@ -2,8 +2,11 @@ package com.stayease.domain.serviceoffering.repository;
 
 import com.stayease.domain.serviceoffering.entity.ServiceImage;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,4 +18,12 @@ public interface ServiceImageRepository extends JpaRepository<ServiceImage, Long
     Optional<ServiceImage> findByServiceOfferingIdAndIsPrimaryTrue(Long serviceOfferingId);
 
     void deleteByServiceOfferingId(Long serviceOfferingId);
+
+    // Cover image of each service, one row per service: servicePublicId, imageUrl (primary, else first shown)
+    @Query(value = "SELECT DISTINCT ON (s.public_id) s.public_id, i.image_url " +
+            "FROM service_images i JOIN service_offerings s ON s.id = i.service_id " +
+            "WHERE s.public_id IN (:servicePublicIds) " +
+            "ORDER BY s.public_id, i.is_primary DESC, i.display_order ASC, i.id ASC",
+            nativeQuery = true)
+    List<Object[]> findCoverImages(@Param("servicePublicIds") Collection<String> servicePublicIds);
 }
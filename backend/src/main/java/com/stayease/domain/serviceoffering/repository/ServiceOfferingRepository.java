@@ -1,5 +1,7 @@
 package com.stayease.domain.serviceoffering.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -48,6 +50,23 @@ public interface ServiceOfferingRepository extends JpaRepository<ServiceOffering
             "ORDER BY s.averageRating DESC, s.createdAt DESC")
     List<ServiceOffering> findFeaturedServices();
 
+    // Find services with a running discount
+    @Query("SELECT DISTINCT s FROM ServiceOffering s LEFT JOIN FETCH s.images WHERE s.discountPercentage > 0 " +
+            "AND s.isActive = true AND s.status = 'ACTIVE' " +
+            "AND s.discountValidUntil > :now")
+    List<ServiceOffering> findDiscountedServices(@Param("now") LocalDateTime now);
+
+    // Expiry sweeps for lapsed placements and discounts
+    @Modifying
+    @Query("UPDATE ServiceOffering s SET s.isFeatured = false " +
+            "WHERE s.isFeatured = true AND s.featuredUntil <= :now")
+    int expireFeatured(@Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE ServiceOffering s SET s.discountPercentage = NULL, s.discountValidUntil = NULL " +
+            "WHERE s.discountValidUntil <= :now")
+    int expireDiscounts(@Param("now") LocalDateTime now);
+
     // Search by location
     @Query("SELECT s FROM ServiceOffering s WHERE s.isActive = true AND s.status = 'ACTIVE' " +
             "AND LOWER(s.city) = LOWER(:city) " +
@@ -81,24 +100,89 @@ public interface ServiceOfferingRepository extends JpaRepository<ServiceOffering
     // Count by provider
     long countByProviderPublicId(String providerPublicId);
 
+    @Query("SELECT MAX(s.updatedAt) FROM ServiceOffering s WHERE s.providerPublicId = :providerPublicId")
+    LocalDateTime findLastUpdatedByProvider(@Param("providerPublicId") String providerPublicId);
+
     // Count by status
     long countByStatus(ServiceStatus status);
 
     // Count active services
     long countByIsActiveTrueAndStatus(ServiceStatus status);
 
-    // Increment counters
+    boolean existsByPublicId(String publicId);
+
+    // Fields shown on service booking cards, for many services at once
+    @Query("SELECT s.publicId AS publicId, s.title AS title, s.category AS category, s.address AS address " +
+            "FROM ServiceOffering s WHERE s.publicId IN :publicIds")
+    List<BookingServiceView> findBookingViews(@Param("publicIds") Collection<String> publicIds);
+
+    interface BookingServiceView {
+        String getPublicId();
+
+        String getTitle();
+
+        ServiceCategory getCategory();
+
+        String getAddress();
+    }
+
+    // Coverage circles of mobile services: publicId, latitude, longitude, serviceRadius
+    @Query("SELECT s.publicId, s.latitude, s.longitude, s.serviceRadius FROM ServiceOffering s " +
+            "WHERE s.isActive = true AND s.status = 'ACTIVE' AND s.providesMobileService = true " +
+            "AND s.latitude IS NOT NULL AND s.longitude IS NOT NULL AND s.serviceRadius > 0")
+    List<Object[]> findCoverageAreas();
+
+    // Bookable services located in a bounding box: publicId, latitude, longitude, serviceRadius, providesMobileService
+    @Query("SELECT s.publicId, s.latitude, s.longitude, s.serviceRadius, s.providesMobileService FROM ServiceOffering s " +
+            "WHERE s.isActive = true AND s.status = 'ACTIVE' " +
+            "AND s.latitude BETWEEN :minLat AND :maxLat AND s.longitude BETWEEN :minLng AND :maxLng")
+    List<Object[]> findLocatedWithin(@Param("minLat") double minLat, @Param("maxLat") double maxLat,
+                                     @Param("minLng") double minLng, @Param("maxLng") double maxLng);
+
+    // Aggregates, applied as deltas so concurrent bookings and reviews never overwrite each other
+    @Modifying
+    @Query("UPDATE ServiceOffering s SET s.totalBookings = s.totalBookings + :count, " +
+            "s.lastBookedAt = CASE WHEN s.lastBookedAt IS NULL OR s.lastBookedAt < :bookedAt " +
+            "THEN :bookedAt ELSE s.lastBookedAt END " +
+            "WHERE s.publicId = :publicId")
+    int recordBookings(@Param("publicId") String publicId, @Param("count") int count,
+                       @Param("bookedAt") LocalDateTime bookedAt);
+
+    @Modifying
+    @Query("UPDATE ServiceOffering s SET " +
+            "s.averageRating = (COALESCE(s.averageRating, 0) * s.totalReviews + :rating) / (s.totalReviews + 1), " +
+            "s.totalReviews = s.totalReviews + 1 " +
+            "WHERE s.publicId = :publicId")
+    int addRating(@Param("publicId") String publicId, @Param("rating") double rating);
+
+    // Several published reviews at once, e.g. one auto-publish chunk
+    @Modifying
+    @Query("UPDATE ServiceOffering s SET " +
+            "s.averageRating = (COALESCE(s.averageRating, 0) * s.totalReviews + :ratingSum) / (s.totalReviews + :count), " +
+            "s.totalReviews = s.totalReviews + :count " +
+            "WHERE s.publicId = :publicId")
+    int addRatings(@Param("publicId") String publicId, @Param("count") int count, @Param("ratingSum") double ratingSum);
+
+    @Modifying
+    @Query("UPDATE ServiceOffering s SET " +
+            "s.averageRating = CASE WHEN s.totalReviews <= 1 THEN 0 " +
+            "ELSE (COALESCE(s.averageRating, 0) * s.totalReviews - :rating) / (s.totalReviews - 1) END, " +
+            "s.totalReviews = CASE WHEN s.totalReviews <= 1 THEN 0 ELSE s.totalReviews - 1 END " +
+            "WHERE s.publicId = :publicId")
+    int removeRating(@Param("publicId") String publicId, @Param("rating") double rating);
+
+    // Counter deltas flushed by WriteBehindCounters
     @Modifying
-    @Query("UPDATE ServiceOffering s SET s.viewCount = s.viewCount + 1 WHERE s.publicId = :publicId")
-    int incrementViewCount(@Param("publicId") String publicId);
+    @Query("UPDATE ServiceOffering s SET s.viewCount = s.viewCount + :delta WHERE s.publicId IN :publicIds")
+    int addViewCounts(@Param("publicIds") List<String> publicIds, @Param("delta") int delta);
 
     @Modifying
-    @Query("UPDATE ServiceOffering s SET s.favoriteCount = s.favoriteCount + 1 WHERE s.publicId = :publicId")
-    int incrementFavoriteCount(@Param("publicId") String publicId);
+    @Query("UPDATE ServiceOffering s SET s.favoriteCount = s.favoriteCount + :delta WHERE s.publicId IN :publicIds")
+    int addFavoriteCounts(@Param("publicIds") List<String> publicIds, @Param("delta") int delta);
 
     @Modifying
-    @Query("UPDATE ServiceOffering s SET s.inquiryCount = s.inquiryCount + 1 WHERE s.publicId = :publicId")
-    int incrementInquiryCount(@Param("publicId") String publicId);
+    @Query("UPDATE ServiceOffering s SET s.inquiryCount = s.inquiryCount + :delta WHERE s.publicId IN :publicIds")
+    int addInquiryCounts(@Param("publicIds") List<String> publicIds, @Param("delta") int delta);
 
     // Statistics
     @Query("SELECT s.category, COUNT(s) FROM ServiceOffering s " +
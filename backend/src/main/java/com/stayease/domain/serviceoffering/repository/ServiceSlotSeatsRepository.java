@@ -0,0 +1,77 @@
+package com.stayease.domain.serviceoffering.repository;
+
+import com.stayease.domain.serviceoffering.entity.ServiceSlotSeats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ServiceSlotSeatsRepository extends JpaRepository<ServiceSlotSeats, ServiceSlotSeats.Key> {
+
+    /**
+     * Take {@code seats} in a slot if they fit under {@code capacity}. Returns 1
+     * when the seats were taken and 0 when the slot is full; concurrent callers
+     * on the same slot are decided by the row lock, never by a prior read.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO service_slot_seats (service_public_id, slot_date, start_time, reserved_seats) " +
+            "SELECT :servicePublicId, :slotDate, :startTime, :seats WHERE :seats <= :capacity " +
+            "ON CONFLICT (service_public_id, slot_date, start_time) DO UPDATE SET " +
+            "reserved_seats = service_slot_seats.reserved_seats + EXCLUDED.reserved_seats " +
+            "WHERE service_slot_seats.reserved_seats + EXCLUDED.reserved_seats <= :capacity",
+            nativeQuery = true)
+    int reserve(@Param("servicePublicId") String servicePublicId,
+                @Param("slotDate") LocalDate slotDate,
+                @Param("startTime") LocalTime startTime,
+                @Param("seats") int seats,
+                @Param("capacity") int capacity);
+
+    @Modifying
+    @Query(value = "UPDATE service_slot_seats SET reserved_seats = GREATEST(reserved_seats - :seats, 0) " +
+            "WHERE service_public_id = :servicePublicId AND slot_date = :slotDate AND start_time = :startTime",
+            nativeQuery = true)
+    int release(@Param("servicePublicId") String servicePublicId,
+                @Param("slotDate") LocalDate slotDate,
+                @Param("startTime") LocalTime startTime,
+                @Param("seats") int seats);
+
+    /**
+     * Give back the seats of a batch of bulk-cancelled bookings in one
+     * statement. Bookings of services without seat accounting match no row.
+     */
+    @Modifying
+    @Query(value = "UPDATE service_slot_seats s SET reserved_seats = GREATEST(s.reserved_seats - b.seats, 0) " +
+            "FROM (SELECT service_public_id, booking_date, start_time, SUM(number_of_people) AS seats " +
+            "FROM service_bookings WHERE id IN (:bookingIds) AND start_time IS NOT NULL " +
+            "GROUP BY service_public_id, booking_date, start_time) b " +
+            "WHERE s.service_public_id = b.service_public_id AND s.slot_date = b.booking_date " +
+            "AND s.start_time = b.start_time",
+            nativeQuery = true)
+    int releaseForBookings(@Param("bookingIds") List<Long> bookingIds);
+
+    @Query("SELECT s.reservedSeats FROM ServiceSlotSeats s WHERE s.servicePublicId = :servicePublicId " +
+            "AND s.slotDate = :slotDate AND s.startTime = :startTime")
+    Optional<Integer> findReservedSeats(@Param("servicePublicId") String servicePublicId,
+                                        @Param("slotDate") LocalDate slotDate,
+                                        @Param("startTime") LocalTime startTime);
+
+    @Query("SELECT s FROM ServiceSlotSeats s WHERE s.servicePublicId = :servicePublicId " +
+            "AND s.slotDate >= :from AND s.slotDate < :to AND s.reservedSeats > 0")
+    List<ServiceSlotSeats> findTaken(@Param("servicePublicId") String servicePublicId,
+                                     @Param("from") LocalDate from,
+                                     @Param("to") LocalDate to);
+
+    @Query("SELECT s FROM ServiceSlotSeats s WHERE s.servicePublicId IN :servicePublicIds " +
+            "AND s.slotDate >= :from AND s.slotDate < :to AND s.reservedSeats > 0")
+    List<ServiceSlotSeats> findTakenForServices(@Param("servicePublicIds") Collection<String> servicePublicIds,
+                                                @Param("from") LocalDate from,
+                                                @Param("to") LocalDate to);
+}
@@ -0,0 +1,87 @@
+package com.stayease.domain.serviceoffering.service;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable interval tree over half-open {@code [start, end)} ranges. The
+ * intervals are sorted by start and laid out as an implicit balanced tree
+ * (each range's midpoint is the subtree root), with every node carrying the
+ * largest end in its subtree so overlap queries can skip whole branches.
+ */
+final class BookedIntervals {
+
+    record Interval(long start, long end) {
+    }
+
+    private static final BookedIntervals EMPTY = new BookedIntervals(new long[0], new long[0]);
+
+    private final long[] starts;
+    private final long[] ends;
+    private final long[] maxEnds;
+
+    private BookedIntervals(long[] starts, long[] ends) {
+        this.starts = starts;
+        this.ends = ends;
+        this.maxEnds = new long[starts.length];
+        fillMaxEnds(0, starts.length);
+    }
+
+    static BookedIntervals of(List<Interval> intervals) {
+        if (intervals.isEmpty()) {
+            return EMPTY;
+        }
+        Interval[] sorted = intervals.stream()
+                .filter(interval -> interval.end() > interval.start())
+                .sorted(Comparator.comparingLong(Interval::start))
+                .toArray(Interval[]::new);
+        long[] starts = new long[sorted.length];
+        long[] ends = new long[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            starts[i] = sorted[i].start();
+            ends[i] = sorted[i].end();
+        }
+        return new BookedIntervals(starts, ends);
+    }
+
+    /**
+     * Whether any interval overlaps {@code [start, end)}.
+     */
+    boolean overlaps(long start, long end) {
+        return overlaps(0, starts.length, start, end);
+    }
+
+    int size() {
+        return starts.length;
+    }
+
+    private boolean overlaps(int lo, int hi, long start, long end) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (maxEnds[mid] <= start) {
+                return false;
+            }
+            if (overlaps(lo, mid, start, end)) {
+                return true;
+            }
+            if (starts[mid] >= end) {
+                return false;
+            }
+            if (ends[mid] > start) {
+                return true;
+            }
+            lo = mid + 1;
+        }
+        return false;
+    }
+
+    private long fillMaxEnds(int lo, int hi) {
+        if (lo >= hi) {
+            return Long.MIN_VALUE;
+        }
+        int mid = (lo + hi) >>> 1;
+        long max = Math.max(ends[mid], Math.max(fillMaxEnds(lo, mid), fillMaxEnds(mid + 1, hi)));
+        maxEnds[mid] = max;
+        return max;
+    }
+}
@@ -0,0 +1,256 @@
+package com.stayease.domain.serviceoffering.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.stayease.domain.serviceoffering.dto.ServiceOfferingDTO;
+import com.stayease.domain.serviceoffering.entity.ServiceOffering;
+import com.stayease.domain.serviceoffering.entity.ServiceOffering.ServiceCategory;
+import com.stayease.domain.serviceoffering.repository.ServiceOfferingRepository;
+import com.stayease.shared.mapper.ServiceOfferingMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Memory-resident featured and discounted service feeds for the home page,
+ * indexed by category and city. A scheduled sweep expires lapsed features and
+ * discounts in bulk and rebuilds the feeds, starting right after startup; admin
+ * and provider changes patch single entries through {@link #update} and
+ * {@link #remove} once their transaction commits. Changes that commit while a
+ * sweep is reading are replayed onto the rebuilt feeds before they are swapped in.
+ */
+@Component
+@Slf4j
+public class FeaturedServicesFeed {
+
+    private static final Comparator<Entry> BY_RATING = Comparator
+            .comparing((Entry entry) -> entry.dto().getAverageRating(), Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(entry -> entry.dto().getCreatedAt(), Comparator.nullsLast(Comparator.reverseOrder()));
+
+    private static final Comparator<Entry> BY_DISCOUNT = Comparator
+            .comparing((Entry entry) -> entry.dto().getDiscountPercentage(), Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(BY_RATING);
+
+    private final ServiceOfferingRepository serviceOfferingRepository;
+    private final ServiceOfferingMapper serviceOfferingMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Object refreshLock = new Object();
+
+    private volatile Feed featured;
+    private volatile Feed discounted;
+    // Changes applied while a sweep is reading, by public ID
+    private Map<String, Change> pending;
+
+    public FeaturedServicesFeed(
+            ServiceOfferingRepository serviceOfferingRepository,
+            ServiceOfferingMapper serviceOfferingMapper,
+            PlatformTransactionManager transactionManager) {
+        this.serviceOfferingRepository = serviceOfferingRepository;
+        this.serviceOfferingMapper = serviceOfferingMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * A feed entry keeps the window it is valid for, so entries that lapse
+     * between sweeps drop out on read.
+     */
+    private record Entry(ServiceOfferingDTO dto, LocalDateTime validUntil) {
+
+        boolean isLive(LocalDateTime now) {
+            return validUntil == null || validUntil.isAfter(now);
+        }
+    }
+
+    /**
+     * Where one service now belongs in each feed; a null entry drops it.
+     */
+    private record Change(String publicId, Entry featured, Entry discounted) {
+    }
+
+    /**
+     * Immutable feed with per-category and per-city lists in feed order.
+     */
+    private record Feed(List<Entry> all, Map<ServiceCategory, List<Entry>> byCategory,
+            Map<String, List<Entry>> byCity) {
+
+        static Feed of(List<Entry> entries, Comparator<Entry> order) {
+            List<Entry> sorted = new ArrayList<>(entries);
+            sorted.sort(order);
+            Map<ServiceCategory, List<Entry>> byCategory = new HashMap<>();
+            Map<String, List<Entry>> byCity = new HashMap<>();
+            for (Entry entry : sorted) {
+                if (entry.dto().getCategory() != null) {
+                    byCategory.computeIfAbsent(entry.dto().getCategory(), key -> new ArrayList<>()).add(entry);
+                }
+                if (entry.dto().getCity() != null) {
+                    byCity.computeIfAbsent(cityKey(entry.dto().getCity()), key -> new ArrayList<>()).add(entry);
+                }
+            }
+            return new Feed(List.copyOf(sorted), byCategory, byCity);
+        }
+
+        List<ServiceOfferingDTO> select(ServiceCategory category, String city, LocalDateTime now) {
+            List<Entry> source;
+            if (category != null) {
+                source = byCategory.getOrDefault(category, List.of());
+            } else if (city != null) {
+                source = byCity.getOrDefault(cityKey(city), List.of());
+            } else {
+                source = all;
+            }
+            String wantedCity = city != null ? cityKey(city) : null;
+            return source.stream()
+                    .filter(entry -> entry.isLive(now))
+                    .filter(entry -> wantedCity == null
+                            || (entry.dto().getCity() != null && cityKey(entry.dto().getCity()).equals(wantedCity)))
+                    .map(Entry::dto)
+                    .toList();
+        }
+    }
+
+    /**
+     * Featured services, or none until the first sweep after startup has run.
+     */
+    public List<ServiceOfferingDTO> getFeatured(ServiceCategory category, String city) {
+        Feed current = featured;
+        return current != null ? current.select(category, city, LocalDateTime.now()) : List.of();
+    }
+
+    public List<ServiceOfferingDTO> getDiscounted(ServiceCategory category, String city) {
+        Feed current = discounted;
+        return current != null ? current.select(category, city, LocalDateTime.now()) : List.of();
+    }
+
+    /**
+     * Re-place one service after it changed, once the surrounding transaction
+     * commits. Call inside the transaction that loaded {@code service} so its
+     * collections can be mapped.
+     */
+    public void update(ServiceOffering service) {
+        LocalDateTime now = LocalDateTime.now();
+        boolean isFeatured = service.isBookable() && service.isFeaturedNow();
+        boolean isDiscounted = service.isBookable() && hasDiscount(service, now);
+
+        ServiceOfferingDTO dto = isFeatured || isDiscounted ? serviceOfferingMapper.toDTO(service) : null;
+        afterCommit(new Change(service.getPublicId(),
+                isFeatured ? new Entry(dto, service.getFeaturedUntil()) : null,
+                isDiscounted ? new Entry(dto, service.getDiscountValidUntil()) : null));
+    }
+
+    public void remove(String publicId) {
+        afterCommit(new Change(publicId, null, null));
+    }
+
+    private void afterCommit(Change change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(change);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(change);
+            }
+        });
+    }
+
+    private synchronized void apply(Change change) {
+        if (pending != null) {
+            pending.put(change.publicId(), change);
+        }
+        if (featured == null) {
+            // Not built yet; the first sweep loads the current state
+            return;
+        }
+        featured = replace(featured, change.publicId(), change.featured(), BY_RATING);
+        discounted = replace(discounted, change.publicId(), change.discounted(), BY_DISCOUNT);
+    }
+
+    /**
+     * Expire lapsed features and discounts in bulk, then rebuild both feeds.
+     */
+    @Scheduled(fixedDelayString = "${app.featured.refresh-interval:PT5M}", initialDelayString = "PT0S")
+    public void refresh() {
+        synchronized (refreshLock) {
+            synchronized (this) {
+                pending = new HashMap<>();
+            }
+            try {
+                swapIn(build());
+            } finally {
+                synchronized (this) {
+                    pending = null;
+                }
+            }
+        }
+    }
+
+    private Feed[] build() {
+        LocalDateTime now = LocalDateTime.now();
+        return transactionTemplate.execute(status -> {
+            int unfeatured = serviceOfferingRepository.expireFeatured(now);
+            int undiscounted = serviceOfferingRepository.expireDiscounts(now);
+            if (unfeatured > 0 || undiscounted > 0) {
+                log.info("Expired {} featured placements and {} discounts", unfeatured, undiscounted);
+            }
+
+            List<Entry> featuredEntries = serviceOfferingRepository.findFeaturedServices().stream()
+                    .map(service -> new Entry(serviceOfferingMapper.toDTO(service), service.getFeaturedUntil()))
+                    .toList();
+            List<Entry> discountedEntries = serviceOfferingRepository.findDiscountedServices(now).stream()
+                    .map(service -> new Entry(serviceOfferingMapper.toDTO(service), service.getDiscountValidUntil()))
+                    .toList();
+            return new Feed[] { Feed.of(featuredEntries, BY_RATING), Feed.of(discountedEntries, BY_DISCOUNT) };
+        });
+    }
+
+    private synchronized void swapIn(Feed[] feeds) {
+        Feed nextFeatured = feeds[0];
+        Feed nextDiscounted = feeds[1];
+        // The read may predate these; replay them so the swap does not lose them
+        for (Change change : pending.values()) {
+            nextFeatured = replace(nextFeatured, change.publicId(), change.featured(), BY_RATING);
+            nextDiscounted = replace(nextDiscounted, change.publicId(), change.discounted(), BY_DISCOUNT);
+        }
+        featured = nextFeatured;
+        discounted = nextDiscounted;
+        log.debug("Rebuilt featured feed ({} services) and discounted feed ({} services), replayed {} changes",
+                nextFeatured.all().size(), nextDiscounted.all().size(), pending.size());
+    }
+
+    private static Feed replace(Feed feed, String publicId, Entry entry, Comparator<Entry> order) {
+        List<Entry> entries = new ArrayList<>(feed.all().size() + 1);
+        for (Entry existing : feed.all()) {
+            if (!existing.dto().getPublicId().equals(publicId)) {
+                entries.add(existing);
+            }
+        }
+        if (entry != null) {
+            entries.add(entry);
+        }
+        return Feed.of(entries, order);
+    }
+
+    private static boolean hasDiscount(ServiceOffering service, LocalDateTime now) {
+        return service.getDiscountPercentage() != null
+                && service.getDiscountPercentage().compareTo(BigDecimal.ZERO) > 0
+                && service.getDiscountValidUntil() != null
+                && service.getDiscountValidUntil().isAfter(now);
+    }
+
+    private static String cityKey(String city) {
+        return city.trim().toLowerCase();
+    }
+}
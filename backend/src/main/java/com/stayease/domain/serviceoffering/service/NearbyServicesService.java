@@ -0,0 +1,300 @@
+package com.stayease.domain.serviceoffering.service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.stayease.domain.listing.entity.Listing;
+import com.stayease.domain.listing.repository.ListingRepository;
+import com.stayease.domain.search.entity.SearchDocument;
+import com.stayease.domain.serviceoffering.dto.NearbyServiceDTO;
+import com.stayease.domain.serviceoffering.entity.ListingNearbyService;
+import com.stayease.domain.serviceoffering.entity.ServiceOffering;
+import com.stayease.domain.serviceoffering.repository.ListingNearbyServiceRepository;
+import com.stayease.domain.serviceoffering.repository.ServiceOfferingRepository;
+import com.stayease.exception.NotFoundException;
+import com.stayease.shared.util.GeoUtil;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Services within reach of each listing, precomputed into
+ * {@code listing_nearby_services}. A mobile service reaches as far as its
+ * {@code serviceRadius} (capped at {@code max-radius-km}); any other service
+ * counts as nearby within {@code radius-km} of the stay.
+ *
+ * <p>Listing and service writes refresh only the pairs they touch, and a
+ * periodic rebuild recomputes every listing and drops rows left behind.
+ * Pairs are upserted, so a listing and a service refreshed at the same time
+ * can both write the pair they share.
+ * The listing page then reads one indexed lookup, cached per listing.
+ */
+@Service
+@Slf4j
+public class NearbyServicesService {
+
+    private final ListingNearbyServiceRepository listingNearbyServiceRepository;
+    private final ListingRepository listingRepository;
+    private final ServiceOfferingRepository serviceOfferingRepository;
+    private final TransactionTemplate rebuildTransaction;
+    private final double radiusKm;
+    private final double maxRadiusKm;
+    private final int maxResults;
+    private final Duration cacheTtl;
+    private final int rebuildPageSize;
+
+    private final Map<UUID, Nearby> nearby = new ConcurrentHashMap<>();
+
+    public NearbyServicesService(
+            ListingNearbyServiceRepository listingNearbyServiceRepository,
+            ListingRepository listingRepository,
+            ServiceOfferingRepository serviceOfferingRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.nearby-services.radius-km:10}") double radiusKm,
+            @Value("${app.nearby-services.max-radius-km:50}") double maxRadiusKm,
+            @Value("${app.nearby-services.max-results:20}") int maxResults,
+            @Value("${app.nearby-services.cache-ttl:PT10M}") Duration cacheTtl,
+            @Value("${app.nearby-services.rebuild-page-size:200}") int rebuildPageSize) {
+        this.listingNearbyServiceRepository = listingNearbyServiceRepository;
+        this.listingRepository = listingRepository;
+        this.serviceOfferingRepository = serviceOfferingRepository;
+        this.rebuildTransaction = new TransactionTemplate(transactionManager);
+        this.radiusKm = radiusKm;
+        this.maxRadiusKm = maxRadiusKm;
+        this.maxResults = maxResults;
+        this.cacheTtl = cacheTtl;
+        this.rebuildPageSize = rebuildPageSize;
+    }
+
+    private record Nearby(List<NearbyServiceDTO> services, Instant loadedAt) {
+    }
+
+    private record Box(double minLat, double maxLat, double minLng, double maxLng) {
+
+        static Box around(double latitude, double longitude, double km) {
+            double latDelta = km / GeoUtil.KM_PER_DEGREE_LAT;
+            double lngDelta = GeoUtil.kmToLonDegrees(km, Math.min(90.0, Math.abs(latitude) + latDelta));
+            if (longitude - lngDelta < -180.0 || longitude + lngDelta > 180.0) {
+                // Box crosses the antimeridian; the exact distance check does the filtering
+                return new Box(latitude - latDelta, latitude + latDelta, -180.0, 180.0);
+            }
+            return new Box(latitude - latDelta, latitude + latDelta, longitude - lngDelta, longitude + lngDelta);
+        }
+    }
+
+    /**
+     * Nearby services of a listing, closest first.
+     */
+    @Transactional(readOnly = true)
+    public List<NearbyServiceDTO> getNearbyServices(UUID listingPublicId) {
+        Nearby cached = nearby.get(listingPublicId);
+        if (cached != null && cached.loadedAt().isAfter(Instant.now().minus(cacheTtl))) {
+            return cached.services();
+        }
+        if (!listingRepository.existsByPublicId(listingPublicId)) {
+            throw new NotFoundException("Listing not found with ID: " + listingPublicId);
+        }
+
+        List<NearbyServiceDTO> services = listingNearbyServiceRepository
+                .findNearby(listingPublicId, PageRequest.of(0, maxResults)).stream()
+                .map(row -> toDTO((SearchDocument) row[0], ((Number) row[1]).doubleValue()))
+                .toList();
+        nearby.put(listingPublicId, new Nearby(services, Instant.now()));
+        return services;
+    }
+
+    /**
+     * Recompute the services near a listing after it is created, moved or
+     * changes status. Runs in the caller's transaction.
+     */
+    public void refreshListing(Listing listing) {
+        UUID listingPublicId = listing.getPublicId();
+        listingNearbyServiceRepository.deleteByListing(listingPublicId);
+        write(pairsFor(listing));
+        evict(List.of(listingPublicId));
+    }
+
+    public void removeListing(UUID listingPublicId) {
+        listingNearbyServiceRepository.deleteByListing(listingPublicId);
+        evict(List.of(listingPublicId));
+    }
+
+    /**
+     * Recompute the listings a service is near after it is changed, moved or
+     * changes status. Listings it used to be near are evicted as well.
+     */
+    public void refreshService(ServiceOffering service) {
+        String servicePublicId = service.getPublicId();
+        Set<UUID> affected = new HashSet<>(listingNearbyServiceRepository.findListingPublicIds(servicePublicId));
+        listingNearbyServiceRepository.deleteByService(servicePublicId);
+
+        List<ListingNearbyService> pairs = new ArrayList<>();
+        if (service.isBookable() && service.getLatitude() != null && service.getLongitude() != null) {
+            double reach = reachKm(service.getServiceRadius(), service.getProvidesMobileService());
+            Box box = Box.around(service.getLatitude(), service.getLongitude(), reach);
+            for (Object[] row : listingRepository.findActiveLocatedWithin(BigDecimal.valueOf(box.minLat()),
+                    BigDecimal.valueOf(box.maxLat()), BigDecimal.valueOf(box.minLng()),
+                    BigDecimal.valueOf(box.maxLng()))) {
+                double distance = GeoUtil.distanceKm(service.getLatitude(), service.getLongitude(),
+                        ((Number) row[1]).doubleValue(), ((Number) row[2]).doubleValue());
+                if (distance <= reach) {
+                    UUID listingPublicId = (UUID) row[0];
+                    pairs.add(pair(listingPublicId, servicePublicId, distance));
+                    affected.add(listingPublicId);
+                }
+            }
+        }
+        write(pairs);
+        evict(affected);
+    }
+
+    public void removeService(String servicePublicId) {
+        List<UUID> affected = listingNearbyServiceRepository.findListingPublicIds(servicePublicId);
+        listingNearbyServiceRepository.deleteByService(servicePublicId);
+        evict(affected);
+    }
+
+    /**
+     * Recompute every listing page by page and drop rows whose listing or
+     * service is gone. Fills the table on first start and repairs refreshes
+     * that were missed.
+     */
+    @Scheduled(fixedDelayString = "${app.nearby-services.rebuild-interval:PT6H}", initialDelayString = "PT2M")
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        int listings = 0;
+        int page = 0;
+        Page<Listing> batch;
+        do {
+            PageRequest request = PageRequest.of(page++, rebuildPageSize, Sort.by("id"));
+            batch = rebuildTransaction.execute(status -> {
+                Page<Listing> current = listingRepository.findAll(request);
+                for (Listing listing : current.getContent()) {
+                    listingNearbyServiceRepository.deleteByListing(listing.getPublicId());
+                    write(pairsFor(listing));
+                }
+                return current;
+            });
+            listings += batch.getNumberOfElements();
+        } while (batch.hasNext());
+
+        Integer orphans = rebuildTransaction.execute(status -> listingNearbyServiceRepository.deleteOrphans());
+        nearby.clear();
+        log.info("Rebuilt nearby services for {} listings in {} ms, dropped {} stale rows",
+                listings, System.currentTimeMillis() - started, orphans);
+    }
+
+    @Scheduled(fixedDelayString = "${app.nearby-services.cache-ttl:PT10M}")
+    public void sweepExpired() {
+        Instant cutoff = Instant.now().minus(cacheTtl);
+        nearby.values().removeIf(entry -> entry.loadedAt().isBefore(cutoff));
+    }
+
+    private List<ListingNearbyService> pairsFor(Listing listing) {
+        if (listing.getStatus() != Listing.ListingStatus.ACTIVE
+                || listing.getLatitude() == null || listing.getLongitude() == null) {
+            return List.of();
+        }
+        double latitude = listing.getLatitude().doubleValue();
+        double longitude = listing.getLongitude().doubleValue();
+        Box box = Box.around(latitude, longitude, Math.max(radiusKm, maxRadiusKm));
+
+        List<ListingNearbyService> pairs = new ArrayList<>();
+        for (Object[] row : serviceOfferingRepository.findLocatedWithin(box.minLat(), box.maxLat(),
+                box.minLng(), box.maxLng())) {
+            double distance = GeoUtil.distanceKm(latitude, longitude,
+                    ((Number) row[1]).doubleValue(), ((Number) row[2]).doubleValue());
+            if (distance <= reachKm((Number) row[3], (Boolean) row[4])) {
+                pairs.add(pair(listing.getPublicId(), (String) row[0], distance));
+            }
+        }
+        return pairs;
+    }
+
+    private void write(List<ListingNearbyService> pairs) {
+        if (pairs.isEmpty()) {
+            return;
+        }
+        UUID[] listingPublicIds = new UUID[pairs.size()];
+        String[] servicePublicIds = new String[pairs.size()];
+        double[] distancesKm = new double[pairs.size()];
+        for (int i = 0; i < pairs.size(); i++) {
+            ListingNearbyService pair = pairs.get(i);
+            listingPublicIds[i] = pair.getListingPublicId();
+            servicePublicIds[i] = pair.getServicePublicId();
+            distancesKm[i] = pair.getDistanceKm();
+        }
+        listingNearbyServiceRepository.upsertAll(listingPublicIds, servicePublicIds, distancesKm);
+    }
+
+    private double reachKm(Number serviceRadius, Boolean mobile) {
+        if (Boolean.TRUE.equals(mobile) && serviceRadius != null && serviceRadius.doubleValue() > 0) {
+            return Math.min(serviceRadius.doubleValue(), maxRadiusKm);
+        }
+        return radiusKm;
+    }
+
+    private static ListingNearbyService pair(UUID listingPublicId, String servicePublicId, double distanceKm) {
+        return ListingNearbyService.builder()
+                .listingPublicId(listingPublicId)
+                .servicePublicId(servicePublicId)
+                .distanceKm(Math.round(distanceKm * 100) / 100.0)
+                .build();
+    }
+
+    /**
+     * Drop cached lookups now and, inside a transaction, again after commit so
+     * a concurrent reader cannot cache the pre-commit rows.
+     */
+    private void evict(Collection<UUID> listingPublicIds) {
+        if (listingPublicIds.isEmpty()) {
+            return;
+        }
+        listingPublicIds.forEach(nearby::remove);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            List<UUID> evicted = List.copyOf(listingPublicIds);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evicted.forEach(nearby::remove);
+                }
+            });
+        }
+    }
+
+    private static NearbyServiceDTO toDTO(SearchDocument document, double distanceKm) {
+        return NearbyServiceDTO.builder()
+                .servicePublicId(document.getPublicId())
+                .title(document.getTitle())
+                .category(document.getCategory())
+                .city(document.getCity())
+                .price(document.getPrice())
+                .priceUnit(document.getPriceUnit())
+                .currency(document.getCurrency())
+                .rating(document.getRating())
+                .reviewCount(document.getReviewCount())
+                .imageUrl(document.getImageUrl())
+                .distanceKm(Math.round(distanceKm * 10) / 10.0)
+                .build();
+    }
+}
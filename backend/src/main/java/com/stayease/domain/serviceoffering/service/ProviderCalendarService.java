@@ -0,0 +1,131 @@
+package com.stayease.domain.serviceoffering.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.stayease.domain.serviceoffering.dto.ProviderCalendarDayDTO;
+import com.stayease.domain.serviceoffering.dto.ProviderServiceSlotsDTO;
+import com.stayease.domain.serviceoffering.dto.ServiceBookingDTO;
+import com.stayease.domain.serviceoffering.dto.ServiceDaySlotsDTO;
+import com.stayease.domain.serviceoffering.entity.ServiceBooking;
+import com.stayease.domain.serviceoffering.entity.ServiceOffering;
+import com.stayease.domain.serviceoffering.repository.ServiceBookingRepository;
+import com.stayease.domain.serviceoffering.repository.ServiceOfferingRepository;
+import com.stayease.exception.BadRequestException;
+import com.stayease.shared.mapper.ServiceBookingMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A provider's day-by-day view across all of their services: bookings from
+ * one range query on {@code (providerPublicId, bookingDate)} and free slots
+ * computed from those same bookings.
+ */
+@Service
+@Slf4j
+public class ProviderCalendarService {
+
+    private final ServiceBookingRepository serviceBookingRepository;
+    private final ServiceOfferingRepository serviceOfferingRepository;
+    private final ServiceSlotService serviceSlotService;
+    private final ServiceBookingMapper serviceBookingMapper;
+    private final int maxDays;
+
+    public ProviderCalendarService(
+            ServiceBookingRepository serviceBookingRepository,
+            ServiceOfferingRepository serviceOfferingRepository,
+            ServiceSlotService serviceSlotService,
+            ServiceBookingMapper serviceBookingMapper,
+            @Value("${app.service-slots.max-days:31}") int maxDays) {
+        this.serviceBookingRepository = serviceBookingRepository;
+        this.serviceOfferingRepository = serviceOfferingRepository;
+        this.serviceSlotService = serviceSlotService;
+        this.serviceBookingMapper = serviceBookingMapper;
+        this.maxDays = maxDays;
+    }
+
+    /**
+     * Cheap version of the calendar window for conditional requests. It moves
+     * whenever a booking in the window or one of the provider's services
+     * changes, and every hour as slots inside the advance-booking window close.
+     */
+    @Transactional(readOnly = true)
+    public String calendarETag(String providerPublicId, LocalDate from, int days) {
+        LocalDate start = start(from, days);
+        ServiceBookingRepository.CalendarVersionView version = serviceBookingRepository
+                .getProviderCalendarVersion(providerPublicId, start, start.plusDays(days));
+        long services = serviceOfferingRepository.countByProviderPublicId(providerPublicId);
+        LocalDateTime servicesUpdated = serviceOfferingRepository.findLastUpdatedByProvider(providerPublicId);
+
+        return "\"" + start + "-" + days + "-" + LocalDateTime.now().truncatedTo(ChronoUnit.HOURS)
+                + "-" + version.getBookings() + "-" + epochMillis(version.getLastUpdated())
+                + "-" + services + "-" + epochMillis(servicesUpdated) + "\"";
+    }
+
+    /**
+     * Bookings and free slots of all the provider's services for {@code days}
+     * days starting at {@code from} (today when null), grouped by day.
+     * Cancelled, rejected and refunded bookings are left out.
+     */
+    @Transactional(readOnly = true)
+    public List<ProviderCalendarDayDTO> getCalendar(String providerPublicId, LocalDate from, int days) {
+        LocalDate start = start(from, days);
+        LocalDate end = start.plusDays(days);
+
+        List<ServiceOffering> services = new ArrayList<>(serviceOfferingRepository.findByProviderPublicId(providerPublicId));
+        services.sort(Comparator.comparing(ServiceOffering::getTitle, Comparator.nullsLast(String::compareTo)));
+        List<ServiceBooking> bookings = serviceBookingRepository.findProviderCalendar(providerPublicId, start, end);
+        Map<String, List<ServiceDaySlotsDTO>> slots = serviceSlotService.getSlots(services, start, end, bookings);
+
+        Map<LocalDate, List<ServiceBookingDTO>> bookingsByDay = new LinkedHashMap<>();
+        for (ServiceBookingDTO booking : serviceBookingMapper.toDTOList(bookings)) {
+            bookingsByDay.computeIfAbsent(booking.getBookingDate(), date -> new ArrayList<>()).add(booking);
+        }
+
+        List<ProviderCalendarDayDTO> calendar = new ArrayList<>(days);
+        for (int day = 0; day < days; day++) {
+            LocalDate date = start.plusDays(day);
+            List<ProviderServiceSlotsDTO> serviceSlots = new ArrayList<>(services.size());
+            for (ServiceOffering service : services) {
+                ServiceDaySlotsDTO daySlots = slots.get(service.getPublicId()).get(day);
+                serviceSlots.add(ProviderServiceSlotsDTO.builder()
+                        .servicePublicId(service.getPublicId())
+                        .serviceTitle(service.getTitle())
+                        .isOpen(daySlots.getIsOpen())
+                        .slots(daySlots.getSlots())
+                        .build());
+            }
+            calendar.add(ProviderCalendarDayDTO.builder()
+                    .date(date)
+                    .bookings(bookingsByDay.getOrDefault(date, List.of()))
+                    .services(serviceSlots)
+                    .build());
+        }
+
+        log.debug("Built {}-day calendar for provider {} with {} bookings over {} services",
+                days, providerPublicId, bookings.size(), services.size());
+        return calendar;
+    }
+
+    private LocalDate start(LocalDate from, int days) {
+        if (days < 1 || days > maxDays) {
+            throw new BadRequestException("Days must be between 1 and " + maxDays);
+        }
+        return from != null ? from : LocalDate.now();
+    }
+
+    private static long epochMillis(LocalDateTime time) {
+        return time != null ? time.toInstant(ZoneOffset.UTC).toEpochMilli() : 0;
+    }
+}
@@ -0,0 +1,211 @@
+package com.stayease.domain.serviceoffering.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import com.stayease.shared.util.DayMaskUtil;
+
+/**
+ * The subset of an iCalendar RRULE used by recurring service bookings:
+ * {@code FREQ=DAILY|WEEKLY}, {@code INTERVAL}, {@code BYDAY}, {@code COUNT}
+ * and {@code UNTIL} (a date). For example
+ * {@code FREQ=WEEKLY;INTERVAL=1;BYDAY=MO,WE,FR;COUNT=24}.
+ */
+public record RecurrenceRule(Frequency frequency, int interval, int daysMask, Integer count, LocalDate until) {
+
+    public enum Frequency {
+        DAILY,
+        WEEKLY
+    }
+
+    public static final int MAX_INTERVAL = 52;
+
+    private static final DateTimeFormatter UNTIL_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final String[] DAY_CODES = { "MO", "TU", "WE", "TH", "FR", "SA", "SU" };
+
+    /**
+     * @throws IllegalArgumentException if the rule is malformed or uses parts
+     *                                  this subset does not support
+     */
+    public static RecurrenceRule parse(String rule) {
+        if (rule == null || rule.isBlank()) {
+            throw new IllegalArgumentException("Recurrence rule is required");
+        }
+        String value = rule.trim();
+        if (value.regionMatches(true, 0, "RRULE:", 0, 6)) {
+            value = value.substring(6);
+        }
+
+        Frequency frequency = null;
+        int interval = 1;
+        int daysMask = 0;
+        Integer count = null;
+        LocalDate until = null;
+
+        for (String part : value.split(";")) {
+            if (part.isBlank()) {
+                continue;
+            }
+            int eq = part.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Malformed rule part: " + part);
+            }
+            String name = part.substring(0, eq).trim().toUpperCase(Locale.ROOT);
+            String arg = part.substring(eq + 1).trim().toUpperCase(Locale.ROOT);
+            switch (name) {
+                case "FREQ" -> {
+                    try {
+                        frequency = Frequency.valueOf(arg);
+                    } catch (IllegalArgumentException e) {
+                        throw new IllegalArgumentException("Only DAILY and WEEKLY recurrence is supported");
+                    }
+                }
+                case "INTERVAL" -> interval = parsePositive(name, arg);
+                case "COUNT" -> count = parsePositive(name, arg);
+                case "UNTIL" -> until = parseUntil(arg);
+                case "BYDAY" -> daysMask = parseDays(arg);
+                case "WKST" -> {
+                    // Weeks always start on Monday here
+                }
+                default -> throw new IllegalArgumentException("Unsupported rule part: " + name);
+            }
+        }
+
+        if (frequency == null) {
+            throw new IllegalArgumentException("FREQ is required");
+        }
+        if (interval > MAX_INTERVAL) {
+            throw new IllegalArgumentException("INTERVAL must be at most " + MAX_INTERVAL);
+        }
+        if (count != null && until != null) {
+            throw new IllegalArgumentException("COUNT and UNTIL cannot both be set");
+        }
+        return new RecurrenceRule(frequency, interval, daysMask, count, until);
+    }
+
+    /**
+     * Occurrence dates in {@code [from, to)} of a series that starts on
+     * {@code start}, with COUNT counted from the start.
+     */
+    public List<LocalDate> occurrences(LocalDate start, LocalDate from, LocalDate to) {
+        List<LocalDate> dates = new ArrayList<>();
+        LocalDate end = until != null && until.isBefore(to) ? until.plusDays(1) : to;
+        int seen = 0;
+
+        if (frequency == Frequency.DAILY) {
+            for (LocalDate date = start; date.isBefore(end); date = date.plusDays(interval)) {
+                if (daysMask != 0 && !DayMaskUtil.includes(daysMask, date.getDayOfWeek())) {
+                    continue;
+                }
+                if (count != null && seen++ >= count) {
+                    break;
+                }
+                if (!date.isBefore(from)) {
+                    dates.add(date);
+                }
+            }
+            return dates;
+        }
+
+        int mask = daysMask != 0 ? daysMask : DayMaskUtil.bit(start.getDayOfWeek());
+        LocalDate week = start.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        for (; week.isBefore(end); week = week.plusWeeks(interval)) {
+            for (DayOfWeek day : DayOfWeek.values()) {
+                if ((mask & DayMaskUtil.bit(day)) == 0) {
+                    continue;
+                }
+                LocalDate date = week.plusDays(day.getValue() - 1L);
+                if (date.isBefore(start)) {
+                    continue;
+                }
+                if (!date.isBefore(end) || (count != null && seen >= count)) {
+                    return dates;
+                }
+                seen++;
+                if (!date.isBefore(from)) {
+                    dates.add(date);
+                }
+            }
+        }
+        return dates;
+    }
+
+    /**
+     * Whether every occurrence of a series starting on {@code start} falls
+     * before {@code date}.
+     */
+    public boolean exhaustedBefore(LocalDate start, LocalDate date) {
+        if (until != null && until.isBefore(date)) {
+            return true;
+        }
+        return count != null && occurrences(start, start, date).size() >= count;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder rule = new StringBuilder("FREQ=").append(frequency);
+        if (interval != 1) {
+            rule.append(";INTERVAL=").append(interval);
+        }
+        if (daysMask != 0) {
+            List<String> codes = new ArrayList<>();
+            for (DayOfWeek day : DayOfWeek.values()) {
+                if ((daysMask & DayMaskUtil.bit(day)) != 0) {
+                    codes.add(DAY_CODES[day.getValue() - 1]);
+                }
+            }
+            rule.append(";BYDAY=").append(String.join(",", codes));
+        }
+        if (count != null) {
+            rule.append(";COUNT=").append(count);
+        }
+        if (until != null) {
+            rule.append(";UNTIL=").append(UNTIL_FORMAT.format(until));
+        }
+        return rule.toString();
+    }
+
+    private static int parsePositive(String name, String arg) {
+        try {
+            int value = Integer.parseInt(arg);
+            if (value < 1) {
+                throw new IllegalArgumentException(name + " must be positive");
+            }
+            return value;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " must be a number");
+        }
+    }
+
+    private static LocalDate parseUntil(String arg) {
+        String date = arg.length() >= 8 ? arg.substring(0, 8) : arg;
+        try {
+            return LocalDate.parse(date, UNTIL_FORMAT);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("UNTIL must be a date such as 20301231");
+        }
+    }
+
+    private static int parseDays(String arg) {
+        int mask = 0;
+        for (String code : arg.split(",")) {
+            int index = -1;
+            for (int i = 0; i < DAY_CODES.length; i++) {
+                if (DAY_CODES[i].equals(code.trim())) {
+                    index = i;
+                }
+            }
+            if (index < 0) {
+                throw new IllegalArgumentException("Unsupported BYDAY value: " + code);
+            }
+            mask |= 1 << index;
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,78 @@
+package com.stayease.domain.serviceoffering.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.stayease.domain.serviceoffering.entity.ServiceBooking.BookingStatus;
+import com.stayease.domain.serviceoffering.entity.ServiceBooking.CancelledBy;
+import com.stayease.domain.serviceoffering.repository.ServiceBookingRepository;
+import com.stayease.shared.job.BatchJobRunner;
+import com.stayease.shared.job.BatchStep;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves service bookings through their lifecycle: expires PENDING requests the
+ * provider never answered and completes services left IN_PROGRESS after their
+ * booking day.
+ */
+@Component
+@Slf4j
+public class ServiceBookingLifecycleJob {
+
+    static final String EXPIRED_REASON = "Booking request expired without provider confirmation";
+
+    private final ServiceBookingRepository serviceBookingRepository;
+    private final BatchJobRunner batchJobRunner;
+    private final ServiceSeatService serviceSeatService;
+    private final Duration pendingTtl;
+
+    public ServiceBookingLifecycleJob(
+            ServiceBookingRepository serviceBookingRepository,
+            BatchJobRunner batchJobRunner,
+            ServiceSeatService serviceSeatService,
+            @Value("${app.jobs.service-booking.pending-ttl:PT48H}") Duration pendingTtl) {
+        this.serviceBookingRepository = serviceBookingRepository;
+        this.batchJobRunner = batchJobRunner;
+        this.serviceSeatService = serviceSeatService;
+        this.pendingTtl = pendingTtl;
+    }
+
+    @Scheduled(fixedDelayString = "${app.jobs.service-booking.interval:PT1M}", initialDelayString = "PT45S")
+    public void advanceServiceBookings() {
+        LocalDate today = LocalDate.now();
+        LocalDateTime createdBefore = LocalDateTime.now().minus(pendingTtl);
+
+        batchJobRunner.run(new BatchStep("service-booking.expire-pending",
+                limit -> expire(serviceBookingRepository.claimExpiredPending(createdBefore, today, limit)),
+                () -> serviceBookingRepository.countExpiredPending(createdBefore, today)));
+
+        batchJobRunner.run(new BatchStep("service-booking.complete",
+                limit -> complete(serviceBookingRepository.claimDueForCompletion(today, limit)),
+                () -> serviceBookingRepository.countDueForCompletion(today)));
+    }
+
+    private int expire(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        serviceSeatService.releaseForBookings(ids);
+        serviceBookingRepository.cancelByIds(ids, BookingStatus.CANCELLED, EXPIRED_REASON, CancelledBy.SYSTEM,
+                LocalDateTime.now());
+        return ids.size();
+    }
+
+    private int complete(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        serviceBookingRepository.completeByIds(ids, BookingStatus.COMPLETED, LocalDateTime.now());
+        return ids.size();
+    }
+}
@@ -0,0 +1,46 @@
+package com.stayease.domain.serviceoffering.service;
+
+import java.time.LocalDate;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.stayease.domain.serviceoffering.repository.ServiceBookingSeriesRepository;
+import com.stayease.shared.job.BatchJobRunner;
+import com.stayease.shared.job.BatchStep;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps recurring service bookings materialized a rolling horizon ahead.
+ */
+@Component
+@Slf4j
+public class ServiceBookingSeriesJob {
+
+    private final ServiceBookingSeriesRepository seriesRepository;
+    private final ServiceBookingSeriesService seriesService;
+    private final BatchJobRunner batchJobRunner;
+    private final int horizonDays;
+
+    public ServiceBookingSeriesJob(
+            ServiceBookingSeriesRepository seriesRepository,
+            ServiceBookingSeriesService seriesService,
+            BatchJobRunner batchJobRunner,
+            @Value("${app.service-booking-series.horizon-days:28}") int horizonDays) {
+        this.seriesRepository = seriesRepository;
+        this.seriesService = seriesService;
+        this.batchJobRunner = batchJobRunner;
+        this.horizonDays = horizonDays;
+    }
+
+    @Scheduled(fixedDelayString = "${app.service-booking-series.interval:PT15M}", initialDelayString = "PT1M")
+    public void materializeSeries() {
+        LocalDate horizon = LocalDate.now().plusDays(horizonDays);
+
+        batchJobRunner.run(new BatchStep("service-booking.materialize-series",
+                limit -> seriesService.materialize(seriesRepository.claimDueForMaterialization(horizon, limit)),
+                () -> seriesRepository.countDueForMaterialization(horizon)));
+    }
+}
@@ -0,0 +1,451 @@
+package com.stayease.domain.serviceoffering.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.stayease.domain.serviceoffering.dto.CreateServiceBookingSeriesDTO;
+import com.stayease.domain.serviceoffering.dto.MoveServiceBookingSeriesDTO;
+import com.stayease.domain.serviceoffering.dto.ServiceBookingSeriesDTO;
+import com.stayease.domain.serviceoffering.entity.ServiceBooking;
+import com.stayease.domain.serviceoffering.entity.ServiceBooking.BookingStatus;
+import com.stayease.domain.serviceoffering.entity.ServiceBooking.CancelledBy;
+import com.stayease.domain.serviceoffering.entity.ServiceBooking.PaymentStatus;
+import com.stayease.domain.serviceoffering.entity.ServiceBookingSeries;
+import com.stayease.domain.serviceoffering.entity.ServiceBookingSeries.SeriesStatus;
+import com.stayease.domain.serviceoffering.entity.ServiceOffering;
+import com.stayease.domain.serviceoffering.repository.ServiceBookingRepository;
+import com.stayease.domain.serviceoffering.repository.ServiceBookingSeriesRepository;
+import com.stayease.domain.serviceoffering.repository.ServiceOfferingRepository;
+import com.stayease.exception.BadRequestException;
+import com.stayease.exception.ConflictException;
+import com.stayease.exception.ForbiddenException;
+import com.stayease.exception.NotFoundException;
+import com.stayease.shared.util.DayMaskUtil;
+import com.stayease.shared.util.PriceUtil;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Recurring service bookings. A series stores its rule, and its occurrences
+ * are materialized as ordinary bookings a rolling horizon ahead: all dates of
+ * a window are checked against the service's slot index at once and inserted
+ * in JDBC batches. Cancelling or moving a series changes all of its future
+ * occurrences with one statement.
+ */
+@Service
+@Slf4j
+@Transactional
+public class ServiceBookingSeriesService {
+
+    private final ServiceBookingSeriesRepository seriesRepository;
+    private final ServiceBookingRepository serviceBookingRepository;
+    private final ServiceOfferingRepository serviceOfferingRepository;
+    private final ServiceSlotService serviceSlotService;
+    private final ServicePricingService servicePricingService;
+    private final int horizonDays;
+    private final int batchSize;
+
+    public ServiceBookingSeriesService(
+            ServiceBookingSeriesRepository seriesRepository,
+            ServiceBookingRepository serviceBookingRepository,
+            ServiceOfferingRepository serviceOfferingRepository,
+            ServiceSlotService serviceSlotService,
+            ServicePricingService servicePricingService,
+            @Value("${app.service-booking-series.horizon-days:28}") int horizonDays,
+            @Value("${app.service-booking-series.batch-size:50}") int batchSize) {
+        this.seriesRepository = seriesRepository;
+        this.serviceBookingRepository = serviceBookingRepository;
+        this.serviceOfferingRepository = serviceOfferingRepository;
+        this.serviceSlotService = serviceSlotService;
+        this.servicePricingService = servicePricingService;
+        this.horizonDays = horizonDays;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Create a series and materialize its first window right away.
+     */
+    public ServiceBookingSeriesDTO createSeries(CreateServiceBookingSeriesDTO dto, String customerPublicId) {
+        log.info("Creating booking series for customer: {}", customerPublicId);
+
+        ServiceOffering service = serviceOfferingRepository.findByPublicId(dto.getServicePublicId())
+                .orElseThrow(() -> new NotFoundException("Service not found with ID: " + dto.getServicePublicId()));
+
+        if (!service.isBookable()) {
+            throw new BadRequestException("Service is not available for booking");
+        }
+        if (service.isSeated()) {
+            throw new BadRequestException("Recurring bookings are not available for group sessions");
+        }
+        if (!dto.getEndTime().isAfter(dto.getStartTime())) {
+            throw new BadRequestException("End time must be after start time");
+        }
+        if (!serviceSlotService.isWithinOpeningHours(service, dto.getStartTime(), dto.getEndTime())) {
+            throw new BadRequestException("Selected time is outside the service's opening hours");
+        }
+
+        RecurrenceRule rule = parseRule(dto.getRecurrenceRule());
+
+        ServiceBookingSeries series = ServiceBookingSeries.builder()
+                .publicId(UUID.randomUUID().toString())
+                .servicePublicId(service.getPublicId())
+                .customerPublicId(customerPublicId)
+                .providerPublicId(service.getProviderPublicId())
+                .recurrenceRule(rule.toString())
+                .startDate(dto.getStartDate())
+                .startTime(dto.getStartTime())
+                .endTime(dto.getEndTime())
+                .numberOfPeople(dto.getNumberOfPeople() != null ? dto.getNumberOfPeople() : 1)
+                .customerAddress(dto.getCustomerAddress())
+                .specialRequests(dto.getSpecialRequests())
+                .customerPhone(dto.getCustomerPhone())
+                .customerEmail(dto.getCustomerEmail())
+                .generatedUntil(dto.getStartDate())
+                .build();
+
+        ServiceBookingSeries savedSeries = seriesRepository.save(series);
+        materialize(savedSeries, service, LocalDate.now());
+
+        log.info("Booking series created with ID: {} ({} occurrences so far)",
+                savedSeries.getPublicId(), savedSeries.getOccurrencesCreated());
+
+        return toDTO(savedSeries);
+    }
+
+    @Transactional(readOnly = true)
+    public ServiceBookingSeriesDTO getSeries(String publicId, String userPublicId) {
+        ServiceBookingSeries series = findSeries(publicId);
+        if (!series.getCustomerPublicId().equals(userPublicId) && !series.getProviderPublicId().equals(userPublicId)) {
+            throw new ForbiddenException("You don't have permission to view this booking series");
+        }
+        return toDTO(series);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ServiceBookingSeriesDTO> getCustomerSeries(String customerPublicId) {
+        return seriesRepository.findByCustomerPublicIdOrderByCreatedAtDesc(customerPublicId).stream()
+                .map(this::toDTO)
+                .toList();
+    }
+
+    /**
+     * Cancel a series and every open occurrence from today on.
+     */
+    public ServiceBookingSeriesDTO cancelSeries(String publicId, String reason, String customerPublicId) {
+        log.info("Customer cancelling booking series: {}", publicId);
+
+        ServiceBookingSeries series = findOwnedSeries(publicId, customerPublicId);
+        if (series.getStatus() == SeriesStatus.CANCELLED) {
+            throw new BadRequestException("This booking series is already cancelled");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = occurrenceIds(serviceBookingRepository.findOpenSeriesOccurrences(publicId, LocalDate.now()));
+        if (!ids.isEmpty()) {
+            serviceBookingRepository.cancelByIds(ids, BookingStatus.CANCELLED, reason, CancelledBy.CUSTOMER, now);
+            serviceSlotService.evict(series.getServicePublicId());
+        }
+
+        series.setStatus(SeriesStatus.CANCELLED);
+        series.setCancelledAt(now);
+        series.setCancellationReason(reason);
+        ServiceBookingSeries cancelledSeries = seriesRepository.save(series);
+
+        log.info("Booking series {} cancelled with {} future occurrences", publicId, ids.size());
+
+        return toDTO(cancelledSeries);
+    }
+
+    /**
+     * Move every open occurrence on or after {@code fromDate} to a new time,
+     * optionally a few days earlier or later, and generate later occurrences
+     * the same way. Moved occurrences must pass the same availability checks
+     * as generated ones.
+     *
+     * @throws BadRequestException if the service is closed at the new time of any moved occurrence,
+     *         or a paid occurrence would change price
+     * @throws ConflictException if any moved occurrence would clash with another booking
+     */
+    public ServiceBookingSeriesDTO moveSeries(String publicId, MoveServiceBookingSeriesDTO dto, String customerPublicId) {
+        log.info("Customer moving booking series: {}", publicId);
+
+        ServiceBookingSeries series = findOwnedSeries(publicId, customerPublicId);
+        if (series.getStatus() == SeriesStatus.CANCELLED) {
+            throw new BadRequestException("Cancelled booking series cannot be moved");
+        }
+        if (!dto.getEndTime().isAfter(dto.getStartTime())) {
+            throw new BadRequestException("End time must be after start time");
+        }
+
+        ServiceOffering service = serviceOfferingRepository.findByPublicId(series.getServicePublicId())
+                .filter(ServiceOffering::isBookable)
+                .orElseThrow(() -> new BadRequestException("Service is not available for booking"));
+        if (!serviceSlotService.isWithinOpeningHours(service, dto.getStartTime(), dto.getEndTime())) {
+            throw new BadRequestException("Selected time is outside the service's opening hours");
+        }
+
+        LocalDate today = LocalDate.now();
+        LocalDate from = dto.getFromDate() != null ? dto.getFromDate() : today;
+        int dayShift = dto.getDayShift() != null ? dto.getDayShift() : 0;
+
+        List<Object[]> occurrences = serviceBookingRepository.findOpenSeriesOccurrences(publicId, from);
+        List<Long> ids = occurrenceIds(occurrences);
+        List<LocalDate> targets = new ArrayList<>(occurrences.size());
+        for (Object[] row : occurrences) {
+            LocalDate target = ((LocalDate) row[1]).plusDays(dayShift);
+            if (target.isBefore(today)) {
+                throw new BadRequestException("Occurrences cannot be moved into the past");
+            }
+            targets.add(target);
+        }
+
+        List<LocalDate> closed = targets.stream().filter(date -> !isOpenOn(service, date)).toList();
+        if (!closed.isEmpty()) {
+            throw new BadRequestException(closed.size() + " occurrences would fall on days the service is closed, "
+                    + "first on " + closed.get(0));
+        }
+
+        Set<LocalDate> conflicts = serviceSlotService.conflictingDates(
+                series.getServicePublicId(), targets, dto.getStartTime(), dto.getEndTime(), publicId);
+        if (!conflicts.isEmpty()) {
+            throw new ConflictException(conflicts.size() + " occurrences would clash with other bookings, first on "
+                    + conflicts.iterator().next());
+        }
+
+        if (!ids.isEmpty()) {
+            List<ServiceBooking> moved = reprice(serviceBookingRepository.findAllById(ids), service, dayShift,
+                    dto.getStartTime(), dto.getEndTime());
+            serviceBookingRepository.saveAll(moved);
+            serviceSlotService.evict(series.getServicePublicId());
+        }
+
+        series.setStartTime(dto.getStartTime());
+        series.setEndTime(dto.getEndTime());
+        series.setDayOffset(series.getDayOffset() + dayShift);
+        ServiceBookingSeries movedSeries = seriesRepository.save(series);
+
+        log.info("Booking series {} moved with {} future occurrences", publicId, ids.size());
+
+        return toDTO(movedSeries);
+    }
+
+    /**
+     * Materialize claimed series up to the horizon, for the series job.
+     */
+    public int materialize(List<Long> seriesIds) {
+        if (seriesIds.isEmpty()) {
+            return 0;
+        }
+        LocalDate today = LocalDate.now();
+        for (ServiceBookingSeries series : seriesRepository.findAllById(seriesIds)) {
+            ServiceOffering service = serviceOfferingRepository.findByPublicId(series.getServicePublicId()).orElse(null);
+            materialize(series, service, today);
+        }
+        return seriesIds.size();
+    }
+
+    private void materialize(ServiceBookingSeries series, ServiceOffering service, LocalDate today) {
+        RecurrenceRule rule = RecurrenceRule.parse(series.getRecurrenceRule());
+        int offset = series.getDayOffset();
+
+        // The window is kept in rule dates; occurrences land dayOffset days later
+        LocalDate windowStart = max(series.getGeneratedUntil(), today.minusDays(offset));
+        LocalDate windowEnd = today.plusDays(horizonDays).minusDays(offset);
+
+        List<LocalDate> dates = new ArrayList<>();
+        if (windowStart.isBefore(windowEnd)) {
+            for (LocalDate ruleDate : rule.occurrences(series.getStartDate(), windowStart, windowEnd)) {
+                dates.add(ruleDate.plusDays(offset));
+            }
+        }
+
+        int candidates = dates.size();
+        if (service == null || !service.isBookable()) {
+            dates.clear();
+        } else if (!serviceSlotService.isWithinOpeningHours(service, series.getStartTime(), series.getEndTime())) {
+            // Opening hours changed since the series was set up
+            dates.clear();
+        } else {
+            dates.removeIf(date -> !isOpenOn(service, date));
+            dates.removeAll(serviceSlotService.conflictingDates(
+                    series.getServicePublicId(), dates, series.getStartTime(), series.getEndTime(), null));
+        }
+
+        int created = dates.isEmpty() ? 0 : insertOccurrences(series, service, dates);
+
+        if (windowStart.isBefore(windowEnd)) {
+            series.setGeneratedUntil(windowEnd);
+        }
+        series.setOccurrencesCreated(series.getOccurrencesCreated() + created);
+        series.setOccurrencesSkipped(series.getOccurrencesSkipped() + candidates - created);
+        if (rule.exhaustedBefore(series.getStartDate(), series.getGeneratedUntil())) {
+            series.setStatus(SeriesStatus.ENDED);
+        }
+        seriesRepository.save(series);
+
+        if (created > 0) {
+            serviceSlotService.evict(series.getServicePublicId());
+            serviceOfferingRepository.recordBookings(series.getServicePublicId(), created, LocalDateTime.now());
+            log.debug("Created {} occurrences of booking series {}", created, series.getPublicId());
+        }
+    }
+
+    private int insertOccurrences(ServiceBookingSeries series, ServiceOffering service, List<LocalDate> dates) {
+        boolean instant = Boolean.TRUE.equals(service.getIsInstantBooking());
+        LocalDateTime now = LocalDateTime.now();
+
+        List<ServiceBooking> batch = new ArrayList<>(Math.min(batchSize, dates.size()));
+        for (LocalDate date : dates) {
+            ServicePriceEvaluator.Breakdown price = servicePricingService.price(service, date,
+                    series.getStartTime(), series.getEndTime(), series.getNumberOfPeople(), null);
+            batch.add(ServiceBooking.builder()
+                    .publicId(UUID.randomUUID().toString())
+                    .servicePublicId(series.getServicePublicId())
+                    .customerPublicId(series.getCustomerPublicId())
+                    .providerPublicId(series.getProviderPublicId())
+                    .seriesPublicId(series.getPublicId())
+                    .bookingDate(date)
+                    .startTime(series.getStartTime())
+                    .endTime(series.getEndTime())
+                    .durationMinutes(service.getDurationMinutes())
+                    .numberOfPeople(series.getNumberOfPeople())
+                    .customerAddress(series.getCustomerAddress())
+                    .specialRequests(series.getSpecialRequests())
+                    .customerPhone(series.getCustomerPhone())
+                    .customerEmail(series.getCustomerEmail())
+                    .basePrice(PriceUtil.fromCents(price.baseCents()))
+                    .extraPersonCharge(PriceUtil.fromCents(price.extraPersonCents()))
+                    .surcharges(PriceUtil.fromCents(price.surchargesCents()))
+                    .discount(PriceUtil.fromCents(price.discountCents()))
+                    .serviceFee(PriceUtil.fromCents(price.serviceFeeCents()))
+                    .tax(PriceUtil.fromCents(price.taxCents()))
+                    .totalPrice(PriceUtil.fromCents(price.totalCents()))
+                    .status(instant ? BookingStatus.CONFIRMED : BookingStatus.PENDING)
+                    .confirmedAt(instant ? now : null)
+                    .paymentStatus(PaymentStatus.PENDING)
+                    .isRefundable(true)
+                    .build());
+            if (batch.size() >= batchSize) {
+                flush(batch);
+            }
+        }
+        flush(batch);
+        return dates.size();
+    }
+
+    private void flush(List<ServiceBooking> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        serviceBookingRepository.saveAll(batch);
+        serviceBookingRepository.flush();
+        batch.clear();
+    }
+
+    /**
+     * Move occurrences and price each for its new date and time, as
+     * materialize does. Paid occurrences must keep what was charged.
+     */
+    private List<ServiceBooking> reprice(List<ServiceBooking> occurrences, ServiceOffering service, int dayShift,
+            LocalTime startTime, LocalTime endTime) {
+        int repricedPaid = 0;
+        LocalDate firstRepricedPaid = null;
+        for (ServiceBooking booking : occurrences) {
+            LocalDate date = booking.getBookingDate().plusDays(dayShift);
+            ServicePriceEvaluator.Breakdown price = servicePricingService.price(service, date, startTime, endTime,
+                    booking.getNumberOfPeople(), booking.getNumberOfItems());
+            if (booking.getStatus() == BookingStatus.PAID
+                    && PriceUtil.toCents(booking.getTotalPrice()) != price.totalCents()) {
+                repricedPaid++;
+                if (firstRepricedPaid == null || date.isBefore(firstRepricedPaid)) {
+                    firstRepricedPaid = date;
+                }
+                continue;
+            }
+            booking.setBookingDate(date);
+            booking.setStartTime(startTime);
+            booking.setEndTime(endTime);
+            booking.setBasePrice(PriceUtil.fromCents(price.baseCents()));
+            booking.setExtraPersonCharge(PriceUtil.fromCents(price.extraPersonCents()));
+            booking.setSurcharges(PriceUtil.fromCents(price.surchargesCents()));
+            booking.setDiscount(PriceUtil.fromCents(price.discountCents()));
+            booking.setServiceFee(PriceUtil.fromCents(price.serviceFeeCents()));
+            booking.setTax(PriceUtil.fromCents(price.taxCents()));
+            booking.setTotalPrice(PriceUtil.fromCents(price.totalCents()));
+        }
+        if (repricedPaid > 0) {
+            throw new BadRequestException(repricedPaid + " paid occurrences would change price, first on "
+                    + firstRepricedPaid);
+        }
+        return occurrences;
+    }
+
+    private static boolean isOpenOn(ServiceOffering service, LocalDate date) {
+        int openDays = service.getAvailableDaysMask() != null ? service.getAvailableDaysMask() : 0;
+        return DayMaskUtil.includes(openDays, date.getDayOfWeek());
+    }
+
+    private ServiceBookingSeries findSeries(String publicId) {
+        return seriesRepository.findByPublicId(publicId)
+                .orElseThrow(() -> new NotFoundException("Booking series not found with ID: " + publicId));
+    }
+
+    private ServiceBookingSeries findOwnedSeries(String publicId, String customerPublicId) {
+        ServiceBookingSeries series = findSeries(publicId);
+        if (!series.getCustomerPublicId().equals(customerPublicId)) {
+            throw new ForbiddenException("You don't have permission to change this booking series");
+        }
+        return series;
+    }
+
+    private static RecurrenceRule parseRule(String rule) {
+        try {
+            return RecurrenceRule.parse(rule);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid recurrence rule: " + e.getMessage());
+        }
+    }
+
+    private static List<Long> occurrenceIds(List<Object[]> occurrences) {
+        List<Long> ids = new ArrayList<>(occurrences.size());
+        for (Object[] row : occurrences) {
+            ids.add((Long) row[0]);
+        }
+        return ids;
+    }
+
+    private static LocalDate max(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private ServiceBookingSeriesDTO toDTO(ServiceBookingSeries series) {
+        return ServiceBookingSeriesDTO.builder()
+                .publicId(series.getPublicId())
+                .status(series.getStatus())
+                .servicePublicId(series.getServicePublicId())
+                .customerPublicId(series.getCustomerPublicId())
+                .providerPublicId(series.getProviderPublicId())
+                .recurrenceRule(series.getRecurrenceRule())
+                .startDate(series.getStartDate())
+                .startTime(series.getStartTime())
+                .endTime(series.getEndTime())
+                .numberOfPeople(series.getNumberOfPeople())
+                .generatedUntil(series.getGeneratedUntil())
+                .dayOffset(series.getDayOffset())
+                .occurrencesCreated(series.getOccurrencesCreated())
+                .occurrencesSkipped(series.getOccurrencesSkipped())
+                .cancelledAt(series.getCancelledAt())
+                .cancellationReason(series.getCancellationReason())
+                .createdAt(series.getCreatedAt())
+                .build();
+    }
+}
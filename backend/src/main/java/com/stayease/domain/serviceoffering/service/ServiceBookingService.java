@@ -8,7 +8,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -20,14 +19,17 @@ import com.stayease.domain.serviceoffering.dto.CreateServiceBookingDTO;
 import com.stayease.domain.serviceoffering.dto.ServiceBookingDTO;
 import com.stayease.domain.serviceoffering.entity.ServiceBooking;
 import com.stayease.domain.serviceoffering.entity.ServiceBooking.BookingStatus;
+import com.stayease.domain.serviceoffering.entity.ServiceBooking.CancelledBy;
 import com.stayease.domain.serviceoffering.entity.ServiceBooking.PaymentStatus;
 import com.stayease.domain.serviceoffering.entity.ServiceOffering;
 import com.stayease.domain.serviceoffering.repository.ServiceBookingRepository;
+import com.stayease.domain.serviceoffering.repository.ServiceBookingRepository.ProviderStatsView;
 import com.stayease.domain.serviceoffering.repository.ServiceOfferingRepository;
 import com.stayease.exception.BadRequestException;
 import com.stayease.exception.ForbiddenException;
 import com.stayease.exception.NotFoundException;
 import com.stayease.shared.mapper.ServiceBookingMapper;
+import com.stayease.shared.util.PriceUtil;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -44,6 +46,9 @@ public class ServiceBookingService {
     private final ServiceBookingRepository serviceBookingRepository;
     private final ServiceOfferingRepository serviceOfferingRepository;
     private final ServiceBookingMapper serviceBookingMapper;
+    private final ServiceSlotService serviceSlotService;
+    private final ServiceSeatService serviceSeatService;
+    private final ServicePricingService servicePricingService;
 
     /**
      * Create a new service booking
@@ -59,8 +64,13 @@ public class ServiceBookingService {
             throw new BadRequestException("Service is not available for booking");
         }
 
-        // Check availability
-        if (dto.getStartTime() != null && dto.getEndTime() != null) {
+        // Check availability; group bookings are limited by seats instead of by overlap
+        int seats = dto.getNumberOfPeople() != null ? dto.getNumberOfPeople() : 1;
+        if (service.isSeated()) {
+            if (dto.getStartTime() == null) {
+                throw new BadRequestException("Start time is required for group bookings");
+            }
+        } else if (dto.getStartTime() != null && dto.getEndTime() != null) {
             boolean hasConflict = serviceBookingRepository.hasConflictingBooking(
                     dto.getServicePublicId(),
                     dto.getBookingDate(),
@@ -86,28 +96,8 @@ public class ServiceBookingService {
         }
 
         // Calculate pricing
-        BigDecimal basePrice = service.getBasePrice();
-        BigDecimal extraPersonCharge = BigDecimal.ZERO;
-        BigDecimal surcharges = BigDecimal.ZERO;
-
-        // Calculate extra person charge
-        if (dto.getNumberOfPeople() != null && service.getMinCapacity() != null 
-                && dto.getNumberOfPeople() > service.getMinCapacity()) {
-            int extraPersons = dto.getNumberOfPeople() - service.getMinCapacity();
-            if (service.getExtraPersonPrice() != null) {
-                extraPersonCharge = service.getExtraPersonPrice().multiply(BigDecimal.valueOf(extraPersons));
-            }
-        }
-
-        // Calculate weekend surcharge
-        if (dto.getBookingDate().getDayOfWeek().getValue() >= 6 && service.getWeekendSurcharge() != null) {
-            surcharges = surcharges.add(service.getWeekendSurcharge());
-        }
-
-        // Calculate total
-        BigDecimal serviceFee = basePrice.multiply(BigDecimal.valueOf(0.05)); // 5% service fee
-        BigDecimal tax = basePrice.multiply(BigDecimal.valueOf(0.10)); // 10% tax
-        BigDecimal totalPrice = basePrice.add(extraPersonCharge).add(surcharges).add(serviceFee).add(tax);
+        ServicePriceEvaluator.Breakdown price = servicePricingService.price(service, dto.getBookingDate(),
+                dto.getStartTime(), dto.getEndTime(), dto.getNumberOfPeople(), dto.getNumberOfItems());
 
         // Create booking
         ServiceBooking booking = ServiceBooking.builder()
@@ -119,7 +109,7 @@ public class ServiceBookingService {
                 .startTime(dto.getStartTime())
                 .endTime(dto.getEndTime())
                 .durationMinutes(service.getDurationMinutes())
-                .numberOfPeople(dto.getNumberOfPeople() != null ? dto.getNumberOfPeople() : 1)
+                .numberOfPeople(seats)
                 .numberOfItems(dto.getNumberOfItems())
                 .customerAddress(dto.getCustomerAddress())
                 .latitude(dto.getLatitude())
@@ -127,12 +117,13 @@ public class ServiceBookingService {
                 .specialRequests(dto.getSpecialRequests())
                 .customerPhone(dto.getCustomerPhone())
                 .customerEmail(dto.getCustomerEmail())
-                .basePrice(basePrice)
-                .extraPersonCharge(extraPersonCharge)
-                .surcharges(surcharges)
-                .serviceFee(serviceFee)
-                .tax(tax)
-                .totalPrice(totalPrice)
+                .basePrice(PriceUtil.fromCents(price.baseCents()))
+                .extraPersonCharge(PriceUtil.fromCents(price.extraPersonCents()))
+                .surcharges(PriceUtil.fromCents(price.surchargesCents()))
+                .discount(PriceUtil.fromCents(price.discountCents()))
+                .serviceFee(PriceUtil.fromCents(price.serviceFeeCents()))
+                .tax(PriceUtil.fromCents(price.taxCents()))
+                .totalPrice(PriceUtil.fromCents(price.totalCents()))
                 .status(service.getIsInstantBooking() ? BookingStatus.CONFIRMED : BookingStatus.PENDING)
                 .paymentStatus(PaymentStatus.PENDING)
                 .isRefundable(true)
@@ -142,12 +133,15 @@ public class ServiceBookingService {
             booking.setConfirmedAt(LocalDateTime.now());
         }
 
+        if (service.isSeated()) {
+            serviceSeatService.reserve(service, dto.getBookingDate(), dto.getStartTime(), seats);
+        }
+
         ServiceBooking savedBooking = serviceBookingRepository.save(booking);
+        serviceSlotService.evict(savedBooking.getServicePublicId());
         
-        // Update service statistics
-        service.setTotalBookings(service.getTotalBookings() + 1);
-        service.setLastBookedAt(LocalDateTime.now());
-        serviceOfferingRepository.save(service);
+        // Update service statistics in place; the offering itself is not re-saved
+        serviceOfferingRepository.recordBookings(service.getPublicId(), 1, LocalDateTime.now());
 
         log.info("Service booking created successfully with ID: {}", savedBooking.getPublicId());
 
@@ -184,7 +178,7 @@ public class ServiceBookingService {
         Page<ServiceBooking> bookings = serviceBookingRepository
                 .findByCustomerPublicIdOrderByCreatedAtDesc(customerPublicId, pageable);
 
-        return bookings.map(serviceBookingMapper::toDTO);
+        return serviceBookingMapper.toDTOPage(bookings);
     }
 
     /**
@@ -198,9 +192,7 @@ public class ServiceBookingService {
         List<ServiceBooking> bookings = serviceBookingRepository
                 .findUpcomingBookings(customerPublicId, today);
 
-        return bookings.stream()
-                .map(serviceBookingMapper::toDTO)
-                .collect(Collectors.toList());
+        return serviceBookingMapper.toDTOList(bookings);
     }
 
     /**
@@ -215,7 +207,7 @@ public class ServiceBookingService {
         Page<ServiceBooking> bookings = serviceBookingRepository
                 .findPastBookings(customerPublicId, today, pageable);
 
-        return bookings.map(serviceBookingMapper::toDTO);
+        return serviceBookingMapper.toDTOPage(bookings);
     }
 
     /**
@@ -228,9 +220,7 @@ public class ServiceBookingService {
         List<ServiceBooking> bookings = serviceBookingRepository
                 .findByCustomerPublicIdAndStatusOrderByBookingDateDesc(customerPublicId, status);
 
-        return bookings.stream()
-                .map(serviceBookingMapper::toDTO)
-                .collect(Collectors.toList());
+        return serviceBookingMapper.toDTOList(bookings);
     }
 
     /**
@@ -244,7 +234,7 @@ public class ServiceBookingService {
         Page<ServiceBooking> bookings = serviceBookingRepository
                 .findByProviderPublicIdOrderByCreatedAtDesc(providerPublicId, pageable);
 
-        return bookings.map(serviceBookingMapper::toDTO);
+        return serviceBookingMapper.toDTOPage(bookings);
     }
 
     /**
@@ -257,9 +247,7 @@ public class ServiceBookingService {
         List<ServiceBooking> bookings = serviceBookingRepository
                 .findByProviderPublicIdAndStatusOrderByBookingDateDesc(providerPublicId, status);
 
-        return bookings.stream()
-                .map(serviceBookingMapper::toDTO)
-                .collect(Collectors.toList());
+        return serviceBookingMapper.toDTOList(bookings);
     }
 
     /**
@@ -282,7 +270,7 @@ public class ServiceBookingService {
         Page<ServiceBooking> bookings = serviceBookingRepository
                 .findByServicePublicIdOrderByCreatedAtDesc(servicePublicId, pageable);
 
-        return bookings.map(serviceBookingMapper::toDTO);
+        return serviceBookingMapper.toDTOPage(bookings);
     }
 
     /**
@@ -304,6 +292,7 @@ public class ServiceBookingService {
 
         booking.confirm();
         ServiceBooking confirmedBooking = serviceBookingRepository.save(booking);
+        serviceSlotService.evict(booking.getServicePublicId());
 
         log.info("Booking confirmed successfully: {}", publicId);
 
@@ -327,8 +316,10 @@ public class ServiceBookingService {
             throw new BadRequestException("Only pending bookings can be rejected");
         }
 
+        serviceSeatService.release(booking);
         booking.reject(reason);
         ServiceBooking rejectedBooking = serviceBookingRepository.save(booking);
+        serviceSlotService.evict(booking.getServicePublicId());
 
         log.info("Booking rejected: {}", publicId);
 
@@ -352,8 +343,10 @@ public class ServiceBookingService {
             throw new BadRequestException("This booking cannot be cancelled");
         }
 
-        booking.cancel(reason);
+        serviceSeatService.release(booking);
+        booking.cancel(reason, CancelledBy.CUSTOMER);
         ServiceBooking cancelledBooking = serviceBookingRepository.save(booking);
+        serviceSlotService.evict(booking.getServicePublicId());
 
         log.info("Booking cancelled successfully: {}", publicId);
 
@@ -379,6 +372,7 @@ public class ServiceBookingService {
 
         booking.startService();
         ServiceBooking startedBooking = serviceBookingRepository.save(booking);
+        serviceSlotService.evict(booking.getServicePublicId());
 
         log.info("Service started successfully: {}", publicId);
 
@@ -404,6 +398,7 @@ public class ServiceBookingService {
 
         booking.complete();
         ServiceBooking completedBooking = serviceBookingRepository.save(booking);
+        serviceSlotService.evict(booking.getServicePublicId());
 
         log.info("Service completed successfully: {}", publicId);
 
@@ -427,6 +422,7 @@ public class ServiceBookingService {
         booking.markPaid();
 
         ServiceBooking paidBooking = serviceBookingRepository.save(booking);
+        serviceSlotService.evict(booking.getServicePublicId());
 
         log.info("Booking marked as paid: {}", publicId);
 
@@ -454,11 +450,11 @@ public class ServiceBookingService {
             throw new BadRequestException("Only cancelled or rejected bookings can be refunded");
         }
 
-        // Calculate refund amount (could be partial based on cancellation policy)
-        BigDecimal refundAmount = booking.getTotalPrice();
+        BigDecimal refundAmount = servicePricingService.refundAmount(booking);
 
         booking.refund(refundAmount);
         ServiceBooking refundedBooking = serviceBookingRepository.save(booking);
+        serviceSlotService.evict(booking.getServicePublicId());
 
         log.info("Refund processed successfully: {}", publicId);
 
@@ -486,8 +482,10 @@ public class ServiceBookingService {
             LocalTime startTime = LocalTime.parse(startTimeStr);
             LocalTime endTime = LocalTime.parse(endTimeStr);
 
-            return !serviceBookingRepository.hasConflictingBooking(
-                    servicePublicId, date, startTime, endTime);
+            if (service.isSeated()) {
+                return serviceSeatService.seatsLeft(service, date, startTime) > 0;
+            }
+            return serviceSlotService.isFree(servicePublicId, date, startTime, endTime);
         }
 
         return true;
@@ -502,28 +500,32 @@ public class ServiceBookingService {
 
         Map<String, Object> statistics = new HashMap<>();
 
-        long totalBookings = serviceBookingRepository.countByProviderPublicId(providerPublicId);
-        long pendingBookings = serviceBookingRepository.findByProviderPublicIdAndStatusOrderByBookingDateDesc(
-            providerPublicId, BookingStatus.PENDING).size();
-        long confirmedBookings = serviceBookingRepository.findByProviderPublicIdAndStatusOrderByBookingDateDesc(
-            providerPublicId, BookingStatus.CONFIRMED).size();
-        long completedBookings = serviceBookingRepository.findByProviderPublicIdAndStatusOrderByBookingDateDesc(
-            providerPublicId, BookingStatus.COMPLETED).size();
-
-        LocalDateTime startOfMonth = LocalDateTime.now().withDayOfMonth(1).withHour(0).withMinute(0);
-        LocalDateTime endOfMonth = LocalDateTime.now().withDayOfMonth(
-                LocalDateTime.now().toLocalDate().lengthOfMonth()).withHour(23).withMinute(59);
+        LocalDate firstOfMonth = LocalDate.now().withDayOfMonth(1);
+        ProviderStatsView stats = serviceBookingRepository.getProviderStats(
+                providerPublicId,
+                firstOfMonth.withDayOfYear(1).atStartOfDay(),
+                firstOfMonth.minusMonths(1).atStartOfDay(),
+                firstOfMonth.atStartOfDay(),
+                firstOfMonth.plusMonths(1).atStartOfDay());
+
+        statistics.put("totalBookings", orZero(stats.getTotalBookings()));
+        statistics.put("pendingBookings", orZero(stats.getPendingBookings()));
+        statistics.put("confirmedBookings", orZero(stats.getConfirmedBookings()));
+        statistics.put("completedBookings", orZero(stats.getCompletedBookings()));
+        statistics.put("monthlyRevenue", orZero(stats.getMonthlyRevenue()));
+        statistics.put("lastMonthRevenue", orZero(stats.getLastMonthRevenue()));
+        statistics.put("yearToDateRevenue", orZero(stats.getYearToDateRevenue()));
+        statistics.put("totalRevenue", orZero(stats.getTotalRevenue()));
 
-        BigDecimal monthlyRevenue = serviceBookingRepository.calculateRevenue(
-                providerPublicId, startOfMonth, endOfMonth);
+        return statistics;
+    }
 
-        statistics.put("totalBookings", totalBookings);
-        statistics.put("pendingBookings", pendingBookings);
-        statistics.put("confirmedBookings", confirmedBookings);
-        statistics.put("completedBookings", completedBookings);
-        statistics.put("monthlyRevenue", monthlyRevenue != null ? monthlyRevenue : BigDecimal.ZERO);
+    private static long orZero(Long value) {
+        return value != null ? value : 0L;
+    }
 
-        return statistics;
+    private static BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
     }
 
     /**
@@ -535,7 +537,11 @@ public class ServiceBookingService {
         ServiceBooking booking = serviceBookingRepository.findByPublicId(publicId)
                 .orElseThrow(() -> new NotFoundException("Booking not found with ID: " + publicId));
 
+        if (ServiceSeatService.holdsSeats(booking.getStatus())) {
+            serviceSeatService.release(booking);
+        }
         serviceBookingRepository.delete(booking);
+        serviceSlotService.evict(booking.getServicePublicId());
         log.info("Booking deleted successfully: {}", publicId);
     }
 }
\ No newline at end of file
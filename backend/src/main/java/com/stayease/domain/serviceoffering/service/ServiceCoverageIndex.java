@@ -0,0 +1,263 @@
+package com.stayease.domain.serviceoffering.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongConsumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.stayease.domain.serviceoffering.entity.ServiceOffering;
+import com.stayease.domain.serviceoffering.repository.ServiceOfferingRepository;
+import com.stayease.shared.util.GeoUtil;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory spatial index over the coverage circles of active mobile services.
+ * Each circle is registered in every cell of a lat/lon grid its bounding box
+ * touches, so "who can come to (lat, lon)" reads one cell and runs an exact
+ * distance check on a handful of candidates instead of scanning every offering.
+ *
+ * <p>Kept current by {@link #update} on service changes and rebuilt from the
+ * database every {@code app.service-coverage.rebuild-interval} to pick up
+ * changes made on other nodes. Changes made inside a transaction reach the
+ * grid only after it commits, and changes that land while a rebuild is
+ * reading are replayed onto the new grid before it is swapped in.
+ */
+@Component
+@Slf4j
+public class ServiceCoverageIndex {
+
+    private final ServiceOfferingRepository serviceOfferingRepository;
+    private final double cellDegrees;
+    private final Duration rebuildInterval;
+
+    private final Object rebuildLock = new Object();
+
+    private volatile Grid grid;
+    private volatile Instant builtAt;
+    // Changes applied while a rebuild is reading, by public ID; a null area drops the service
+    private Map<String, Area> pending;
+
+    public ServiceCoverageIndex(
+            ServiceOfferingRepository serviceOfferingRepository,
+            @Value("${app.service-coverage.cell-degrees:0.5}") double cellDegrees,
+            @Value("${app.service-coverage.rebuild-interval:PT10M}") Duration rebuildInterval) {
+        this.serviceOfferingRepository = serviceOfferingRepository;
+        this.cellDegrees = cellDegrees;
+        this.rebuildInterval = rebuildInterval;
+    }
+
+    record Area(String publicId, double latitude, double longitude, double radiusKm) {
+
+        boolean covers(double lat, double lon) {
+            return GeoUtil.distanceKm(latitude, longitude, lat, lon) <= radiusKm;
+        }
+    }
+
+    /**
+     * Public IDs of services whose coverage area contains the point.
+     */
+    public List<String> servicesCovering(double latitude, double longitude) {
+        Grid current = grid();
+        Set<Area> candidates = current.cells.get(current.cellOf(latitude, longitude));
+        if (candidates == null) {
+            return List.of();
+        }
+        List<String> result = new ArrayList<>();
+        for (Area area : candidates) {
+            if (area.covers(latitude, longitude)) {
+                result.add(area.publicId());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Add, move or drop a service after it changed, once the surrounding
+     * transaction commits.
+     */
+    public void update(ServiceOffering service) {
+        afterCommit(service.getPublicId(), areaOf(service));
+    }
+
+    public void remove(String publicId) {
+        afterCommit(publicId, null);
+    }
+
+    private void afterCommit(String publicId, Area area) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(publicId, area);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(publicId, area);
+            }
+        });
+    }
+
+    private synchronized void apply(String publicId, Area area) {
+        if (pending != null) {
+            pending.put(publicId, area);
+        }
+        if (grid == null) {
+            // Not built yet; the first query loads the current state
+            return;
+        }
+        grid.remove(publicId);
+        if (area != null) {
+            grid.add(area);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.service-coverage.rebuild-interval:PT10M}",
+            initialDelayString = "${app.service-coverage.rebuild-interval:PT10M}")
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                pending = new HashMap<>();
+            }
+            Grid next = new Grid(cellDegrees);
+            try {
+                for (Object[] row : serviceOfferingRepository.findCoverageAreas()) {
+                    Area area = new Area((String) row[0], ((Number) row[1]).doubleValue(),
+                            ((Number) row[2]).doubleValue(), ((Number) row[3]).doubleValue());
+                    if (area.radiusKm() > 0) {
+                        next.add(area);
+                    }
+                }
+                synchronized (this) {
+                    // The read may predate these; replay them so the swap does not lose them
+                    pending.forEach((publicId, area) -> {
+                        next.remove(publicId);
+                        if (area != null) {
+                            next.add(area);
+                        }
+                    });
+                    grid = next;
+                    builtAt = Instant.now();
+                }
+            } finally {
+                synchronized (this) {
+                    pending = null;
+                }
+            }
+            log.debug("Rebuilt service coverage index with {} areas in {} cells",
+                    next.areas.size(), next.cells.size());
+        }
+    }
+
+    private Grid grid() {
+        Grid current = grid;
+        if (isStale(current)) {
+            synchronized (rebuildLock) {
+                // Another caller may have rebuilt it while this one waited
+                if (isStale(grid)) {
+                    rebuild();
+                }
+            }
+            current = grid;
+        }
+        return current;
+    }
+
+    private boolean isStale(Grid current) {
+        return current == null || builtAt.isBefore(Instant.now().minus(rebuildInterval.multipliedBy(2)));
+    }
+
+    private static Area areaOf(ServiceOffering service) {
+        if (!service.isBookable() || !Boolean.TRUE.equals(service.getProvidesMobileService())
+                || service.getLatitude() == null || service.getLongitude() == null
+                || service.getServiceRadius() == null || service.getServiceRadius() <= 0) {
+            return null;
+        }
+        return new Area(service.getPublicId(), service.getLatitude(), service.getLongitude(),
+                service.getServiceRadius());
+    }
+
+    private static final class Grid {
+
+        private final double cellDegrees;
+        private final Map<Long, Set<Area>> cells = new ConcurrentHashMap<>();
+        private final Map<String, Area> areas = new ConcurrentHashMap<>();
+
+        Grid(double cellDegrees) {
+            this.cellDegrees = cellDegrees;
+        }
+
+        void add(Area area) {
+            areas.put(area.publicId(), area);
+            forEachCell(area, cell -> cells.computeIfAbsent(cell, key -> ConcurrentHashMap.newKeySet()).add(area));
+        }
+
+        void remove(String publicId) {
+            Area area = areas.remove(publicId);
+            if (area != null) {
+                forEachCell(area, cell -> cells.computeIfPresent(cell, (key, set) -> {
+                    set.remove(area);
+                    return set.isEmpty() ? null : set;
+                }));
+            }
+        }
+
+        long cellOf(double latitude, double longitude) {
+            return key(row(latitude), column(longitude));
+        }
+
+        private void forEachCell(Area area, LongConsumer action) {
+            double latSpan = area.radiusKm() / GeoUtil.KM_PER_DEGREE_LAT;
+            double lonSpan = GeoUtil.kmToLonDegrees(area.radiusKm(),
+                    Math.min(90.0, Math.abs(area.latitude()) + latSpan));
+
+            int minRow = row(area.latitude() - latSpan);
+            int maxRow = row(area.latitude() + latSpan);
+            int columns = columns();
+            int minColumn;
+            int span;
+            if (lonSpan >= 180.0) {
+                minColumn = 0;
+                span = columns;
+            } else {
+                minColumn = column(area.longitude() - lonSpan);
+                span = Math.min(columns, Math.floorMod(column(area.longitude() + lonSpan) - minColumn, columns) + 1);
+            }
+
+            for (int row = minRow; row <= maxRow; row++) {
+                for (int i = 0; i < span; i++) {
+                    action.accept(key(row, (minColumn + i) % columns));
+                }
+            }
+        }
+
+        private int row(double latitude) {
+            double clamped = Math.max(-90.0, Math.min(90.0, latitude));
+            return (int) Math.floor((clamped + 90.0) / cellDegrees);
+        }
+
+        private int column(double longitude) {
+            // Wrap across the antimeridian
+            double wrapped = ((longitude + 180.0) % 360.0 + 360.0) % 360.0;
+            return (int) Math.floor(wrapped / cellDegrees) % columns();
+        }
+
+        private int columns() {
+            return (int) Math.ceil(360.0 / cellDegrees);
+        }
+
+        private static long key(int row, int column) {
+            return ((long) row << 32) | (column & 0xffffffffL);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.stayease.domain.serviceoffering.service;
 
+import java.time.DayOfWeek;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -11,6 +12,8 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.stayease.domain.search.entity.SearchDocument.DocumentType;
+import com.stayease.domain.search.service.SearchIndexService;
 import com.stayease.domain.serviceoffering.dto.CreateServiceOfferingDTO;
 import com.stayease.domain.serviceoffering.dto.ServiceOfferingDTO;
 import com.stayease.domain.serviceoffering.entity.ServiceOffering;
@@ -19,8 +22,11 @@ import com.stayease.domain.serviceoffering.entity.ServiceOffering.ServiceStatus;
 import com.stayease.domain.serviceoffering.repository.ServiceOfferingRepository;
 import com.stayease.exception.ForbiddenException;
 import com.stayease.exception.NotFoundException;
+import com.stayease.shared.counter.WriteBehindCounters;
 import com.stayease.shared.mapper.ServiceOfferingMapper;
+import com.stayease.shared.util.DayMaskUtil;
 
+import jakarta.annotation.PostConstruct;
 import jakarta.persistence.criteria.Predicate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -36,6 +42,23 @@ public class ServiceOfferingService {
 
     private final ServiceOfferingRepository serviceOfferingRepository;
     private final ServiceOfferingMapper serviceOfferingMapper;
+    private final WriteBehindCounters counters;
+    private final ServiceCoverageIndex serviceCoverageIndex;
+    private final FeaturedServicesFeed featuredServicesFeed;
+    private final ServicePricingService servicePricingService;
+    private final SearchIndexService searchIndexService;
+    private final NearbyServicesService nearbyServicesService;
+
+    static final String VIEW_COUNTER = "service.views";
+    static final String FAVORITE_COUNTER = "service.favorites";
+    static final String INQUIRY_COUNTER = "service.inquiries";
+
+    @PostConstruct
+    void registerCounters() {
+        counters.register(VIEW_COUNTER, serviceOfferingRepository::addViewCounts);
+        counters.register(FAVORITE_COUNTER, serviceOfferingRepository::addFavoriteCounts);
+        counters.register(INQUIRY_COUNTER, serviceOfferingRepository::addInquiryCounts);
+    }
 
     /**
      * Create a new service offering
@@ -64,11 +87,36 @@ public class ServiceOfferingService {
         ServiceOffering service = serviceOfferingRepository.findByPublicId(publicId)
                 .orElseThrow(() -> new NotFoundException("Service offering not found with ID: " + publicId));
 
-        // Increment view count
-        service.incrementViews();
-        serviceOfferingRepository.save(service);
+        // Count the view write-behind; the row is flushed with other views in a few seconds
+        counters.increment(VIEW_COUNTER, publicId);
+
+        ServiceOfferingDTO dto = serviceOfferingMapper.toDTO(service);
+        dto.setViewCount(service.getViewCount() + (int) counters.pending(VIEW_COUNTER, publicId));
+        return dto;
+    }
+
+    /**
+     * Record that a user saved the service to their favorites; repeats by the
+     * same user within the counter's client window are not counted
+     */
+    public void recordFavorite(String publicId, String userPublicId) {
+        requireExists(publicId);
+        counters.incrementForClient(FAVORITE_COUNTER, publicId, userPublicId);
+    }
+
+    /**
+     * Record an inquiry sent to the provider about the service; repeats by the
+     * same user within the counter's client window are not counted
+     */
+    public void recordInquiry(String publicId, String userPublicId) {
+        requireExists(publicId);
+        counters.incrementForClient(INQUIRY_COUNTER, publicId, userPublicId);
+    }
 
-        return serviceOfferingMapper.toDTO(service);
+    private void requireExists(String publicId) {
+        if (!serviceOfferingRepository.existsByPublicId(publicId)) {
+            throw new NotFoundException("Service offering not found with ID: " + publicId);
+        }
     }
 
     /**
@@ -93,6 +141,8 @@ public class ServiceOfferingService {
     @Transactional(readOnly = true)
     public Page<ServiceOfferingDTO> searchServices(ServiceCategory category, String city, String keyword,
                                                    Double minRating, Boolean mobileServiceOnly, Boolean instantBookingOnly,
+                                                   Double latitude, Double longitude,
+                                                   DayOfWeek availableOn, String language, List<String> amenities,
                                                    int page, int size, String sortBy, String sortDirection) {
         log.debug("Searching service offerings with filters");
 
@@ -100,7 +150,16 @@ public class ServiceOfferingService {
         Pageable pageable = PageRequest.of(page, size, sort);
 
         Specification<ServiceOffering> spec = createSearchSpecification(category, city, keyword, minRating,
-                                        mobileServiceOnly, instantBookingOnly);
+                                        mobileServiceOnly, instantBookingOnly, availableOn, language, amenities);
+
+        // Services that can come to the given point, resolved from the coverage index
+        if (latitude != null && longitude != null) {
+            List<String> covering = serviceCoverageIndex.servicesCovering(latitude, longitude);
+            if (covering.isEmpty()) {
+                return Page.empty(pageable);
+            }
+            spec = spec.and((root, query, cb) -> root.get("publicId").in(covering));
+        }
 
         Page<ServiceOffering> services = serviceOfferingRepository.findAll(spec, pageable);
 
@@ -138,12 +197,20 @@ public class ServiceOfferingService {
      * Get featured services
      */
     @Transactional(readOnly = true)
-    public List<ServiceOfferingDTO> getFeaturedServices() {
+    public List<ServiceOfferingDTO> getFeaturedServices(ServiceCategory category, String city) {
         log.debug("Fetching featured services");
 
-        List<ServiceOffering> services = serviceOfferingRepository.findFeaturedServices();
+        return featuredServicesFeed.getFeatured(category, city);
+    }
 
-        return serviceOfferingMapper.toDTOList(services);
+    /**
+     * Get services with a running discount
+     */
+    @Transactional(readOnly = true)
+    public List<ServiceOfferingDTO> getDiscountedServices(ServiceCategory category, String city) {
+        log.debug("Fetching discounted services");
+
+        return featuredServicesFeed.getDiscounted(category, city);
     }
 
     /**
@@ -162,6 +229,11 @@ public class ServiceOfferingService {
         serviceOfferingMapper.updateEntity(service, dto);
 
         ServiceOffering updatedService = serviceOfferingRepository.save(service);
+        serviceCoverageIndex.update(updatedService);
+        featuredServicesFeed.update(updatedService);
+        searchIndexService.indexService(updatedService);
+        nearbyServicesService.refreshService(updatedService);
+        servicePricingService.evict(publicId);
         log.info("Service offering updated successfully: {}", publicId);
 
         return serviceOfferingMapper.toDTO(updatedService);
@@ -181,6 +253,11 @@ public class ServiceOfferingService {
         }
 
         serviceOfferingRepository.delete(service);
+        serviceCoverageIndex.remove(publicId);
+        featuredServicesFeed.remove(publicId);
+        searchIndexService.remove(DocumentType.SERVICE, publicId);
+        nearbyServicesService.removeService(publicId);
+        servicePricingService.evict(publicId);
         log.info("Service offering deleted successfully: {}", publicId);
     }
 
@@ -205,6 +282,10 @@ public class ServiceOfferingService {
         }
 
         ServiceOffering updatedService = serviceOfferingRepository.save(service);
+        serviceCoverageIndex.update(updatedService);
+        featuredServicesFeed.update(updatedService);
+        searchIndexService.indexService(updatedService);
+        nearbyServicesService.refreshService(updatedService);
         log.info("Service status updated successfully: {}", publicId);
 
         return serviceOfferingMapper.toDTO(updatedService);
@@ -222,6 +303,10 @@ public class ServiceOfferingService {
         service.approve(approvedBy);
 
         ServiceOffering approvedService = serviceOfferingRepository.save(service);
+        serviceCoverageIndex.update(approvedService);
+        featuredServicesFeed.update(approvedService);
+        searchIndexService.indexService(approvedService);
+        nearbyServicesService.refreshService(approvedService);
         log.info("Service offering approved successfully: {}", publicId);
 
         return serviceOfferingMapper.toDTO(approvedService);
@@ -239,6 +324,10 @@ public class ServiceOfferingService {
         service.reject(reason);
 
         ServiceOffering rejectedService = serviceOfferingRepository.save(service);
+        serviceCoverageIndex.update(rejectedService);
+        featuredServicesFeed.update(rejectedService);
+        searchIndexService.indexService(rejectedService);
+        nearbyServicesService.refreshService(rejectedService);
         log.info("Service offering rejected: {}", publicId);
 
         return serviceOfferingMapper.toDTO(rejectedService);
@@ -256,6 +345,7 @@ public class ServiceOfferingService {
         service.setIsFeatured(featured);
 
         ServiceOffering updatedService = serviceOfferingRepository.save(service);
+        featuredServicesFeed.update(updatedService);
         log.info("Service featured status updated: {}", publicId);
 
         return serviceOfferingMapper.toDTO(updatedService);
@@ -266,7 +356,9 @@ public class ServiceOfferingService {
      */
     private Specification<ServiceOffering> createSearchSpecification(ServiceCategory category, String city, 
                                                                      String keyword, Double minRating,
-                                                                     Boolean mobileServiceOnly, Boolean instantBookingOnly) {
+                                                                     Boolean mobileServiceOnly, Boolean instantBookingOnly,
+                                                                     DayOfWeek availableOn, String language,
+                                                                     List<String> amenities) {
         return (root, query, cb) -> {
             List<Predicate> predicates = new ArrayList<>();
 
@@ -307,6 +399,26 @@ public class ServiceOfferingService {
                 predicates.add(cb.equal(root.get("isInstantBooking"), true));
             }
 
+            // Open on a weekday: every mask with that day's bit, so the btree index applies
+            if (availableOn != null) {
+                predicates.add(root.get("availableDaysMask").in(DayMaskUtil.masksIncluding(availableOn)));
+            }
+
+            // Language and amenity filters use jsonb containment, served by the GIN indexes
+            if (language != null && !language.trim().isEmpty()) {
+                predicates.add(cb.isTrue(cb.function("jsonb_array_contains", Boolean.class,
+                        root.get("languages"), cb.literal(language.trim()))));
+            }
+
+            if (amenities != null) {
+                for (String amenity : amenities) {
+                    if (amenity != null && !amenity.trim().isEmpty()) {
+                        predicates.add(cb.isTrue(cb.function("jsonb_array_contains", Boolean.class,
+                                root.get("amenities"), cb.literal(amenity.trim()))));
+                    }
+                }
+            }
+
             return cb.and(predicates.toArray(new Predicate[0]));
         };
     }
@@ -0,0 +1,173 @@
+package com.stayease.domain.serviceoffering.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.Collection;
+
+import com.stayease.domain.serviceoffering.entity.ServiceOffering;
+import com.stayease.domain.serviceoffering.entity.ServiceOffering.PricingType;
+import com.stayease.shared.util.PriceUtil;
+
+/**
+ * Immutable, pre-compiled pricing rules for a single service offering.
+ * Amounts are held in cents and rates in basis points, the same way
+ * {@code StayPriceEvaluator} prices stays, so quotes, bookings and refunds all
+ * run the same integer arithmetic.
+ *
+ * <p>Rules, in order: the base price times the units of the pricing type,
+ * plus extra persons above the minimum capacity, a weekend and a peak-season
+ * surcharge, minus the offering's discount while it is running; service fee
+ * and tax are then charged on that subtotal.
+ */
+public final class ServicePriceEvaluator {
+
+    static final int DEFAULT_DURATION_MINUTES = 60;
+
+    private final String servicePublicId;
+    private final LocalDateTime serviceVersion;
+    private final LocalDateTime compiledAt;
+    private final PricingType pricingType;
+    private final long unitCents;
+    private final long extraPersonCents;
+    private final Integer minCapacity;
+    private final Integer maxCapacity;
+    private final int durationMinutes;
+    private final int minBookingHours;
+    private final long weekendSurchargeCents;
+    private final long peakSeasonSurchargeCents;
+    private final int peakMonthsMask;
+    private final int discountBps;
+    private final LocalDateTime discountValidUntil;
+    private final int serviceFeeBps;
+    private final int taxBps;
+    private final boolean refundFeeOnCancel;
+
+    private ServicePriceEvaluator(ServiceOffering service, int serviceFeeBps, int taxBps,
+            Collection<Month> peakMonths, boolean refundFeeOnCancel) {
+        this.servicePublicId = service.getPublicId();
+        this.serviceVersion = service.getUpdatedAt();
+        this.compiledAt = LocalDateTime.now();
+        this.pricingType = service.getPricingType() != null ? service.getPricingType() : PricingType.PER_SESSION;
+        this.unitCents = PriceUtil.toCents(service.getBasePrice());
+        this.extraPersonCents = PriceUtil.toCents(service.getExtraPersonPrice());
+        this.minCapacity = service.getMinCapacity();
+        this.maxCapacity = service.getMaxCapacity();
+        this.durationMinutes = service.getDurationMinutes() != null && service.getDurationMinutes() > 0
+                ? service.getDurationMinutes() : DEFAULT_DURATION_MINUTES;
+        this.minBookingHours = service.getMinBookingHours() != null ? service.getMinBookingHours() : 0;
+        this.weekendSurchargeCents = PriceUtil.toCents(service.getWeekendSurcharge());
+        this.peakSeasonSurchargeCents = PriceUtil.toCents(service.getPeakSeasonSurcharge());
+        int months = 0;
+        for (Month month : peakMonths) {
+            months |= 1 << month.ordinal();
+        }
+        this.peakMonthsMask = months;
+        this.discountBps = PriceUtil.percentToBasisPoints(service.getDiscountPercentage());
+        this.discountValidUntil = service.getDiscountValidUntil();
+        this.serviceFeeBps = serviceFeeBps;
+        this.taxBps = taxBps;
+        this.refundFeeOnCancel = refundFeeOnCancel;
+    }
+
+    public static ServicePriceEvaluator compile(ServiceOffering service, int serviceFeeBps, int taxBps,
+            Collection<Month> peakMonths, boolean refundFeeOnCancel) {
+        return new ServicePriceEvaluator(service, serviceFeeBps, taxBps, peakMonths, refundFeeOnCancel);
+    }
+
+    /**
+     * Price one booking of the service.
+     *
+     * @param minutes   booked length, or 0 for the service's own duration
+     * @param people    number of people, 0 when not given
+     * @param items     number of items for per-item services, 0 when not given
+     * @param pricedAt  when the price is taken; decides whether the discount runs
+     */
+    public Breakdown evaluate(LocalDate date, int minutes, int people, int items, LocalDateTime pricedAt) {
+        int units = units(minutes > 0 ? minutes : durationMinutes, people, items);
+        long base = unitCents * units;
+
+        long extraPersons = 0;
+        if (pricingType != PricingType.PER_PERSON && minCapacity != null && people > minCapacity) {
+            extraPersons = extraPersonCents * (people - minCapacity);
+        }
+
+        DayOfWeek day = date.getDayOfWeek();
+        long weekend = day == DayOfWeek.SATURDAY || day == DayOfWeek.SUNDAY ? weekendSurchargeCents : 0;
+        long peakSeason = (peakMonthsMask & (1 << date.getMonth().ordinal())) != 0 ? peakSeasonSurchargeCents : 0;
+
+        long discount = 0;
+        if (discountBps > 0 && discountValidUntil != null && pricedAt.isBefore(discountValidUntil)) {
+            discount = PriceUtil.applyBasisPoints(base + extraPersons, discountBps);
+        }
+
+        long subtotal = base + extraPersons + weekend + peakSeason - discount;
+        long serviceFee = PriceUtil.applyBasisPoints(subtotal, serviceFeeBps);
+        long tax = PriceUtil.applyBasisPoints(subtotal, taxBps);
+
+        return new Breakdown(units, unitCents, base, extraPersons, weekend, peakSeason, discount,
+                serviceFee, tax, subtotal + serviceFee + tax);
+    }
+
+    /**
+     * Amount given back for a charged booking. Provider rejections and
+     * provider or system cancellations return everything; customer
+     * cancellations keep the service fee unless it is configured as refundable.
+     */
+    public long refund(long totalCents, long serviceFeeCents, boolean cancelledByCustomer) {
+        if (cancelledByCustomer && !refundFeeOnCancel) {
+            return Math.max(0, totalCents - serviceFeeCents);
+        }
+        return totalCents;
+    }
+
+    private int units(int minutes, int people, int items) {
+        return switch (pricingType) {
+            case PER_HOUR -> Math.max(Math.max(1, (minutes + 59) / 60), minBookingHours);
+            case PER_PERSON -> Math.max(1, Math.max(people, minCapacity != null ? minCapacity : 0));
+            case PER_ITEM -> Math.max(1, items);
+            case PER_DAY, PER_SESSION, CUSTOM -> 1;
+        };
+    }
+
+    public boolean isCurrentFor(ServiceOffering service) {
+        return serviceVersion != null && serviceVersion.equals(service.getUpdatedAt());
+    }
+
+    public boolean isOlderThan(LocalDateTime cutoff) {
+        return compiledAt.isBefore(cutoff);
+    }
+
+    public String getServicePublicId() {
+        return servicePublicId;
+    }
+
+    public PricingType getPricingType() {
+        return pricingType;
+    }
+
+    public Integer getMaxCapacity() {
+        return maxCapacity;
+    }
+
+    /**
+     * Result of a single evaluation, in cents.
+     */
+    public record Breakdown(
+            int units,
+            long unitCents,
+            long baseCents,
+            long extraPersonCents,
+            long weekendSurchargeCents,
+            long peakSeasonSurchargeCents,
+            long discountCents,
+            long serviceFeeCents,
+            long taxCents,
+            long totalCents) {
+
+        public long surchargesCents() {
+            return weekendSurchargeCents + peakSeasonSurchargeCents;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.stayease.domain.serviceoffering.service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.stayease.domain.serviceoffering.dto.ServiceQuoteDTO;
+import com.stayease.domain.serviceoffering.entity.ServiceBooking;
+import com.stayease.domain.serviceoffering.entity.ServiceBooking.BookingStatus;
+import com.stayease.domain.serviceoffering.entity.ServiceBooking.CancelledBy;
+import com.stayease.domain.serviceoffering.entity.ServiceOffering;
+import com.stayease.domain.serviceoffering.repository.ServiceOfferingRepository;
+import com.stayease.exception.BadRequestException;
+import com.stayease.exception.NotFoundException;
+import com.stayease.shared.util.PriceUtil;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Central quote engine for services. Compiles each offering's pricing rules
+ * into a {@link ServicePriceEvaluator} once and keeps it cached; quotes,
+ * bookings, recurring series and refunds all price through it, so what the
+ * customer is quoted is what they are charged and given back.
+ */
+@Service
+@Slf4j
+public class ServicePricingService {
+
+    private final ServiceOfferingRepository serviceOfferingRepository;
+    private final int serviceFeeBps;
+    private final int taxBps;
+    private final List<Month> peakMonths;
+    private final boolean refundFeeOnCancel;
+    private final Duration cacheTtl;
+    private final int maxQuoteDays;
+
+    private final Map<String, ServicePriceEvaluator> evaluators = new ConcurrentHashMap<>();
+
+    public ServicePricingService(
+            ServiceOfferingRepository serviceOfferingRepository,
+            @Value("${app.service-pricing.service-fee-percent:5}") BigDecimal serviceFeePercent,
+            @Value("${app.service-pricing.tax-percent:10}") BigDecimal taxPercent,
+            @Value("${app.service-pricing.peak-months:JUNE,JULY,AUGUST,DECEMBER}") List<Month> peakMonths,
+            @Value("${app.service-pricing.refund-fee-on-cancel:false}") boolean refundFeeOnCancel,
+            @Value("${app.service-pricing.cache-ttl:PT10M}") Duration cacheTtl,
+            @Value("${app.service-pricing.max-quote-days:90}") int maxQuoteDays) {
+        this.serviceOfferingRepository = serviceOfferingRepository;
+        this.serviceFeeBps = PriceUtil.percentToBasisPoints(serviceFeePercent);
+        this.taxBps = PriceUtil.percentToBasisPoints(taxPercent);
+        this.peakMonths = List.copyOf(peakMonths);
+        this.refundFeeOnCancel = refundFeeOnCancel;
+        this.cacheTtl = cacheTtl;
+        this.maxQuoteDays = maxQuoteDays;
+    }
+
+    /**
+     * Quote one booking of a service for the booking form.
+     */
+    public ServiceQuoteDTO quote(String servicePublicId, LocalDate date, LocalTime startTime, LocalTime endTime,
+            Integer people, Integer items) {
+        if (date == null) {
+            throw new BadRequestException("Date is required");
+        }
+        ServicePriceEvaluator evaluator = evaluatorFor(servicePublicId);
+        validatePeople(evaluator, people);
+
+        return toQuoteDTO(evaluator, date, evaluator.evaluate(date, minutes(startTime, endTime),
+                count(people), count(items), LocalDateTime.now()));
+    }
+
+    /**
+     * Quote the same booking on each of {@code days} days from {@code from}
+     * (today when null), for price calendars. One compiled evaluator serves
+     * the whole range.
+     */
+    public List<ServiceQuoteDTO> quotes(String servicePublicId, LocalDate from, int days,
+            LocalTime startTime, LocalTime endTime, Integer people, Integer items) {
+        if (days < 1 || days > maxQuoteDays) {
+            throw new BadRequestException("Days must be between 1 and " + maxQuoteDays);
+        }
+        ServicePriceEvaluator evaluator = evaluatorFor(servicePublicId);
+        validatePeople(evaluator, people);
+
+        LocalDate start = from != null ? from : LocalDate.now();
+        int minutes = minutes(startTime, endTime);
+        LocalDateTime now = LocalDateTime.now();
+        List<ServiceQuoteDTO> quotes = new ArrayList<>(days);
+        for (int day = 0; day < days; day++) {
+            LocalDate date = start.plusDays(day);
+            quotes.add(toQuoteDTO(evaluator, date,
+                    evaluator.evaluate(date, minutes, count(people), count(items), now)));
+        }
+        return quotes;
+    }
+
+    /**
+     * Price a booking against an already loaded service. Used by the booking
+     * and series paths so they charge exactly what the quote showed.
+     */
+    public ServicePriceEvaluator.Breakdown price(ServiceOffering service, LocalDate date,
+            LocalTime startTime, LocalTime endTime, Integer people, Integer items) {
+        return evaluatorFor(service).evaluate(date, minutes(startTime, endTime),
+                count(people), count(items), LocalDateTime.now());
+    }
+
+    /**
+     * Amount to give back for a cancelled or rejected booking.
+     */
+    public BigDecimal refundAmount(ServiceBooking booking) {
+        long total = PriceUtil.toCents(booking.getTotalPrice());
+        ServicePriceEvaluator evaluator = evaluators.get(booking.getServicePublicId());
+        if (evaluator == null) {
+            ServiceOffering service = serviceOfferingRepository.findByPublicId(booking.getServicePublicId())
+                    .orElse(null);
+            if (service == null) {
+                // Service is gone; nothing left to apply but the charged total
+                return PriceUtil.fromCents(total);
+            }
+            evaluator = evaluatorFor(service);
+        }
+        // Only the customer's own cancellation costs the fee; expiry and provider cancellations do not
+        boolean cancelledByCustomer = booking.getStatus() == BookingStatus.CANCELLED
+                && booking.getCancelledBy() == CancelledBy.CUSTOMER;
+        return PriceUtil.fromCents(evaluator.refund(total, PriceUtil.toCents(booking.getServiceFee()),
+                cancelledByCustomer));
+    }
+
+    public ServicePriceEvaluator evaluatorFor(String servicePublicId) {
+        ServicePriceEvaluator cached = evaluators.get(servicePublicId);
+        if (cached != null && !cached.isOlderThan(LocalDateTime.now().minus(cacheTtl))) {
+            return cached;
+        }
+
+        ServiceOffering service = serviceOfferingRepository.findByPublicId(servicePublicId)
+                .orElseThrow(() -> new NotFoundException("Service not found with ID: " + servicePublicId));
+        return compile(service);
+    }
+
+    public ServicePriceEvaluator evaluatorFor(ServiceOffering service) {
+        ServicePriceEvaluator cached = evaluators.get(service.getPublicId());
+        if (cached != null && cached.isCurrentFor(service)) {
+            return cached;
+        }
+        return compile(service);
+    }
+
+    /**
+     * Drop the compiled rules for a service after it changes.
+     */
+    public void evict(String servicePublicId) {
+        if (servicePublicId != null) {
+            evaluators.remove(servicePublicId);
+        }
+    }
+
+    private ServicePriceEvaluator compile(ServiceOffering service) {
+        ServicePriceEvaluator evaluator = ServicePriceEvaluator.compile(service, serviceFeeBps, taxBps,
+                peakMonths, refundFeeOnCancel);
+        evaluators.put(service.getPublicId(), evaluator);
+        log.debug("Compiled pricing rules for service: {}", service.getPublicId());
+        return evaluator;
+    }
+
+    private static void validatePeople(ServicePriceEvaluator evaluator, Integer people) {
+        if (people != null && evaluator.getMaxCapacity() != null && people > evaluator.getMaxCapacity()) {
+            throw new BadRequestException("Number of people exceeds maximum capacity");
+        }
+    }
+
+    private static int minutes(LocalTime startTime, LocalTime endTime) {
+        if (startTime == null || endTime == null || !endTime.isAfter(startTime)) {
+            return 0;
+        }
+        return (int) Duration.between(startTime, endTime).toMinutes();
+    }
+
+    private static int count(Integer value) {
+        return value != null && value > 0 ? value : 0;
+    }
+
+    private ServiceQuoteDTO toQuoteDTO(ServicePriceEvaluator evaluator, LocalDate date,
+            ServicePriceEvaluator.Breakdown breakdown) {
+        return ServiceQuoteDTO.builder()
+                .servicePublicId(evaluator.getServicePublicId())
+                .date(date)
+                .pricingType(evaluator.getPricingType())
+                .units(breakdown.units())
+                .unitPrice(PriceUtil.fromCents(breakdown.unitCents()))
+                .basePrice(PriceUtil.fromCents(breakdown.baseCents()))
+                .extraPersonCharge(PriceUtil.fromCents(breakdown.extraPersonCents()))
+                .weekendSurcharge(PriceUtil.fromCents(breakdown.weekendSurchargeCents()))
+                .peakSeasonSurcharge(PriceUtil.fromCents(breakdown.peakSeasonSurchargeCents()))
+                .discount(PriceUtil.fromCents(breakdown.discountCents()))
+                .serviceFee(PriceUtil.fromCents(breakdown.serviceFeeCents()))
+                .tax(PriceUtil.fromCents(breakdown.taxCents()))
+                .totalPrice(PriceUtil.fromCents(breakdown.totalCents()))
+                .build();
+    }
+}
@@ -0,0 +1,181 @@
+package com.stayease.domain.serviceoffering.service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.stayease.domain.serviceoffering.entity.ServiceBooking;
+import com.stayease.domain.serviceoffering.entity.ServiceBooking.BookingStatus;
+import com.stayease.domain.serviceoffering.entity.ServiceOffering;
+import com.stayease.domain.serviceoffering.repository.ServiceSlotSeatsRepository;
+import com.stayease.exception.BadRequestException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Seat accounting for group-booking services, where bookings share the
+ * service's {@code maxCapacity} per slot instead of excluding each other.
+ *
+ * <p>A reservation first passes this node's {@link SlotSeatGate}, so requests
+ * for a full class fail without a database round trip. Winners then take the
+ * seats with a conditional upsert in a short transaction of their own, which
+ * holds the slot's row lock for one statement rather than for the whole
+ * booking. If the booking transaction rolls back, the seats are given back.
+ */
+@Service
+@Slf4j
+public class ServiceSeatService {
+
+    private final ServiceSlotSeatsRepository serviceSlotSeatsRepository;
+    private final TransactionTemplate seatTransaction;
+    private final SlotSeatGate gate = new SlotSeatGate();
+
+    public ServiceSeatService(
+            ServiceSlotSeatsRepository serviceSlotSeatsRepository,
+            PlatformTransactionManager transactionManager) {
+        this.serviceSlotSeatsRepository = serviceSlotSeatsRepository;
+        this.seatTransaction = new TransactionTemplate(transactionManager);
+        this.seatTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Whether a booking in this status occupies its seats.
+     */
+    public static boolean holdsSeats(BookingStatus status) {
+        return status == BookingStatus.PENDING
+                || status == BookingStatus.CONFIRMED
+                || status == BookingStatus.PAID
+                || status == BookingStatus.IN_PROGRESS;
+    }
+
+    /**
+     * Take {@code seats} in the slot starting at {@code startTime}.
+     *
+     * @throws BadRequestException if the slot does not have that many seats left
+     */
+    public void reserve(ServiceOffering service, LocalDate date, LocalTime startTime, int seats) {
+        int capacity = service.getMaxCapacity();
+        if (seats < 1 || seats > capacity) {
+            throw new BadRequestException("Number of people must be between 1 and " + capacity);
+        }
+
+        SlotSeatGate.SlotKey key = new SlotSeatGate.SlotKey(service.getPublicId(), date, startTime);
+        if (!gate.tryAcquire(key, seats, capacity)) {
+            // Seats may have been given back on another node since this view was synced
+            gate.sync(key, reservedInDatabase(key));
+            if (!gate.tryAcquire(key, seats, capacity)) {
+                throw full(key, capacity);
+            }
+        }
+
+        gate.sending(key, seats);
+        Integer taken = null;
+        try {
+            taken = seatTransaction.execute(status -> serviceSlotSeatsRepository.reserve(
+                    key.servicePublicId(), key.date(), key.startTime(), seats, capacity));
+        } finally {
+            gate.settle(key, seats, taken != null && taken > 0);
+        }
+
+        if (taken == null || taken == 0) {
+            // Another node filled the slot first
+            gate.sync(key, reservedInDatabase(key));
+            throw full(key, capacity);
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        giveBack(key, seats);
+                    }
+                }
+            });
+        }
+        log.debug("Reserved {} seats in slot {} {} of service {}", seats, date, startTime, service.getPublicId());
+    }
+
+    /**
+     * Seats still free in a slot, read from the database.
+     */
+    public int seatsLeft(ServiceOffering service, LocalDate date, LocalTime startTime) {
+        int reserved = serviceSlotSeatsRepository.findReservedSeats(service.getPublicId(), date, startTime).orElse(0);
+        return Math.max(service.getMaxCapacity() - reserved, 0);
+    }
+
+    /**
+     * Give back the seats of a booking leaving a seat-holding status. Bookings
+     * of services without seat accounting have no row and are a no-op.
+     */
+    public void release(ServiceBooking booking) {
+        if (booking.getStartTime() == null) {
+            return;
+        }
+        SlotSeatGate.SlotKey key = new SlotSeatGate.SlotKey(
+                booking.getServicePublicId(), booking.getBookingDate(), booking.getStartTime());
+        int seats = booking.getNumberOfPeople() != null ? booking.getNumberOfPeople() : 1;
+        if (serviceSlotSeatsRepository.release(key.servicePublicId(), key.date(), key.startTime(), seats) == 0) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    gate.release(key, seats);
+                }
+            });
+        } else {
+            gate.release(key, seats);
+        }
+    }
+
+    /**
+     * Give back the seats of a batch of bulk-cancelled bookings. The local view
+     * is left as is; it resyncs the next time it turns a request away.
+     */
+    public void releaseForBookings(List<Long> bookingIds) {
+        if (!bookingIds.isEmpty()) {
+            serviceSlotSeatsRepository.releaseForBookings(bookingIds);
+        }
+    }
+
+    @Scheduled(cron = "${app.service-seats.sweep-cron:0 15 0 * * *}")
+    public void sweepPastSlots() {
+        gate.evictBefore(LocalDate.now());
+    }
+
+    private void giveBack(SlotSeatGate.SlotKey key, int seats) {
+        try {
+            seatTransaction.executeWithoutResult(status -> serviceSlotSeatsRepository.release(
+                    key.servicePublicId(), key.date(), key.startTime(), seats));
+            gate.release(key, seats);
+        } catch (RuntimeException e) {
+            log.error("Failed to give back {} seats in slot {} {} of service {}",
+                    seats, key.date(), key.startTime(), key.servicePublicId(), e);
+        }
+    }
+
+    private int reservedInDatabase(SlotSeatGate.SlotKey key) {
+        Integer reserved = seatTransaction.execute(status -> serviceSlotSeatsRepository
+                .findReservedSeats(key.servicePublicId(), key.date(), key.startTime())
+                .orElse(0));
+        return reserved != null ? reserved : 0;
+    }
+
+    private BadRequestException full(SlotSeatGate.SlotKey key, int capacity) {
+        int left = Math.max(capacity - gate.taken(key), 0);
+        return new BadRequestException(left == 0
+                ? "Selected time slot is fully booked"
+                : "Only " + left + " seats left in the selected time slot");
+    }
+}
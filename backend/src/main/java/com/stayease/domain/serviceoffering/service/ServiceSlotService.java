@@ -0,0 +1,367 @@
+package com.stayease.domain.serviceoffering.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.stayease.domain.serviceoffering.dto.ServiceDaySlotsDTO;
+import com.stayease.domain.serviceoffering.dto.ServiceSlotDTO;
+import com.stayease.domain.serviceoffering.entity.ServiceBooking;
+import com.stayease.domain.serviceoffering.entity.ServiceBooking.BookingStatus;
+import com.stayease.domain.serviceoffering.entity.ServiceOffering;
+import com.stayease.domain.serviceoffering.entity.ServiceSlotSeats;
+import com.stayease.domain.serviceoffering.repository.ServiceBookingRepository;
+import com.stayease.domain.serviceoffering.repository.ServiceOfferingRepository;
+import com.stayease.domain.serviceoffering.repository.ServiceSlotSeatsRepository;
+import com.stayease.exception.BadRequestException;
+import com.stayease.exception.NotFoundException;
+import com.stayease.shared.util.DayMaskUtil;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Generates the bookable time slots of a service from its opening hours,
+ * available days and duration, and subtracts booked time using a per-service
+ * {@link BookedIntervals} tree. The tree covers today up to a horizon and is
+ * cached until the next booking change on that service. Group-booking
+ * services keep every slot open until its seats run out.
+ */
+@Service
+@Slf4j
+public class ServiceSlotService {
+
+    private static final LocalTime DEFAULT_OPEN = LocalTime.of(9, 0);
+    private static final LocalTime DEFAULT_CLOSE = LocalTime.of(18, 0);
+    private static final int DEFAULT_DURATION_MINUTES = 60;
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final Set<BookingStatus> BLOCKING =
+            EnumSet.of(BookingStatus.CONFIRMED, BookingStatus.PAID, BookingStatus.IN_PROGRESS);
+
+    private final ServiceOfferingRepository serviceOfferingRepository;
+    private final ServiceBookingRepository serviceBookingRepository;
+    private final ServiceSlotSeatsRepository serviceSlotSeatsRepository;
+    private final Duration cacheTtl;
+    private final int horizonDays;
+    private final int maxDays;
+
+    private final Map<String, Schedule> schedules = new ConcurrentHashMap<>();
+
+    public ServiceSlotService(
+            ServiceOfferingRepository serviceOfferingRepository,
+            ServiceBookingRepository serviceBookingRepository,
+            ServiceSlotSeatsRepository serviceSlotSeatsRepository,
+            @Value("${app.service-slots.cache-ttl:PT10M}") Duration cacheTtl,
+            @Value("${app.service-slots.horizon-days:60}") int horizonDays,
+            @Value("${app.service-slots.max-days:31}") int maxDays) {
+        this.serviceOfferingRepository = serviceOfferingRepository;
+        this.serviceBookingRepository = serviceBookingRepository;
+        this.serviceSlotSeatsRepository = serviceSlotSeatsRepository;
+        this.cacheTtl = cacheTtl;
+        this.horizonDays = horizonDays;
+        this.maxDays = maxDays;
+    }
+
+    private record Schedule(LocalDate from, LocalDate to, BookedIntervals booked, Instant loadedAt) {
+
+        boolean covers(LocalDate start, LocalDate end) {
+            return !start.isBefore(from) && !end.isAfter(to);
+        }
+    }
+
+    /**
+     * Free slots of a service for {@code days} days starting at {@code from}
+     * (today when null). Days the service is closed come back with no slots.
+     */
+    @Transactional(readOnly = true)
+    public List<ServiceDaySlotsDTO> getSlots(String servicePublicId, LocalDate from, int days) {
+        if (days < 1 || days > maxDays) {
+            throw new BadRequestException("Days must be between 1 and " + maxDays);
+        }
+
+        ServiceOffering service = serviceOfferingRepository.findByPublicId(servicePublicId)
+                .orElseThrow(() -> new NotFoundException("Service not found with ID: " + servicePublicId));
+
+        LocalDate start = from != null ? from : LocalDate.now();
+        LocalDate end = start.plusDays(days);
+        boolean bookable = service.isBookable();
+        boolean seated = service.isSeated();
+        BookedIntervals booked = bookable && !seated ? booked(servicePublicId, start, end) : null;
+        Map<Long, Integer> seatsTaken = bookable && seated ? seatsTaken(servicePublicId, start, end) : null;
+        return daySlots(service, start, end, booked, seatsTaken);
+    }
+
+    /**
+     * Free slots of several services over {@code [start, end)}, keyed by service
+     * public ID. Booked time comes from {@code bookings}, which the caller has
+     * already loaded for the window, and seats from one query for all group
+     * services, so the cached per-service trees are not touched.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, List<ServiceDaySlotsDTO>> getSlots(Collection<ServiceOffering> services,
+            LocalDate start, LocalDate end, Collection<ServiceBooking> bookings) {
+        Map<String, List<BookedIntervals.Interval>> intervals = new HashMap<>();
+        for (ServiceBooking booking : bookings) {
+            if (BLOCKING.contains(booking.getStatus())) {
+                intervals.computeIfAbsent(booking.getServicePublicId(), id -> new ArrayList<>())
+                        .add(intervalOf(booking));
+            }
+        }
+
+        List<String> seated = services.stream()
+                .filter(service -> service.isBookable() && service.isSeated())
+                .map(ServiceOffering::getPublicId)
+                .toList();
+        Map<String, Map<Long, Integer>> seatsTaken = new HashMap<>();
+        if (!seated.isEmpty()) {
+            for (ServiceSlotSeats seats : serviceSlotSeatsRepository.findTakenForServices(seated, start, end)) {
+                seatsTaken.computeIfAbsent(seats.getServicePublicId(), id -> new HashMap<>())
+                        .put(key(seats.getSlotDate(), minuteOfDay(seats.getStartTime())), seats.getReservedSeats());
+            }
+        }
+
+        Map<String, List<ServiceDaySlotsDTO>> result = new HashMap<>();
+        for (ServiceOffering service : services) {
+            String id = service.getPublicId();
+            BookedIntervals booked = BookedIntervals.of(intervals.getOrDefault(id, List.of()));
+            result.put(id, daySlots(service, start, end, booked, seatsTaken.getOrDefault(id, Map.of())));
+        }
+        return result;
+    }
+
+    private List<ServiceDaySlotsDTO> daySlots(ServiceOffering service, LocalDate start, LocalDate end,
+            BookedIntervals booked, Map<Long, Integer> seatsTaken) {
+        boolean bookable = service.isBookable();
+        boolean seated = service.isSeated();
+
+        int openDays = service.getAvailableDaysMask() != null ? service.getAvailableDaysMask() : 0;
+        int open = opensAt(service);
+        int close = closesAt(service);
+        int duration = service.getDurationMinutes() != null && service.getDurationMinutes() > 0
+                ? service.getDurationMinutes() : DEFAULT_DURATION_MINUTES;
+
+        LocalDateTime earliest = LocalDateTime.now().plusHours(
+                service.getAdvanceBookingHours() != null ? service.getAdvanceBookingHours() : 0);
+        long earliestKey = key(earliest.toLocalDate(), minuteOfDay(earliest.toLocalTime()));
+
+        List<ServiceDaySlotsDTO> result = new ArrayList<>();
+        for (LocalDate date = start; date.isBefore(end); date = date.plusDays(1)) {
+            boolean isOpen = bookable && DayMaskUtil.includes(openDays, date.getDayOfWeek());
+            List<ServiceSlotDTO> slots = new ArrayList<>();
+            if (isOpen) {
+                for (int slotStart = open; slotStart + duration <= close; slotStart += duration) {
+                    long startKey = key(date, slotStart);
+                    long endKey = startKey + duration;
+                    if (startKey < earliestKey) {
+                        continue;
+                    }
+                    Integer seatsLeft = null;
+                    if (seated) {
+                        seatsLeft = service.getMaxCapacity() - seatsTaken.getOrDefault(startKey, 0);
+                        if (seatsLeft <= 0) {
+                            continue;
+                        }
+                    } else if (booked.overlaps(startKey, endKey)) {
+                        continue;
+                    }
+                    slots.add(ServiceSlotDTO.builder()
+                            .startTime(timeOf(slotStart))
+                            .endTime(timeOf(slotStart + duration))
+                            .seatsLeft(seatsLeft)
+                            .build());
+                }
+            }
+            result.add(ServiceDaySlotsDTO.builder()
+                    .date(date)
+                    .isOpen(isOpen)
+                    .slots(slots)
+                    .build());
+        }
+        return result;
+    }
+
+    /**
+     * Whether {@code [startTime, endTime)} on {@code date} is free of blocking
+     * bookings, answered from the cached tree.
+     */
+    @Transactional(readOnly = true)
+    public boolean isFree(String servicePublicId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        int end = minuteOfDay(endTime);
+        if (end <= minuteOfDay(startTime)) {
+            end = MINUTES_PER_DAY;
+        }
+        return !booked(servicePublicId, date, date.plusDays(1))
+                .overlaps(key(date, minuteOfDay(startTime)), key(date, end));
+    }
+
+    /**
+     * Whether {@code [startTime, endTime)} lies within the service's opening
+     * hours, with the same defaults the generated slots use.
+     */
+    public boolean isWithinOpeningHours(ServiceOffering service, LocalTime startTime, LocalTime endTime) {
+        int start = minuteOfDay(startTime);
+        int end = minuteOfDay(endTime);
+        if (end <= start) {
+            end = MINUTES_PER_DAY;
+        }
+        return start >= opensAt(service) && end <= closesAt(service);
+    }
+
+    /**
+     * Dates on which {@code [startTime, endTime)} overlaps a blocking booking,
+     * all answered from one interval tree. Bookings of
+     * {@code ignoreSeriesPublicId} are left out, so a recurring series can be
+     * checked against everything but itself.
+     */
+    @Transactional(readOnly = true)
+    public Set<LocalDate> conflictingDates(String servicePublicId, Collection<LocalDate> dates,
+            LocalTime startTime, LocalTime endTime, String ignoreSeriesPublicId) {
+        if (dates.isEmpty()) {
+            return Collections.emptySet();
+        }
+        LocalDate first = Collections.min(dates);
+        LocalDate last = Collections.max(dates);
+
+        BookedIntervals booked;
+        if (ignoreSeriesPublicId == null) {
+            booked = booked(servicePublicId, first, last.plusDays(1));
+        } else {
+            List<BookedIntervals.Interval> intervals = new ArrayList<>();
+            for (ServiceBooking booking : serviceBookingRepository.findBlockingBookings(
+                    servicePublicId, first, last.plusDays(1))) {
+                if (!ignoreSeriesPublicId.equals(booking.getSeriesPublicId())) {
+                    intervals.add(intervalOf(booking));
+                }
+            }
+            booked = BookedIntervals.of(intervals);
+        }
+
+        int start = minuteOfDay(startTime);
+        int end = minuteOfDay(endTime);
+        if (end <= start) {
+            end = MINUTES_PER_DAY;
+        }
+        Set<LocalDate> conflicts = new TreeSet<>();
+        for (LocalDate date : dates) {
+            if (booked.overlaps(key(date, start), key(date, end))) {
+                conflicts.add(date);
+            }
+        }
+        return conflicts;
+    }
+
+    /**
+     * Drop the cached bookings of a service after one of them changes. When
+     * called inside a transaction the entry is dropped again after commit, so
+     * a concurrent reader cannot cache the pre-commit state.
+     */
+    public void evict(String servicePublicId) {
+        if (servicePublicId == null) {
+            return;
+        }
+        schedules.remove(servicePublicId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    schedules.remove(servicePublicId);
+                }
+            });
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.service-slots.cache-ttl:PT10M}")
+    public void sweepExpired() {
+        Instant cutoff = Instant.now().minus(cacheTtl);
+        schedules.values().removeIf(schedule -> schedule.loadedAt().isBefore(cutoff));
+    }
+
+    private BookedIntervals booked(String servicePublicId, LocalDate start, LocalDate end) {
+        Instant now = Instant.now();
+        Schedule cached = schedules.get(servicePublicId);
+        if (cached != null && cached.covers(start, end) && cached.loadedAt().isAfter(now.minus(cacheTtl))) {
+            return cached.booked();
+        }
+
+        LocalDate today = LocalDate.now();
+        LocalDate horizon = today.plusDays(horizonDays);
+        LocalDate loadFrom = start.isBefore(today) ? start : today;
+        LocalDate loadTo = end.isAfter(horizon) ? end : horizon;
+
+        List<BookedIntervals.Interval> intervals = new ArrayList<>();
+        for (ServiceBooking booking : serviceBookingRepository.findBlockingBookings(servicePublicId, loadFrom, loadTo)) {
+            intervals.add(intervalOf(booking));
+        }
+        Schedule loaded = new Schedule(loadFrom, loadTo, BookedIntervals.of(intervals), now);
+        schedules.put(servicePublicId, loaded);
+        log.debug("Loaded {} booked intervals for service {}", loaded.booked().size(), servicePublicId);
+        return loaded.booked();
+    }
+
+    private Map<Long, Integer> seatsTaken(String servicePublicId, LocalDate start, LocalDate end) {
+        Map<Long, Integer> taken = new HashMap<>();
+        for (ServiceSlotSeats seats : serviceSlotSeatsRepository.findTaken(servicePublicId, start, end)) {
+            taken.put(key(seats.getSlotDate(), minuteOfDay(seats.getStartTime())), seats.getReservedSeats());
+        }
+        return taken;
+    }
+
+    private static BookedIntervals.Interval intervalOf(ServiceBooking booking) {
+        LocalDate date = booking.getBookingDate();
+        if (booking.getStartTime() == null) {
+            // No time given: the booking takes the whole day
+            return new BookedIntervals.Interval(key(date, 0), key(date, MINUTES_PER_DAY));
+        }
+        int start = minuteOfDay(booking.getStartTime());
+        int end;
+        if (booking.getEndTime() != null) {
+            end = minuteOfDay(booking.getEndTime());
+        } else {
+            end = start + (booking.getDurationMinutes() != null ? booking.getDurationMinutes() : DEFAULT_DURATION_MINUTES);
+        }
+        if (end <= start || end > MINUTES_PER_DAY) {
+            end = MINUTES_PER_DAY;
+        }
+        return new BookedIntervals.Interval(key(date, start), key(date, end));
+    }
+
+    private static long key(LocalDate date, int minuteOfDay) {
+        return date.toEpochDay() * MINUTES_PER_DAY + minuteOfDay;
+    }
+
+    private static int opensAt(ServiceOffering service) {
+        return minuteOfDay(service.getAvailableFrom() != null ? service.getAvailableFrom() : DEFAULT_OPEN);
+    }
+
+    private static int closesAt(ServiceOffering service) {
+        int close = minuteOfDay(service.getAvailableTo() != null ? service.getAvailableTo() : DEFAULT_CLOSE);
+        // Open until midnight
+        return close <= opensAt(service) ? MINUTES_PER_DAY : close;
+    }
+
+    private static int minuteOfDay(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    private static LocalTime timeOf(int minuteOfDay) {
+        return minuteOfDay >= MINUTES_PER_DAY ? LocalTime.MIDNIGHT : LocalTime.of(minuteOfDay / 60, minuteOfDay % 60);
+    }
+}
@@ -0,0 +1,100 @@
+package com.stayease.domain.serviceoffering.service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This node's view of seats taken per slot, used to turn requests away from a
+ * full class without touching its database row. It is advisory only: the
+ * conditional upsert in the database decides, and callers resync the view
+ * from the database whenever it turns a request away.
+ *
+ * <p>A resync cannot tell which of this node's reservations a database read
+ * already includes, so it adds back only those whose upsert has not been sent
+ * yet. Reservations being written are left to the database count. The view
+ * may then run short, which costs an upsert that fails, but it never runs
+ * over and turns a request away from seats that are free.
+ */
+final class SlotSeatGate {
+
+    record SlotKey(String servicePublicId, LocalDate date, LocalTime startTime) {
+    }
+
+    private static final class Slot {
+        // Seats known to be taken, including this node's reservations still in flight
+        private final AtomicInteger taken = new AtomicInteger();
+        // Acquired here but not yet sent to the database
+        private final AtomicInteger unsent = new AtomicInteger();
+    }
+
+    private final Map<SlotKey, Slot> slots = new ConcurrentHashMap<>();
+
+    /**
+     * Take {@code seats} if they fit under {@code capacity}; lock-free, so a
+     * burst on one slot never queues behind a lock. A successful acquire must
+     * be followed by {@link #sending} and then {@link #settle}.
+     */
+    boolean tryAcquire(SlotKey key, int seats, int capacity) {
+        Slot slot = slots.computeIfAbsent(key, k -> new Slot());
+        while (true) {
+            int current = slot.taken.get();
+            if (current + seats > capacity) {
+                return false;
+            }
+            if (slot.taken.compareAndSet(current, current + seats)) {
+                // Counted as unsent only after the view holds them, so a resync in between falls short
+                slot.unsent.addAndGet(seats);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Seats from {@link #tryAcquire} are about to be written; from here on a
+     * database read may include them.
+     */
+    void sending(SlotKey key, int seats) {
+        Slot slot = slots.get(key);
+        if (slot != null) {
+            slot.unsent.addAndGet(-seats);
+        }
+    }
+
+    /**
+     * Record the database's answer for seats sent after {@link #sending}.
+     */
+    void settle(SlotKey key, int seats, boolean reserved) {
+        Slot slot = slots.get(key);
+        if (slot != null && !reserved) {
+            slot.taken.updateAndGet(current -> Math.max(current - seats, 0));
+        }
+    }
+
+    void release(SlotKey key, int seats) {
+        Slot slot = slots.get(key);
+        if (slot != null) {
+            slot.taken.updateAndGet(current -> Math.max(current - seats, 0));
+        }
+    }
+
+    /**
+     * Replace the view with a database count read just now, plus this node's
+     * reservations that had not been sent when the read returned.
+     */
+    void sync(SlotKey key, int reserved) {
+        Slot slot = slots.computeIfAbsent(key, k -> new Slot());
+        slot.taken.set(reserved + slot.unsent.get());
+    }
+
+    int taken(SlotKey key) {
+        Slot slot = slots.get(key);
+        return slot != null ? slot.taken.get() : 0;
+    }
+
+    void evictBefore(LocalDate date) {
+        slots.keySet().removeIf(key -> key.date().isBefore(date));
+    }
+}
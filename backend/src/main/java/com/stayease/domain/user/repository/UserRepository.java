@@ -1,5 +1,6 @@
 package com.stayease.domain.user.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -38,4 +39,6 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByStripeCustomerId(String stripeCustomerId);
 
     Optional<User> findByStripeAccountId(String stripeAccountId);
+
+    List<User> findByPublicIdIn(Collection<UUID> publicIds);
 }
\ No newline at end of file
@@ -0,0 +1,247 @@
+package com.stayease.shared.counter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Write-behind engagement counters. Increments land in an in-memory cell per
+ * row and are flushed every few seconds (and on
+ * shutdown) as one {@code UPDATE ... SET x = x + :delta WHERE id IN (...)} per
+ * distinct delta, so a hot row costs one write per flush instead of one
+ * row-locking UPDATE per click.
+ *
+ * <p>A flush drops cells that had nothing to write by swapping their count for
+ * a tombstone, which only succeeds if no increment arrived since the cell was
+ * flushed. An increment that finds the tombstone retries on a fresh cell, so
+ * none can land on a cell that is no longer flushed.
+ *
+ * <p>Counter columns should be mapped {@code updatable = false} so saving the
+ * owning entity never overwrites flushed deltas.
+ */
+@Component
+@Slf4j
+public class WriteBehindCounters {
+
+    /**
+     * Applies {@code delta} to the counter of every row in {@code ids}.
+     */
+    @FunctionalInterface
+    public interface Flusher {
+        void add(List<String> ids, int delta);
+    }
+
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final long clientWindowNanos;
+
+    private final Map<String, CounterGroup> groups = new ConcurrentHashMap<>();
+
+    public WriteBehindCounters(PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+            @Value("${app.counters.client-window:PT1H}") Duration clientWindow) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.clientWindowNanos = clientWindow.toNanos();
+    }
+
+    /**
+     * Register a counter under {@code name}; call once at startup.
+     */
+    public void register(String name, Flusher flusher) {
+        CounterGroup group = new CounterGroup(name, flusher);
+        if (groups.putIfAbsent(name, group) != null) {
+            throw new IllegalStateException("Counter already registered: " + name);
+        }
+        Gauge.builder("stayease.counters.unflushed", group, CounterGroup::unflushed)
+                .tag("counter", name)
+                .register(meterRegistry);
+    }
+
+    public void increment(String name, String id) {
+        Map<String, Cell> cells = group(name).cells;
+        while (true) {
+            Cell cell = cells.computeIfAbsent(id, key -> new Cell());
+            if (cell.tryIncrement()) {
+                return;
+            }
+            // Retired by a concurrent flush: drop it and start a fresh cell
+            cells.remove(id, cell);
+        }
+    }
+
+    /**
+     * Increment on behalf of {@code client}, counting each client at most once
+     * per row within the configured window.
+     *
+     * @return whether the increment was counted
+     */
+    public boolean incrementForClient(String name, String id, String client) {
+        CounterGroup group = group(name);
+        long now = System.nanoTime();
+        boolean[] counted = {false};
+        group.lastCounted.compute(id + '\u0000' + client, (key, until) -> {
+            if (until != null && until - now > 0) {
+                return until;
+            }
+            counted[0] = true;
+            return now + clientWindowNanos;
+        });
+        if (counted[0]) {
+            increment(name, id);
+        }
+        return counted[0];
+    }
+
+    /**
+     * Increments not yet written to the database, to add to a loaded value.
+     */
+    public long pending(String name, String id) {
+        Cell cell = group(name).cells.get(id);
+        return cell != null ? cell.unflushed() : 0;
+    }
+
+    @Scheduled(fixedDelayString = "${app.counters.flush-interval:PT5S}")
+    public synchronized void flush() {
+        for (CounterGroup group : groups.values()) {
+            try {
+                group.flush();
+            } catch (RuntimeException e) {
+                // Deltas stay pending and are retried on the next flush
+                log.error("Failed to flush counter {}", group.name, e);
+            }
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    private CounterGroup group(String name) {
+        CounterGroup group = groups.get(name);
+        if (group == null) {
+            throw new IllegalStateException("Unknown counter: " + name);
+        }
+        return group;
+    }
+
+    private static final class Cell {
+
+        private static final long RETIRED = Long.MIN_VALUE;
+
+        private final AtomicLong count = new AtomicLong();
+        // Written only by the flushing thread
+        private volatile long flushed;
+
+        boolean tryIncrement() {
+            long current;
+            do {
+                current = count.get();
+                if (current == RETIRED) {
+                    return false;
+                }
+            } while (!count.compareAndSet(current, current + 1));
+            return true;
+        }
+
+        /**
+         * Swap the count for the tombstone if nothing arrived since the last flush.
+         */
+        boolean retireIfIdle() {
+            return count.compareAndSet(flushed, RETIRED);
+        }
+
+        long sum() {
+            long current = count.get();
+            return current == RETIRED ? flushed : current;
+        }
+
+        long unflushed() {
+            return sum() - flushed;
+        }
+    }
+
+    private final class CounterGroup {
+
+        private final String name;
+        private final Flusher flusher;
+        private final Map<String, Cell> cells = new ConcurrentHashMap<>();
+        // Row and client to the time their next increment counts again
+        private final Map<String, Long> lastCounted = new ConcurrentHashMap<>();
+        private final Counter flushedCounter;
+
+        CounterGroup(String name, Flusher flusher) {
+            this.name = name;
+            this.flusher = flusher;
+            this.flushedCounter = Counter.builder("stayease.counters.flushed")
+                    .tag("counter", name)
+                    .register(meterRegistry);
+        }
+
+        double unflushed() {
+            long total = 0;
+            for (Cell cell : cells.values()) {
+                total += cell.unflushed();
+            }
+            return total;
+        }
+
+        void flush() {
+            // Snapshot each cell's sum once; increments after this go to the next flush
+            Map<String, Long> sums = new HashMap<>();
+            Map<Integer, List<String>> idsByDelta = new TreeMap<>();
+            List<String> idle = new ArrayList<>();
+            cells.forEach((id, cell) -> {
+                long sum = cell.sum();
+                long delta = sum - cell.flushed;
+                if (delta == 0) {
+                    idle.add(id);
+                    return;
+                }
+                sums.put(id, sum);
+                idsByDelta.computeIfAbsent(Math.toIntExact(delta), key -> new ArrayList<>()).add(id);
+            });
+
+            if (!idsByDelta.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status ->
+                        idsByDelta.forEach((delta, ids) -> flusher.add(ids, delta)));
+                long written = 0;
+                for (Map.Entry<String, Long> entry : sums.entrySet()) {
+                    Cell cell = cells.get(entry.getKey());
+                    written += entry.getValue() - cell.flushed;
+                    cell.flushed = entry.getValue();
+                }
+                flushedCounter.increment(written);
+                log.debug("Flushed {} increments of counter {} across {} rows", written, name, sums.size());
+            }
+
+            for (String id : idle) {
+                Cell cell = cells.get(id);
+                if (cell != null && cell.retireIfIdle()) {
+                    cells.remove(id, cell);
+                }
+            }
+
+            long now = System.nanoTime();
+            lastCounted.values().removeIf(until -> until - now <= 0);
+        }
+    }
+}
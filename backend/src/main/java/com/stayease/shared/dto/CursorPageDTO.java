@@ -0,0 +1,19 @@
+package com.stayease.shared.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPageDTO<T> {
+    private List<T> content;
+    private int size;
+    private boolean hasMore;
+    private String nextCursor;
+}
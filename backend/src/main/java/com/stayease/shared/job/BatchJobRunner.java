@@ -0,0 +1,127 @@
+package com.stayease.shared.job;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs {@link BatchStep}s in bounded chunks, one transaction per chunk, on a
+ * small pool of workers. Steps are expected to claim their rows with
+ * {@code FOR UPDATE SKIP LOCKED} so workers on this node and on other nodes
+ * never pick up the same rows.
+ */
+@Component
+@Slf4j
+public class BatchJobRunner {
+
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int chunkSize;
+    private final int workers;
+    private final int maxChunksPerRun;
+    private final ExecutorService executor;
+
+    private final Map<String, AtomicLong> backlogs = new ConcurrentHashMap<>();
+
+    public BatchJobRunner(
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.jobs.chunk-size:200}") int chunkSize,
+            @Value("${app.jobs.workers:2}") int workers,
+            @Value("${app.jobs.max-chunks-per-run:50}") int maxChunksPerRun) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.chunkSize = chunkSize;
+        this.workers = workers;
+        this.maxChunksPerRun = maxChunksPerRun;
+        this.executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "batch-job-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Drain a step with all workers and return how many rows were processed.
+     */
+    public long run(BatchStep step) {
+        backlogGauge(step.name()).set(step.backlog().getAsLong());
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        List<Future<Long>> futures = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            futures.add(executor.submit(() -> drain(step)));
+        }
+
+        long processed = 0;
+        for (Future<Long> future : futures) {
+            try {
+                processed += future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("Batch step {} failed", step.name(), e);
+            }
+        }
+        sample.stop(Timer.builder("stayease.jobs.run")
+                .tag("step", step.name())
+                .register(meterRegistry));
+
+        if (processed > 0) {
+            backlogGauge(step.name()).set(step.backlog().getAsLong());
+            log.info("Batch step {} processed {} rows", step.name(), processed);
+        }
+        return processed;
+    }
+
+    private long drain(BatchStep step) {
+        Counter counter = Counter.builder("stayease.jobs.processed")
+                .tag("step", step.name())
+                .register(meterRegistry);
+
+        long processed = 0;
+        for (int i = 0; i < maxChunksPerRun; i++) {
+            Integer claimed = transactionTemplate.execute(status -> step.chunk().applyAsInt(chunkSize));
+            int count = claimed != null ? claimed : 0;
+            processed += count;
+            counter.increment(count);
+            if (count < chunkSize) {
+                break;
+            }
+        }
+        return processed;
+    }
+
+    private AtomicLong backlogGauge(String name) {
+        return backlogs.computeIfAbsent(name, key -> {
+            AtomicLong value = new AtomicLong();
+            Gauge.builder("stayease.jobs.backlog", value, AtomicLong::get)
+                    .tag("step", key)
+                    .register(meterRegistry);
+            return value;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,15 @@
+package com.stayease.shared.job;
+
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongSupplier;
+
+/**
+ * One chunked unit of background work.
+ *
+ * @param name      metric tag and log name, e.g. "booking.check-in"
+ * @param chunk     claims and processes up to the given number of rows inside
+ *                  the caller's transaction and returns how many it processed
+ * @param backlog   counts rows still waiting for this step
+ */
+public record BatchStep(String name, IntUnaryOperator chunk, LongSupplier backlog) {
+}
@@ -45,6 +45,9 @@ public class ListingMapper {
                 .address(listing.getAddress())
                 .pricePerNight(listing.getPricePerNight())
                 .currency(listing.getCurrency())
+                .cleaningFee(listing.getCleaningFee())
+                .weeklyDiscountPercent(listing.getWeeklyDiscountPercent())
+                .monthlyDiscountPercent(listing.getMonthlyDiscountPercent())
                 .maxGuests(listing.getMaxGuests())
                 .bedrooms(listing.getBedrooms())
                 .beds(listing.getBeds())
@@ -81,6 +84,9 @@ public class ListingMapper {
                 .address(dto.getAddress())
                 .pricePerNight(dto.getPricePerNight())
                 .currency(dto.getCurrency())
+                .cleaningFee(dto.getCleaningFee())
+                .weeklyDiscountPercent(dto.getWeeklyDiscountPercent())
+                .monthlyDiscountPercent(dto.getMonthlyDiscountPercent())
                 .maxGuests(dto.getMaxGuests())
                 .bedrooms(dto.getBedrooms())
                 .beds(dto.getBeds())
@@ -132,6 +138,12 @@ public class ListingMapper {
             listing.setPricePerNight(dto.getPricePerNight());
         if (dto.getCurrency() != null)
             listing.setCurrency(dto.getCurrency());
+        if (dto.getCleaningFee() != null)
+            listing.setCleaningFee(dto.getCleaningFee());
+        if (dto.getWeeklyDiscountPercent() != null)
+            listing.setWeeklyDiscountPercent(dto.getWeeklyDiscountPercent());
+        if (dto.getMonthlyDiscountPercent() != null)
+            listing.setMonthlyDiscountPercent(dto.getMonthlyDiscountPercent());
         if (dto.getMaxGuests() != null)
             listing.setMaxGuests(dto.getMaxGuests());
         if (dto.getBedrooms() != null)
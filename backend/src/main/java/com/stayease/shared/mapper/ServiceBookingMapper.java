@@ -1,14 +1,23 @@
 package com.stayease.shared.mapper;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.stereotype.Component;
 
 import com.stayease.domain.serviceoffering.dto.ServiceBookingDTO;
 import com.stayease.domain.serviceoffering.entity.ServiceBooking;
-import com.stayease.domain.serviceoffering.entity.ServiceOffering;
+import com.stayease.domain.serviceoffering.repository.ServiceImageRepository;
 import com.stayease.domain.serviceoffering.repository.ServiceOfferingRepository;
+import com.stayease.domain.serviceoffering.repository.ServiceOfferingRepository.BookingServiceView;
 import com.stayease.domain.user.entity.User;
 import com.stayease.domain.user.repository.UserRepository;
 
@@ -22,6 +31,7 @@ import lombok.RequiredArgsConstructor;
 public class ServiceBookingMapper {
 
     private final ServiceOfferingRepository serviceOfferingRepository;
+    private final ServiceImageRepository serviceImageRepository;
     private final UserRepository userRepository;
 
     /**
@@ -31,31 +41,79 @@ public class ServiceBookingMapper {
         if (booking == null) {
             return null;
         }
+        return toDTOList(List.of(booking)).get(0);
+    }
 
-        // Fetch related entities for additional information
-        ServiceOffering service = serviceOfferingRepository
-                .findByPublicId(booking.getServicePublicId())
-                .orElse(null);
+    /**
+     * Convert list of ServiceBooking entities to list of ServiceBookingDTOs.
+     * Services, cover images and users for the whole list are loaded with one
+     * query each instead of per booking.
+     */
+    public List<ServiceBookingDTO> toDTOList(List<ServiceBooking> bookings) {
+        if (bookings == null) {
+            return null;
+        }
+        if (bookings.isEmpty()) {
+            return List.of();
+        }
 
-        User customer = null;
-        try {
-            customer = userRepository
-                .findByPublicId(java.util.UUID.fromString(booking.getCustomerPublicId()))
-                .orElse(null);
-        } catch (Exception e) {
-            // Invalid UUID, leave customer as null
+        Set<String> servicePublicIds = new HashSet<>();
+        Set<UUID> userPublicIds = new HashSet<>();
+        for (ServiceBooking booking : bookings) {
+            servicePublicIds.add(booking.getServicePublicId());
+            addUserId(userPublicIds, booking.getCustomerPublicId());
+            addUserId(userPublicIds, booking.getProviderPublicId());
         }
 
-        User provider = null;
+        Map<String, BookingServiceView> services = new HashMap<>();
+        for (BookingServiceView service : serviceOfferingRepository.findBookingViews(servicePublicIds)) {
+            services.put(service.getPublicId(), service);
+        }
+
+        Map<String, String> coverImages = new HashMap<>();
+        for (Object[] row : serviceImageRepository.findCoverImages(servicePublicIds)) {
+            coverImages.put((String) row[0], (String) row[1]);
+        }
+
+        Map<String, User> users = new HashMap<>();
+        if (!userPublicIds.isEmpty()) {
+            for (User user : userRepository.findByPublicIdIn(userPublicIds)) {
+                users.put(user.getPublicId().toString(), user);
+            }
+        }
+
+        List<ServiceBookingDTO> result = new ArrayList<>(bookings.size());
+        for (ServiceBooking booking : bookings) {
+            result.add(toDTO(booking,
+                    services.get(booking.getServicePublicId()),
+                    coverImages.get(booking.getServicePublicId()),
+                    users.get(booking.getCustomerPublicId()),
+                    users.get(booking.getProviderPublicId())));
+        }
+        return result;
+    }
+
+    /**
+     * Convert a page of ServiceBooking entities, resolving related data in bulk
+     */
+    public Page<ServiceBookingDTO> toDTOPage(Page<ServiceBooking> bookings) {
+        return new PageImpl<>(toDTOList(bookings.getContent()), bookings.getPageable(), bookings.getTotalElements());
+    }
+
+    private static void addUserId(Set<UUID> userPublicIds, String publicId) {
+        if (publicId == null) {
+            return;
+        }
         try {
-            provider = userRepository
-                .findByPublicId(java.util.UUID.fromString(booking.getProviderPublicId()))
-                .orElse(null);
-        } catch (Exception e) {
-            // Invalid UUID, leave provider as null
+            userPublicIds.add(UUID.fromString(publicId));
+        } catch (IllegalArgumentException e) {
+            // Invalid UUID, leave the user unresolved
         }
+    }
 
-        ServiceBookingDTO dto = ServiceBookingDTO.builder()
+    private ServiceBookingDTO toDTO(ServiceBooking booking, BookingServiceView service, String serviceImageUrl,
+                                    User customer, User provider) {
+        return ServiceBookingDTO.builder()
                 .publicId(booking.getPublicId())
                 .status(booking.getStatus())
                 .paymentStatus(booking.getPaymentStatus())
@@ -63,14 +121,8 @@ public class ServiceBookingMapper {
                 // Service info
                 .servicePublicId(booking.getServicePublicId())
                 .serviceTitle(service != null ? service.getTitle() : null)
-                .serviceCategory(service != null ? service.getCategory().name() : null)
-                .serviceImageUrl(service != null && !service.getImages().isEmpty() 
-                    ? service.getImages().stream()
-                        .filter(img -> img.getIsPrimary())
-                        .findFirst()
-                        .map(img -> img.getImageUrl())
-                        .orElse(service.getImages().get(0).getImageUrl())
-                    : null)
+                .serviceCategory(service != null && service.getCategory() != null ? service.getCategory().name() : null)
+                .serviceImageUrl(serviceImageUrl)
                 
                 // Customer info
                 .customerPublicId(booking.getCustomerPublicId())
@@ -91,6 +143,7 @@ public class ServiceBookingMapper {
                 .durationMinutes(booking.getDurationMinutes())
                 .numberOfPeople(booking.getNumberOfPeople())
                 .numberOfItems(booking.getNumberOfItems())
+                .seriesPublicId(booking.getSeriesPublicId())
                 
                 // Location
                 .serviceLocation(service != null ? service.getAddress() : null)
@@ -114,6 +167,7 @@ public class ServiceBookingMapper {
                 .rejectionReason(booking.getRejectionReason())
                 .cancelledAt(booking.getCancelledAt())
                 .cancellationReason(booking.getCancellationReason())
+                .cancelledBy(booking.getCancelledBy())
                 .paidAt(booking.getPaidAt())
                 .serviceStartedAt(booking.getServiceStartedAt())
                 .serviceCompletedAt(booking.getServiceCompletedAt())
@@ -137,21 +191,6 @@ public class ServiceBookingMapper {
                 .statusDisplay(getStatusDisplay(booking.getStatus()))
                 
                 .build();
-
-        return dto;
-    }
-
-    /**
-     * Convert list of ServiceBooking entities to list of ServiceBookingDTOs
-     */
-    public List<ServiceBookingDTO> toDTOList(List<ServiceBooking> bookings) {
-        if (bookings == null) {
-            return null;
-        }
-
-        return bookings.stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
     }
 
     /**
@@ -12,6 +12,7 @@ import com.stayease.domain.serviceoffering.dto.ServiceOfferingDTO;
 import com.stayease.domain.serviceoffering.entity.ServiceImage;
 import com.stayease.domain.serviceoffering.entity.ServiceOffering;
 import com.stayease.shared.service.FileStorageService;
+import com.stayease.shared.util.DayMaskUtil;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -64,6 +65,7 @@ public class ServiceOfferingMapper {
                 // Capacity
                 .minCapacity(service.getMinCapacity())
                 .maxCapacity(service.getMaxCapacity())
+                .isGroupBooking(service.getIsGroupBooking())
                 // Duration
                 .durationMinutes(service.getDurationMinutes())
                 .minBookingHours(service.getMinBookingHours())
@@ -142,6 +144,7 @@ public class ServiceOfferingMapper {
                 // Capacity
                 .minCapacity(dto.getMinCapacity())
                 .maxCapacity(dto.getMaxCapacity())
+                .isGroupBooking(dto.getIsGroupBooking() != null ? dto.getIsGroupBooking() : false)
                 // Duration
                 .durationMinutes(dto.getDurationMinutes())
                 .minBookingHours(dto.getMinBookingHours())
@@ -149,7 +152,7 @@ public class ServiceOfferingMapper {
                 .isInstantBooking(dto.getIsInstantBooking() != null ? dto.getIsInstantBooking() : false)
                 .availableFrom(dto.getAvailableFrom())
                 .availableTo(dto.getAvailableTo())
-                .availableDays(dto.getAvailableDays())
+                .availableDaysMask(DayMaskUtil.toMask(dto.getAvailableDays()))
                 // Location
                 .city(dto.getCity())
                 .country(dto.getCountry())
@@ -235,6 +238,7 @@ public class ServiceOfferingMapper {
         // Capacity
         if (dto.getMinCapacity() != null) service.setMinCapacity(dto.getMinCapacity());
         if (dto.getMaxCapacity() != null) service.setMaxCapacity(dto.getMaxCapacity());
+        if (dto.getIsGroupBooking() != null) service.setIsGroupBooking(dto.getIsGroupBooking());
         
         // Duration
         if (dto.getDurationMinutes() != null) service.setDurationMinutes(dto.getDurationMinutes());
@@ -0,0 +1,42 @@
+package com.stayease.shared.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+import com.stayease.exception.BadRequestException;
+
+/**
+ * Opaque cursors for keyset pagination ordered by {@code (createdAt, id)}.
+ * Clients only ever echo back the {@code nextCursor} they were given.
+ */
+public final class CursorUtil {
+
+    private CursorUtil() {
+        // Utility class
+    }
+
+    public record Cursor(Instant createdAt, long id) {
+    }
+
+    public static String encode(Instant createdAt, long id) {
+        String raw = createdAt.toString() + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns null for a missing cursor (first page).
+     */
+    public static Cursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new Cursor(Instant.parse(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
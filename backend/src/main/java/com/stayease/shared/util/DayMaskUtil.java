@@ -0,0 +1,84 @@
+package com.stayease.shared.util;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Weekly availability stored as a 7-bit mask, Monday in bit 0 through Sunday
+ * in bit 6. A mask of 0 means no days were configured, which callers treat as
+ * available every day.
+ */
+public final class DayMaskUtil {
+
+    public static final int ALL_DAYS = 0b111_1111;
+
+    private DayMaskUtil() {
+        // Utility class
+    }
+
+    public static int bit(DayOfWeek day) {
+        return 1 << (day.getValue() - 1);
+    }
+
+    /**
+     * Mask for day names such as "MONDAY"; unknown names are ignored.
+     */
+    public static int toMask(Collection<String> days) {
+        int mask = 0;
+        if (days == null) {
+            return mask;
+        }
+        for (String day : days) {
+            if (day == null || day.isBlank()) {
+                continue;
+            }
+            try {
+                mask |= bit(DayOfWeek.valueOf(day.trim().toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                // Not a day name
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Day names in the mask, Monday first.
+     */
+    public static List<String> toDays(Integer mask) {
+        List<String> days = new ArrayList<>();
+        if (mask == null) {
+            return days;
+        }
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if ((mask & bit(day)) != 0) {
+                days.add(day.name());
+            }
+        }
+        return days;
+    }
+
+    /**
+     * Whether the day is available, counting an empty mask as every day.
+     */
+    public static boolean includes(Integer mask, DayOfWeek day) {
+        return mask == null || mask == 0 || (mask & bit(day)) != 0;
+    }
+
+    /**
+     * Every stored mask value that makes {@code day} available, so a filter
+     * can be an index-friendly {@code IN} list instead of a bit test.
+     */
+    public static List<Integer> masksIncluding(DayOfWeek day) {
+        int bit = bit(day);
+        List<Integer> masks = new ArrayList<>(65);
+        masks.add(0);
+        for (int mask = 1; mask <= ALL_DAYS; mask++) {
+            if ((mask & bit) != 0) {
+                masks.add(mask);
+            }
+        }
+        return masks;
+    }
+}
@@ -0,0 +1,38 @@
+package com.stayease.shared.util;
+
+/**
+ * Great-circle distance helpers for coordinates in decimal degrees.
+ */
+public final class GeoUtil {
+
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+    public static final double KM_PER_DEGREE_LAT = Math.PI * EARTH_RADIUS_KM / 180.0;
+
+    private GeoUtil() {
+        // Utility class
+    }
+
+    /**
+     * Haversine distance between two points in kilometres.
+     */
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    /**
+     * Degrees of longitude spanned by {@code km} at a given latitude, or 360
+     * near the poles where a circle wraps every meridian.
+     */
+    public static double kmToLonDegrees(double km, double latitude) {
+        double cos = Math.cos(Math.toRadians(latitude));
+        if (cos < 1e-6) {
+            return 360.0;
+        }
+        return Math.min(360.0, km / (KM_PER_DEGREE_LAT * cos));
+    }
+}
@@ -0,0 +1,28 @@
+package com.stayease.shared.util;
+
+/**
+ * Escaping for user text placed in a SQL {@code LIKE} pattern. Patterns built
+ * here must be passed to {@code LIKE} together with {@link #ESCAPE}.
+ */
+public final class LikeUtil {
+
+    public static final char ESCAPE = '\\';
+
+    private LikeUtil() {
+        // Utility class
+    }
+
+    /**
+     * {@code value} with {@code %}, {@code _} and the escape character matched literally.
+     */
+    public static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Pattern matching {@code value} anywhere in the text.
+     */
+    public static String contains(String value) {
+        return "%" + escape(value) + "%";
+    }
+}
@@ -1,5 +1,48 @@
 package com.stayease.shared.util;
 
-public class PriceUtil {
-    
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Money helpers for pricing code that works in minor units (cents) and basis
+ * points instead of allocating BigDecimal intermediates on every calculation.
+ */
+public final class PriceUtil {
+
+    public static final long BASIS_POINTS = 10_000L;
+
+    private PriceUtil() {
+        // Utility class
+    }
+
+    public static long toCents(BigDecimal amount) {
+        if (amount == null) {
+            return 0L;
+        }
+        return amount.setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact();
+    }
+
+    public static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    /**
+     * Converts a percentage such as 12.5 into basis points (1250).
+     */
+    public static int percentToBasisPoints(BigDecimal percent) {
+        if (percent == null) {
+            return 0;
+        }
+        return percent.movePointRight(2).setScale(0, RoundingMode.HALF_UP).intValueExact();
+    }
+
+    /**
+     * Applies a basis-point rate to a non-negative cent amount, rounding half up.
+     */
+    public static long applyBasisPoints(long cents, int basisPoints) {
+        if (cents == 0 || basisPoints == 0) {
+            return 0L;
+        }
+        return (cents * basisPoints + BASIS_POINTS / 2) / BASIS_POINTS;
+    }
 }
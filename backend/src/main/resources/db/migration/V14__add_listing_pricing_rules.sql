@@ -0,0 +1,10 @@
+-- V14__add_listing_pricing_rules.sql
+
+-- Per-listing pricing rules used by the stay quote engine
+ALTER TABLE listing ADD COLUMN cleaning_fee DECIMAL(12, 2);
+ALTER TABLE listing ADD COLUMN weekly_discount_percent DECIMAL(5, 2);
+ALTER TABLE listing ADD COLUMN monthly_discount_percent DECIMAL(5, 2);
+
+COMMENT ON COLUMN listing.cleaning_fee IS 'Flat fee charged once per stay';
+COMMENT ON COLUMN listing.weekly_discount_percent IS 'Length-of-stay discount for stays of 7 or more nights';
+COMMENT ON COLUMN listing.monthly_discount_percent IS 'Length-of-stay discount for stays of 28 or more nights';
@@ -0,0 +1,6 @@
+-- V15__add_booking_lifecycle_indexes.sql
+
+-- Lifecycle job claims filter by status first, then by date
+CREATE INDEX idx_booking_status_check_in ON booking(booking_status, check_in_date);
+CREATE INDEX idx_booking_status_check_out ON booking(booking_status, check_out_date);
+CREATE INDEX idx_booking_status_created ON booking(booking_status, created_at);
@@ -0,0 +1,4 @@
+-- V16__add_landlord_inbox_index.sql
+
+-- Landlord inbox: per-listing scans in (created_at, id) order for keyset pagination
+CREATE INDEX idx_booking_listing_created ON booking(listing_public_id, created_at DESC, id DESC);
@@ -0,0 +1,38 @@
+-- V17__create_listing_calendar_tables.sql
+
+-- External iCal feeds (other platforms) imported into listing availability
+CREATE TABLE listing_calendar_feed (
+    id BIGSERIAL PRIMARY KEY,
+    public_id UUID NOT NULL UNIQUE,
+    listing_public_id UUID NOT NULL,
+    name VARCHAR(100),
+    url VARCHAR(2000) NOT NULL,
+    etag VARCHAR(255),
+    last_synced_at TIMESTAMP,
+    last_error VARCHAR(500),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_calendar_feed_listing FOREIGN KEY (listing_public_id) REFERENCES listing(public_id) ON DELETE CASCADE
+);
+
+-- Dates blocked by an imported feed; allocated in blocks of 50 so imports can batch inserts
+CREATE SEQUENCE listing_blocked_range_seq INCREMENT BY 50;
+
+CREATE TABLE listing_blocked_range (
+    id BIGINT PRIMARY KEY DEFAULT nextval('listing_blocked_range_seq'),
+    listing_public_id UUID NOT NULL,
+    feed_id BIGINT NOT NULL,
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    external_uid VARCHAR(500),
+    summary VARCHAR(255),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_blocked_range_listing FOREIGN KEY (listing_public_id) REFERENCES listing(public_id) ON DELETE CASCADE,
+    CONSTRAINT fk_blocked_range_feed FOREIGN KEY (feed_id) REFERENCES listing_calendar_feed(id) ON DELETE CASCADE,
+    CONSTRAINT chk_blocked_range_dates CHECK (end_date > start_date)
+);
+
+CREATE INDEX idx_calendar_feed_listing ON listing_calendar_feed(listing_public_id);
+CREATE INDEX idx_calendar_feed_synced ON listing_calendar_feed(last_synced_at);
+CREATE INDEX idx_blocked_range_listing_dates ON listing_blocked_range(listing_public_id, start_date, end_date);
+CREATE INDEX idx_blocked_range_feed ON listing_blocked_range(feed_id);
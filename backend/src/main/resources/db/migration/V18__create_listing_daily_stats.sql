@@ -0,0 +1,42 @@
+-- V18__create_listing_daily_stats.sql
+
+-- Per-listing, per-night aggregates maintained incrementally on booking state changes.
+-- Nightly values are keyed by the stayed night; arrivals, lead time and cancellations
+-- by the booking's check-in date.
+CREATE TABLE listing_daily_stats (
+    listing_public_id UUID NOT NULL,
+    stat_date DATE NOT NULL,
+    booked_nights INT NOT NULL DEFAULT 0,
+    revenue_cents BIGINT NOT NULL DEFAULT 0,
+    arrivals INT NOT NULL DEFAULT 0,
+    lead_time_days BIGINT NOT NULL DEFAULT 0,
+    cancellations INT NOT NULL DEFAULT 0,
+    PRIMARY KEY (listing_public_id, stat_date),
+    CONSTRAINT fk_daily_stats_listing FOREIGN KEY (listing_public_id) REFERENCES listing(public_id) ON DELETE CASCADE
+);
+
+-- Backfill from existing bookings
+INSERT INTO listing_daily_stats (listing_public_id, stat_date, booked_nights, revenue_cents, arrivals, lead_time_days)
+SELECT b.listing_public_id,
+       n.night::date,
+       SUM(1),
+       SUM((ROUND(b.total_price * 100)::BIGINT / b.number_of_nights)
+           + CASE WHEN n.night::date = b.check_in_date
+                  THEN ROUND(b.total_price * 100)::BIGINT % b.number_of_nights ELSE 0 END),
+       SUM(CASE WHEN n.night::date = b.check_in_date THEN 1 ELSE 0 END),
+       SUM(CASE WHEN n.night::date = b.check_in_date
+                THEN GREATEST(b.check_in_date - b.created_at::date, 0) ELSE 0 END)
+FROM booking b
+CROSS JOIN LATERAL generate_series(b.check_in_date, b.check_out_date - 1, INTERVAL '1 day') AS n(night)
+WHERE b.booking_status IN ('CONFIRMED', 'CHECKED_IN', 'CHECKED_OUT')
+GROUP BY b.listing_public_id, n.night::date;
+
+INSERT INTO listing_daily_stats (listing_public_id, stat_date, cancellations)
+SELECT b.listing_public_id, b.check_in_date, COUNT(*)
+FROM booking b
+WHERE b.booking_status = 'CANCELLED'
+GROUP BY b.listing_public_id, b.check_in_date
+ON CONFLICT (listing_public_id, stat_date)
+DO UPDATE SET cancellations = listing_daily_stats.cancellations + EXCLUDED.cancellations;
+
+COMMENT ON TABLE listing_daily_stats IS 'Incremental per-listing daily occupancy and revenue aggregates';
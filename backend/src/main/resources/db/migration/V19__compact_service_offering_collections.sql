@@ -0,0 +1,72 @@
+-- V19__compact_service_offering_collections.sql
+
+-- Folds the service offering element-collection tables into the row itself:
+-- available days become a 7-bit mask (Monday = bit 0 ... Sunday = bit 6, 0 = every day),
+-- languages and amenities become jsonb arrays with GIN indexes for containment filters.
+-- service_offerings is created by Hibernate, so every step is skipped when it is absent.
+DO $$
+BEGIN
+    IF to_regclass('service_offerings') IS NULL THEN
+        RETURN;
+    END IF;
+
+    ALTER TABLE service_offerings
+        ADD COLUMN IF NOT EXISTS available_days_mask INTEGER NOT NULL DEFAULT 0,
+        ADD COLUMN IF NOT EXISTS languages JSONB DEFAULT '[]'::jsonb,
+        ADD COLUMN IF NOT EXISTS amenities JSONB DEFAULT '[]'::jsonb;
+
+    IF to_regclass('service_available_days') IS NOT NULL THEN
+        UPDATE service_offerings s
+        SET available_days_mask = d.mask
+        FROM (
+            SELECT service_id,
+                   bit_or(CASE upper(trim(day_of_week))
+                              WHEN 'MONDAY' THEN 1
+                              WHEN 'TUESDAY' THEN 2
+                              WHEN 'WEDNESDAY' THEN 4
+                              WHEN 'THURSDAY' THEN 8
+                              WHEN 'FRIDAY' THEN 16
+                              WHEN 'SATURDAY' THEN 32
+                              WHEN 'SUNDAY' THEN 64
+                              ELSE 0 END) AS mask
+            FROM service_available_days
+            GROUP BY service_id
+        ) d
+        WHERE d.service_id = s.id;
+
+        DROP TABLE service_available_days;
+    END IF;
+
+    IF to_regclass('service_languages') IS NOT NULL THEN
+        UPDATE service_offerings s
+        SET languages = l.items
+        FROM (
+            SELECT service_id, jsonb_agg(language) AS items
+            FROM service_languages
+            WHERE language IS NOT NULL
+            GROUP BY service_id
+        ) l
+        WHERE l.service_id = s.id;
+
+        DROP TABLE service_languages;
+    END IF;
+
+    IF to_regclass('service_amenities') IS NOT NULL THEN
+        UPDATE service_offerings s
+        SET amenities = a.items
+        FROM (
+            SELECT service_id, jsonb_agg(amenity) AS items
+            FROM service_amenities
+            WHERE amenity IS NOT NULL
+            GROUP BY service_id
+        ) a
+        WHERE a.service_id = s.id;
+
+        DROP TABLE service_amenities;
+    END IF;
+
+    CREATE INDEX IF NOT EXISTS idx_service_available_days ON service_offerings(available_days_mask);
+    CREATE INDEX IF NOT EXISTS idx_service_languages ON service_offerings USING GIN (languages jsonb_path_ops);
+    CREATE INDEX IF NOT EXISTS idx_service_amenities ON service_offerings USING GIN (amenities jsonb_path_ops);
+END
+$$;
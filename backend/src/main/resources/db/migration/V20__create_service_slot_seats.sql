@@ -0,0 +1,23 @@
+-- V20__create_service_slot_seats.sql
+
+-- Seats taken per slot of a group-booking service. Changed only by conditional
+-- upserts that never let reserved_seats pass the service's capacity.
+CREATE TABLE service_slot_seats (
+    service_public_id VARCHAR(255) NOT NULL,
+    slot_date DATE NOT NULL,
+    start_time TIME NOT NULL,
+    reserved_seats INT NOT NULL DEFAULT 0,
+    PRIMARY KEY (service_public_id, slot_date, start_time),
+    CONSTRAINT chk_slot_seats_non_negative CHECK (reserved_seats >= 0)
+);
+
+-- Group-booking flag on service offerings (Hibernate-managed table)
+DO $$
+BEGIN
+    IF to_regclass('service_offerings') IS NOT NULL THEN
+        ALTER TABLE service_offerings ADD COLUMN IF NOT EXISTS is_group_booking BOOLEAN DEFAULT FALSE;
+    END IF;
+END
+$$;
+
+COMMENT ON TABLE service_slot_seats IS 'Reserved seats per group-booking service slot';
@@ -0,0 +1,47 @@
+-- V21__create_service_booking_series.sql
+
+-- Recurring service bookings. Occurrences are ordinary service_bookings rows
+-- linked by series_public_id, created a rolling window ahead by the series job.
+CREATE SEQUENCE IF NOT EXISTS service_booking_series_sequence START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE service_booking_series (
+    id BIGINT PRIMARY KEY DEFAULT nextval('service_booking_series_sequence'),
+    public_id VARCHAR(255) NOT NULL UNIQUE,
+    status VARCHAR(20) NOT NULL DEFAULT 'ACTIVE',
+    service_public_id VARCHAR(255) NOT NULL,
+    customer_public_id VARCHAR(255) NOT NULL,
+    provider_public_id VARCHAR(255) NOT NULL,
+    recurrence_rule VARCHAR(255) NOT NULL,
+    start_date DATE NOT NULL,
+    start_time TIME NOT NULL,
+    end_time TIME NOT NULL,
+    number_of_people INT NOT NULL DEFAULT 1,
+    customer_address VARCHAR(255),
+    special_requests TEXT,
+    customer_phone VARCHAR(255),
+    customer_email VARCHAR(255),
+    generated_until DATE NOT NULL,
+    day_offset INT NOT NULL DEFAULT 0,
+    occurrences_created INT NOT NULL DEFAULT 0,
+    occurrences_skipped INT NOT NULL DEFAULT 0,
+    cancelled_at TIMESTAMP,
+    cancellation_reason VARCHAR(255),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_booking_series_public_id ON service_booking_series(public_id);
+CREATE INDEX idx_booking_series_customer ON service_booking_series(customer_public_id);
+CREATE INDEX idx_booking_series_due ON service_booking_series(status, generated_until);
+
+-- Occurrence link on service bookings (Hibernate-managed table)
+DO $$
+BEGIN
+    IF to_regclass('service_bookings') IS NOT NULL THEN
+        ALTER TABLE service_bookings ADD COLUMN IF NOT EXISTS series_public_id VARCHAR(255);
+        CREATE INDEX IF NOT EXISTS idx_service_booking_series ON service_bookings(series_public_id, booking_date);
+    END IF;
+END
+$$;
+
+COMMENT ON TABLE service_booking_series IS 'Recurring service bookings materialized a rolling window ahead';
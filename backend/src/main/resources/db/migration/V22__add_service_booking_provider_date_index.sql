@@ -0,0 +1,13 @@
+-- V22__add_service_booking_provider_date_index.sql
+
+-- Backs the provider calendar, which reads every booking of a provider in a
+-- date window with one range scan. service_bookings is created by Hibernate,
+-- so the index is skipped when the table is absent.
+DO $$
+BEGIN
+    IF to_regclass('service_bookings') IS NOT NULL THEN
+        CREATE INDEX IF NOT EXISTS idx_service_booking_provider_date
+            ON service_bookings(provider_public_id, booking_date);
+    END IF;
+END
+$$;
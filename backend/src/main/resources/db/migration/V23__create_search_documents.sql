@@ -0,0 +1,30 @@
+-- V23__create_search_documents.sql
+
+-- Shared search index over stays and service offerings. Rows are denormalized
+-- copies kept current by the application on every listing or service change and
+-- by a periodic rebuild; the rebuild also fills the table on first start.
+CREATE TABLE search_documents (
+    doc_type VARCHAR(16) NOT NULL,
+    public_id VARCHAR(64) NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    category VARCHAR(100),
+    city VARCHAR(100),
+    country VARCHAR(100),
+    latitude DOUBLE PRECISION,
+    longitude DOUBLE PRECISION,
+    price DECIMAL(12, 2) NOT NULL,
+    price_unit VARCHAR(20) NOT NULL,
+    currency VARCHAR(10),
+    rating DOUBLE PRECISION NOT NULL DEFAULT 0,
+    review_count INT NOT NULL DEFAULT 0,
+    image_url VARCHAR(1000),
+    search_text TEXT NOT NULL,
+    indexed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (doc_type, public_id)
+);
+
+CREATE INDEX idx_search_doc_city ON search_documents(doc_type, city);
+CREATE INDEX idx_search_doc_price ON search_documents(doc_type, price);
+CREATE INDEX idx_search_doc_rating ON search_documents(doc_type, rating);
+CREATE INDEX idx_search_doc_geo ON search_documents(doc_type, latitude, longitude);
+CREATE INDEX idx_search_doc_indexed ON search_documents(doc_type, indexed_at);
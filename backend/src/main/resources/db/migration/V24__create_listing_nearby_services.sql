@@ -0,0 +1,13 @@
+-- V24__create_listing_nearby_services.sql
+
+-- Precomputed services within reach of each active listing. Maintained by the
+-- application whenever a listing or service changes, and by a periodic rebuild
+-- that also fills the table on first start.
+CREATE TABLE listing_nearby_services (
+    listing_public_id UUID NOT NULL,
+    service_public_id VARCHAR(64) NOT NULL,
+    distance_km DOUBLE PRECISION NOT NULL,
+    PRIMARY KEY (listing_public_id, service_public_id)
+);
+
+CREATE INDEX idx_nearby_service ON listing_nearby_services(service_public_id);
@@ -0,0 +1,34 @@
+-- V25__create_listing_rating_summary.sql
+
+-- Running totals of each listing's published reviews. Updated by the
+-- application as reviews are published, hidden or deleted, and recomputed by a
+-- periodic rebuild that also fills the table on first start.
+CREATE TABLE listing_rating_summary (
+    listing_public_id VARCHAR(255) PRIMARY KEY,
+    review_count BIGINT NOT NULL DEFAULT 0,
+    rating_sum DOUBLE PRECISION NOT NULL DEFAULT 0,
+    cleanliness_sum DOUBLE PRECISION NOT NULL DEFAULT 0,
+    cleanliness_count BIGINT NOT NULL DEFAULT 0,
+    accuracy_sum DOUBLE PRECISION NOT NULL DEFAULT 0,
+    accuracy_count BIGINT NOT NULL DEFAULT 0,
+    check_in_sum DOUBLE PRECISION NOT NULL DEFAULT 0,
+    check_in_count BIGINT NOT NULL DEFAULT 0,
+    communication_sum DOUBLE PRECISION NOT NULL DEFAULT 0,
+    communication_count BIGINT NOT NULL DEFAULT 0,
+    location_sum DOUBLE PRECISION NOT NULL DEFAULT 0,
+    location_count BIGINT NOT NULL DEFAULT 0,
+    value_sum DOUBLE PRECISION NOT NULL DEFAULT 0,
+    value_count BIGINT NOT NULL DEFAULT 0,
+    five_star_count BIGINT NOT NULL DEFAULT 0,
+    four_star_count BIGINT NOT NULL DEFAULT 0,
+    three_star_count BIGINT NOT NULL DEFAULT 0,
+    two_star_count BIGINT NOT NULL DEFAULT 0,
+    one_star_count BIGINT NOT NULL DEFAULT 0,
+    recommend_count BIGINT NOT NULL DEFAULT 0,
+    reviews_last_month BIGINT NOT NULL DEFAULT 0,
+    reviews_last_year BIGINT NOT NULL DEFAULT 0,
+    recent_as_of TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_rating_summary_recent_as_of ON listing_rating_summary(recent_as_of);
@@ -0,0 +1,23 @@
+-- V26__add_review_helpfulness_score.sql
+
+-- "Most helpful" ordering key for reviews (Hibernate-managed table). Kept in
+-- step by the helpfulness counter flush; same formula as
+-- ReviewRepository.HELPFULNESS_SCORE.
+DO $$
+BEGIN
+    IF to_regclass('reviews') IS NOT NULL THEN
+        ALTER TABLE reviews ADD COLUMN IF NOT EXISTS helpfulness_score DOUBLE PRECISION NOT NULL DEFAULT 0;
+
+        UPDATE reviews r SET helpfulness_score =
+            (CASE WHEN r.helpful_count + r.not_helpful_count <= 0 THEN 0 ELSE
+                (r.helpful_count + 1.9208 - 1.96 * SQRT(1.0 * r.helpful_count * r.not_helpful_count
+                    / (r.helpful_count + r.not_helpful_count) + 0.9604))
+                / (r.helpful_count + r.not_helpful_count + 3.8416) END)
+            + (CASE WHEN r.is_verified_stay THEN 0.1 ELSE 0 END)
+            + EXTRACT(EPOCH FROM r.created_at) / 63072000.0;
+
+        CREATE INDEX IF NOT EXISTS idx_review_listing_helpful
+            ON reviews(listing_public_id, status, helpfulness_score);
+    END IF;
+END
+$$;
@@ -0,0 +1,11 @@
+-- V27__add_review_moderation_matches.sql
+
+-- Terms the moderation pre-filter found in a review's text (Hibernate-managed
+-- table). Set when the review is auto-flagged, cleared once an edit is clean.
+DO $$
+BEGIN
+    IF to_regclass('reviews') IS NOT NULL THEN
+        ALTER TABLE reviews ADD COLUMN IF NOT EXISTS moderation_matches TEXT;
+    END IF;
+END
+$$;
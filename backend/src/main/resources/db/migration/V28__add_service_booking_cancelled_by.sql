@@ -0,0 +1,20 @@
+-- V28__add_service_booking_cancelled_by.sql
+
+-- Who cancelled a service booking (Hibernate-managed table). Only customer
+-- cancellations keep the service fee on refund. Existing rows are backfilled
+-- from the lifecycle job's expiry reason; every other cancellation so far was
+-- the customer's.
+DO $$
+BEGIN
+    IF to_regclass('service_bookings') IS NOT NULL THEN
+        ALTER TABLE service_bookings ADD COLUMN IF NOT EXISTS cancelled_by VARCHAR(255);
+
+        UPDATE service_bookings
+        SET cancelled_by = CASE
+                WHEN cancellation_reason = 'Booking request expired without provider confirmation' THEN 'SYSTEM'
+                ELSE 'CUSTOMER'
+            END
+        WHERE cancelled_at IS NOT NULL AND cancelled_by IS NULL;
+    END IF;
+END
+$$;
@@ -0,0 +1,13 @@
+-- V29__raise_service_booking_sequence_increment.sql
+
+-- ServiceBooking ids are allocated 50 at a time so the series job's saveAll
+-- goes out as JDBC insert batches instead of one nextval round trip per row.
+-- The sequence is created by Hibernate; its increment must match the
+-- entity's allocationSize. The next block starts past every id handed out.
+DO $$
+BEGIN
+    IF to_regclass('service_booking_sequence') IS NOT NULL THEN
+        ALTER SEQUENCE service_booking_sequence INCREMENT BY 50;
+    END IF;
+END
+$$;
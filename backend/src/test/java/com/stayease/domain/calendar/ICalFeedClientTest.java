@@ -0,0 +1,184 @@
+package com.stayease.domain.calendar;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.stayease.domain.calendar.service.ICalFeedClient;
+import com.stayease.domain.calendar.service.ICalParser;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Runs the feed client against a local stand-in for a channel's iCal endpoint.
+ */
+class ICalFeedClientTest {
+
+    private static final String FEED_ETAG = "\"feed-v1\"";
+
+    private static final String FEED = String.join("\r\n",
+            "BEGIN:VCALENDAR",
+            "VERSION:2.0",
+            "PRODID:-//Other Channel//EN",
+            "BEGIN:VEVENT",
+            "UID:reservation-1@other",
+            "DTSTART;VALUE=DATE:20300105",
+            "DTEND;VALUE=DATE:20300108",
+            "SUMMARY:Reserved",
+            "BEGIN:VALARM",
+            "DTSTART:20300101T000000Z",
+            "END:VALARM",
+            "END:VEVENT",
+            "BEGIN:VEVENT",
+            "UID:reservation-2-with-a-very-long-identifier-that-the-channel-",
+            " folded@other",
+            "DTSTART:20300110T150000Z",
+            "DTEND:20300112T110000Z",
+            "SUMMARY:Not available\\, owner stay",
+            "END:VEVENT",
+            "BEGIN:VEVENT",
+            "UID:reservation-3@other",
+            "DTSTART;VALUE=DATE:20300120",
+            "DTEND;VALUE=DATE:20300122",
+            "STATUS:CANCELLED",
+            "END:VEVENT",
+            "BEGIN:VEVENT",
+            "UID:reservation-4@other",
+            "DTSTART;VALUE=DATE:20300201",
+            "END:VEVENT",
+            "END:VCALENDAR",
+            "");
+
+    private HttpServer server;
+    private String baseUrl;
+    private ICalFeedClient client;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/feed.ics", exchange -> {
+            if (FEED_ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.getResponseHeaders().add("ETag", FEED_ETAG);
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            byte[] body = FEED.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "text/calendar; charset=utf-8");
+            exchange.getResponseHeaders().add("ETag", FEED_ETAG);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.createContext("/moved.ics", exchange -> {
+            exchange.getResponseHeaders().add("Location", "/feed.ics");
+            exchange.sendResponseHeaders(302, -1);
+            exchange.close();
+        });
+        server.createContext("/to-file.ics", exchange -> {
+            exchange.getResponseHeaders().add("Location", "file:///etc/passwd");
+            exchange.sendResponseHeaders(302, -1);
+            exchange.close();
+        });
+        server.createContext("/missing.ics", exchange -> {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        server.start();
+
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        // The stand-in listens on loopback, which production clients refuse
+        client = new ICalFeedClient(Duration.ofSeconds(5), true);
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void streamsEventsAsBlockedRanges() throws Exception {
+        List<ICalParser.Event> events = new ArrayList<>();
+
+        ICalFeedClient.Result result = client.fetch(baseUrl + "/feed.ics", null, events::add);
+
+        assertThat(result.notModified()).isFalse();
+        assertThat(result.etag()).isEqualTo(FEED_ETAG);
+        assertThat(result.events()).isEqualTo(3);
+        assertThat(events).containsExactly(
+                new ICalParser.Event("reservation-1@other",
+                        LocalDate.of(2030, 1, 5), LocalDate.of(2030, 1, 8), "Reserved"),
+                new ICalParser.Event("reservation-2-with-a-very-long-identifier-that-the-channel-folded@other",
+                        LocalDate.of(2030, 1, 10), LocalDate.of(2030, 1, 12), "Not available, owner stay"),
+                new ICalParser.Event("reservation-4@other",
+                        LocalDate.of(2030, 2, 1), LocalDate.of(2030, 2, 2), null));
+    }
+
+    @Test
+    void returnsNotModifiedWhenETagMatches() throws Exception {
+        List<ICalParser.Event> events = new ArrayList<>();
+
+        ICalFeedClient.Result result = client.fetch(baseUrl + "/feed.ics", FEED_ETAG, events::add);
+
+        assertThat(result.notModified()).isTrue();
+        assertThat(result.etag()).isEqualTo(FEED_ETAG);
+        assertThat(events).isEmpty();
+    }
+
+    @Test
+    void failsOnErrorStatus() {
+        assertThatThrownBy(() -> client.fetch(baseUrl + "/missing.ics", null, event -> {
+        }))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("404");
+    }
+
+    @Test
+    void followsRedirects() throws Exception {
+        List<ICalParser.Event> events = new ArrayList<>();
+
+        ICalFeedClient.Result result = client.fetch(baseUrl + "/moved.ics", null, events::add);
+
+        assertThat(result.events()).isEqualTo(3);
+        assertThat(events).hasSize(3);
+    }
+
+    @Test
+    void refusesRedirectsToOtherSchemes() {
+        assertThatThrownBy(() -> client.fetch(baseUrl + "/to-file.ics", null, event -> {
+        }))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("http(s)");
+    }
+
+    @Test
+    void refusesPrivateAddressesByDefault() {
+        ICalFeedClient publicOnly = new ICalFeedClient(Duration.ofSeconds(5), false);
+
+        assertThatThrownBy(() -> publicOnly.fetch(baseUrl + "/feed.ics", null, event -> {
+        }))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("not a public address");
+        assertThatThrownBy(() -> publicOnly.checkAllowed(URI.create("http://169.254.169.254/latest/meta-data")))
+                .isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> publicOnly.checkAllowed(URI.create("http://10.0.0.5/cal.ics")))
+                .isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> publicOnly.checkAllowed(URI.create("http://[::ffff:192.168.1.1]/cal.ics")))
+                .isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> publicOnly.checkAllowed(URI.create("http://[fd00::1]/cal.ics")))
+                .isInstanceOf(IOException.class);
+    }
+}
@@ -0,0 +1,99 @@
+package com.stayease.domain.review;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import com.stayease.domain.review.service.ReviewModerationFilter;
+
+/**
+ * Scans review text against a term list written to a temporary file, which
+ * stands in for the configured {@code terms-location}.
+ */
+class ReviewModerationFilterTest {
+
+    @TempDir
+    Path dir;
+
+    private Path terms;
+    private ReviewModerationFilter filter;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        terms = dir.resolve("review-terms.txt");
+        writeTerms(Instant.parse("2030-01-01T00:00:00Z"),
+                "# off-platform contact",
+                "WhatsApp me",
+                "wire transfer",
+                "",
+                "cash app",
+                "app");
+        filter = new ReviewModerationFilter(new DefaultResourceLoader(), "file:" + terms);
+        filter.reload();
+    }
+
+    @Test
+    void findsTermsCaseInsensitivelyAcrossWhitespace() {
+        assertThat(filter.scan("Lovely flat! Next time just WHATSAPP\n  me and pay by Wire Transfer."))
+                .containsExactly("whatsapp me", "wire transfer");
+    }
+
+    @Test
+    void reportsOverlappingTerms() {
+        assertThat(filter.scan("Host asked for a deposit via cash app"))
+                .containsExactlyInAnyOrder("cash app", "app");
+    }
+
+    @Test
+    void ignoresTermsInsideLongerWords() {
+        assertThat(filter.scan("Great apps, happy stay, the wire transfers were the host's business"))
+                .isEmpty();
+        assertThat(filter.scan(null)).isEmpty();
+    }
+
+    @Test
+    void reloadSwapsInAChangedList() throws IOException {
+        writeTerms(Instant.parse("2030-01-02T00:00:00Z"), "western union");
+        filter.reload();
+
+        assertThat(filter.scan("Pay me via Western Union or wire transfer")).containsExactly("western union");
+    }
+
+    @Test
+    void keepsTheLoadedListWhenTheFileDisappears() throws IOException {
+        Files.delete(terms);
+        filter.reload();
+
+        assertThat(filter.scan("send it by wire transfer")).containsExactly("wire transfer");
+    }
+
+    @Test
+    void scansLargeListsInOnePass() throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            lines.add("blocked term " + i);
+        }
+        Files.write(terms, lines);
+        Files.setLastModifiedTime(terms, FileTime.from(Instant.parse("2030-01-03T00:00:00Z")));
+        filter.reload();
+
+        assertThat(filter.scan("nothing to see, blocked term 4999 here, blocked term 49999."))
+                .containsExactly("blocked term 4999", "blocked term 49999");
+    }
+
+    private void writeTerms(Instant modified, String... lines) throws IOException {
+        Files.write(terms, List.of(lines));
+        Files.setLastModifiedTime(terms, FileTime.from(modified));
+    }
+}
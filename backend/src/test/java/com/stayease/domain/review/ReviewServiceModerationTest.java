@@ -0,0 +1,167 @@
+package com.stayease.domain.review;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import com.stayease.domain.review.dto.CreateReviewDTO;
+import com.stayease.domain.review.dto.ReviewDTO;
+import com.stayease.domain.review.dto.UpdateReviewDTO;
+import com.stayease.domain.review.entity.Review;
+import com.stayease.domain.review.entity.Review.ReviewStatus;
+import com.stayease.domain.review.entity.Review.ReviewType;
+import com.stayease.domain.review.repository.ReviewRepository;
+import com.stayease.domain.review.service.ListingRatingSummaryService;
+import com.stayease.domain.review.service.ReviewModerationFilter;
+import com.stayease.domain.review.service.ReviewService;
+import com.stayease.domain.serviceoffering.repository.ServiceOfferingRepository;
+import com.stayease.shared.counter.WriteBehindCounters;
+
+/**
+ * Flag and unflag transitions of the moderation pre-filter on review create
+ * and edit. The repository hands back whatever is saved.
+ */
+class ReviewServiceModerationTest {
+
+    private static final String TERM_REASON = "Auto-flagged: Matched moderation terms";
+    private static final String REPORTS_REASON = "Auto-flagged: Multiple reports";
+    private static final String REVIEWER = "guest-1";
+    private static final String CLEAN_TEXT = "Spotless flat, quiet street and a very helpful host. Would stay again.";
+    private static final String TERM_TEXT = "Nice flat, but the host asked us to pay the rest by wire transfer.";
+
+    @TempDir
+    Path dir;
+
+    private ReviewRepository reviewRepository;
+    private ReviewService reviewService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path terms = dir.resolve("review-terms.txt");
+        Files.write(terms, List.of("wire transfer", "whatsapp me"));
+        ReviewModerationFilter filter = new ReviewModerationFilter(new DefaultResourceLoader(), "file:" + terms);
+        filter.reload();
+
+        reviewRepository = mock(ReviewRepository.class);
+        when(reviewRepository.save(any(Review.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        reviewService = new ReviewService(reviewRepository, mock(WriteBehindCounters.class),
+                mock(ServiceOfferingRepository.class), mock(ListingRatingSummaryService.class), filter);
+    }
+
+    @Test
+    void createFlagsTextWithTerms() {
+        ReviewDTO created = reviewService.createReview(createDTO(TERM_TEXT));
+
+        assertThat(created.getStatus()).isEqualTo(ReviewStatus.FLAGGED);
+        Review saved = lastSaved();
+        assertThat(saved.getFlagReason()).isEqualTo(TERM_REASON);
+        assertThat(saved.getFlaggedBy()).isEqualTo("SYSTEM");
+        assertThat(saved.getModerationMatches()).isEqualTo("wire transfer");
+    }
+
+    @Test
+    void createLeavesCleanTextPending() {
+        ReviewDTO created = reviewService.createReview(createDTO(CLEAN_TEXT));
+
+        assertThat(created.getStatus()).isEqualTo(ReviewStatus.PENDING);
+        assertThat(lastSaved().getModerationMatches()).isNull();
+    }
+
+    @Test
+    void cleanEditReleasesAReviewFlaggedForItsTerms() {
+        Review review = existing(TERM_TEXT);
+        review.flag(TERM_REASON, "SYSTEM");
+        review.setModerationMatches("wire transfer");
+
+        ReviewDTO updated = reviewService.updateReview(review.getPublicId(), editTo(CLEAN_TEXT), REVIEWER);
+
+        assertThat(updated.getStatus()).isEqualTo(ReviewStatus.PENDING);
+        assertThat(review.getFlagReason()).isNull();
+        assertThat(review.getFlaggedBy()).isNull();
+        assertThat(review.getFlaggedAt()).isNull();
+        assertThat(review.getModerationMatches()).isNull();
+    }
+
+    @Test
+    void editWithTermsFlagsAPendingReview() {
+        Review review = existing(CLEAN_TEXT);
+
+        reviewService.updateReview(review.getPublicId(), editTo("Just WhatsApp me next time, cheaper than here."),
+                REVIEWER);
+
+        assertThat(review.getStatus()).isEqualTo(ReviewStatus.FLAGGED);
+        assertThat(review.getFlagReason()).isEqualTo(TERM_REASON);
+        assertThat(review.getModerationMatches()).isEqualTo("whatsapp me");
+    }
+
+    @Test
+    void keepsAReportFlagThroughEdits() {
+        Review review = existing(CLEAN_TEXT);
+        review.flag(REPORTS_REASON, "SYSTEM");
+
+        reviewService.updateReview(review.getPublicId(), editTo(TERM_TEXT), REVIEWER);
+
+        assertThat(review.getStatus()).isEqualTo(ReviewStatus.FLAGGED);
+        assertThat(review.getFlagReason()).isEqualTo(REPORTS_REASON);
+        assertThat(review.getModerationMatches()).isEqualTo("wire transfer");
+
+        reviewService.updateReview(review.getPublicId(), editTo(CLEAN_TEXT), REVIEWER);
+
+        assertThat(review.getStatus()).isEqualTo(ReviewStatus.FLAGGED);
+        assertThat(review.getFlagReason()).isEqualTo(REPORTS_REASON);
+        assertThat(review.getModerationMatches()).isNull();
+    }
+
+    private Review lastSaved() {
+        ArgumentCaptor<Review> saved = ArgumentCaptor.forClass(Review.class);
+        verify(reviewRepository).save(saved.capture());
+        return saved.getValue();
+    }
+
+    private Review existing(String text) {
+        Review review = Review.builder()
+                .publicId(UUID.randomUUID().toString())
+                .reviewType(ReviewType.PROPERTY_REVIEW)
+                .status(ReviewStatus.PENDING)
+                .bookingPublicId("booking-1")
+                .listingPublicId("listing-1")
+                .reviewerPublicId(REVIEWER)
+                .overallRating(4.0)
+                .reviewText(text)
+                .createdAt(LocalDateTime.now())
+                .build();
+        when(reviewRepository.findByPublicId(review.getPublicId())).thenReturn(Optional.of(review));
+        return review;
+    }
+
+    private static CreateReviewDTO createDTO(String text) {
+        return CreateReviewDTO.builder()
+                .reviewType(ReviewType.PROPERTY_REVIEW)
+                .bookingPublicId("booking-1")
+                .listingPublicId("listing-1")
+                .reviewerPublicId(REVIEWER)
+                .overallRating(4.0)
+                .reviewText(text)
+                .build();
+    }
+
+    private static UpdateReviewDTO editTo(String text) {
+        return UpdateReviewDTO.builder().reviewText(text).build();
+    }
+}
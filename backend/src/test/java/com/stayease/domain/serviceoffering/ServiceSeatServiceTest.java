@@ -0,0 +1,266 @@
+package com.stayease.domain.serviceoffering;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntUnaryOperator;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import com.stayease.domain.serviceoffering.entity.ServiceOffering;
+import com.stayease.domain.serviceoffering.repository.ServiceSlotSeatsRepository;
+import com.stayease.domain.serviceoffering.service.ServiceSeatService;
+import com.stayease.exception.BadRequestException;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Fills group-booking slots from many threads at once against PostgreSQL.
+ * The table comes from the V20 migration and seats are taken with the
+ * repository's own conditional upsert, so its capacity guard is what decides
+ * under contention.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ServiceSeatServiceTest {
+
+    private static final String SERVICE_ID = "yoga-class";
+    private static final LocalDate DATE = LocalDate.of(2030, 6, 3);
+    private static final LocalTime START = LocalTime.of(9, 0);
+
+    @Container
+    private static final PostgreSQLContainer POSTGRES = new PostgreSQLContainer("postgres:16-alpine");
+
+    private static HikariDataSource dataSource;
+    private static NamedParameterJdbcTemplate jdbc;
+
+    private final AtomicInteger reserveStatements = new AtomicInteger();
+
+    private ServiceSeatService serviceSeatService;
+
+    @BeforeAll
+    static void createSchema() throws IOException {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(POSTGRES.getJdbcUrl());
+        dataSource.setUsername(POSTGRES.getUsername());
+        dataSource.setPassword(POSTGRES.getPassword());
+        dataSource.setMaximumPoolSize(40);
+        jdbc = new NamedParameterJdbcTemplate(dataSource);
+        jdbc.getJdbcTemplate().execute(new ClassPathResource("db/migration/V20__create_service_slot_seats.sql")
+                .getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    @AfterAll
+    static void closeDataSource() {
+        dataSource.close();
+    }
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        jdbc.getJdbcTemplate().execute("TRUNCATE service_slot_seats");
+
+        String reserveSql = querySql("reserve", String.class, LocalDate.class, LocalTime.class, int.class, int.class);
+        String releaseSql = querySql("release", String.class, LocalDate.class, LocalTime.class, int.class);
+
+        ServiceSlotSeatsRepository repository = mock(ServiceSlotSeatsRepository.class);
+        when(repository.reserve(any(), any(), any(), anyInt(), anyInt())).thenAnswer(invocation -> {
+            reserveStatements.incrementAndGet();
+            return jdbc.update(reserveSql, Map.of(
+                    "servicePublicId", invocation.getArgument(0),
+                    "slotDate", invocation.getArgument(1),
+                    "startTime", invocation.getArgument(2),
+                    "seats", invocation.getArgument(3),
+                    "capacity", invocation.getArgument(4)));
+        });
+        when(repository.release(any(), any(), any(), anyInt())).thenAnswer(invocation -> jdbc.update(releaseSql,
+                Map.of(
+                        "servicePublicId", invocation.getArgument(0),
+                        "slotDate", invocation.getArgument(1),
+                        "startTime", invocation.getArgument(2),
+                        "seats", invocation.getArgument(3))));
+        when(repository.findReservedSeats(any(), any(), any())).thenAnswer(invocation -> Optional.ofNullable(
+                reservedSeats(invocation.getArgument(0))));
+
+        serviceSeatService = new ServiceSeatService(repository, new DataSourceTransactionManager(dataSource));
+    }
+
+    @Test
+    void concurrentBookingsFillClassWithoutOverselling() throws Exception {
+        ServiceOffering yoga = groupService(20);
+
+        List<Boolean> outcomes = bookConcurrently(yoga, 200, i -> 1);
+
+        assertThat(outcomes).filteredOn(Boolean::booleanValue).hasSize(20);
+        assertThat(reservedSeats(SERVICE_ID)).isEqualTo(20);
+    }
+
+    @Test
+    void demandMatchingCapacityIsBookedInFull() throws Exception {
+        ServiceOffering tour = groupService(100);
+
+        // Party sizes 1 to 4, ten of each: exactly 100 seats
+        List<Boolean> outcomes = bookConcurrently(tour, 40, i -> 1 + i % 4);
+
+        assertThat(outcomes).containsOnly(true);
+        assertThat(reservedSeats(SERVICE_ID)).isEqualTo(100);
+    }
+
+    @Test
+    void mixedPartySizesNeverExceedCapacity() throws Exception {
+        ServiceOffering tour = groupService(25);
+
+        List<Boolean> outcomes = bookConcurrently(tour, 100, i -> 1 + i % 4);
+
+        int seatsSold = 0;
+        for (int i = 0; i < outcomes.size(); i++) {
+            if (outcomes.get(i)) {
+                seatsSold += 1 + i % 4;
+            }
+        }
+        assertThat(seatsSold).isLessThanOrEqualTo(25);
+        assertThat(reservedSeats(SERVICE_ID)).isEqualTo(seatsSold);
+        // Seats are only ever taken, so every turned-away party was too big for what is left now
+        int left = 25 - seatsSold;
+        for (int i = 0; i < outcomes.size(); i++) {
+            if (!outcomes.get(i)) {
+                assertThat(1 + i % 4).isGreaterThan(left);
+            }
+        }
+    }
+
+    @Test
+    void seatsFreedOnAnotherNodeAreBookedUnderLoad() throws Exception {
+        ServiceOffering yoga = groupService(20);
+        setReservedSeats(10);
+
+        // This node's view starts empty, so the database turns half of these away and the view resyncs
+        List<Boolean> first = bookConcurrently(yoga, 20, i -> 1);
+        assertThat(first).filteredOn(Boolean::booleanValue).hasSize(10);
+        assertThat(reservedSeats(SERVICE_ID)).isEqualTo(20);
+
+        // Another node cancels its ten seats; resyncs during this burst must not count a seat twice
+        jdbc.getJdbcTemplate().update("UPDATE service_slot_seats SET reserved_seats = reserved_seats - 10");
+        List<Boolean> second = bookConcurrently(yoga, 10, i -> 1);
+
+        assertThat(second).containsOnly(true);
+        assertThat(reservedSeats(SERVICE_ID)).isEqualTo(20);
+    }
+
+    @Test
+    void slotFilledOnAnotherNodeIsRejected() {
+        ServiceOffering yoga = groupService(10);
+        setReservedSeats(10);
+
+        assertThatThrownBy(() -> serviceSeatService.reserve(yoga, DATE, START, 1))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Selected time slot is fully booked");
+        // The first rejection resynced the view, so the next request never reaches the row
+        assertThatThrownBy(() -> serviceSeatService.reserve(yoga, DATE, START, 1))
+                .hasMessage("Selected time slot is fully booked");
+        assertThat(reserveStatements.get()).isEqualTo(1);
+        assertThat(reservedSeats(SERVICE_ID)).isEqualTo(10);
+    }
+
+    @Test
+    void seatsGivenBackOnAnotherNodeCanBeBookedAgain() {
+        ServiceOffering yoga = groupService(2);
+        serviceSeatService.reserve(yoga, DATE, START, 2);
+        assertThatThrownBy(() -> serviceSeatService.reserve(yoga, DATE, START, 1))
+                .hasMessage("Selected time slot is fully booked");
+
+        // Another node cancelled one seat
+        setReservedSeats(1);
+
+        serviceSeatService.reserve(yoga, DATE, START, 1);
+        assertThat(reservedSeats(SERVICE_ID)).isEqualTo(2);
+    }
+
+    @Test
+    void partyLargerThanClassIsRejected() {
+        ServiceOffering yoga = groupService(8);
+
+        assertThatThrownBy(() -> serviceSeatService.reserve(yoga, DATE, START, 9))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Number of people must be between 1 and 8");
+        assertThat(reserveStatements.get()).isZero();
+    }
+
+    private List<Boolean> bookConcurrently(ServiceOffering service, int requests,
+            IntUnaryOperator partySize) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> futures = new ArrayList<>(requests);
+        try (ExecutorService executor = Executors.newFixedThreadPool(32)) {
+            for (int i = 0; i < requests; i++) {
+                int seats = partySize.applyAsInt(i);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        serviceSeatService.reserve(service, DATE, START, seats);
+                        return true;
+                    } catch (BadRequestException e) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+
+            List<Boolean> outcomes = new ArrayList<>(requests);
+            for (Future<Boolean> future : futures) {
+                outcomes.add(future.get(30, TimeUnit.SECONDS));
+            }
+            return outcomes;
+        }
+    }
+
+    private static String querySql(String method, Class<?>... parameterTypes) throws NoSuchMethodException {
+        return ServiceSlotSeatsRepository.class.getMethod(method, parameterTypes).getAnnotation(Query.class).value();
+    }
+
+    private static Integer reservedSeats(String servicePublicId) {
+        List<Integer> rows = jdbc.queryForList("SELECT reserved_seats FROM service_slot_seats " +
+                "WHERE service_public_id = :servicePublicId AND slot_date = :slotDate AND start_time = :startTime",
+                Map.of("servicePublicId", servicePublicId, "slotDate", DATE, "startTime", START), Integer.class);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    private static void setReservedSeats(int seats) {
+        jdbc.update("INSERT INTO service_slot_seats (service_public_id, slot_date, start_time, reserved_seats) " +
+                "VALUES (:servicePublicId, :slotDate, :startTime, :seats) " +
+                "ON CONFLICT (service_public_id, slot_date, start_time) DO UPDATE SET reserved_seats = :seats",
+                Map.of("servicePublicId", SERVICE_ID, "slotDate", DATE, "startTime", START, "seats", seats));
+    }
+
+    private static ServiceOffering groupService(int capacity) {
+        return ServiceOffering.builder()
+                .publicId(SERVICE_ID)
+                .isGroupBooking(true)
+                .maxCapacity(capacity)
+                .build();
+    }
+}